@@ -47,33 +47,42 @@ public class MinimumSpanningTreeUtil {
         Set<Vertex<V>> known = new HashSet<>();
         Map<Vertex<V>, Entry<Integer, Vertex<V>>> pqEntries = new LinearProbingHashMap<>();
         Map<Vertex<V>, Edge<E>> connectingEdges = new LinearProbingHashMap<>();
+        // Every vertex gets an entry, so size the tables once up front
+        weights.ensureCapacity(g.numVertices());
+        pqEntries.ensureCapacity(g.numVertices());
+        connectingEdges.ensureCapacity(g.numVertices());
         
         PositionalList<Edge<E>> tree = new PositionalLinkedList<>();
         
         Vertex<V> src = g.vertices().iterator().next();
         
         for(Vertex<V> v : g.vertices()) {
-            if(v == src) {
-                weights.put(v, 0);
-            } else {
-                weights.put(v, Integer.MAX_VALUE);
-            }
-            pqEntries.put(v, q.insert(weights.get(v), v));
+            Integer weight = v == src ? 0 : Integer.MAX_VALUE;
+            weights.put(v, weight);
+            pqEntries.put(v, q.insert(weight, v));
         }
         while(!q.isEmpty()) {
             Entry<Integer, Vertex<V>> entry = q.deleteMin();
             Vertex<V> u = entry.getValue();
-            if(connectingEdges.get(u) != null) {
-                tree.addLast(connectingEdges.get(u));
+            Edge<E> connectingEdge = connectingEdges.get(u);
+            if(connectingEdge != null) {
+                tree.addLast(connectingEdge);
             }
             known.add(u);
             for(Edge<E> e : g.outgoingEdges(u)) {
                 Vertex<V> z = g.opposite(u, e);
                 int r = e.getElement().getWeight();
-                if(!known.contains(z) && r < weights.get(z)) {
-                    weights.put(z, r);
-                    connectingEdges.put(z, e);
-                    q.replaceKey(pqEntries.get(z), r);
+                if(!known.contains(z)) {
+                    // Update z with a single lookup of its current weight. The
+                    // remapping function has no side effects; z's queue entry still
+                    // holds the old weight, so compare against it to update the
+                    // queue and the connecting edge
+                    int weight = weights.compute(z, (vertex, old) -> Math.min(old, r));
+                    Entry<Integer, Vertex<V>> zEntry = pqEntries.get(z);
+                    if(weight < zEntry.getKey()) {
+                        connectingEdges.put(z, e);
+                        q.replaceKey(zEntry, weight);
+                    }
                 }
             }
         }
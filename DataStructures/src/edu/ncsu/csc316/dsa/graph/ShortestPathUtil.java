@@ -44,13 +44,13 @@ public class ShortestPathUtil {
     	Map<Vertex<V>, Integer> weights = new LinearProbingHashMap<>();
     	Set<Vertex<V>> known = new HashSet<>();
     	Map<Vertex<V>, PriorityQueue.Entry<Integer, Vertex<V>>> apqEntries = new LinearProbingHashMap<>();    	
+    	// Every vertex gets an entry, so size the tables once up front
+    	weights.ensureCapacity(graph.numVertices());
+    	apqEntries.ensureCapacity(graph.numVertices());
     	
     	for (Vertex<V> vertex : graph.vertices()) {    							
-    		if (vertex.equals(start)) 
-    			weights.put(vertex, 0);
-    		else
-    			weights.put(vertex, Integer.MAX_VALUE);
-  	      	Integer currentCost = weights.get(vertex);
+    		Integer currentCost = vertex.equals(start) ? 0 : Integer.MAX_VALUE;
+    		weights.put(vertex, currentCost);
   	        PriorityQueue.Entry<Integer, Vertex<V>> apqEntry = q.insert(currentCost, vertex);	      	
   	      	apqEntries.put(vertex, apqEntry);
 		}
@@ -62,11 +62,16 @@ public class ShortestPathUtil {
     		for (Edge<E> edge : graph.outgoingEdges(u)) {
 				Vertex<V> z = graph.opposite(u, edge);
 				if (!known.contains(z)) {
-					Integer r = edge.getElement().getWeight() + weights.get(u);
-					if (r < weights.get(z)) {
-						weights.put(z, r);
-						q.replaceKey(apqEntries.get(z), r);
-					}				
+					// The key of the removed queue entry is the final cost of u
+					int r = edge.getElement().getWeight() + entry.getKey();
+					// Relax the edge with a single lookup of z's current cost. The
+					// remapping function has no side effects; z's queue entry still
+					// holds the old cost, so compare against it to update the queue
+					int cost = weights.compute(z, (vertex, old) -> Math.min(old, r));
+					PriorityQueue.Entry<Integer, Vertex<V>> zEntry = apqEntries.get(z);
+					if (cost < zEntry.getKey()) {
+						q.replaceKey(zEntry, cost);
+					}
 				}
 			}
     	}
@@ -96,9 +101,10 @@ public class ShortestPathUtil {
     	
     	for (Vertex<V> v : costs) {
     		if (!v.equals(start)) {
+    			Integer cost = costs.get(v);
     			for (Edge<E> e : graph.incomingEdges(v)) {
 					Vertex<V> u = graph.opposite(v, e);
-					if (costs.get(v).equals(costs.get(u) + e.getElement().getWeight())) {
+					if (cost.equals(costs.get(u) + e.getElement().getWeight())) {
 						seMap.put(v, e);
 					}
 				}
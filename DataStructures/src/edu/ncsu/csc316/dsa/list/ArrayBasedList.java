@@ -95,7 +95,7 @@ public class ArrayBasedList<E> extends AbstractList<E> {
 	 * @param minCapacity the minimium capacity that must be supported by the
 	 *                    internal array
 	 */
-    private void ensureCapacity(int minCapacity) {
+    public void ensureCapacity(int minCapacity) {
         int oldCapacity = data.length;
         if (minCapacity > oldCapacity) {
             int newCapacity = oldCapacity * 2 + 1;
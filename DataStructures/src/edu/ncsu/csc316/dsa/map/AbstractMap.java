@@ -1,7 +1,10 @@
 package edu.ncsu.csc316.dsa.map;
 
 import java.util.Iterator;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
+import edu.ncsu.csc316.dsa.list.ArrayBasedList;
 import edu.ncsu.csc316.dsa.list.List;
 import edu.ncsu.csc316.dsa.list.SinglyLinkedList;
 
@@ -128,12 +131,15 @@ public abstract class AbstractMap<K, V> implements Map<K, V> {
         private class EntryCollectionIterator implements Iterator<Entry<K, V>> {
         	/**Instance of an iterator */
             private Iterator<Entry<K, V>> it;
+            /** The entry most recently returned by next(), or null */
+            private Entry<K, V> lastReturned;
             
             /**
              * Constructor of an EntryCollectionIterator
              */
             public EntryCollectionIterator() {
                 it = list.iterator();
+                lastReturned = null;
             }
 
             @Override
@@ -143,12 +149,22 @@ public abstract class AbstractMap<K, V> implements Map<K, V> {
 
             @Override
             public Entry<K, V> next() {
-                return it.next();
+                lastReturned = it.next();
+                return lastReturned;
             }
 
+            /**
+             * Removes the mapping for the most recently returned key from the map.
+             * The collection is a copy of the map's entries, so removing from the
+             * map does not disturb the rest of the iteration.
+             */
             @Override
             public void remove() {
-                throw new UnsupportedOperationException("The remove operation is not supported yet.");
+                if (lastReturned == null) {
+                    throw new IllegalStateException("Successful next() not yet called.");
+                }
+                AbstractMap.this.remove(lastReturned.getKey());
+                lastReturned = null;
             }
         } 
     }       
@@ -182,7 +198,8 @@ public abstract class AbstractMap<K, V> implements Map<K, V> {
     	
     	@Override
     	public void remove() {
-    		throw new UnsupportedOperationException("The remove operation is not supported yet.");
+    		// Supported only if the map's entrySet iterator supports removal
+    		it.remove();
     	}
     }
 
@@ -222,10 +239,88 @@ public abstract class AbstractMap<K, V> implements Map<K, V> {
     	
     	@Override
     	public void remove() {
-    		throw new UnsupportedOperationException("The remove operation is not supported yet.");
+    		// Supported only if the map's entrySet iterator supports removal
+    		it.remove();
     	}
     }
 
+    /**
+     * {@inheritDoc} This implementation calls {@link #get} and then {@link #put}
+     * or {@link #remove}, so it locates the key twice. Maps that can update an
+     * entry in place override it to locate the key once.
+     */
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        V original = get(key);
+        V value = remappingFunction.apply(key, original);
+        if (value != null) {
+            put(key, value);
+        } else if (original != null) {
+            remove(key);
+        }
+        return value;
+    }
+
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        return compute(key, (k, original) -> original != null ? original : mappingFunction.apply(k));
+    }
+
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        return compute(key, (k, original) -> original == null ? value : remappingFunction.apply(original, value));
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        // Holds the value found by compute, which is what putIfAbsent returns
+        @SuppressWarnings("unchecked")
+        V[] original = (V[]) new Object[1];
+        compute(key, (k, v) -> {
+            original[0] = v;
+            return v != null ? v : value;
+        });
+        return original[0];
+    }
+
+    /**
+     * {@inheritDoc} This implementation does nothing; maps with a capacity
+     * override it.
+     */
+    @Override
+    public void ensureCapacity(int capacity) {
+        // No storage to prepare by default
+    }
+
+    /**
+     * {@inheritDoc} This implementation copies the entries into a list to count
+     * them, calls {@link #ensureCapacity} once for the current entries plus the
+     * new ones, and then calls {@link #put} for each entry.
+     */
+    @Override
+    public void putAll(Iterable<? extends Entry<K, V>> entries) {
+        List<Entry<K, V>> batch = toList(entries);
+        ensureCapacity(size() + batch.size());
+        for (Entry<K, V> entry : batch) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Copies the provided entries into a new array-based list, preserving their
+     * iteration order
+     *
+     * @param entries the entries to copy
+     * @return a new list of the entries
+     */
+    protected List<Entry<K, V>> toList(Iterable<? extends Entry<K, V>> entries) {
+        List<Entry<K, V>> batch = new ArrayBasedList<Entry<K, V>>();
+        for (Entry<K, V> entry : entries) {
+            batch.addLast(entry);
+        }
+        return batch;
+    }
+
     @Override
     public boolean isEmpty() {
         return size() == 0;
@@ -1,6 +1,11 @@
 package edu.ncsu.csc316.dsa.map;
 
 import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import edu.ncsu.csc316.dsa.list.ArrayBasedList;
+import edu.ncsu.csc316.dsa.list.List;
 
 /**
  * A skeletal implementation of the Map abstract data type. This class provides
@@ -10,6 +15,15 @@ import java.util.Comparator;
  * structure to store entries in a sorted order based on the keys to help
  * improve the efficiency of lookUp behaviors.
  * 
+ * Ordered maps also answer navigation and range queries: the entry with the
+ * closest key above or below a given key, and lazy views of the entries with
+ * keys in a range. The implementations here scan the entries from the start,
+ * so concrete ordered maps override them to locate the first entry of a range
+ * in O(logn) time, making a range query with k entries O(logn + k). Like
+ * java.util.TreeMap, the navigation methods return snapshots of entries, so an
+ * entry returned by {@link #floorEntry} keeps its key and value even after the
+ * map changes.
+ * 
  * @author Dr. King
  *
  * @param <K> the type of keys stored in the map
@@ -49,6 +63,341 @@ public abstract class AbstractOrderedMap<K extends Comparable<K>, V> extends Abs
         return compare.compare(key1, key2);
     }
 
+    /**
+     * Copies a batch of entries that is sorted by key into a new list of map
+     * entries with strictly increasing keys. Entries with equal keys must be
+     * adjacent in a sorted batch, so only the last of them is kept, just as if
+     * the batch had been added with {@link #put}. Ordered maps use the list to
+     * build their structure in a single pass.
+     * 
+     * @param entries the batch of entries to copy
+     * @return a list of the entries with strictly increasing keys, or null if the
+     *         batch is not sorted by key
+     */
+    protected List<Entry<K, V>> sortedBatch(Iterable<? extends Entry<K, V>> entries) {
+        List<Entry<K, V>> batch = new ArrayBasedList<Entry<K, V>>();
+        for (Entry<K, V> entry : entries) {
+            MapEntry<K, V> copy = new MapEntry<K, V>(entry.getKey(), entry.getValue());
+            if (batch.isEmpty()) {
+                batch.addLast(copy);
+                continue;
+            }
+            int comp = compare(batch.last().getKey(), entry.getKey());
+            if (comp > 0) {
+                return null;
+            } else if (comp == 0) {
+                batch.set(batch.size() - 1, copy);
+            } else {
+                batch.addLast(copy);
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Returns a copy of the given entry that later changes to the map do not
+     * affect, or null if the entry is null
+     * 
+     * @param entry the entry to copy, or null
+     * @return a new map entry with the same key and value, or null
+     */
+    protected Entry<K, V> snapshot(Entry<K, V> entry) {
+        return entry == null ? null : new MapEntry<K, V>(entry.getKey(), entry.getValue());
+    }
+
+    /**
+     * Returns the entry with the smallest key, or null if the map is empty
+     * 
+     * @return the entry with the smallest key, or null
+     */
+    public Entry<K, V> firstEntry() {
+        Iterator<Entry<K, V>> it = entrySet().iterator();
+        return it.hasNext() ? snapshot(it.next()) : null;
+    }
+
+    /**
+     * Returns the entry with the largest key, or null if the map is empty
+     * 
+     * @return the entry with the largest key, or null
+     */
+    public Entry<K, V> lastEntry() {
+        Entry<K, V> last = null;
+        for (Entry<K, V> entry : entrySet()) {
+            last = entry;
+        }
+        return snapshot(last);
+    }
+
+    /**
+     * Returns the entry with the largest key less than or equal to the given
+     * key, or null if there is no such entry
+     * 
+     * @param key the key to search for
+     * @return the entry with the greatest key at or below the given key, or null
+     */
+    public Entry<K, V> floorEntry(K key) {
+        return lastBelow(key, true);
+    }
+
+    /**
+     * Returns the entry with the largest key strictly less than the given key,
+     * or null if there is no such entry
+     * 
+     * @param key the key to search for
+     * @return the entry with the greatest key below the given key, or null
+     */
+    public Entry<K, V> lowerEntry(K key) {
+        return lastBelow(key, false);
+    }
+
+    /**
+     * Returns the entry with the smallest key greater than or equal to the given
+     * key, or null if there is no such entry
+     * 
+     * @param key the key to search for
+     * @return the entry with the least key at or above the given key, or null
+     */
+    public Entry<K, V> ceilingEntry(K key) {
+        Iterator<Entry<K, V>> it = entriesFrom(key, true);
+        return it.hasNext() ? snapshot(it.next()) : null;
+    }
+
+    /**
+     * Returns the entry with the smallest key strictly greater than the given
+     * key, or null if there is no such entry
+     * 
+     * @param key the key to search for
+     * @return the entry with the least key above the given key, or null
+     */
+    public Entry<K, V> higherEntry(K key) {
+        Iterator<Entry<K, V>> it = entriesFrom(key, false);
+        return it.hasNext() ? snapshot(it.next()) : null;
+    }
+
+    /**
+     * Returns a lazy view of the entries with keys from fromKey (inclusive) up
+     * to toKey (exclusive), in key order. The view finds its first entry each
+     * time it is iterated and stops at the first key that is too large, so it
+     * reflects later changes to the map. The view cannot remove entries.
+     * 
+     * @param fromKey the smallest key in the range
+     * @param toKey   the key just past the end of the range
+     * @return an iterable view of the entries in the range
+     * @throws IllegalArgumentException if fromKey is greater than toKey
+     */
+    public Iterable<Entry<K, V>> subMap(K fromKey, K toKey) {
+        if (compare(fromKey, toKey) > 0) {
+            throw new IllegalArgumentException("fromKey must not be greater than toKey.");
+        }
+        return new RangeIterable(fromKey, toKey);
+    }
+
+    /**
+     * Returns a lazy view of the entries with keys strictly less than toKey, in
+     * key order
+     * 
+     * @param toKey the key just past the end of the range
+     * @return an iterable view of the entries in the range
+     * @see #subMap
+     */
+    public Iterable<Entry<K, V>> headMap(K toKey) {
+        return new RangeIterable(null, toKey);
+    }
+
+    /**
+     * Returns a lazy view of the entries with keys greater than or equal to
+     * fromKey, in key order
+     * 
+     * @param fromKey the smallest key in the range
+     * @return an iterable view of the entries in the range
+     * @see #subMap
+     */
+    public Iterable<Entry<K, V>> tailMap(K fromKey) {
+        return new RangeIterable(fromKey, null);
+    }
+
+    /**
+     * Returns an iterator over the entries in key order, starting with the first
+     * entry whose key is at or above (or strictly above) the given key. This
+     * implementation skips over the smaller entries one at a time; concrete
+     * ordered maps override it to locate the first entry directly.
+     * 
+     * @param fromKey   the key at which to start
+     * @param inclusive true to start at an entry with a key equal to fromKey,
+     *                  false to start after it
+     * @return an iterator starting with the first entry of the range
+     */
+    protected Iterator<Entry<K, V>> entriesFrom(K fromKey, boolean inclusive) {
+        Iterator<Entry<K, V>> it = entrySet().iterator();
+        Entry<K, V> first = null;
+        while (first == null && it.hasNext()) {
+            Entry<K, V> entry = it.next();
+            int comp = compare(entry.getKey(), fromKey);
+            if (comp > 0 || comp == 0 && inclusive) {
+                first = entry;
+            }
+        }
+        return new PrependIterator(first, it);
+    }
+
+    /**
+     * Scans the entries from the start for the last entry with a key at or below
+     * (or strictly below) the given key
+     * 
+     * @param key       the key to search for
+     * @param inclusive true to accept an entry with a key equal to the given key
+     * @return the last such entry, or null if there is none
+     */
+    private Entry<K, V> lastBelow(K key, boolean inclusive) {
+        Entry<K, V> last = null;
+        for (Entry<K, V> entry : entrySet()) {
+            int comp = compare(entry.getKey(), key);
+            if (comp > 0 || comp == 0 && !inclusive) {
+                break;
+            }
+            last = entry;
+        }
+        return snapshot(last);
+    }
+
+    /**
+     * A PrependIterator returns one given entry, then the rest of an iterator
+     * 
+     * @author Ben Morris
+     *
+     */
+    private class PrependIterator implements Iterator<Entry<K, V>> {
+        /** The entry to return first, or null once it has been returned */
+        private Entry<K, V> first;
+        /** The iterator over the entries after the first */
+        private Iterator<Entry<K, V>> rest;
+
+        /**
+         * Constructs an iterator that returns the given entry, then the entries of
+         * the given iterator
+         * 
+         * @param first the first entry, or null if there are no entries
+         * @param rest  the iterator over the entries after the first
+         */
+        PrependIterator(Entry<K, V> first, Iterator<Entry<K, V>> rest) {
+            this.first = first;
+            this.rest = first == null ? null : rest;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return first != null || rest != null && rest.hasNext();
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (first != null) {
+                Entry<K, V> entry = first;
+                first = null;
+                return entry;
+            }
+            if (rest == null) {
+                throw new NoSuchElementException("There are no more elements.");
+            }
+            return rest.next();
+        }
+    }
+
+    /**
+     * A RangeIterable is a lazy view of the entries with keys in a half-open
+     * range
+     * 
+     * @author Ben Morris
+     *
+     */
+    private class RangeIterable implements Iterable<Entry<K, V>> {
+        /** The smallest key in the range, or null for no lower bound */
+        private K fromKey;
+        /** The key just past the end of the range, or null for no upper bound */
+        private K toKey;
+
+        /**
+         * Constructs a view of the entries with keys from fromKey (inclusive) to
+         * toKey (exclusive)
+         * 
+         * @param fromKey the smallest key, or null for no lower bound
+         * @param toKey   the key past the end, or null for no upper bound
+         */
+        RangeIterable(K fromKey, K toKey) {
+            this.fromKey = fromKey;
+            this.toKey = toKey;
+        }
+
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            Iterator<Entry<K, V>> it = fromKey == null ? entrySet().iterator() : entriesFrom(fromKey, true);
+            return new RangeIterator(it, toKey);
+        }
+    }
+
+    /**
+     * A RangeIterator returns the entries of an ordered iterator until it reaches
+     * a key that is at or past the end of the range. It reads one entry ahead,
+     * so it cannot remove entries.
+     * 
+     * @author Ben Morris
+     *
+     */
+    private class RangeIterator implements Iterator<Entry<K, V>> {
+        /** The iterator over the entries, starting at the range */
+        private Iterator<Entry<K, V>> it;
+        /** The key just past the end of the range, or null for no upper bound */
+        private K toKey;
+        /** The next entry in the range, or null once the range is exhausted */
+        private Entry<K, V> next;
+
+        /**
+         * Constructs an iterator over the entries of the given iterator with keys
+         * below toKey
+         * 
+         * @param it    the iterator over the entries, starting at the range
+         * @param toKey the key past the end of the range, or null
+         */
+        RangeIterator(Iterator<Entry<K, V>> it, K toKey) {
+            this.it = it;
+            this.toKey = toKey;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (next == null) {
+                throw new NoSuchElementException("There are no more elements.");
+            }
+            Entry<K, V> entry = next;
+            advance();
+            return entry;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("A range view cannot remove entries.");
+        }
+
+        /**
+         * Reads the next entry of the underlying iterator, if it is in the range
+         */
+        private void advance() {
+            next = null;
+            if (it.hasNext()) {
+                Entry<K, V> entry = it.next();
+                if (toKey == null || compare(entry.getKey(), toKey) < 0) {
+                    next = entry;
+                }
+            }
+        }
+    }
+
     /**
      * Delegates to the {@link Comparable#compareTo} implementation that defines the
      * natural ordering of the keys
@@ -0,0 +1,556 @@
+package edu.ncsu.csc316.dsa.map;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import edu.ncsu.csc316.dsa.list.List;
+
+/**
+ * A CompactSkipListMap is an ordered skip list that stores each entry in a
+ * single node. Where {@link SkipListMap} builds a tower of quad-linked nodes
+ * (each with its own copy of the entry) for every key, a node here holds the
+ * key, the value, its link on the bottom level, and an array with one forward
+ * link for each level above the bottom. Towers are only ever walked forward
+ * and down, so no node needs links back or up.
+ *
+ * Each forward link above the bottom level also records its span: the number
+ * of bottom-level steps it skips. Adding up the spans along a search gives the
+ * position of a key in key order, so {@link #rank} and {@link #select} run in
+ * O(logn) expected time.
+ *
+ * A new node rises one more level with probability 1/4, and no higher than one
+ * level more than log4 of the size of the map (the level where fewer than one
+ * node is expected). Most nodes have only the bottom level and need no arrays
+ * at all, so with compressed references an entry takes about 44 bytes, where
+ * {@link SkipListMap} takes about 112. A search makes about as many
+ * comparisons as with probability 1/2, but follows fewer links to reach them.
+ *
+ * @author Ben Morris
+ *
+ * @param <K> the type of keys stored in the map
+ * @param <V> the type of values that are associated with keys in the map
+ */
+public class CompactSkipListMap<K extends Comparable<K>, V> extends AbstractOrderedMap<K, V> {
+
+    /**
+     * The most levels a skip list can have: one more than log4 of the largest
+     * possible size
+     */
+    private static final int MAX_LEVEL = 16;
+
+    /** Chooses the level of each new node */
+    private Random levelGenerator;
+
+    /** The head node, which holds no entry and has a link on every level */
+    private Node<K, V> head;
+
+    /** The number of levels in use */
+    private int levels;
+
+    /** The number of entries stored in the map */
+    private int size;
+
+    /**
+     * Constructs a new CompactSkipListMap where keys of entries are compared
+     * based on their natural ordering based on {@link Comparable#compareTo}
+     */
+    public CompactSkipListMap() {
+        this(null);
+    }
+
+    /**
+     * Constructs a new CompactSkipListMap where keys of entries are compared
+     * based on a provided {@link Comparator}
+     *
+     * @param compare a Comparator that defines comparisons rules for keys in the
+     *                map
+     */
+    public CompactSkipListMap(Comparator<K> compare) {
+        super(compare);
+        levelGenerator = new Random();
+        head = new Node<K, V>(null, null, MAX_LEVEL);
+        levels = 1;
+        size = 0;
+    }
+
+    /**
+     * A Node holds one entry and its forward links, and is itself the entry.
+     * The link on the bottom level is a field, since every node has one; the
+     * links on higher levels and their spans are stored in arrays, which are
+     * null for a node on the bottom level only. A link's span on the bottom
+     * level is always 1.
+     *
+     * @author Ben Morris
+     *
+     * @param <K> the type of key stored in the node
+     * @param <V> the type of value stored in the node
+     */
+    private static class Node<K, V> implements Entry<K, V> {
+        /** The key of the entry */
+        private K key;
+        /** The value of the entry */
+        private V value;
+        /** The next node on the bottom level */
+        private Node<K, V> next;
+        /** The next node on each level above the bottom, or null */
+        private Node<K, V>[] above;
+        /** The span of each link above the bottom, or null */
+        private int[] spans;
+
+        /**
+         * Constructs a new node with the given number of levels
+         *
+         * @param key    the key of the entry
+         * @param value  the value of the entry
+         * @param levels the number of levels the node links on
+         */
+        @SuppressWarnings("unchecked")
+        Node(K key, V value, int levels) {
+            this.key = key;
+            this.value = value;
+            if (levels > 1) {
+                above = (Node<K, V>[]) new Node[levels - 1];
+                spans = new int[levels - 1];
+            }
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public int compareTo(Entry<K, V> o) {
+            return ((Comparable<K>) key).compareTo(o.getKey());
+        }
+
+        /**
+         * Returns the next node on the given level
+         *
+         * @param level the level, which must be below the node's level count
+         * @return the next node on the level, or null
+         */
+        Node<K, V> next(int level) {
+            return level == 0 ? next : above[level - 1];
+        }
+
+        /**
+         * Sets the next node on the given level
+         *
+         * @param level the level, which must be below the node's level count
+         * @param node  the new next node on the level
+         */
+        void setNext(int level, Node<K, V> node) {
+            if (level == 0) {
+                next = node;
+            } else {
+                above[level - 1] = node;
+            }
+        }
+
+        /**
+         * Returns the number of bottom-level steps skipped by the link on the
+         * given level
+         *
+         * @param level the level, which must be below the node's level count
+         * @return the span of the link on the level
+         */
+        int span(int level) {
+            return level == 0 ? 1 : spans[level - 1];
+        }
+
+        /**
+         * Sets the span of the link on the given level; the span on the bottom
+         * level is always 1, so it is not stored
+         *
+         * @param level the level, which must be below the node's level count
+         * @param span  the new span of the link on the level
+         */
+        void setSpan(int level, int span) {
+            if (level > 0) {
+                spans[level - 1] = span;
+            }
+        }
+    }
+
+    /**
+     * Returns a random level for a new node: each level above the first is
+     * reached with probability 1/4, up to one more than log4 of the size
+     *
+     * @return the number of levels of the new node
+     */
+    private int randomLevel() {
+        // Each pair of trailing zero bits is a 1/4 chance to rise another level
+        int level = 1 + Integer.numberOfTrailingZeros(levelGenerator.nextInt()) / 2;
+        int cap = 1 + (31 - Integer.numberOfLeadingZeros(size + 1)) / 2;
+        return Math.min(level, Math.min(cap, MAX_LEVEL));
+    }
+
+    /**
+     * Returns the last node whose key is less than (or, if inclusive, at most)
+     * the given key
+     *
+     * @param key       the key to search for
+     * @param inclusive true to include a node with a key equal to the given key
+     * @return the last such node, or the head if there is none
+     */
+    private Node<K, V> lastBefore(K key, boolean inclusive) {
+        int stop = inclusive ? 1 : 0;
+        Node<K, V> x = head;
+        for (int level = levels - 1; level >= 0; level--) {
+            Node<K, V> y = x.next(level);
+            while (y != null && compare(y.key, key) < stop) {
+                x = y;
+                y = x.next(level);
+            }
+        }
+        return x;
+    }
+
+    /**
+     * Finds the last node before the given key on every level, and the rank of
+     * each of those nodes (the head has rank 0, and the first entry rank 1)
+     *
+     * @param key    the key to search for
+     * @param update filled with the last node before the key on each level
+     * @param ranks  filled with the rank of each node in update
+     */
+    private void findUpdates(K key, Node<K, V>[] update, int[] ranks) {
+        Node<K, V> x = head;
+        int rank = 0;
+        for (int level = levels - 1; level >= 0; level--) {
+            Node<K, V> y = x.next(level);
+            while (y != null && compare(y.key, key) < 0) {
+                rank += x.span(level);
+                x = y;
+                y = x.next(level);
+            }
+            update[level] = x;
+            ranks[level] = rank;
+        }
+    }
+
+    @Override
+    public V get(K key) {
+        Node<K, V> x = head;
+        for (int level = levels - 1; level >= 0; level--) {
+            Node<K, V> y = x.next(level);
+            int c = 1;
+            while (y != null && (c = compare(key, y.key)) > 0) {
+                x = y;
+                y = x.next(level);
+            }
+            if (y != null && c == 0) {
+                return y.value;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        @SuppressWarnings("unchecked")
+        Node<K, V>[] update = (Node<K, V>[]) new Node[MAX_LEVEL];
+        int[] ranks = new int[MAX_LEVEL];
+        findUpdates(key, update, ranks);
+        Node<K, V> candidate = update[0].next;
+        if (candidate != null && compare(candidate.key, key) == 0) {
+            V original = candidate.value;
+            candidate.value = value;
+            return original;
+        }
+        int level = randomLevel();
+        for (int i = levels; i < level; i++) {
+            // A new level starts with one link from the head past every entry
+            update[i] = head;
+            ranks[i] = 0;
+            head.setSpan(i, size + 1);
+        }
+        levels = Math.max(levels, level);
+        Node<K, V> node = new Node<K, V>(key, value, level);
+        for (int i = 0; i < level; i++) {
+            node.setNext(i, update[i].next(i));
+            update[i].setNext(i, node);
+            // The new node's rank is ranks[0] + 1
+            node.setSpan(i, update[i].span(i) - (ranks[0] - ranks[i]));
+            update[i].setSpan(i, ranks[0] - ranks[i] + 1);
+        }
+        for (int i = level; i < levels; i++) {
+            // Links above the new node now skip one more entry
+            update[i].setSpan(i, update[i].span(i) + 1);
+        }
+        size++;
+        return null;
+    }
+
+    /**
+     * {@inheritDoc} If the skip list is empty and the batch is sorted by key, the
+     * skip list is built level by level in O(n) time without random levels: the
+     * i-th entry (counting from 1) gets one more level for each time 4 divides
+     * i, so each level holds every fourth entry of the level below it. Otherwise,
+     * the entries are added one at a time.
+     */
+    @Override
+    public void putAll(Iterable<? extends Entry<K, V>> entries) {
+        List<Entry<K, V>> batch = isEmpty() ? sortedBatch(entries) : null;
+        if (batch == null) {
+            super.putAll(entries);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Node<K, V>[] last = (Node<K, V>[]) new Node[MAX_LEVEL];
+        int[] lastRank = new int[MAX_LEVEL];
+        for (int i = 0; i < MAX_LEVEL; i++) {
+            last[i] = head;
+        }
+        for (int rank = 1; rank <= batch.size(); rank++) {
+            Entry<K, V> entry = batch.get(rank - 1);
+            int level = Math.min(1 + Integer.numberOfTrailingZeros(rank) / 2, MAX_LEVEL);
+            Node<K, V> node = new Node<K, V>(entry.getKey(), entry.getValue(), level);
+            for (int i = 0; i < level; i++) {
+                last[i].setNext(i, node);
+                last[i].setSpan(i, rank - lastRank[i]);
+                last[i] = node;
+                lastRank[i] = rank;
+            }
+            levels = Math.max(levels, level);
+        }
+        size = batch.size();
+        for (int i = 0; i < levels; i++) {
+            // The last link on each level reaches past the end of the list
+            last[i].setSpan(i, size + 1 - lastRank[i]);
+        }
+    }
+
+    @Override
+    public V remove(K key) {
+        @SuppressWarnings("unchecked")
+        Node<K, V>[] update = (Node<K, V>[]) new Node[MAX_LEVEL];
+        int[] ranks = new int[MAX_LEVEL];
+        findUpdates(key, update, ranks);
+        Node<K, V> node = update[0].next;
+        if (node == null || compare(node.key, key) != 0) {
+            return null;
+        }
+        for (int i = 0; i < levels; i++) {
+            if (update[i].next(i) == node) {
+                update[i].setSpan(i, update[i].span(i) + node.span(i) - 1);
+                update[i].setNext(i, node.next(i));
+            } else {
+                update[i].setSpan(i, update[i].span(i) - 1);
+            }
+        }
+        while (levels > 1 && head.next(levels - 1) == null) {
+            levels--;
+        }
+        size--;
+        return node.value;
+    }
+
+    /**
+     * Returns the number of entries with keys strictly less than the given key,
+     * which is the index the key has (or would have) in key order. The spans of
+     * the links followed by the search add up to the rank, so this takes
+     * O(logn) expected time.
+     *
+     * @param key the key to rank
+     * @return the number of entries with smaller keys
+     */
+    public int rank(K key) {
+        Node<K, V> x = head;
+        int rank = 0;
+        for (int level = levels - 1; level >= 0; level--) {
+            Node<K, V> y = x.next(level);
+            while (y != null && compare(y.key, key) < 0) {
+                rank += x.span(level);
+                x = y;
+                y = x.next(level);
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Returns the entry with the given index in key order, so select(0) is the
+     * entry with the smallest key and select(size() - 1) is the entry with the
+     * largest. Like {@link #rank}, this takes O(logn) expected time.
+     *
+     * @param index the number of entries with smaller keys than the entry to
+     *              return
+     * @return a snapshot of the entry with the given index in key order
+     * @throws IndexOutOfBoundsException if the index is negative or not less
+     *                                   than the size of the map
+     */
+    public Entry<K, V> select(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index is invalid: " + index + " (size=" + size + ")");
+        }
+        int target = index + 1;
+        Node<K, V> x = head;
+        int rank = 0;
+        for (int level = levels - 1; level >= 0; level--) {
+            while (x.next(level) != null && rank + x.span(level) <= target) {
+                rank += x.span(level);
+                x = x.next(level);
+            }
+            if (rank == target) {
+                break;
+            }
+        }
+        return snapshot(x);
+    }
+
+    /**
+     * Returns the number of entries with keys from lo (inclusive) up to hi
+     * (exclusive), the same entries as {@link #subMap}, in O(logn) expected time
+     *
+     * @param lo the smallest key in the range
+     * @param hi the key just past the end of the range
+     * @return the number of entries with keys in the range
+     * @throws IllegalArgumentException if lo is greater than hi
+     */
+    public int countInRange(K lo, K hi) {
+        if (compare(lo, hi) > 0) {
+            throw new IllegalArgumentException("lo must not be greater than hi.");
+        }
+        return rank(hi) - rank(lo);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterable<Entry<K, V>> entrySet() {
+        return new EntryIterable();
+    }
+
+    /**
+     * A live view of the entries in the skip list. Iterating the view walks the
+     * bottom level directly instead of copying the entries first.
+     *
+     * @author Ben Morris
+     */
+    private class EntryIterable implements Iterable<Entry<K, V>> {
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new EntryIterator(head.next);
+        }
+    }
+
+    /**
+     * An iterator over the bottom level of the skip list. Removing through the
+     * iterator removes the last returned key from the map.
+     *
+     * @author Ben Morris
+     */
+    private class EntryIterator implements Iterator<Entry<K, V>> {
+        /** The node whose entry will be returned next, or null */
+        private Node<K, V> cursor;
+        /** The node most recently returned, or null */
+        private Node<K, V> lastReturned;
+
+        /**
+         * Constructs a new iterator that starts at the given node
+         *
+         * @param start the first node to return, or null
+         */
+        EntryIterator(Node<K, V> start) {
+            cursor = start;
+            lastReturned = null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return cursor != null;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (cursor == null) {
+                throw new NoSuchElementException("There are no more elements.");
+            }
+            lastReturned = cursor;
+            cursor = cursor.next;
+            return lastReturned;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException("Successful next() not yet called.");
+            }
+            CompactSkipListMap.this.remove(lastReturned.key);
+            lastReturned = null;
+        }
+    }
+
+    @Override
+    public Entry<K, V> firstEntry() {
+        return snapshot(head.next);
+    }
+
+    @Override
+    public Entry<K, V> lastEntry() {
+        Node<K, V> x = head;
+        for (int level = levels - 1; level >= 0; level--) {
+            while (x.next(level) != null) {
+                x = x.next(level);
+            }
+        }
+        return x == head ? null : snapshot(x);
+    }
+
+    @Override
+    public Entry<K, V> floorEntry(K key) {
+        Node<K, V> x = lastBefore(key, true);
+        return x == head ? null : snapshot(x);
+    }
+
+    @Override
+    public Entry<K, V> lowerEntry(K key) {
+        Node<K, V> x = lastBefore(key, false);
+        return x == head ? null : snapshot(x);
+    }
+
+    @Override
+    public Entry<K, V> ceilingEntry(K key) {
+        return snapshot(lastBefore(key, false).next);
+    }
+
+    @Override
+    public Entry<K, V> higherEntry(K key) {
+        return snapshot(lastBefore(key, true).next);
+    }
+
+    /**
+     * {@inheritDoc} The first entry is located with one search down the levels,
+     * and the iteration then walks the bottom level.
+     */
+    @Override
+    protected Iterator<Entry<K, V>> entriesFrom(K fromKey, boolean inclusive) {
+        return new EntryIterator(lastBefore(fromKey, !inclusive).next);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("CompactSkipListMap[");
+        for (Node<K, V> x = head.next; x != null; x = x.next) {
+            sb.append(x.key);
+            if (x.next != null) {
+                sb.append(", ");
+            }
+        }
+        sb.append("]");
+        return sb.toString();
+    }
+}
@@ -0,0 +1,166 @@
+package edu.ncsu.csc316.dsa.map;
+
+/**
+ * A FrequencySketch estimates how often each element has been seen recently,
+ * using a count-min sketch of 4-bit counters. Each element is hashed to four
+ * counters, and its estimated frequency is the smallest of the four, so
+ * collisions can only make an estimate too high, never too low.
+ *
+ * Sixteen counters are packed into each long, and the table holds a long for
+ * every element the sketch is sized for. Counters stop at 15. To keep the
+ * estimates recent, every counter is halved once the number of increments
+ * reaches ten times the size the sketch was built for, so elements that were
+ * popular long ago gradually lose their counts.
+ *
+ * The sketch is the admission filter of {@link WTinyLFUCacheMap}.
+ *
+ * @author Ben Morris
+ *
+ * @param <E> the type of elements counted by the sketch
+ */
+public class FrequencySketch<E> {
+
+    /** Multipliers that derive an independent hash for each of the four counters */
+    private static final long[] SEEDS = { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL,
+        0xcbf29ce484222325L };
+
+    /** Mask that keeps the low three bits of every counter after a shift */
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    /** Mask that keeps the lowest bit of every counter */
+    private static final long ONE_MASK = 0x1111111111111111L;
+
+    /** The largest value a 4-bit counter can hold */
+    private static final int MAX_COUNT = 15;
+
+    /** Counters, sixteen 4-bit counters to a long */
+    private long[] table;
+
+    /** The number of increments after which every counter is halved */
+    private int sampleSize;
+
+    /** The number of increments since the counters were last halved */
+    private int additions;
+
+    /**
+     * Constructs a new sketch sized to estimate the frequencies of about the
+     * given number of distinct elements
+     *
+     * @param maximumSize the number of distinct elements the sketch is sized for
+     * @throws IllegalArgumentException if maximumSize is not positive
+     */
+    public FrequencySketch(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive.");
+        }
+        int length = Integer.highestOneBit(Math.min(maximumSize, 1 << 30));
+        if (length < maximumSize && length < (1 << 30)) {
+            length <<= 1;
+        }
+        table = new long[length];
+        sampleSize = (int) Math.min(10L * maximumSize, Integer.MAX_VALUE);
+        additions = 0;
+    }
+
+    /**
+     * Returns the estimated number of times the given element has been seen
+     * recently, from 0 to 15
+     *
+     * @param element the element to look up
+     * @return the estimated frequency of the element
+     */
+    public int frequency(E element) {
+        int hash = spread(element);
+        int frequency = MAX_COUNT;
+        for (int i = 0; i < SEEDS.length; i++) {
+            long h = indexHash(hash, i);
+            int count = (int) ((table[index(h)] >>> offset(h, i)) & 0xfL);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * Records one occurrence of the given element. Once enough occurrences have
+     * been recorded, every counter is halved.
+     *
+     * @param element the element that was seen
+     */
+    public void increment(E element) {
+        int hash = spread(element);
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            long h = indexHash(hash, i);
+            int index = index(h);
+            int offset = offset(h, i);
+            if (((table[index] >>> offset) & 0xfL) < MAX_COUNT) {
+                table[index] += 1L << offset;
+                added = true;
+            }
+        }
+        if (added && ++additions == sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * Halves every counter. The number of recorded increments is halved too,
+     * less the remainders dropped from the odd counters.
+     */
+    private void reset() {
+        int odd = 0;
+        for (int i = 0; i < table.length; i++) {
+            odd += Long.bitCount(table[i] & ONE_MASK);
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions = (additions - (odd >>> 2)) >>> 1;
+    }
+
+    /**
+     * Returns the hash code of an element with its high bits mixed into its
+     * low bits
+     *
+     * @param element the element to hash
+     * @return the spread hash of the element
+     */
+    private static int spread(Object element) {
+        int h = element.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Returns the hash that selects the counter of an element in the given row
+     * of the sketch
+     *
+     * @param hash the spread hash of the element
+     * @param row  the row of the sketch, from 0 to 3
+     * @return the hash for the given row
+     */
+    private static long indexHash(int hash, int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+        return h ^ (h >>> 32);
+    }
+
+    /**
+     * Returns the index of the long that holds the counter selected by a hash
+     *
+     * @param h a hash from {@link #indexHash}
+     * @return the index in the table
+     */
+    private int index(long h) {
+        return (int) h & (table.length - 1);
+    }
+
+    /**
+     * Returns the bit offset, within its long, of the counter selected by a hash.
+     * Each row uses its own four of the sixteen counters in a long, so the four
+     * counters of an element never share a counter.
+     *
+     * @param h   a hash from {@link #indexHash}
+     * @param row the row of the sketch, from 0 to 3
+     * @return the bit offset of the counter
+     */
+    private static int offset(long h, int row) {
+        return ((row << 2) + (int) ((h >>> 40) & 3L)) << 2;
+    }
+}
@@ -0,0 +1,324 @@
+package edu.ncsu.csc316.dsa.map;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+
+import edu.ncsu.csc316.dsa.Position;
+import edu.ncsu.csc316.dsa.list.positional.PositionalLinkedList;
+import edu.ncsu.csc316.dsa.list.positional.PositionalList;
+import edu.ncsu.csc316.dsa.map.hashing.RobinHoodHashMap;
+
+/**
+ * An LRU cache map is a map that holds at most a fixed number of entries. When
+ * a new key is put into a full cache, the least recently used entry is evicted
+ * to make room, and the optional eviction listener is told about it.
+ *
+ * Like {@link UnorderedLinkedMap}, the cache keeps its entries in a
+ * doubly-linked positional list with the most recently used entry at the
+ * front. Instead of searching that list, it also keeps a hash index from each
+ * key to its cache entry, and each cache entry remembers its own position in
+ * the list. get, put, and remove therefore locate a key with a single hash
+ * lookup, and moving an entry to the front or evicting the last entry is O(1).
+ *
+ * Both get and put count as a use of the key; iterating over the cache does
+ * not. Iteration visits entries from most recently used to least recently
+ * used.
+ *
+ * @author Ben Morris
+ *
+ * @param <K> the type of keys stored in the map
+ * @param <V> the type of values that are associated with keys in the map
+ */
+public class LRUCacheMap<K, V> extends AbstractMap<K, V> {
+
+    /** Entries in order of use, with the most recently used entry first */
+    private PositionalList<Entry<K, V>> list;
+
+    /**
+     * Hash index from each key to its entry. A full cache removes a key on every
+     * miss, so the index uses Robin Hood hashing, whose removals leave no deleted
+     * markers behind to lengthen later probes.
+     */
+    private Map<K, CacheEntry<K, V>> index;
+
+    /** Maximum number of entries held by the cache */
+    private int maxSize;
+
+    /** Called with the key and value of each evicted entry; may be null */
+    private BiConsumer<? super K, ? super V> evictionListener;
+
+    /**
+     * Constructs a new LRU cache map that holds at most the given number of
+     * entries and evicts silently
+     *
+     * @param maxSize the maximum number of entries held by the cache
+     * @throws IllegalArgumentException if maxSize is not positive
+     */
+    public LRUCacheMap(int maxSize) {
+        this(maxSize, null);
+    }
+
+    /**
+     * Constructs a new LRU cache map that holds at most the given number of
+     * entries and passes the key and value of each evicted entry to the given
+     * listener. Entries removed with {@link #remove} are not reported as
+     * evicted.
+     *
+     * @param maxSize          the maximum number of entries held by the cache
+     * @param evictionListener called with the key and value of each evicted
+     *                         entry, or null to evict silently
+     * @throws IllegalArgumentException if maxSize is not positive
+     */
+    public LRUCacheMap(int maxSize, BiConsumer<? super K, ? super V> evictionListener) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive.");
+        }
+        this.maxSize = maxSize;
+        this.evictionListener = evictionListener;
+        list = new PositionalLinkedList<Entry<K, V>>();
+        index = new RobinHoodHashMap<K, CacheEntry<K, V>>();
+    }
+
+    /**
+     * Returns the maximum number of entries held by the cache
+     *
+     * @return the maximum number of entries held by the cache
+     */
+    public int maxSize() {
+        return maxSize;
+    }
+
+    @Override
+    public V get(K key) {
+        CacheEntry<K, V> entry = index.get(key);
+        if (entry == null) {
+            return null;
+        }
+        moveToFront(entry);
+        return entry.getValue();
+    }
+
+    /**
+     * Returns the value associated with the given key without counting it as a
+     * use of the key, so the key keeps its place in the eviction order
+     *
+     * @param key the key to look up
+     * @return the value associated with the key, or null if the key is not in
+     *         the cache
+     */
+    public V peek(K key) {
+        CacheEntry<K, V> entry = index.get(key);
+        return entry == null ? null : entry.getValue();
+    }
+
+    @Override
+    public V put(K key, V value) {
+        CacheEntry<K, V> entry = index.get(key);
+        if (entry != null) {
+            V original = entry.getValue();
+            entry.setValue(value);
+            moveToFront(entry);
+            return original;
+        }
+        insert(key, value);
+        return null;
+    }
+
+    /**
+     * {@inheritDoc} The cache locates the key once, and a key that is present
+     * counts as used unless the function removes it.
+     */
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        CacheEntry<K, V> entry = index.get(key);
+        V value = remappingFunction.apply(key, entry == null ? null : entry.getValue());
+        if (entry == null) {
+            if (value != null) {
+                insert(key, value);
+            }
+        } else if (value == null) {
+            index.remove(key);
+            list.remove(entry.position);
+        } else {
+            entry.setValue(value);
+            moveToFront(entry);
+        }
+        return value;
+    }
+
+    @Override
+    public V remove(K key) {
+        CacheEntry<K, V> entry = index.remove(key);
+        if (entry == null) {
+            return null;
+        }
+        list.remove(entry.position);
+        return entry.getValue();
+    }
+
+    /**
+     * {@inheritDoc} The hash index is never presized past the maximum size of
+     * the cache.
+     */
+    @Override
+    public void ensureCapacity(int capacity) {
+        index.ensureCapacity(Math.min(capacity, maxSize));
+    }
+
+    @Override
+    public int size() {
+        return list.size();
+    }
+
+    @Override
+    public Iterable<Entry<K, V>> entrySet() {
+        return new EntryIterable();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("LRUCacheMap[");
+        Iterator<Entry<K, V>> it = list.iterator();
+        while (it.hasNext()) {
+            sb.append(it.next().getKey());
+            if (it.hasNext()) {
+                sb.append(", ");
+            }
+        }
+        sb.append("]");
+        return sb.toString();
+    }
+
+    /**
+     * Adds a new entry for a key that is not in the cache as the most recently
+     * used entry, first evicting the least recently used entry if the cache is
+     * full
+     *
+     * @param key   the key to add
+     * @param value the value to associate with the key
+     */
+    private void insert(K key, V value) {
+        if (list.size() == maxSize) {
+            evict();
+        }
+        CacheEntry<K, V> entry = new CacheEntry<K, V>(key, value);
+        entry.position = list.addFirst(entry);
+        index.put(key, entry);
+    }
+
+    /**
+     * Removes the least recently used entry and reports it to the eviction
+     * listener, if there is one
+     */
+    private void evict() {
+        Entry<K, V> eldest = list.remove(list.last());
+        index.remove(eldest.getKey());
+        if (evictionListener != null) {
+            evictionListener.accept(eldest.getKey(), eldest.getValue());
+        }
+    }
+
+    /**
+     * Helper method that moves an entry to the front of the list, marking it as
+     * the most recently used entry
+     *
+     * @param entry the entry to move to the front
+     */
+    private void moveToFront(CacheEntry<K, V> entry) {
+        if (list.first() != entry.position) {
+            list.remove(entry.position);
+            entry.position = list.addFirst(entry);
+        }
+    }
+
+    /**
+     * A CacheEntry is a map entry that also remembers its position in the list
+     * of entries, so the cache can move or remove it without searching the list
+     *
+     * @author Ben Morris
+     *
+     * @param <K> the type of key stored in the entry
+     * @param <V> the type of value stored in the entry
+     */
+    private static class CacheEntry<K, V> extends MapEntry<K, V> {
+
+        /** Position of this entry in the list of entries */
+        private Position<Entry<K, V>> position;
+
+        /**
+         * Constructs a CacheEntry with a provided key and a provided value
+         *
+         * @param key   the key to store in the entry
+         * @param value the value to store in the entry
+         */
+        public CacheEntry(K key, V value) {
+            super(key, value);
+        }
+    }
+
+    /**
+     * EntryIterable allows traversing the entries of the cache from most
+     * recently used to least recently used
+     *
+     * @author Ben Morris
+     *
+     */
+    private class EntryIterable implements Iterable<Entry<K, V>> {
+
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new EntryIterator();
+        }
+    }
+
+    /**
+     * EntryIterator walks the list of entries without changing their order, and
+     * removes an entry from both the list and the hash index
+     *
+     * @author Ben Morris
+     *
+     */
+    private class EntryIterator implements Iterator<Entry<K, V>> {
+
+        /** Iterator over the list of entries */
+        private Iterator<Entry<K, V>> it;
+
+        /** The entry most recently returned by next(), or null if none */
+        private Entry<K, V> last;
+
+        /**
+         * Constructs a new iterator positioned before the most recently used
+         * entry
+         */
+        public EntryIterator() {
+            it = list.iterator();
+            last = null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return it.hasNext();
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (!it.hasNext()) {
+                throw new NoSuchElementException("There are no more elements.");
+            }
+            last = it.next();
+            return last;
+        }
+
+        @Override
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException("Successful next() not yet called.");
+            }
+            it.remove();
+            index.remove(last.getKey());
+            last = null;
+        }
+    }
+}
@@ -0,0 +1,948 @@
+package edu.ncsu.csc316.dsa.map;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+/**
+ * The LockFreeSkipListMap is a thread-safe, non-blocking ordered map. Like
+ * {@link SkipListMap}, it keeps its entries in a sorted linked list with
+ * sparser levels of links above it to skip over runs of entries, but every link
+ * is changed with a single compare-and-swap (CAS), so no operation ever
+ * acquires a lock and a stalled thread can never prevent other threads from
+ * making progress.
+ *
+ * The design follows the algorithm of Fraser and Harris, as refined by Doug Lea
+ * for java.util.concurrent.ConcurrentSkipListMap:
+ * <ul>
+ * <li>Entries are {@link Node}s in a singly linked base list. The levels above
+ * it are {@link Index} towers that only link right and down, so adding or
+ * removing a link never has to update a link that points back.</li>
+ * <li>Removing an entry first sets its value to null (a logical deletion that
+ * readers treat as absent), then appends a marker node after it so no thread
+ * can insert after a deleted node, and finally unlinks the node and its marker
+ * from its predecessor with one CAS. Any thread that finds a deleted node helps
+ * finish unlinking it.</li>
+ * <li>Each thread chooses the height of a new entry's tower with its own
+ * {@link ThreadLocalRandom}, so inserts share no random number generator.
+ * About a quarter of the entries get a tower, and each level above the first
+ * is half as likely as the one below it.</li>
+ * </ul>
+ *
+ * {@link Map#compute} and the other update methods read the current value,
+ * apply their function, and install the result with a CAS that only succeeds
+ * if the value has not changed in the meantime; otherwise, they retry, so the
+ * function may be called more than once.
+ *
+ * {@link Map#put}, {@link Map#get}, {@link Map#remove}, and the navigation
+ * methods have O(logn) expected runtime. {@link Map#size}, {@link #entrySet},
+ * and the range views are weakly consistent: they reflect some of the changes
+ * made while they run. Values may not be null.
+ *
+ * @author Ben Morris
+ *
+ * @param <K> the type of keys stored in the map
+ * @param <V> the type of values that are associated with keys in the map
+ */
+public class LockFreeSkipListMap<K extends Comparable<K>, V> extends AbstractOrderedMap<K, V> {
+
+    /** The value of the node at the head of the base list */
+    private static final Object BASE_HEADER = new Object();
+
+    /** Atomically updates the value of a node */
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<Node, Object> NODE_VALUE = AtomicReferenceFieldUpdater
+            .newUpdater(Node.class, Object.class, "value");
+
+    /** Atomically updates the next link of a node */
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<Node, Node> NODE_NEXT = AtomicReferenceFieldUpdater
+            .newUpdater(Node.class, Node.class, "next");
+
+    /** Atomically updates the right link of an index */
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<Index, Index> INDEX_RIGHT = AtomicReferenceFieldUpdater
+            .newUpdater(Index.class, Index.class, "right");
+
+    /** The topmost head index, whose levels lead down to the base list */
+    private final AtomicReference<HeadIndex<K, V>> head;
+
+    /** The number of entries in the map, counted without contention */
+    private final LongAdder size;
+
+    /**
+     * Constructs a new LockFreeSkipListMap where keys of entries are compared
+     * based on their natural ordering based on {@link Comparable#compareTo}
+     */
+    public LockFreeSkipListMap() {
+        this(null);
+    }
+
+    /**
+     * Constructs a new LockFreeSkipListMap where keys of entries are compared
+     * based on a provided {@link Comparator}
+     *
+     * @param compare a Comparator that defines comparisons rules for keys in the
+     *                map
+     */
+    public LockFreeSkipListMap(Comparator<K> compare) {
+        super(compare);
+        Node<K, V> base = new Node<K, V>(null, BASE_HEADER, null);
+        head = new AtomicReference<HeadIndex<K, V>>(new HeadIndex<K, V>(base, null, null, 1));
+        size = new LongAdder();
+    }
+
+    /**
+     * A Node holds one entry of the base list. A node whose value is null has
+     * been deleted, and a marker node (whose value is itself) follows a deleted
+     * node until both are unlinked.
+     *
+     * @author Ben Morris
+     *
+     * @param <K> the type of key stored in the node
+     * @param <V> the type of value stored in the node
+     */
+    private static final class Node<K, V> {
+        /** The key of the entry, or null for the base header and markers */
+        private final K key;
+        /** The value of the entry, null once deleted, or the node for a marker */
+        private volatile Object value;
+        /** The next node of the base list */
+        private volatile Node<K, V> next;
+
+        /**
+         * Constructs a new node that holds an entry
+         *
+         * @param key   the key of the entry
+         * @param value the value of the entry
+         * @param next  the next node of the base list
+         */
+        Node(K key, Object value, Node<K, V> next) {
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+
+        /**
+         * Constructs a new marker node, which follows a deleted node
+         *
+         * @param next the node that followed the deleted node
+         */
+        Node(Node<K, V> next) {
+            this.key = null;
+            this.value = this;
+            this.next = next;
+        }
+
+        /**
+         * Replaces the value of the node if it is still the expected value
+         *
+         * @param expected the value the node must have
+         * @param value    the new value
+         * @return true if the value was replaced
+         */
+        boolean casValue(Object expected, Object value) {
+            return NODE_VALUE.compareAndSet(this, expected, value);
+        }
+
+        /**
+         * Replaces the next link of the node if it is still the expected node
+         *
+         * @param expected the node the link must point to
+         * @param next     the new next node
+         * @return true if the link was replaced
+         */
+        boolean casNext(Node<K, V> expected, Node<K, V> next) {
+            return NODE_NEXT.compareAndSet(this, expected, next);
+        }
+
+        /**
+         * Returns true if the node is a marker that follows a deleted node
+         *
+         * @return true if the node is a marker
+         */
+        boolean isMarker() {
+            return value == this;
+        }
+
+        /**
+         * Returns true if the node is the head of the base list
+         *
+         * @return true if the node is the base header
+         */
+        boolean isBaseHeader() {
+            return value == BASE_HEADER;
+        }
+
+        /**
+         * Helps unlink this deleted node from its predecessor: appends a marker
+         * if there is none yet, or unlinks the node and its marker if there is
+         *
+         * @param pred the node before this one
+         * @param succ the node after this one, as read by the caller
+         */
+        void helpDelete(Node<K, V> pred, Node<K, V> succ) {
+            // Only act if the caller's view of the neighbors is still current
+            if (succ == next && this == pred.next) {
+                if (succ == null || !succ.isMarker()) {
+                    casNext(succ, new Node<K, V>(succ));
+                } else {
+                    pred.casNext(this, succ.next);
+                }
+            }
+        }
+
+        /**
+         * Returns a copy of the node's entry, or null if the node is deleted
+         *
+         * @return a copy of the entry, or null
+         */
+        @SuppressWarnings("unchecked")
+        Entry<K, V> snapshot() {
+            Object v = value;
+            if (v == null || v == this || v == BASE_HEADER) {
+                return null;
+            }
+            return new MapEntry<K, V>(key, (V) v);
+        }
+    }
+
+    /**
+     * An Index is one level of the tower above a node. It links right to the
+     * next index on its level and down to the index below it (or null on the
+     * lowest level).
+     *
+     * @author Ben Morris
+     *
+     * @param <K> the type of key stored in the indexed node
+     * @param <V> the type of value stored in the indexed node
+     */
+    private static class Index<K, V> {
+        /** The node this index belongs to */
+        private final Node<K, V> node;
+        /** The index below this one */
+        private final Index<K, V> down;
+        /** The next index on this level */
+        private volatile Index<K, V> right;
+
+        /**
+         * Constructs a new index
+         *
+         * @param node  the node this index belongs to
+         * @param down  the index below this one
+         * @param right the next index on this level
+         */
+        Index(Node<K, V> node, Index<K, V> down, Index<K, V> right) {
+            this.node = node;
+            this.down = down;
+            this.right = right;
+        }
+
+        /**
+         * Links a new index between this index and its successor, unless this
+         * index's node has been deleted
+         *
+         * @param succ    the expected next index
+         * @param newSucc the index to link after this one
+         * @return true if the new index was linked
+         */
+        boolean link(Index<K, V> succ, Index<K, V> newSucc) {
+            newSucc.right = succ;
+            return node.value != null && INDEX_RIGHT.compareAndSet(this, succ, newSucc);
+        }
+
+        /**
+         * Unlinks the next index, unless this index's node has been deleted
+         *
+         * @param succ the expected next index
+         * @return true if the next index was unlinked
+         */
+        boolean unlink(Index<K, V> succ) {
+            return node.value != null && INDEX_RIGHT.compareAndSet(this, succ, succ.right);
+        }
+    }
+
+    /**
+     * A HeadIndex starts one level of index links and records its level
+     *
+     * @author Ben Morris
+     *
+     * @param <K> the type of keys stored in the map
+     * @param <V> the type of values stored in the map
+     */
+    private static final class HeadIndex<K, V> extends Index<K, V> {
+        /** The level of the head index, starting at 1 above the base list */
+        private final int level;
+
+        /**
+         * Constructs a new head index
+         *
+         * @param node  the base header
+         * @param down  the head index below this one
+         * @param right the first index on this level
+         * @param level the level of this head index
+         */
+        HeadIndex(Node<K, V> node, Index<K, V> down, Index<K, V> right, int level) {
+            super(node, down, right);
+            this.level = level;
+        }
+    }
+
+    /**
+     * Returns the head of the base list
+     *
+     * @return the base header node
+     */
+    private Node<K, V> baseHeader() {
+        Index<K, V> h = head.get();
+        return h.node;
+    }
+
+    /**
+     * Returns the last base node with a key less than the given key, following
+     * the index levels and unlinking indexes of deleted nodes on the way. The
+     * base list must still be searched from the returned node.
+     *
+     * @param key the key to search for
+     * @return a base node with a smaller key, or the base header
+     */
+    private Node<K, V> findPredecessor(K key) {
+        while (true) {
+            Index<K, V> q = head.get();
+            Index<K, V> r = q.right;
+            while (true) {
+                if (r != null) {
+                    Node<K, V> n = r.node;
+                    if (n.value == null) {
+                        if (!q.unlink(r)) {
+                            // q's node was deleted too, so start over
+                            break;
+                        }
+                        r = q.right;
+                        continue;
+                    }
+                    if (compare(key, n.key) > 0) {
+                        q = r;
+                        r = r.right;
+                        continue;
+                    }
+                }
+                Index<K, V> d = q.down;
+                if (d == null) {
+                    return q.node;
+                }
+                q = d;
+                r = d.right;
+            }
+        }
+    }
+
+    /**
+     * Returns the live node with the given key, helping unlink any deleted nodes
+     * found along the way
+     *
+     * @param key the key to search for
+     * @return the node with the key, or null if there is none
+     */
+    private Node<K, V> findNode(K key) {
+        while (true) {
+            Node<K, V> b = findPredecessor(key);
+            Node<K, V> n = b.next;
+            while (true) {
+                if (n == null) {
+                    return null;
+                }
+                Node<K, V> f = n.next;
+                if (n != b.next) {
+                    // Read an inconsistent pair of links
+                    break;
+                }
+                Object v = n.value;
+                if (v == null) {
+                    n.helpDelete(b, f);
+                    break;
+                }
+                if (b.value == null || v == n) {
+                    // b has been deleted
+                    break;
+                }
+                int c = compare(key, n.key);
+                if (c == 0) {
+                    return n;
+                }
+                if (c < 0) {
+                    return null;
+                }
+                b = n;
+                n = f;
+            }
+        }
+    }
+
+    /**
+     * Returns the live node with the closest key below or above the given key
+     *
+     * @param key       the key to search for
+     * @param below     true to find the largest key below the given key, false to
+     *                  find the smallest key above it
+     * @param inclusive true to accept a key equal to the given key
+     * @return the node with the closest key, or null if there is none
+     */
+    private Node<K, V> findNear(K key, boolean below, boolean inclusive) {
+        while (true) {
+            Node<K, V> b = findPredecessor(key);
+            Node<K, V> n = b.next;
+            while (true) {
+                if (n == null) {
+                    return !below || b.isBaseHeader() ? null : b;
+                }
+                Node<K, V> f = n.next;
+                if (n != b.next) {
+                    break;
+                }
+                Object v = n.value;
+                if (v == null) {
+                    n.helpDelete(b, f);
+                    break;
+                }
+                if (b.value == null || v == n) {
+                    break;
+                }
+                int c = compare(key, n.key);
+                if ((c == 0 && inclusive) || (c < 0 && !below)) {
+                    return n;
+                }
+                if (c <= 0 && below) {
+                    return b.isBaseHeader() ? null : b;
+                }
+                b = n;
+                n = f;
+            }
+        }
+    }
+
+    /**
+     * Returns a copy of the entry with the closest key below or above the given
+     * key, searching again if the entry is deleted before it can be copied
+     *
+     * @param key       the key to search for
+     * @param below     true to find the largest key below the given key, false to
+     *                  find the smallest key above it
+     * @param inclusive true to accept a key equal to the given key
+     * @return a copy of the entry with the closest key, or null if there is none
+     */
+    private Entry<K, V> nearEntry(K key, boolean below, boolean inclusive) {
+        while (true) {
+            Node<K, V> n = findNear(key, below, inclusive);
+            if (n == null) {
+                return null;
+            }
+            Entry<K, V> entry = n.snapshot();
+            if (entry != null) {
+                return entry;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V get(K key) {
+        Node<K, V> n = findNode(key);
+        // The node may be deleted after it is found, leaving a null value
+        return n == null ? null : (V) n.value;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Null values are not supported.");
+        }
+        return doPut(key, value, false);
+    }
+
+    /**
+     * Adds the given entry to the map, or replaces the value of an existing entry
+     * with the same key unless onlyIfAbsent is true
+     *
+     * @param key          the key of the entry
+     * @param value        the value of the entry
+     * @param onlyIfAbsent true to leave an existing entry unchanged
+     * @return the original value associated with the key, or null if the key was
+     *         not in the map
+     */
+    @SuppressWarnings("unchecked")
+    private V doPut(K key, V value, boolean onlyIfAbsent) {
+        Node<K, V> z;
+        outer: while (true) {
+            Node<K, V> b = findPredecessor(key);
+            Node<K, V> n = b.next;
+            while (true) {
+                if (n != null) {
+                    Node<K, V> f = n.next;
+                    if (n != b.next) {
+                        break;
+                    }
+                    Object v = n.value;
+                    if (v == null) {
+                        n.helpDelete(b, f);
+                        break;
+                    }
+                    if (b.value == null || v == n) {
+                        break;
+                    }
+                    int c = compare(key, n.key);
+                    if (c > 0) {
+                        b = n;
+                        n = f;
+                        continue;
+                    }
+                    if (c == 0) {
+                        if (onlyIfAbsent || n.casValue(v, value)) {
+                            return (V) v;
+                        }
+                        // Lost a race to replace the value, so start over
+                        break;
+                    }
+                }
+                z = new Node<K, V>(key, value, n);
+                if (!b.casNext(n, z)) {
+                    break;
+                }
+                break outer;
+            }
+        }
+        size.increment();
+        addIndex(z);
+        return null;
+    }
+
+    /**
+     * Chooses a random height for the tower of a newly inserted node and links
+     * the tower's indexes into each level, adding one new level to the top of
+     * the skip list if the tower is taller than the current levels
+     *
+     * @param z the newly inserted node
+     */
+    private void addIndex(Node<K, V> z) {
+        int rnd = ThreadLocalRandom.current().nextInt();
+        // Only a quarter of the nodes (those with the highest and lowest bits
+        // clear) get a tower
+        if ((rnd & 0x80000001) != 0) {
+            return;
+        }
+        int level = 1;
+        while (((rnd >>>= 1) & 1) != 0) {
+            level++;
+        }
+        Index<K, V> idx = null;
+        HeadIndex<K, V> h = head.get();
+        if (level <= h.level) {
+            for (int i = 1; i <= level; i++) {
+                idx = new Index<K, V>(z, idx, null);
+            }
+        } else {
+            // Grow the skip list by one level
+            level = h.level + 1;
+            @SuppressWarnings("unchecked")
+            Index<K, V>[] idxs = (Index<K, V>[]) new Index[level + 1];
+            for (int i = 1; i <= level; i++) {
+                idxs[i] = new Index<K, V>(z, idx, null);
+                idx = idxs[i];
+            }
+            while (true) {
+                h = head.get();
+                int oldLevel = h.level;
+                if (level <= oldLevel) {
+                    // Another thread already added the level
+                    break;
+                }
+                Node<K, V> base = baseHeader();
+                HeadIndex<K, V> newh = h;
+                for (int j = oldLevel + 1; j <= level; j++) {
+                    newh = new HeadIndex<K, V>(base, newh, idxs[j], j);
+                }
+                if (head.compareAndSet(h, newh)) {
+                    // The new top level already links to the tower, so link the rest
+                    h = newh;
+                    level = oldLevel;
+                    idx = idxs[level];
+                    break;
+                }
+            }
+        }
+        linkIndex(z.key, idx, h, level);
+    }
+
+    /**
+     * Links the indexes of a tower into the levels at and below the given level,
+     * from the top down
+     *
+     * @param key   the key of the tower's node
+     * @param idx   the tower's index at the given level
+     * @param h     the head index to start from
+     * @param level the highest level to link
+     */
+    private void linkIndex(K key, Index<K, V> idx, HeadIndex<K, V> h, int level) {
+        int insertionLevel = level;
+        while (true) {
+            int j = h.level;
+            Index<K, V> q = h;
+            Index<K, V> r = q.right;
+            Index<K, V> t = idx;
+            boolean restart = false;
+            while (!restart) {
+                if (q == null || t == null) {
+                    return;
+                }
+                if (r != null) {
+                    Node<K, V> n = r.node;
+                    int c = compare(key, n.key);
+                    if (n.value == null) {
+                        if (!q.unlink(r)) {
+                            restart = true;
+                            continue;
+                        }
+                        r = q.right;
+                        continue;
+                    }
+                    if (c > 0) {
+                        q = r;
+                        r = r.right;
+                        continue;
+                    }
+                }
+                if (j == insertionLevel) {
+                    if (!q.link(r, t)) {
+                        restart = true;
+                        continue;
+                    }
+                    if (t.node.value == null) {
+                        // The node was deleted while linking, so clean up its indexes
+                        findNode(key);
+                        return;
+                    }
+                    if (--insertionLevel == 0) {
+                        return;
+                    }
+                }
+                if (--j >= insertionLevel && j < level) {
+                    t = t.down;
+                }
+                q = q.down;
+                r = q.right;
+            }
+        }
+    }
+
+    @Override
+    public V remove(K key) {
+        return doRemove(key, null);
+    }
+
+    /**
+     * Removes the entry with the given key, if its value is the expected value
+     *
+     * @param key      the key of the entry to remove
+     * @param expected the value the entry must have, or null to remove the entry
+     *                 whatever its value
+     * @return the removed value, or null if nothing was removed
+     */
+    @SuppressWarnings("unchecked")
+    private V doRemove(K key, Object expected) {
+        while (true) {
+            Node<K, V> b = findPredecessor(key);
+            Node<K, V> n = b.next;
+            while (true) {
+                if (n == null) {
+                    return null;
+                }
+                Node<K, V> f = n.next;
+                if (n != b.next) {
+                    break;
+                }
+                Object v = n.value;
+                if (v == null) {
+                    n.helpDelete(b, f);
+                    break;
+                }
+                if (b.value == null || v == n) {
+                    break;
+                }
+                int c = compare(key, n.key);
+                if (c < 0) {
+                    return null;
+                }
+                if (c > 0) {
+                    b = n;
+                    n = f;
+                    continue;
+                }
+                if (expected != null && v != expected) {
+                    return null;
+                }
+                // Logically delete the node
+                if (!n.casValue(v, null)) {
+                    break;
+                }
+                size.decrement();
+                if (!n.casNext(f, new Node<K, V>(f)) || !b.casNext(n, f)) {
+                    // Let a search finish unlinking the node
+                    findNode(key);
+                } else {
+                    // Unlink the node's indexes
+                    findPredecessor(key);
+                    tryReduceLevel();
+                }
+                return (V) v;
+            }
+        }
+    }
+
+    /**
+     * Removes the top level if it and the two levels below it are empty. Leaving
+     * the two levels below in place keeps a level from being removed while
+     * another thread is still linking a tower into it; if the top level gains an
+     * index during the removal, the level is put back.
+     */
+    private void tryReduceLevel() {
+        HeadIndex<K, V> h = head.get();
+        if (h.level <= 3) {
+            return;
+        }
+        // Levels above the first are linked through head indexes
+        Index<K, V> top = h;
+        Index<K, V> d = top.down;
+        Index<K, V> e = d.down;
+        if (e.right == null && d.right == null && top.right == null
+                && head.compareAndSet(h, (HeadIndex<K, V>) d) && top.right != null) {
+            head.compareAndSet((HeadIndex<K, V>) d, h);
+        }
+    }
+
+    /**
+     * {@inheritDoc} The function is applied to the current value, and the result
+     * is installed with a CAS; if another thread changes the entry first, the
+     * function is applied again to the new value.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        while (true) {
+            Node<K, V> n = findNode(key);
+            if (n == null) {
+                V value = remappingFunction.apply(key, null);
+                if (value == null || doPut(key, value, true) == null) {
+                    return value;
+                }
+            } else {
+                Object v = n.value;
+                if (v != null) {
+                    V value = remappingFunction.apply(key, (V) v);
+                    if (value != null) {
+                        if (n.casValue(v, value)) {
+                            return value;
+                        }
+                    } else if (doRemove(key, v) != null) {
+                        return null;
+                    }
+                }
+            }
+            // Another thread changed the entry first, so start over
+        }
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.max(0, size.sum());
+    }
+
+    @Override
+    public Iterable<Entry<K, V>> entrySet() {
+        return new EntryIterable();
+    }
+
+    /**
+     * A live view of the entries in the map
+     *
+     * @author Ben Morris
+     */
+    private class EntryIterable implements Iterable<Entry<K, V>> {
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new EntryIterator(baseHeader().next);
+        }
+    }
+
+    /**
+     * A weakly consistent iterator over the base list. Each entry it returns is a
+     * copy taken when the iterator reached it, and removing through the iterator
+     * removes the entry's key from the map.
+     *
+     * @author Ben Morris
+     */
+    private class EntryIterator implements Iterator<Entry<K, V>> {
+        /** The next node whose entry will be returned, or null */
+        private Node<K, V> nextNode;
+        /** A copy of the entry of the next node */
+        private Entry<K, V> nextEntry;
+        /** The key of the entry most recently returned, or null */
+        private K lastKey;
+
+        /**
+         * Constructs a new iterator that starts at the first live node at or
+         * after the given node
+         *
+         * @param start the first node to consider, or null
+         */
+        EntryIterator(Node<K, V> start) {
+            nextNode = start;
+            advance();
+        }
+
+        /**
+         * Moves to the first live node at or after the current node and copies
+         * its entry
+         */
+        private void advance() {
+            nextEntry = null;
+            while (nextNode != null) {
+                nextEntry = nextNode.snapshot();
+                if (nextEntry != null) {
+                    return;
+                }
+                nextNode = nextNode.next;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextEntry != null;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (nextEntry == null) {
+                throw new NoSuchElementException("There are no more elements.");
+            }
+            Entry<K, V> entry = nextEntry;
+            lastKey = entry.getKey();
+            nextNode = nextNode.next;
+            advance();
+            return entry;
+        }
+
+        @Override
+        public void remove() {
+            if (lastKey == null) {
+                throw new IllegalStateException("Successful next() not yet called.");
+            }
+            LockFreeSkipListMap.this.remove(lastKey);
+            lastKey = null;
+        }
+    }
+
+    @Override
+    public Entry<K, V> firstEntry() {
+        return new EntryIterator(baseHeader().next).nextEntry;
+    }
+
+    /**
+     * Returns the base node of the rightmost index on the lowest index level,
+     * unlinking indexes of deleted nodes on the way
+     *
+     * @return the last indexed base node, or the base header
+     */
+    private Node<K, V> findLastIndexed() {
+        while (true) {
+            Index<K, V> q = head.get();
+            while (true) {
+                Index<K, V> r = q.right;
+                if (r != null) {
+                    if (r.node.value != null) {
+                        q = r;
+                    } else if (!q.unlink(r)) {
+                        // q's node was deleted too, so start over
+                        break;
+                    }
+                    continue;
+                }
+                if (q.down == null) {
+                    return q.node;
+                }
+                q = q.down;
+            }
+        }
+    }
+
+    @Override
+    public Entry<K, V> lastEntry() {
+        while (true) {
+            // Follow the index levels as far right as possible, then walk the
+            // rest of the base list
+            Node<K, V> b = findLastIndexed();
+            Node<K, V> last = b.isBaseHeader() ? null : b;
+            for (Node<K, V> n = b.next; n != null; n = n.next) {
+                if (n.value != null && !n.isMarker()) {
+                    last = n;
+                }
+            }
+            if (last == null) {
+                return null;
+            }
+            Entry<K, V> entry = last.snapshot();
+            if (entry != null) {
+                return entry;
+            }
+            // The last node was deleted, so search again
+        }
+    }
+
+    @Override
+    public Entry<K, V> floorEntry(K key) {
+        return nearEntry(key, true, true);
+    }
+
+    @Override
+    public Entry<K, V> lowerEntry(K key) {
+        return nearEntry(key, true, false);
+    }
+
+    @Override
+    public Entry<K, V> ceilingEntry(K key) {
+        return nearEntry(key, false, true);
+    }
+
+    @Override
+    public Entry<K, V> higherEntry(K key) {
+        return nearEntry(key, false, false);
+    }
+
+    /**
+     * {@inheritDoc} The first entry is located with one search down the index
+     * levels, and the iteration then walks the base list, so the iterator is
+     * weakly consistent.
+     */
+    @Override
+    protected Iterator<Entry<K, V>> entriesFrom(K fromKey, boolean inclusive) {
+        return new EntryIterator(findNear(fromKey, false, inclusive));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("LockFreeSkipListMap[");
+        Iterator<Entry<K, V>> it = entrySet().iterator();
+        while (it.hasNext()) {
+            sb.append(it.next().getKey());
+            if (it.hasNext()) {
+                sb.append(", ");
+            }
+        }
+        sb.append("]");
+        return sb.toString();
+    }
+}
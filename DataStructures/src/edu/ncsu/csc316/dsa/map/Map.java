@@ -1,5 +1,8 @@
 package edu.ncsu.csc316.dsa.map;
 
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
 /**
  * The Map abstract data type represents a collection of entries, where each
  * entry consists of a 'key' that is mapped to a 'value'. The Map ADT does not
@@ -8,6 +11,13 @@ package edu.ncsu.csc316.dsa.map;
  * All Maps must be {@link Iterable} to allow clients to iterate using for-each
  * loops.
  * 
+ * A null value means that a key has no entry, so the update methods
+ * ({@link #compute}, {@link #computeIfAbsent}, {@link #merge}, and
+ * {@link #putIfAbsent}) treat a missing entry and a null value alike, and a
+ * function that returns null removes the entry. The update methods locate the
+ * key once, so they are cheaper than a {@link #get} followed by a {@link #put}.
+ * The functions passed to them must not modify the map.
+ * 
  * The Map interface is based on the implementation developed for use with the
  * textbook:
  *
@@ -20,6 +30,39 @@ package edu.ncsu.csc316.dsa.map;
  */
 public interface Map<K, V> extends Iterable<K> {
 
+	/**
+	 * Computes a new value for the provided key from the key and its current value
+	 * (or null if the key has no entry). If the new value is null, the entry is
+	 * removed (if it exists); otherwise, the new value is associated with the key.
+	 * 
+	 * @param key               the key of the entry to update
+	 * @param remappingFunction the function that computes the new value from the
+	 *                          key and its current value
+	 * @return the new value associated with the key, or null if the key no longer
+	 *         has an entry
+	 */
+	V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction);
+
+	/**
+	 * Returns the value associated with the provided key. If the key has no entry,
+	 * the value is computed from the key and, unless it is null, added to the map.
+	 * 
+	 * @param key             the key of the entry to locate or add
+	 * @param mappingFunction the function that computes a value for a missing key
+	 * @return the existing or newly computed value associated with the key, or null
+	 *         if the key has no entry and the function returned null
+	 */
+	V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction);
+
+	/**
+	 * Prepares the map to hold at least the provided number of entries without
+	 * growing its underlying storage again. Maps whose storage does not depend on
+	 * a capacity ignore the request.
+	 * 
+	 * @param capacity the number of entries the map should be able to hold
+	 */
+	void ensureCapacity(int capacity);
+
 	/**
 	 * Returns an Iterable collection of all of the entries stored within the map
 	 * 
@@ -42,6 +85,21 @@ public interface Map<K, V> extends Iterable<K> {
 	 */
 	boolean isEmpty();
 
+	/**
+	 * Associates the provided value with the provided key if the key has no entry;
+	 * otherwise, combines the current value with the provided value. If the
+	 * combined value is null, the entry is removed.
+	 * 
+	 * @param key               the key of the entry to add or update
+	 * @param value             the value to add, or to combine with the current
+	 *                          value
+	 * @param remappingFunction the function that combines the current value (its
+	 *                          first argument) with the provided value
+	 * @return the new value associated with the key, or null if the entry was
+	 *         removed
+	 */
+	V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction);
+
 	/**
 	 * Adds a new entry into the map that associates the provided key with the
 	 * provided value. If an entry with the provided key already exists within the
@@ -56,6 +114,28 @@ public interface Map<K, V> extends Iterable<K> {
 	 */
 	V put(K key, V value);
 
+	/**
+	 * Adds every entry of the provided collection to the map, as if by calling
+	 * {@link #put} for each entry in iteration order (so if the collection
+	 * repeats a key, the last value wins). Maps size their storage once for the
+	 * whole collection, and ordered maps build their structure directly when the
+	 * entries are already sorted by key.
+	 * 
+	 * @param entries the entries to add to the map
+	 */
+	void putAll(Iterable<? extends Entry<K, V>> entries);
+
+	/**
+	 * Adds a new entry that associates the provided key with the provided value
+	 * only if the key does not already have an entry
+	 * 
+	 * @param key   the key of the entry
+	 * @param value the value of the entry
+	 * @return null if the entry was added; otherwise, the value already associated
+	 *         with the key, which is left unchanged
+	 */
+	V putIfAbsent(K key, V value);
+
 	/**
 	 * Removes the entry with the provided key from the map and returns the value of
 	 * that entry
@@ -0,0 +1,38 @@
+package edu.ncsu.csc316.dsa.map;
+
+import java.util.function.Supplier;
+
+import edu.ncsu.csc316.dsa.map.Map.Entry;
+
+/**
+ * MapUtil provides behaviors for building maps from whole batches of entries
+ * instead of one entry at a time.
+ *
+ * @author Ben Morris
+ *
+ */
+public class MapUtil {
+
+    /**
+     * Creates a new, empty map with the given factory and loads every given
+     * entry into it with {@link Map#putAll}. Hash maps therefore size their
+     * table once, and ordered maps build their structure in O(n) time when the
+     * entries are sorted by key. For example:
+     *
+     * <pre>
+     * Map&lt;Integer, String&gt; roster = MapUtil.build(AVLTreeMap::new, entries);
+     * </pre>
+     *
+     * @param <K>     the type of keys stored in the map
+     * @param <V>     the type of values associated with keys in the map
+     * @param <M>     the type of map to build
+     * @param factory creates the new, empty map
+     * @param entries the entries to load into the map
+     * @return the new map, holding the given entries
+     */
+    public static <K, V, M extends Map<K, V>> M build(Supplier<M> factory, Iterable<? extends Entry<K, V>> entries) {
+        M map = factory.get();
+        map.putAll(entries);
+        return map;
+    }
+}
@@ -2,7 +2,10 @@ package edu.ncsu.csc316.dsa.map;
 
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
+
 import edu.ncsu.csc316.dsa.list.ArrayBasedList;
+import edu.ncsu.csc316.dsa.list.List;
 
 /**
  * A Search Table map is an ordered (meaning entries are stored in a sorted
@@ -10,7 +13,14 @@ import edu.ncsu.csc316.dsa.list.ArrayBasedList;
  * the Map abstract data type. This array-based map delegates to an existing
  * array-based list. To improve efficiency of lookUps, the search table map
  * implements binary search to locate entries in O(logn) worst-case runtime.
- * Insertions and deletions have O(n) worst-case runtime.
+ * Deletions have O(n) worst-case runtime.
+ * 
+ * New keys are not shifted into the sorted array one at a time. They are
+ * placed in a small sorted buffer instead, and the buffer is merged into the
+ * array in one linear pass once it holds more than about sqrt(n) entries. Each
+ * insertion therefore costs O(sqrt(n)) amortized instead of O(n), while point
+ * lookups stay O(logn) by searching both the array and the buffer. Ordered
+ * reads (iteration and navigation) merge the buffer first.
  * 
  * @author Dr. King
  * 
@@ -24,8 +34,12 @@ import edu.ncsu.csc316.dsa.list.ArrayBasedList;
  * @param <V> the type of values that are associated with keys in the map
  */
 public class SearchTableMap<K extends Comparable<K>, V> extends AbstractOrderedMap<K, V> {
+	/** The smallest number of entries the buffer holds before it is merged */
+    private static final int MIN_BUFFER = 16;
 	/** Underlying data structure for our SearchTableMap */
     private ArrayBasedList<Entry<K, V>> list;
+    /** Sorted buffer of new entries that are not yet merged into the list */
+    private ArrayBasedList<Entry<K, V>> buffer;
 
     /**
      * Constructs a new SearchTableMap where keys of entries are compared based on
@@ -45,81 +59,176 @@ public class SearchTableMap<K extends Comparable<K>, V> extends AbstractOrderedM
     public SearchTableMap(Comparator<K> compare) {
         super(compare);
         list = new ArrayBasedList<Entry<K, V>>();
+        buffer = new ArrayBasedList<Entry<K, V>>();
     }
     
     /**
-     * Private search helper that determines if a key exists within the SearchTableMap and returns the 
-     * proper index position, offset by 1
+     * Private search helper that determines if a key exists within the given
+     * sorted list of entries
+     * 
+     * The search is iterative and makes one comparison per level: it narrows
+     * the range to the first key that is not less than the given key, then
+     * checks that single key for equality.
+     * 
+     * @param entries the sorted list of entries to search
+     * @param key     The key to locate
+     * @return the index of the key, or -(insertion point + 1) if the key is not
+     *         in the list
+     */
+    private int lookUp(ArrayBasedList<Entry<K, V>> entries, K key) {
+        int min = 0;
+        int max = entries.size();
+        while (min < max) {
+            int mid = (min + max) >>> 1;
+            if (compare(entries.get(mid).getKey(), key) < 0) {
+                min = mid + 1;
+            } else {
+                max = mid;
+            }
+        }
+        if (min < entries.size() && compare(entries.get(min).getKey(), key) == 0) {
+            return min;
+        }
+        return -1 * (min + 1);
+    }
+
+    /**
+     * Private search helper that locates a key in the sorted list, after
+     * merging any buffered entries into it
+     * 
      * @param key The key to locate
-     * @return The index at which a newly added key, or one that isn't already in the Map, should be added by calling another private helper method binarySearchHelper
+     * @return the index of the key, or -(insertion point + 1) if the key is not
+     *         in the list
      */
     private int lookUp(K key) {
-       return binarySearchHelper(0, list.size() - 1, key);
+        flush();
+        return lookUp(list, key);
     }
 
     /**
-     * Private helper method that implements the Binary Search algorithm
-     * @param min The minimum index for the search range
-     * @param max The maximum index for the search range
-     * @param key The key to locate within the Map
-     * @return The index at which a newly added key, or one that isn't already in the Map, should be added
+     * Merges the buffered entries into the sorted list in one linear pass
      */
-    private int binarySearchHelper(int min, int max, K key) {
-        if (min > max) {
-        	return -1 * (min + 1);
-        }
-        int mid = (max + min) / 2;
-        if (compare(list.get(mid).getKey(), key) == 0) {
-        	return mid;
-        } else if (compare(list.get(mid).getKey(), key) > 0) {
-        	return binarySearchHelper(min, mid - 1, key);	
-        } else {
-       		return binarySearchHelper(mid + 1, max, key);
-       	}
+    private void flush() {
+        if (!buffer.isEmpty()) {
+            list = merge(list, buffer);
+            buffer = new ArrayBasedList<Entry<K, V>>();
+        }
+    }
+
+    /**
+     * Merges two sorted lists of entries into a new sorted list. An entry of
+     * the second list replaces an entry of the first list with the same key.
+     * 
+     * @param first  the first sorted list
+     * @param second the second sorted list
+     * @return the merged list
+     */
+    private ArrayBasedList<Entry<K, V>> merge(List<Entry<K, V>> first, List<Entry<K, V>> second) {
+        ArrayBasedList<Entry<K, V>> merged = new ArrayBasedList<Entry<K, V>>(first.size() + second.size());
+        int i = 0;
+        int j = 0;
+        while (i < first.size() && j < second.size()) {
+            int comp = compare(first.get(i).getKey(), second.get(j).getKey());
+            if (comp < 0) {
+                merged.addLast(first.get(i++));
+            } else {
+                if (comp == 0) {
+                    // The second entry replaces the first
+                    i++;
+                }
+                merged.addLast(second.get(j++));
+            }
+        }
+        while (i < first.size()) {
+            merged.addLast(first.get(i++));
+        }
+        while (j < second.size()) {
+            merged.addLast(second.get(j++));
+        }
+        return merged;
     }
 
     @Override
     public int size() {
-        return list.size();
+        return list.size() + buffer.size();
     }
 
     @Override
     public V get(K key) {
-        int index = lookUp(key);
+        int index = lookUp(list, key);
+        if (index >= 0) {
+            return list.get(index).getValue();
+        }
+        index = lookUp(buffer, key);
         if (index < 0) {
         	return null;
         } else {
-        	return list.get(index).getValue();
+        	return buffer.get(index).getValue();
         }
     }
 
     @Override
     public Iterable<Entry<K, V>> entrySet() {
-        EntryCollection set = new EntryCollection();
-        for (Entry<K, V> entry : list) {
-            set.add(entry);
-        }
-        return set;
+        // Each iteration merges the buffer and then walks the sorted list of
+        // entries directly, so the view stays live and supports remove()
+        return new Iterable<Entry<K, V>>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                flush();
+                return list.iterator();
+            }
+        };
     }
 
     @Override
     public V put(K key, V value) {
-        int index = lookUp(key);
+        int index = lookUp(list, key);
+        if (index >= 0) {
+            return list.set(index, new MapEntry<K, V>(key, value)).getValue();
+        }
+        index = lookUp(buffer, key);
         V rtn; 
         if (index < 0) {
-        	list.add(-1 * (index + 1), new MapEntry<K, V>(key, value));
+        	buffer.add(-1 * (index + 1), new MapEntry<K, V>(key, value));
+        	if (buffer.size() > Math.max(MIN_BUFFER, (int) Math.sqrt(list.size()))) {
+        	    flush();
+        	}
         	return null;
         } else {
-        	Map.Entry<K, V> holder = list.set(index, new MapEntry<K, V>(key, value));
+        	Map.Entry<K, V> holder = buffer.set(index, new MapEntry<K, V>(key, value));
         	rtn = holder.getValue();
         	return rtn;
         }
-        
+    }
+
+    @Override
+    public void ensureCapacity(int capacity) {
+        list.ensureCapacity(capacity);
+    }
+
+    /**
+     * {@inheritDoc} A batch that is sorted by key is merged with the sorted
+     * array of entries in a single O(n + m) pass instead of shifting the array
+     * once per entry; any other batch is added one entry at a time.
+     */
+    @Override
+    public void putAll(Iterable<? extends Entry<K, V>> entries) {
+        List<Entry<K, V>> batch = sortedBatch(entries);
+        if (batch == null) {
+            super.putAll(entries);
+            return;
+        }
+        flush();
+        list = merge(list, batch);
     }
 
     @Override
     public V remove(K key) {
-        int index = lookUp(key);
+        int index = lookUp(buffer, key);
+        if (index >= 0) {
+            return buffer.remove(index).getValue();
+        }
+        index = lookUp(list, key);
         if (index < 0) {
         	return null;
         } else {
@@ -128,8 +237,112 @@ public class SearchTableMap<K extends Comparable<K>, V> extends AbstractOrderedM
         }
     }
     
+    @Override
+    public Entry<K, V> firstEntry() {
+        flush();
+        return entryAt(0);
+    }
+
+    @Override
+    public Entry<K, V> lastEntry() {
+        flush();
+        return entryAt(list.size() - 1);
+    }
+
+    @Override
+    public Entry<K, V> floorEntry(K key) {
+        int index = lookUp(key);
+        return entryAt(index >= 0 ? index : -1 * (index + 1) - 1);
+    }
+
+    @Override
+    public Entry<K, V> lowerEntry(K key) {
+        int index = lookUp(key);
+        return entryAt(index >= 0 ? index - 1 : -1 * (index + 1) - 1);
+    }
+
+    @Override
+    public Entry<K, V> ceilingEntry(K key) {
+        return entryAt(startIndex(key, true));
+    }
+
+    @Override
+    public Entry<K, V> higherEntry(K key) {
+        return entryAt(startIndex(key, false));
+    }
+
+    /**
+     * {@inheritDoc} The first entry is located with binary search.
+     */
+    @Override
+    protected Iterator<Entry<K, V>> entriesFrom(K fromKey, boolean inclusive) {
+        return new IndexIterator(startIndex(fromKey, inclusive));
+    }
+
+    /**
+     * Returns the index of the first entry with a key at or above (or strictly
+     * above) the given key
+     * 
+     * @param key       the key to search for
+     * @param inclusive true to accept an entry with a key equal to the given key
+     * @return the index of the first such entry, or the size of the map if there
+     *         is none
+     */
+    private int startIndex(K key, boolean inclusive) {
+        int index = lookUp(key);
+        if (index < 0) {
+            return -1 * (index + 1);
+        }
+        return inclusive ? index : index + 1;
+    }
+
+    /**
+     * Returns the entry at the given index of the sorted list, or null if the
+     * index is out of range
+     * 
+     * @param index the index of the entry
+     * @return the entry at the index, or null
+     */
+    private Entry<K, V> entryAt(int index) {
+        return index >= 0 && index < list.size() ? list.get(index) : null;
+    }
+
+    /**
+     * IndexIterator walks the sorted list of entries from a given index
+     * 
+     * @author Ben Morris
+     *
+     */
+    private class IndexIterator implements Iterator<Entry<K, V>> {
+        /** The index of the next entry to return */
+        private int index;
+
+        /**
+         * Constructs a new iterator that starts at the given index
+         * 
+         * @param index the index of the first entry to return
+         */
+        IndexIterator(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < list.size();
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("There are no more elements.");
+            }
+            return list.get(index++);
+        }
+    }
+
     @Override
     public String toString() {
+        flush();
         StringBuilder sb = new StringBuilder("SearchTableMap[");
         Iterator<Entry<K, V>> it = list.iterator();
         while(it.hasNext()) {
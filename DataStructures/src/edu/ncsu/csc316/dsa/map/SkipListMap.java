@@ -1,8 +1,12 @@
 package edu.ncsu.csc316.dsa.map;
 
 import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Random;
 
+import edu.ncsu.csc316.dsa.list.List;
+
 /**
  * A SkipListMap is an ordered (meaning entries are stored in a sorted order
  * based on the keys of the entries) linked-memory representation of the Map
@@ -99,10 +103,24 @@ public class SkipListMap<K extends Comparable<K>, V> extends AbstractOrderedMap<
      * @return SkipListNode with the sought after entry, or SkipListNode with a null entry
      */
     private SkipListNode<K, V> lookUp(K key) {
+        return lookUp(key, true);
+    }
+
+    /**
+     * Search helper method that finds the bottom-level node with the largest key
+     * at or below (or strictly below) the given key
+     * @param key the key to search for
+     * @param inclusive true to stop at a node with a key equal to the given key,
+     *                  false to stop before it
+     * @return the bottom-level node with the largest such key, or the -INFINITY
+     *         sentinel if there is none
+     */
+    private SkipListNode<K, V> lookUp(K key, boolean inclusive) {
+        int stop = inclusive ? 0 : 1;
         SkipListNode<K, V> current = start;
         while (current.below != null) {
             current = current.below;
-            while (!isSentinel(current.next) && compare(key, current.next.getEntry().getKey()) >= 0) {
+            while (!isSentinel(current.next) && compare(key, current.next.getEntry().getKey()) >= stop) {
                 current = current.next;
             }
         }
@@ -179,6 +197,68 @@ public class SkipListMap<K extends Comparable<K>, V> extends AbstractOrderedMap<
         return null;
     }
 
+    /**
+     * {@inheritDoc} If the skip list is empty and the batch is sorted by key, the
+     * skip list is built level by level in O(n) time without coin tosses: the
+     * i-th entry (counting from 1) gets a tower with one level more than the
+     * number of times 2 divides i, so each level holds every other entry of the
+     * level below it. Otherwise, the entries are added one at a time.
+     */
+    @Override
+    public void putAll(Iterable<? extends Entry<K, V>> entries) {
+        List<Entry<K, V>> batch = isEmpty() ? sortedBatch(entries) : null;
+        if (batch == null) {
+            super.putAll(entries);
+            return;
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        // The tallest tower belongs to the largest power of 2 up to the size;
+        // as in put, the top level holds only the sentinels
+        int levels = 32 - Integer.numberOfLeadingZeros(batch.size());
+        @SuppressWarnings("unchecked")
+        SkipListNode<K, V>[] last = (SkipListNode<K, V>[]) new SkipListNode[levels + 1];
+        for (int level = 0; level <= levels; level++) {
+            last[level] = new SkipListNode<K, V>(null);
+            if (level > 0) {
+                last[level].setBelow(last[level - 1]);
+                last[level - 1].setAbove(last[level]);
+            }
+        }
+        start = last[levels];
+        for (int i = 1; i <= batch.size(); i++) {
+            Entry<K, V> entry = batch.get(i - 1);
+            int towerHeight = Integer.numberOfTrailingZeros(i) + 1;
+            SkipListNode<K, V> down = null;
+            for (int level = 0; level < towerHeight; level++) {
+                SkipListNode<K, V> node = new SkipListNode<K, V>(new MapEntry<K, V>(entry.getKey(), entry.getValue()));
+                node.setPrevious(last[level]);
+                last[level].setNext(node);
+                node.setBelow(down);
+                if (down != null) {
+                    down.setAbove(node);
+                }
+                last[level] = node;
+                down = node;
+            }
+        }
+        // Close each level with a +INFINITY sentinel
+        SkipListNode<K, V> down = null;
+        for (int level = 0; level <= levels; level++) {
+            SkipListNode<K, V> tail = new SkipListNode<K, V>(null);
+            tail.setPrevious(last[level]);
+            last[level].setNext(tail);
+            tail.setBelow(down);
+            if (down != null) {
+                down.setAbove(tail);
+            }
+            down = tail;
+        }
+        height = levels;
+        size = batch.size();
+    }
+
     @Override
     public V remove(K key) {
         SkipListNode<K, V> temp = lookUp(key);
@@ -203,17 +283,133 @@ public class SkipListMap<K extends Comparable<K>, V> extends AbstractOrderedMap<
 
     @Override
     public Iterable<Entry<K, V>> entrySet() {
-        EntryCollection set = new EntryCollection();
+        return new EntryIterable();
+    }
+
+    /**
+     * A live view of the entries in the skip list. Iterating the view walks the
+     * bottom level of the skip list directly instead of copying the entries
+     * first.
+     * 
+     * @author Ben Morris
+     */
+    private class EntryIterable implements Iterable<Entry<K, V>> {
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new EntryIterator();
+        }
+    }
+
+    /**
+     * EntryIterator walks the bottom level of the skip list, which holds every
+     * entry in sorted order. Removing through the iterator unlinks the whole
+     * tower of the most recently returned entry; the node the iterator will
+     * return next is not part of that tower, so it stays linked.
+     * 
+     * @author Ben Morris
+     */
+    private class EntryIterator implements Iterator<Entry<K, V>> {
+        /** The bottom-level node to return next */
+        private SkipListNode<K, V> cursor;
+        /** The node most recently returned by next(), or null */
+        private SkipListNode<K, V> lastReturned;
+
+        /**
+         * Constructs a new iterator positioned before the smallest key
+         */
+        EntryIterator() {
+            SkipListNode<K, V> current = start;
+            while (current.below != null) {
+                current = current.below;
+            }
+            cursor = current.next;
+            lastReturned = null;
+        }
+
+        /**
+         * Constructs a new iterator positioned before the given bottom-level node
+         * 
+         * @param cursor the bottom-level node to return first, or the +INFINITY
+         *               sentinel if there are no entries to return
+         */
+        EntryIterator(SkipListNode<K, V> cursor) {
+            this.cursor = cursor;
+            lastReturned = null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !isSentinel(cursor);
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("There are no more elements.");
+            }
+            lastReturned = cursor;
+            cursor = cursor.next;
+            return lastReturned.getEntry();
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException("Successful next() not yet called.");
+            }
+            SkipListMap.this.remove(lastReturned.getEntry().getKey());
+            lastReturned = null;
+        }
+    }
+
+    @Override
+    public Entry<K, V> firstEntry() {
         SkipListNode<K, V> current = start;
         while (current.below != null) {
             current = current.below;
         }
-        current = current.next;
-        while (!isSentinel(current)) {
-            set.add(current.getEntry());
-            current = current.next;
+        return snapshot(current.next.getEntry());
+    }
+
+    @Override
+    public Entry<K, V> lastEntry() {
+        SkipListNode<K, V> current = start;
+        while (current.below != null) {
+            current = current.below;
+            while (!isSentinel(current.next)) {
+                current = current.next;
+            }
         }
-        return set;
+        return snapshot(current.getEntry());
+    }
+
+    @Override
+    public Entry<K, V> floorEntry(K key) {
+        return snapshot(lookUp(key, true).getEntry());
+    }
+
+    @Override
+    public Entry<K, V> lowerEntry(K key) {
+        return snapshot(lookUp(key, false).getEntry());
+    }
+
+    @Override
+    public Entry<K, V> ceilingEntry(K key) {
+        return snapshot(lookUp(key, false).next.getEntry());
+    }
+
+    @Override
+    public Entry<K, V> higherEntry(K key) {
+        return snapshot(lookUp(key, true).next.getEntry());
+    }
+
+    /**
+     * {@inheritDoc} The first entry is located by searching down the levels of
+     * the skip list, and the iteration then walks the bottom level.
+     */
+    @Override
+    protected Iterator<Entry<K, V>> entriesFrom(K fromKey, boolean inclusive) {
+        return new EntryIterator(lookUp(fromKey, !inclusive).next);
     }
 
     @Override
@@ -0,0 +1,475 @@
+package edu.ncsu.csc316.dsa.map;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+
+import edu.ncsu.csc316.dsa.Position;
+import edu.ncsu.csc316.dsa.list.positional.PositionalLinkedList;
+import edu.ncsu.csc316.dsa.list.positional.PositionalList;
+import edu.ncsu.csc316.dsa.map.hashing.RobinHoodHashMap;
+
+/**
+ * A W-TinyLFU cache map is a bounded cache that keeps a better hit ratio than
+ * {@link LRUCacheMap} when recently used keys are not the ones most likely to
+ * be used again, such as when a long scan of one-time keys passes through the
+ * cache.
+ *
+ * The cache is split into three regions, each kept in least recently used
+ * order in a doubly-linked positional list:
+ * <ul>
+ * <li>a small window (1% of the cache) that every new key enters first,</li>
+ * <li>a probation region for keys that have left the window, and</li>
+ * <li>a protected region (80% of the rest of the cache) for keys used again
+ * while on probation.</li>
+ * </ul>
+ *
+ * When a key leaves a full window and the rest of the cache is full, it
+ * competes with the least recently used key on probation. A
+ * {@link FrequencySketch} estimates how often each key has been used recently,
+ * and the key with the lower estimate is evicted; ties keep the key already on
+ * probation. A key used while on probation moves to the protected region, and
+ * the least recently used protected key is moved back to probation when the
+ * protected region overflows.
+ *
+ * A hash index maps each key to its entry, and each entry remembers its region
+ * and list position, so get, put, and remove are O(1). Calls to get are counted
+ * as hits or misses. compute, computeIfAbsent, merge, and putIfAbsent look the
+ * key up with get, so they are counted too, which makes computeIfAbsent the
+ * natural way to load values into the cache.
+ *
+ * @author Ben Morris
+ *
+ * @param <K> the type of keys stored in the map
+ * @param <V> the type of values that are associated with keys in the map
+ */
+public class WTinyLFUCacheMap<K, V> extends AbstractMap<K, V> {
+
+    /** Entries that have just entered the cache, most recently used first */
+    private PositionalList<CacheEntry<K, V>> windowRegion;
+
+    /** Entries that have left the window, most recently used first */
+    private PositionalList<CacheEntry<K, V>> probationRegion;
+
+    /** Entries used again while on probation, most recently used first */
+    private PositionalList<CacheEntry<K, V>> protectedRegion;
+
+    /** Hash index from each key to its entry (tombstone-free, as in LRUCacheMap) */
+    private Map<K, CacheEntry<K, V>> index;
+
+    /** Estimates how often each key has been used recently */
+    private FrequencySketch<K> sketch;
+
+    /** Maximum number of entries held by the cache */
+    private int maxSize;
+
+    /** Maximum number of entries in the window */
+    private int windowMax;
+
+    /** Maximum number of entries in the probation and protected regions together */
+    private int mainMax;
+
+    /** Maximum number of entries in the protected region */
+    private int protectedMax;
+
+    /** Called with the key and value of each evicted entry; may be null */
+    private BiConsumer<? super K, ? super V> evictionListener;
+
+    /** The number of calls to get that found their key */
+    private long hitCount;
+
+    /** The number of calls to get that did not find their key */
+    private long missCount;
+
+    /** The number of entries evicted to make room for new keys */
+    private long evictionCount;
+
+    /**
+     * Constructs a new W-TinyLFU cache map that holds at most the given number
+     * of entries and evicts silently
+     *
+     * @param maxSize the maximum number of entries held by the cache
+     * @throws IllegalArgumentException if maxSize is not positive
+     */
+    public WTinyLFUCacheMap(int maxSize) {
+        this(maxSize, null);
+    }
+
+    /**
+     * Constructs a new W-TinyLFU cache map that holds at most the given number
+     * of entries and passes the key and value of each evicted entry to the
+     * given listener. Entries removed with {@link #remove} are not reported as
+     * evicted.
+     *
+     * @param maxSize          the maximum number of entries held by the cache
+     * @param evictionListener called with the key and value of each evicted
+     *                         entry, or null to evict silently
+     * @throws IllegalArgumentException if maxSize is not positive
+     */
+    public WTinyLFUCacheMap(int maxSize, BiConsumer<? super K, ? super V> evictionListener) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive.");
+        }
+        this.maxSize = maxSize;
+        this.evictionListener = evictionListener;
+        windowMax = Math.max(1, maxSize / 100);
+        mainMax = maxSize - windowMax;
+        protectedMax = (int) (mainMax * 4L / 5);
+        windowRegion = new PositionalLinkedList<CacheEntry<K, V>>();
+        probationRegion = new PositionalLinkedList<CacheEntry<K, V>>();
+        protectedRegion = new PositionalLinkedList<CacheEntry<K, V>>();
+        index = new RobinHoodHashMap<K, CacheEntry<K, V>>();
+        sketch = new FrequencySketch<K>(maxSize);
+    }
+
+    /**
+     * Returns the maximum number of entries held by the cache
+     *
+     * @return the maximum number of entries held by the cache
+     */
+    public int maxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Returns the number of calls to get that found their key
+     *
+     * @return the number of cache hits
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of calls to get that did not find their key
+     *
+     * @return the number of cache misses
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the number of entries evicted to make room for new keys
+     *
+     * @return the number of evictions
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Returns the fraction of calls to get that found their key, or 0 if get
+     * has not been called
+     *
+     * @return the hit ratio of the cache
+     */
+    public double getHitRatio() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 0.0 : (double) hitCount / requests;
+    }
+
+    @Override
+    public V get(K key) {
+        sketch.increment(key);
+        CacheEntry<K, V> entry = index.get(key);
+        if (entry == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        onAccess(entry);
+        return entry.getValue();
+    }
+
+    /**
+     * Returns the value associated with the given key without counting it as a
+     * use of the key or as a hit or miss
+     *
+     * @param key the key to look up
+     * @return the value associated with the key, or null if the key is not in
+     *         the cache
+     */
+    public V peek(K key) {
+        CacheEntry<K, V> entry = index.get(key);
+        return entry == null ? null : entry.getValue();
+    }
+
+    @Override
+    public V put(K key, V value) {
+        CacheEntry<K, V> entry = index.get(key);
+        if (entry != null) {
+            V original = entry.getValue();
+            entry.setValue(value);
+            onAccess(entry);
+            return original;
+        }
+        sketch.increment(key);
+        insert(key, value);
+        return null;
+    }
+
+    @Override
+    public V remove(K key) {
+        CacheEntry<K, V> entry = index.remove(key);
+        if (entry == null) {
+            return null;
+        }
+        entry.region.remove(entry.position);
+        return entry.getValue();
+    }
+
+    /**
+     * {@inheritDoc} The hash index is never presized past the maximum size of
+     * the cache.
+     */
+    @Override
+    public void ensureCapacity(int capacity) {
+        index.ensureCapacity(Math.min(capacity, maxSize));
+    }
+
+    @Override
+    public int size() {
+        return windowRegion.size() + probationRegion.size() + protectedRegion.size();
+    }
+
+    @Override
+    public Iterable<Entry<K, V>> entrySet() {
+        return new EntryIterable();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("WTinyLFUCacheMap[window=");
+        appendKeys(sb, windowRegion);
+        sb.append(", probation=");
+        appendKeys(sb, probationRegion);
+        sb.append(", protected=");
+        appendKeys(sb, protectedRegion);
+        sb.append("]");
+        return sb.toString();
+    }
+
+    /**
+     * Appends the keys of a region, most recently used first, in square brackets
+     *
+     * @param sb     the builder to append to
+     * @param region the region whose keys to append
+     */
+    private void appendKeys(StringBuilder sb, PositionalList<CacheEntry<K, V>> region) {
+        sb.append("[");
+        Iterator<CacheEntry<K, V>> it = region.iterator();
+        while (it.hasNext()) {
+            sb.append(it.next().getKey());
+            if (it.hasNext()) {
+                sb.append(", ");
+            }
+        }
+        sb.append("]");
+    }
+
+    /**
+     * Adds a new entry for a key that is not in the cache to the front of the
+     * window. If the window overflows, its least recently used entry moves to
+     * probation, and if the cache is then over its maximum size, the admission
+     * policy evicts one entry.
+     *
+     * @param key   the key to add
+     * @param value the value to associate with the key
+     */
+    private void insert(K key, V value) {
+        CacheEntry<K, V> entry = new CacheEntry<K, V>(key, value);
+        entry.region = windowRegion;
+        entry.position = windowRegion.addFirst(entry);
+        index.put(key, entry);
+        if (windowRegion.size() > windowMax) {
+            CacheEntry<K, V> candidate = windowRegion.last().getElement();
+            moveToFront(candidate, probationRegion);
+            if (probationRegion.size() + protectedRegion.size() > mainMax) {
+                admit(candidate);
+            }
+        }
+    }
+
+    /**
+     * Decides whether a candidate that just left the window stays in the cache.
+     * The candidate is compared with the least recently used entry on
+     * probation (or in the protected region, if the candidate is the only entry
+     * on probation), and whichever has the lower estimated frequency is
+     * evicted. On a tie the candidate is evicted.
+     *
+     * @param candidate the entry that just moved from the window to probation
+     */
+    private void admit(CacheEntry<K, V> candidate) {
+        CacheEntry<K, V> victim = probationRegion.last().getElement();
+        if (victim == candidate) {
+            victim = protectedRegion.isEmpty() ? null : protectedRegion.last().getElement();
+        }
+        if (victim != null && sketch.frequency(candidate.getKey()) > sketch.frequency(victim.getKey())) {
+            evict(victim);
+        } else {
+            evict(candidate);
+        }
+    }
+
+    /**
+     * Removes an entry from the cache and reports it to the eviction listener,
+     * if there is one
+     *
+     * @param entry the entry to evict
+     */
+    private void evict(CacheEntry<K, V> entry) {
+        entry.region.remove(entry.position);
+        index.remove(entry.getKey());
+        evictionCount++;
+        if (evictionListener != null) {
+            evictionListener.accept(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Records a use of an entry that is in the cache. An entry on probation is
+     * promoted to the protected region, demoting the least recently used
+     * protected entry if the protected region overflows; any other entry moves
+     * to the front of its region.
+     *
+     * @param entry the entry that was used
+     */
+    private void onAccess(CacheEntry<K, V> entry) {
+        if (entry.region == probationRegion) {
+            moveToFront(entry, protectedRegion);
+            if (protectedRegion.size() > protectedMax) {
+                moveToFront(protectedRegion.last().getElement(), probationRegion);
+            }
+        } else {
+            moveToFront(entry, entry.region);
+        }
+    }
+
+    /**
+     * Helper method that moves an entry to the front of the given region,
+     * which may be the region it is already in
+     *
+     * @param entry  the entry to move
+     * @param region the region to move the entry to
+     */
+    private void moveToFront(CacheEntry<K, V> entry, PositionalList<CacheEntry<K, V>> region) {
+        if (entry.region == region && region.first() == entry.position) {
+            return;
+        }
+        entry.region.remove(entry.position);
+        entry.region = region;
+        entry.position = region.addFirst(entry);
+    }
+
+    /**
+     * A CacheEntry is a map entry that also remembers which region of the cache
+     * it is in and its position in that region's list, so the cache can move or
+     * remove it without searching
+     *
+     * @author Ben Morris
+     *
+     * @param <K> the type of key stored in the entry
+     * @param <V> the type of value stored in the entry
+     */
+    private static class CacheEntry<K, V> extends MapEntry<K, V> {
+
+        /** The region list that holds this entry */
+        private PositionalList<CacheEntry<K, V>> region;
+
+        /** Position of this entry in its region list */
+        private Position<CacheEntry<K, V>> position;
+
+        /**
+         * Constructs a CacheEntry with a provided key and a provided value
+         *
+         * @param key   the key to store in the entry
+         * @param value the value to store in the entry
+         */
+        public CacheEntry(K key, V value) {
+            super(key, value);
+        }
+    }
+
+    /**
+     * EntryIterable allows traversing the entries of the cache: first the
+     * window, then the protected region, then probation
+     *
+     * @author Ben Morris
+     *
+     */
+    private class EntryIterable implements Iterable<Entry<K, V>> {
+
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new EntryIterator();
+        }
+    }
+
+    /**
+     * EntryIterator walks each region in turn without changing the order of
+     * use, and removes an entry from both its region and the hash index
+     *
+     * @author Ben Morris
+     *
+     */
+    private class EntryIterator implements Iterator<Entry<K, V>> {
+
+        /** The regions to walk, in order */
+        private PositionalList<CacheEntry<K, V>>[] regions;
+
+        /** The index of the region currently being walked */
+        private int current;
+
+        /** Iterator over the region currently being walked */
+        private Iterator<CacheEntry<K, V>> it;
+
+        /** The entry most recently returned by next(), or null if none */
+        private CacheEntry<K, V> last;
+
+        /** The region iterator that returned the last entry */
+        private Iterator<CacheEntry<K, V>> lastIt;
+
+        /**
+         * Constructs a new iterator positioned before the first entry of the
+         * window
+         */
+        @SuppressWarnings("unchecked")
+        public EntryIterator() {
+            regions = new PositionalList[] { windowRegion, protectedRegion, probationRegion };
+            current = 0;
+            it = regions[0].iterator();
+            last = null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!it.hasNext() && current < regions.length - 1) {
+                current++;
+                it = regions[current].iterator();
+            }
+            return it.hasNext();
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("There are no more elements.");
+            }
+            last = it.next();
+            lastIt = it;
+            return last;
+        }
+
+        @Override
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException("Successful next() not yet called.");
+            }
+            // hasNext() may have moved on to the next region since
+            lastIt.remove();
+            index.remove(last.getKey());
+            last = null;
+        }
+    }
+}
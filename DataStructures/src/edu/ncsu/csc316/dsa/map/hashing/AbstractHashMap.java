@@ -1,6 +1,7 @@
 package edu.ncsu.csc316.dsa.map.hashing;
 
-import java.util.Random;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
 
 import edu.ncsu.csc316.dsa.list.ArrayBasedList;
 import edu.ncsu.csc316.dsa.list.List;
@@ -41,24 +42,33 @@ public abstract class AbstractHashMap<K, V> extends AbstractMap<K, V> {
      */
     protected static final int DEFAULT_PRIME = 109345121;
 
+    /** The strategy that maps keys to bucket indexes and sizes the table */
+    private HashStrategy<K> strategy;
+
     /**
-     * Alpha and Beta values for MAD compression
-     * This implementation uses a variation of the MAD method
-     * where h(k) = ( (alpha * f(k) + beta) % prime) % capacity
+     * The number of old buckets moved into the new hash table array by each
+     * operation while an incremental resize is in progress. Moving more than one
+     * bucket per operation ensures the old array is emptied before the new
+     * array reaches its own maximum load factor.
      */
-    private long alpha;
+    private static final int TRANSFER_STEPS = 4;
+
+    /** True if the hash table resizes incrementally */
+    private boolean incrementalResize;
+
     /**
-     *  Beta value for MAD compression.
-     *  This implementation uses a variation of the MAD method
-     *  where h(k) = ( (alpha * f(k) + beta) % prime) % capacity
+     * The index of the next bucket of the old hash table array to move during an
+     * incremental resize, or -1 if no incremental resize is in progress
      */
-    private long beta;
-    /** The prime number to use for compression strategy */
-    private int prime;
+    private int transferIndex;
+
+    /** The statistics counters, or null if statistics are disabled */
+    private StatsCounters stats;
 
     /**
      * Initializes the abstract hash map state with values to use when calculating
-     * hash functions. You can use the isTesting flag (set to true) to.
+     * hash functions. The hash map uses multiply-and-divide compression (see
+     * {@link MADHashStrategy}).
      * 
      * In TESTING MODE only, alpha=1, beta=1, and prime=7 to help ensure a
      * repeatable sequence of prime numbers and hash functions
@@ -68,55 +78,321 @@ public abstract class AbstractHashMap<K, V> extends AbstractMap<K, V> {
      *                  sequence of random numbers when testing
      */
     public AbstractHashMap(int capacity, boolean isTesting) {
-        if (isTesting) {
-            alpha = 1;
-            beta = 1;
-            prime = 7;
-        } else {
-            Random rand = new Random();
-            alpha = rand.nextInt(DEFAULT_PRIME - 1) + 1;
-            beta = rand.nextInt(DEFAULT_PRIME);
-            prime = DEFAULT_PRIME;
-        }
-        createTable(capacity);
+        this(capacity, new MADHashStrategy<K>(isTesting));
     }
 
     /**
-     * Returns the hash function for a given key using multiply-and-divide
-     * compression
+     * Initializes the abstract hash map state to use the given hash strategy. The
+     * strategy may adjust the initial capacity (for example, to a power of two).
+     * 
+     * @param capacity the requested initial capacity of the hash table array
+     * @param strategy the strategy that maps keys to bucket indexes
+     */
+    public AbstractHashMap(int capacity, HashStrategy<K> strategy) {
+        this.strategy = strategy;
+        incrementalResize = false;
+        transferIndex = -1;
+        stats = null;
+        createTable(strategy.tableCapacity(capacity));
+    }
+
+    /**
+     * Returns the hash strategy used by the hash table
+     * 
+     * @return the hash strategy used by the hash table
+     */
+    public HashStrategy<K> getHashStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Returns the index of the bucket for the given key in the current hash table
+     * array
      * 
      * @param key the key for which to calculate the hash function
      * @return the compressed hash function for the provided key
      */
     private int compress(K key) {
-        return (int) ((Math.abs(key.hashCode() * alpha + beta) % prime) % capacity());
+        return strategy.index(key, capacity());
+    }
+
+    /**
+     * Returns the index of the bucket for the given key in a hash table array
+     * with the given capacity
+     * 
+     * @param key      the key for which to calculate the hash function
+     * @param capacity the capacity of the hash table array to compress into
+     * @return the compressed hash function for the provided key
+     */
+    private int compress(K key, int capacity) {
+        return strategy.index(key, capacity);
+    }
+
+    /**
+     * Turns incremental resizing on or off. When incremental resizing is on, a
+     * resize creates the new, larger hash table array but leaves the existing
+     * entries in the old array. Each later {@link #put}, {@link #get}, and
+     * {@link #remove} then moves a bounded number of old buckets into the new
+     * array, so no single operation has to rehash the whole table. Turning
+     * incremental resizing off finishes any resize that is in progress.
+     * 
+     * @param incremental true to resize incrementally, or false to rehash every
+     *                    entry at once when the table resizes
+     */
+    public void setIncrementalResize(boolean incremental) {
+        if (!incremental) {
+            finishTransfer();
+        }
+        incrementalResize = incremental;
+    }
+
+    /**
+     * Returns true if the hash table resizes incrementally
+     * 
+     * @return true if the hash table resizes incrementally
+     */
+    public boolean isIncrementalResize() {
+        return incrementalResize;
+    }
+
+    /**
+     * Turns collection of statistics on or off. While statistics are enabled,
+     * every {@link #put}, {@link #get}, and {@link #remove} records its probe
+     * length, and every resize records the time it takes. Turning statistics on
+     * discards any previously collected counts.
+     * 
+     * @param enabled true to collect statistics, or false to stop collecting them
+     */
+    public void setStatsEnabled(boolean enabled) {
+        stats = enabled ? new StatsCounters() : null;
+    }
+
+    /**
+     * Returns true if the hash table is collecting statistics
+     * 
+     * @return true if the hash table is collecting statistics
+     */
+    public boolean isStatsEnabled() {
+        return stats != null;
+    }
+
+    /**
+     * Returns a snapshot of the hash table's collision statistics: the counts
+     * collected since statistics were enabled, along with figures that describe
+     * the current hash table array
+     * 
+     * @return a snapshot of the hash table's statistics
+     * @throws IllegalStateException if statistics are not enabled
+     */
+    public HashMapStats getStats() {
+        if (stats == null) {
+            throw new IllegalStateException("Statistics are not enabled.");
+        }
+        long[] probes = new long[HashMapStats.HISTOGRAM_SIZE];
+        for (int i = 0; i < probes.length; i++) {
+            probes[i] = stats.probes[i].sum();
+        }
+        HashMapStats snapshot = new HashMapStats(probes, stats.resizes.sum(), stats.resizeNanos.sum());
+        collectTableStats(snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Records the probe length of a single bucket search. Hash tables call this
+     * from their bucket operations; it does nothing unless statistics are
+     * enabled.
+     * 
+     * @param probes the number of buckets (or bucket entries) examined
+     */
+    protected void recordProbes(int probes) {
+        if (stats != null) {
+            stats.probes[Math.min(probes, HashMapStats.HISTOGRAM_SIZE - 1)].increment();
+        }
+    }
+
+    /**
+     * Fills in the figures of the given snapshot that describe the current hash
+     * table array, such as cluster lengths or bucket sizes. The default
+     * implementation leaves them unset.
+     * 
+     * @param snapshot the snapshot to fill in
+     */
+    protected void collectTableStats(HashMapStats snapshot) {
+        // No table figures by default
+    }
+
+    /**
+     * Returns true if an incremental resize is in progress, meaning some entries
+     * are still stored in the old hash table array
+     * 
+     * @return true if an incremental resize is in progress
+     */
+    protected boolean isTransferring() {
+        return transferIndex >= 0;
+    }
+
+    /**
+     * Moves up to {@link #TRANSFER_STEPS} buckets of the old hash table array into
+     * the current hash table array, and discards the old array once it is empty
+     */
+    private void transferStep() {
+        if (!isTransferring()) {
+            return;
+        }
+        long start = stats == null ? 0 : System.nanoTime();
+        for (int i = 0; i < TRANSFER_STEPS && isTransferring(); i++) {
+            transferBucket();
+        }
+        if (stats != null) {
+            stats.resizeNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Moves the remaining buckets of the old hash table array into the current
+     * hash table array
+     */
+    private void finishTransfer() {
+        while (isTransferring()) {
+            transferBucket();
+        }
+    }
+
+    /**
+     * Moves the next bucket of the old hash table array into the current hash
+     * table array
+     */
+    private void transferBucket() {
+        if (transferIndex >= oldCapacity()) {
+            endTransfer();
+            transferIndex = -1;
+            return;
+        }
+        for (Entry<K, V> entry : drainOldBucket(transferIndex)) {
+            bucketPut(compress(entry.getKey()), entry.getKey(), entry.getValue());
+        }
+        transferIndex++;
     }
 
     @Override
     public V put(K key, V value) {
+        transferStep();
         V ret = bucketPut(compress(key), key, value);
-        if ((double) size() / capacity() > MAX_LOAD_FACTOR) {
-            resize(2 * capacity() + 1);
+        if (isTransferring()) {
+            // The key may still have an entry in the old table, which the new
+            // entry replaces
+            V oldValue = oldBucketRemove(compress(key, oldCapacity()), key);
+            if (oldValue != null) {
+                ret = oldValue;
+            }
+        }
+        if ((double) size() / capacity() > maxLoadFactor()) {
+            resize(strategy.nextCapacity(capacity()));
         }
         return ret;
     }
 
     @Override
     public V get(K key) {
-        return bucketGet(compress(key), key);
+        transferStep();
+        V ret = bucketGet(compress(key), key);
+        if (ret == null && isTransferring()) {
+            ret = oldBucketGet(compress(key, oldCapacity()), key);
+        }
+        return ret;
     }
 
     @Override
     public V remove(K key) {
-        return bucketRemove(compress(key), key);
+        transferStep();
+        V ret = bucketRemove(compress(key), key);
+        if (ret == null && isTransferring()) {
+            ret = oldBucketRemove(compress(key, oldCapacity()), key);
+        }
+        return ret;
+    }
+
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        transferStep();
+        if (isTransferring()) {
+            // Move the key's entry (if any) out of the old table first, so the
+            // bucket in the current table is the only one to update
+            V original = oldBucketRemove(compress(key, oldCapacity()), key);
+            if (original != null) {
+                bucketPut(compress(key), key, original);
+            }
+        }
+        V ret = bucketCompute(compress(key), key, remappingFunction);
+        if ((double) size() / capacity() > maxLoadFactor()) {
+            resize(strategy.nextCapacity(capacity()));
+        }
+        return ret;
     }
 
     /**
-     * Resizes the hash table array to have a new, larger capacity
+     * {@inheritDoc} The hash table steps through the capacities its hash
+     * strategy would grow to and resizes once, straight to the first capacity
+     * that keeps the load factor within its maximum.
+     */
+    @Override
+    public void ensureCapacity(int capacity) {
+        int newCapacity = capacity();
+        while ((double) capacity / newCapacity > maxLoadFactor()) {
+            newCapacity = strategy.nextCapacity(newCapacity);
+        }
+        if (newCapacity > capacity()) {
+            resize(newCapacity);
+        }
+    }
+
+    /**
+     * Returns the maximum load factor to allow before resizing the hash table.
+     * Hash tables whose collision resolution keeps probe sequences short at
+     * higher loads may override this to use their table space more fully.
+     * 
+     * @return the maximum load factor to allow before resizing the hash table
+     */
+    protected double maxLoadFactor() {
+        return MAX_LOAD_FACTOR;
+    }
+
+    /**
+     * Resizes the hash table array to have a new, larger capacity. With
+     * incremental resizing, the existing entries are left in the old array and
+     * moved over by later operations instead.
      * 
      * @param newCapacity the capacity of the new, larger hash table array
      */
     private void resize(int newCapacity) {
+        StatsCounters counters = stats;
+        long start = counters == null ? 0 : System.nanoTime();
+        if (incrementalResize) {
+            // Only one old table is kept at a time
+            finishTransfer();
+            beginTransfer(newCapacity);
+            transferIndex = 0;
+        } else {
+            // Reinserting is part of the resize, not a series of map operations
+            stats = null;
+            rehash(newCapacity);
+            stats = counters;
+        }
+        if (counters != null) {
+            counters.resizes.increment();
+            counters.resizeNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Moves every entry into a new hash table array with the given capacity. This
+     * implementation copies the entries into a list, creates the new array, and
+     * puts each entry again; hash tables that can move their entries directly
+     * override it.
+     * 
+     * @param newCapacity the capacity of the new hash table array
+     */
+    protected void rehash(int newCapacity) {
         List<Entry<K, V>> list = new ArrayBasedList<Entry<K, V>>();
         for (Entry<K, V> entry : entrySet()) {
             list.addLast(entry);
@@ -173,4 +449,99 @@ public abstract class AbstractHashMap<K, V> extends AbstractMap<K, V> {
      *         table
      */
     protected abstract V bucketRemove(int hash, K key);
-}
\ No newline at end of file
+
+    /**
+     * Computes a new value for the entry with the given key in the bucket that has
+     * the provided hash, locating the key only once. A null new value removes the
+     * entry; a non-null new value updates or adds it. See {@link #compute}.
+     * 
+     * @param hash              the index of the bucket in which to update the entry
+     * @param key               the key of the entry to update
+     * @param remappingFunction the function that computes the new value from the
+     *                          key and its current value (or null)
+     * @return the new value associated with the key, or null if the key no longer
+     *         has an entry
+     */
+    protected abstract V bucketCompute(int hash, K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction);
+
+    /**
+     * Starts an incremental resize: the current hash table array becomes the old
+     * array, and a new, empty hash table array with the given capacity becomes
+     * the current array. The number of entries in the map does not change.
+     * 
+     * @param capacity the capacity of the new hash table array
+     */
+    protected abstract void beginTransfer(int capacity);
+
+    /**
+     * Returns the capacity of the old hash table array during an incremental
+     * resize
+     * 
+     * @return the capacity of the old hash table array
+     */
+    protected abstract int oldCapacity();
+
+    /**
+     * Removes every entry from the bucket at the given index of the old hash table
+     * array and returns the removed entries
+     * 
+     * @param index the index of the old bucket to empty
+     * @return the entries that were removed from the old bucket
+     */
+    protected abstract Iterable<Entry<K, V>> drainOldBucket(int index);
+
+    /**
+     * Returns the value associated with the given key in the bucket of the old
+     * hash table array with the given hash function
+     * 
+     * @param hash the index of the old bucket in which to inspect
+     * @param key  the target key
+     * @return the value associated with the given target key
+     */
+    protected abstract V oldBucketGet(int hash, K key);
+
+    /**
+     * Removes the entry with the given key from the bucket of the old hash table
+     * array with the given hash function
+     * 
+     * @param hash the index of the old bucket in which to remove the entry
+     * @param key  the key for the targeted entry being removed
+     * @return the value associated with the entry that was removed
+     */
+    protected abstract V oldBucketRemove(int hash, K key);
+
+    /**
+     * Discards the old hash table array once every bucket has been moved into the
+     * current hash table array
+     */
+    protected abstract void endTransfer();
+
+    /**
+     * The counters behind the statistics of a hash table. The counters are
+     * {@link LongAdder}s, which spread concurrent increments across cells so
+     * that leaving statistics on costs little more than the increments
+     * themselves.
+     * 
+     * @author Ben Morris
+     */
+    private static class StatsCounters {
+        /** Counts of probe lengths, indexed as in {@link HashMapStats} */
+        private final LongAdder[] probes;
+        /** The number of resizes */
+        private final LongAdder resizes;
+        /** The total time spent resizing, in nanoseconds */
+        private final LongAdder resizeNanos;
+
+        /**
+         * Constructs a new set of counters, all 0
+         */
+        StatsCounters() {
+            probes = new LongAdder[HashMapStats.HISTOGRAM_SIZE];
+            for (int i = 0; i < probes.length; i++) {
+                probes[i] = new LongAdder();
+            }
+            resizes = new LongAdder();
+            resizeNanos = new LongAdder();
+        }
+    }
+}
@@ -0,0 +1,471 @@
+package edu.ncsu.csc316.dsa.map.hashing;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+
+import edu.ncsu.csc316.dsa.map.Map;
+
+/**
+ * The CompactLinearProbingHashMap is a hash table that uses linear probing for
+ * collision resolution, like {@link LinearProbingHashMap}, but stores its keys
+ * and values in two parallel arrays instead of one array of entry objects. A
+ * removed mapping leaves a shared tombstone object in the key array, so no
+ * per-mapping deleted flag is needed. Compared to {@link LinearProbingHashMap},
+ * this saves one object per mapping and one pointer dereference per probe.
+ * Entries are created only when the map is iterated.
+ *
+ * The hash map uses the same hash strategies and probe sequence as
+ * {@link LinearProbingHashMap}, and ensures expected O(1) performance of
+ * {@link Map#put}, {@link Map#get}, and {@link Map#remove}.
+ *
+ * The hash table resizes if the load factor exceeds 0.5.
+ *
+ * @author Ben Morris
+ *
+ * @param <K> the type of keys stored in the hash map
+ * @param <V> the type of values associated with keys in the hash map
+ */
+public class CompactLinearProbingHashMap<K, V> extends AbstractHashMap<K, V> {
+
+    /** Marks a key slot whose mapping was removed */
+    private static final Object TOMBSTONE = new Object();
+
+    /** Keys of the mappings, or null (empty) or TOMBSTONE (removed), by bucket */
+    private Object[] keys;
+    /** Values of the mappings, parallel to keys */
+    private V[] values;
+    /** Keys still being moved during an incremental resize, or null */
+    private Object[] oldKeys;
+    /** Values still being moved during an incremental resize, parallel to oldKeys */
+    private V[] oldValues;
+    /** The number of mappings in the map */
+    private int size;
+
+    /**
+     * Constructs a new compact linear probing hash map. The created hash table
+     * uses the {@link AbstractHashMap#DEFAULT_CAPACITY}
+     */
+    public CompactLinearProbingHashMap() {
+        this(AbstractHashMap.DEFAULT_CAPACITY, false);
+    }
+
+    /**
+     * FOR TESTING PURPOSES ONLY! Constructs a new compact linear probing hash map.
+     * The created hash table uses the {@link AbstractHashMap#DEFAULT_CAPACITY}
+     *
+     * @param isTesting if true, the hash table uses a predictable series of random
+     *                  values for deterministic and repeatable testing
+     */
+    public CompactLinearProbingHashMap(boolean isTesting) {
+        this(AbstractHashMap.DEFAULT_CAPACITY, isTesting);
+    }
+
+    /**
+     * Constructs a new compact linear probing hash map. The created hash table is
+     * initialized to have the provided capacity.
+     *
+     * @param capacity the initial capacity of the hash table
+     */
+    public CompactLinearProbingHashMap(int capacity) {
+        this(capacity, false);
+    }
+
+    /**
+     * FOR TESTING PURPOSES ONLY! Constructs a new compact linear probing hash map.
+     * The created hash table is initialized to have the provided capacity.
+     *
+     * @param capacity  the initial capacity of the hash table
+     * @param isTesting if true, the hash table uses a predictable series of random
+     *                  values for deterministic and repeatable testing
+     */
+    public CompactLinearProbingHashMap(int capacity, boolean isTesting) {
+        super(capacity, isTesting);
+        size = 0;
+    }
+
+    /**
+     * Constructs a new compact linear probing hash map that uses the provided hash
+     * strategy to place keys in buckets. The created hash table is initialized to
+     * have at least the provided capacity; the strategy may round the capacity up.
+     *
+     * @param capacity the requested initial capacity of the hash table
+     * @param strategy the strategy that maps keys to bucket indexes
+     */
+    public CompactLinearProbingHashMap(int capacity, HashStrategy<K> strategy) {
+        super(capacity, strategy);
+        size = 0;
+    }
+
+    @Override
+    public Iterable<Entry<K, V>> entrySet() {
+        return new EntryIterable();
+    }
+
+    /**
+     * A live view of the entries in the hash table. Iterating the view walks the
+     * key and value arrays (and the old arrays, during an incremental resize)
+     * directly, creating each entry as it is returned.
+     *
+     * @author Ben Morris
+     */
+    private class EntryIterable implements Iterable<Entry<K, V>> {
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new EntryIterator();
+        }
+    }
+
+    /**
+     * EntryIterator walks the buckets of the key array, skipping empty buckets
+     * and tombstones. Removing through the iterator leaves a tombstone, just as
+     * {@link #remove} does, so the rest of the iteration is unaffected.
+     *
+     * @author Ben Morris
+     */
+    private class EntryIterator implements Iterator<Entry<K, V>> {
+        /** The key array currently being walked */
+        private Object[] currentKeys;
+        /** The value array parallel to currentKeys */
+        private V[] currentValues;
+        /** The index of the next mapping to return in the current arrays */
+        private int index;
+        /** The key array that holds the mapping most recently returned */
+        private Object[] lastKeys;
+        /** The index of the mapping most recently returned, or -1 */
+        private int lastIndex;
+
+        /**
+         * Constructs a new iterator positioned before the first mapping
+         */
+        EntryIterator() {
+            currentKeys = keys;
+            currentValues = values;
+            index = -1;
+            lastIndex = -1;
+            advance();
+        }
+
+        /**
+         * Moves index to the next bucket that holds a mapping, moving on to the
+         * old arrays once the current arrays are exhausted
+         */
+        private void advance() {
+            index++;
+            while (true) {
+                while (index < currentKeys.length && isAvailable(currentKeys, index)) {
+                    index++;
+                }
+                if (index < currentKeys.length || oldKeys == null || currentKeys == oldKeys) {
+                    return;
+                }
+                currentKeys = oldKeys;
+                currentValues = oldValues;
+                index = 0;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < currentKeys.length;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("There are no more elements.");
+            }
+            Entry<K, V> entry = new MapEntry<K, V>((K) currentKeys[index], currentValues[index]);
+            lastKeys = currentKeys;
+            lastIndex = index;
+            advance();
+            return entry;
+        }
+
+        @Override
+        public void remove() {
+            if (lastIndex < 0) {
+                throw new IllegalStateException("Successful next() not yet called.");
+            }
+            if (!isAvailable(lastKeys, lastIndex)) {
+                removeAt(lastKeys, lastKeys == keys ? values : oldValues, lastIndex);
+            }
+            lastIndex = -1;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void createTable(int capacity) {
+        keys = new Object[capacity];
+        values = (V[]) new Object[capacity];
+        size = 0;
+    }
+
+    /**
+     * Returns true if the bucket at the given index of the given key array is
+     * empty or holds a tombstone
+     *
+     * @param k     the key array to inspect
+     * @param index the index of the bucket to inspect
+     * @return true if the bucket is available for a new mapping
+     */
+    private boolean isAvailable(Object[] k, int index) {
+        return k[index] == null || k[index] == TOMBSTONE;
+    }
+
+    /**
+     * Replaces the mapping at the given index with a tombstone
+     *
+     * @param k     the key array that holds the mapping
+     * @param v     the value array parallel to k
+     * @param index the index of the mapping to remove
+     */
+    private void removeAt(Object[] k, V[] v, int index) {
+        k[index] = TOMBSTONE;
+        // Release the value so it can be garbage collected
+        v[index] = null;
+        size--;
+    }
+
+    @Override
+    public V bucketGet(int hash, K key) {
+        int bucketIndex = findBucket(keys, hash, key);
+        if (bucketIndex >= 0) {
+            return values[bucketIndex];
+        }
+        return null;
+    }
+
+    @Override
+    public V bucketPut(int hash, K key, V value) {
+        int bucketIndex = findBucket(keys, hash, key);
+        if (bucketIndex >= 0) {
+            V oldValue = values[bucketIndex];
+            values[bucketIndex] = value;
+            return oldValue;
+        }
+        // Insert at the first available bucket that findBucket reported
+        int index = -(bucketIndex + 1);
+        keys[index] = key;
+        values[index] = value;
+        size++;
+        return null;
+    }
+
+    @Override
+    protected V bucketCompute(int hash, K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        int bucketIndex = findBucket(keys, hash, key);
+        if (bucketIndex >= 0) {
+            V value = remappingFunction.apply(key, values[bucketIndex]);
+            if (value == null) {
+                removeAt(keys, values, bucketIndex);
+            } else {
+                values[bucketIndex] = value;
+            }
+            return value;
+        }
+        V value = remappingFunction.apply(key, null);
+        if (value != null) {
+            int index = -(bucketIndex + 1);
+            keys[index] = key;
+            values[index] = value;
+            size++;
+        }
+        return value;
+    }
+
+    /**
+     * Returns the index of the bucket that holds the given key, or if the key is
+     * not in the map, -(a+1) where a is the index of the first available bucket
+     * on the key's probe sequence
+     *
+     * @param k     the key array to search
+     * @param index the index of the bucket at which to begin searching
+     * @param key   the key to search for
+     * @return the index of the bucket if the key exists, or -(a+1) where a is the
+     *         index where the key should be inserted
+     */
+    private int findBucket(Object[] k, int index, K key) {
+        int available = -1;
+        int j = index;
+        int probes = 0;
+        do {
+            probes++;
+            Object slot = k[j];
+            if (slot == null) {
+                // An empty bucket ends the probe sequence
+                recordProbes(probes);
+                return -((available == -1 ? j : available) + 1);
+            }
+            if (slot == TOMBSTONE) {
+                if (available == -1) {
+                    available = j;
+                }
+            } else if (slot.equals(key)) {
+                recordProbes(probes);
+                return j;
+            }
+            j = (j + 1) % k.length;
+        } while (j != index);
+        recordProbes(probes);
+        return -(available + 1);
+    }
+
+    @Override
+    public V bucketRemove(int hash, K key) {
+        return bucketRemove(keys, values, hash, key);
+    }
+
+    /**
+     * Replaces the mapping with the given key in the given arrays with a
+     * tombstone
+     *
+     * @param k    the key array from which to remove the mapping
+     * @param v    the value array parallel to k
+     * @param hash the index of the bucket at which to begin searching
+     * @param key  the key of the mapping to remove
+     * @return the value of the removed mapping, or null if the key does not exist
+     */
+    private V bucketRemove(Object[] k, V[] v, int hash, K key) {
+        int bucketIndex = findBucket(k, hash, key);
+        if (bucketIndex >= 0) {
+            V oldValue = v[bucketIndex];
+            removeAt(k, v, bucketIndex);
+            return oldValue;
+        }
+        return null;
+    }
+
+    /**
+     * {@inheritDoc} The keys and values are moved straight into the new arrays,
+     * without creating entries or searching for existing keys.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    protected void rehash(int newCapacity) {
+        Object[] fromKeys = keys;
+        V[] fromValues = values;
+        int count = size;
+        createTable(newCapacity);
+        for (int i = 0; i < fromKeys.length; i++) {
+            if (!isAvailable(fromKeys, i)) {
+                int j = getHashStrategy().index((K) fromKeys[i], newCapacity);
+                while (keys[j] != null) {
+                    j = (j + 1) % newCapacity;
+                }
+                keys[j] = fromKeys[i];
+                values[j] = fromValues[i];
+            }
+        }
+        size = count;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected void beginTransfer(int capacity) {
+        oldKeys = keys;
+        oldValues = values;
+        keys = new Object[capacity];
+        values = (V[]) new Object[capacity];
+    }
+
+    @Override
+    protected int oldCapacity() {
+        return oldKeys.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected Iterable<Entry<K, V>> drainOldBucket(int index) {
+        EntryCollection drained = new EntryCollection();
+        if (!isAvailable(oldKeys, index)) {
+            drained.add(new MapEntry<K, V>((K) oldKeys[index], oldValues[index]));
+            // Leave a tombstone rather than emptying the bucket so that keys later
+            // in the same cluster can still be found in the old arrays
+            removeAt(oldKeys, oldValues, index);
+        }
+        return drained;
+    }
+
+    @Override
+    protected V oldBucketGet(int hash, K key) {
+        int bucketIndex = findBucket(oldKeys, hash, key);
+        if (bucketIndex >= 0) {
+            return oldValues[bucketIndex];
+        }
+        return null;
+    }
+
+    @Override
+    protected V oldBucketRemove(int hash, K key) {
+        return bucketRemove(oldKeys, oldValues, hash, key);
+    }
+
+    @Override
+    protected void endTransfer() {
+        oldKeys = null;
+        oldValues = null;
+    }
+
+    @Override
+    protected void collectTableStats(HashMapStats snapshot) {
+        int tombstones = countTombstones(keys);
+        int maxCluster = maxClusterLength(keys);
+        if (oldKeys != null) {
+            tombstones += countTombstones(oldKeys);
+            maxCluster = Math.max(maxCluster, maxClusterLength(oldKeys));
+        }
+        snapshot.setTombstones(tombstones);
+        snapshot.setMaxClusterLength(maxCluster);
+    }
+
+    /**
+     * Returns the number of tombstones in the given key array
+     *
+     * @param k the key array to inspect
+     * @return the number of tombstones in the array
+     */
+    private int countTombstones(Object[] k) {
+        int count = 0;
+        for (int i = 0; i < k.length; i++) {
+            if (k[i] == TOMBSTONE) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the length of the longest run of non-empty buckets in the given key
+     * array. Tombstones count as part of a cluster, since searches still probe
+     * past them. A run may wrap around from the end of the array to the start.
+     *
+     * @param k the key array to inspect
+     * @return the maximum cluster length of the array
+     */
+    private int maxClusterLength(Object[] k) {
+        int max = 0;
+        int run = 0;
+        for (int i = 0; i < 2 * k.length; i++) {
+            if (k[i % k.length] == null) {
+                run = 0;
+            } else {
+                run++;
+                max = Math.max(max, Math.min(run, k.length));
+            }
+        }
+        return max;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    protected int capacity() {
+        return keys.length;
+    }
+}
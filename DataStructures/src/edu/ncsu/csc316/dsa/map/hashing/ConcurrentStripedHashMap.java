@@ -0,0 +1,519 @@
+package edu.ncsu.csc316.dsa.map.hashing;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+
+import edu.ncsu.csc316.dsa.map.AbstractMap;
+import edu.ncsu.csc316.dsa.map.Map;
+
+/**
+ * The ConcurrentStripedHashMap is a thread-safe hash table that splits its keys
+ * across a fixed number of independently locked segments. Each segment is a
+ * separate chaining hash table with its own lock, its own table array, and its
+ * own resizing, so writers that touch different segments never wait on each
+ * other.
+ *
+ * Reads never lock. Each segment publishes its table array through a volatile
+ * field and its buckets through an {@link AtomicReferenceArray}, and the nodes
+ * of a chain never change their key or next reference once published. A
+ * writer therefore replaces chains instead of editing them: new nodes are
+ * added to the front of a chain, a removal copies the nodes in front of the
+ * removed node, and a resize builds a complete new table before publishing it.
+ * A reader always sees either the old or the new chain, never a partly updated
+ * one.
+ *
+ * {@link Map#compute} and the other update methods run their function while
+ * holding the lock of the key's segment, so each update is atomic.
+ *
+ * {@link Map#put}, {@link Map#get}, and {@link Map#remove} have expected O(1)
+ * runtime. {@link Map#size} and {@link Map#entrySet} are weakly consistent:
+ * while writers are active they reflect some, but not necessarily all, of the
+ * concurrent updates.
+ *
+ * @author Ben Morris
+ *
+ * @param <K> the type of keys stored in the hash map
+ * @param <V> the type of values associated with keys in the hash map
+ */
+public class ConcurrentStripedHashMap<K, V> extends AbstractMap<K, V> {
+
+    /**
+     * The default number of segments
+     */
+    private static final int DEFAULT_SEGMENTS = 16;
+
+    /**
+     * The default initial capacity of each segment's table array
+     */
+    private static final int DEFAULT_SEGMENT_CAPACITY = 16;
+
+    /**
+     * The maximum load factor a segment allows before resizing its table array
+     */
+    private static final double MAX_LOAD_FACTOR = 0.75;
+
+    /** The segments of the map */
+    private final Segment<K, V>[] segments;
+    /** Number of bits to shift a spread hash right to select a segment */
+    private final int segmentShift;
+
+    /**
+     * Constructs a new concurrent hash map with the default number of segments
+     */
+    public ConcurrentStripedHashMap() {
+        this(DEFAULT_SEGMENTS);
+    }
+
+    /**
+     * Constructs a new concurrent hash map with at least the provided number of
+     * segments. The number of segments is rounded up to a power of two.
+     *
+     * @param concurrencyLevel the expected number of concurrently writing threads
+     * @throws IllegalArgumentException if the concurrency level is not positive
+     */
+    @SuppressWarnings("unchecked")
+    public ConcurrentStripedHashMap(int concurrencyLevel) {
+        if (concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("Concurrency level must be positive.");
+        }
+        int bits = 0;
+        while ((1 << bits) < concurrencyLevel) {
+            bits++;
+        }
+        segments = (Segment<K, V>[]) new Segment[1 << bits];
+        segmentShift = 32 - bits;
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = new Segment<K, V>(DEFAULT_SEGMENT_CAPACITY);
+        }
+    }
+
+    /**
+     * Scrambles the hash code of the given key so that both its high bits (which
+     * select a segment) and its low bits (which select a bucket) depend on every
+     * bit of the original hash code
+     *
+     * @param key the key for which to calculate the hash
+     * @return the spread hash of the key
+     */
+    private static int spread(Object key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Returns the segment responsible for the given spread hash
+     *
+     * @param hash the spread hash of a key
+     * @return the segment responsible for the hash
+     */
+    private Segment<K, V> segmentFor(int hash) {
+        // A shift by 32 is a shift by 0 in Java, so a single segment is handled
+        // separately
+        if (segments.length == 1) {
+            return segments[0];
+        }
+        return segments[hash >>> segmentShift];
+    }
+
+    @Override
+    public V get(K key) {
+        int hash = spread(key);
+        return segmentFor(hash).get(key, hash);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        int hash = spread(key);
+        return segmentFor(hash).put(key, hash, value);
+    }
+
+    @Override
+    public V remove(K key) {
+        int hash = spread(key);
+        return segmentFor(hash).remove(key, hash);
+    }
+
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        int hash = spread(key);
+        return segmentFor(hash).compute(key, hash, remappingFunction);
+    }
+
+    /**
+     * {@inheritDoc} Keys spread evenly across the segments, so each segment is
+     * grown to hold its share of the given number of entries.
+     */
+    @Override
+    public void ensureCapacity(int capacity) {
+        int share = (capacity + segments.length - 1) / segments.length;
+        for (Segment<K, V> segment : segments) {
+            segment.ensureCapacity(share);
+        }
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            size += segment.count;
+        }
+        return size;
+    }
+
+    @Override
+    public Iterable<Entry<K, V>> entrySet() {
+        return new EntryIterable();
+    }
+
+    /**
+     * A live view of the entries in the hash map. Iterating the view walks the
+     * segments' chains directly instead of copying the entries first.
+     *
+     * @author Ben Morris
+     */
+    private class EntryIterable implements Iterable<Entry<K, V>> {
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new EntryIterator();
+        }
+    }
+
+    /**
+     * EntryIterator walks the chains of each segment in turn without locking.
+     * Chains are never edited once published, so the iterator is weakly
+     * consistent: it never throws because of concurrent updates, returns each
+     * key at most once, and reflects updates made after it was created only if
+     * it has not yet passed their bucket. next() returns a new entry holding the
+     * node's key and value, and removing through the iterator removes the key
+     * from the map, just as {@link #remove} does.
+     *
+     * @author Ben Morris
+     */
+    private class EntryIterator implements Iterator<Entry<K, V>> {
+        /** The index of the segment being walked */
+        private int segmentIndex;
+        /** The table array of the segment being walked */
+        private AtomicReferenceArray<Node<K, V>> table;
+        /** The index of the next bucket to walk in the table array */
+        private int bucket;
+        /** The next node to return, or null if there are no more nodes */
+        private Node<K, V> nextNode;
+        /** The entry most recently returned by next(), or null */
+        private Entry<K, V> lastReturned;
+
+        /**
+         * Constructs a new iterator positioned before the first entry
+         */
+        EntryIterator() {
+            segmentIndex = 0;
+            table = segments[0].table;
+            bucket = 0;
+            nextNode = null;
+            lastReturned = null;
+            advance();
+        }
+
+        /**
+         * Moves nextNode to the next node of the chain, moving on to the next
+         * nonempty bucket (and the next segment) once the chain is exhausted
+         */
+        private void advance() {
+            if (nextNode != null) {
+                nextNode = nextNode.next;
+            }
+            while (nextNode == null) {
+                if (bucket == table.length()) {
+                    segmentIndex++;
+                    if (segmentIndex == segments.length) {
+                        return;
+                    }
+                    table = segments[segmentIndex].table;
+                    bucket = 0;
+                } else {
+                    nextNode = table.get(bucket);
+                    bucket++;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextNode != null;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("There are no more elements.");
+            }
+            lastReturned = new MapEntry<K, V>(nextNode.key, nextNode.value);
+            advance();
+            return lastReturned;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException("Successful next() not yet called.");
+            }
+            ConcurrentStripedHashMap.this.remove(lastReturned.getKey());
+            lastReturned = null;
+        }
+    }
+
+    /**
+     * A Node is a link in a bucket's chain. The key, hash, and next reference
+     * never change once the node is published, so readers can walk a chain
+     * without locking.
+     *
+     * @author Ben Morris
+     *
+     * @param <K> the type of key stored in the node
+     * @param <V> the type of value stored in the node
+     */
+    private static class Node<K, V> {
+        /** The key of the node */
+        private final K key;
+        /** The spread hash of the key */
+        private final int hash;
+        /** The value of the node, which writers may replace in place */
+        private volatile V value;
+        /** The next node in the chain */
+        private final Node<K, V> next;
+
+        /**
+         * Constructs a new node
+         *
+         * @param key   the key of the node
+         * @param hash  the spread hash of the key
+         * @param value the value of the node
+         * @param next  the next node in the chain
+         */
+        Node(K key, int hash, V value, Node<K, V> next) {
+            this.key = key;
+            this.hash = hash;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    /**
+     * A Segment is a separate chaining hash table guarded by its own lock. Only
+     * writers acquire the lock; readers rely on the volatile table reference and
+     * the atomic bucket array.
+     *
+     * @author Ben Morris
+     *
+     * @param <K> the type of keys stored in the segment
+     * @param <V> the type of values stored in the segment
+     */
+    private static class Segment<K, V> extends ReentrantLock {
+
+        /** Serialization version for the lock state */
+        private static final long serialVersionUID = 1L;
+
+        /** The buckets of the segment; replaced as a whole on resize */
+        private volatile AtomicReferenceArray<Node<K, V>> table;
+        /** The number of entries stored in the segment */
+        private volatile int count;
+
+        /**
+         * Constructs a new, empty segment
+         *
+         * @param capacity the initial capacity (a power of two) of the table array
+         */
+        Segment(int capacity) {
+            table = new AtomicReferenceArray<Node<K, V>>(capacity);
+            count = 0;
+        }
+
+        /**
+         * Returns the value associated with the given key without locking
+         *
+         * @param key  the key to locate
+         * @param hash the spread hash of the key
+         * @return the value associated with the key, or null if it does not exist
+         */
+        V get(K key, int hash) {
+            AtomicReferenceArray<Node<K, V>> t = table;
+            for (Node<K, V> n = t.get(hash & (t.length() - 1)); n != null; n = n.next) {
+                if (n.hash == hash && n.key.equals(key)) {
+                    return n.value;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Adds or updates the entry with the given key
+         *
+         * @param key   the key of the entry
+         * @param hash  the spread hash of the key
+         * @param value the value of the entry
+         * @return the original value of the entry, or null if the key did not exist
+         */
+        V put(K key, int hash, V value) {
+            lock();
+            try {
+                AtomicReferenceArray<Node<K, V>> t = table;
+                int index = hash & (t.length() - 1);
+                Node<K, V> first = t.get(index);
+                for (Node<K, V> n = first; n != null; n = n.next) {
+                    if (n.hash == hash && n.key.equals(key)) {
+                        V oldValue = n.value;
+                        n.value = value;
+                        return oldValue;
+                    }
+                }
+                add(t, index, key, hash, value);
+                return null;
+            } finally {
+                unlock();
+            }
+        }
+
+        /**
+         * Computes a new value for the entry with the given key while holding the
+         * lock. A null new value removes the entry.
+         *
+         * @param key               the key of the entry
+         * @param hash              the spread hash of the key
+         * @param remappingFunction the function that computes the new value from
+         *                          the key and its current value (or null)
+         * @return the new value of the entry, or null if it no longer exists
+         */
+        V compute(K key, int hash, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+            lock();
+            try {
+                AtomicReferenceArray<Node<K, V>> t = table;
+                int index = hash & (t.length() - 1);
+                Node<K, V> first = t.get(index);
+                Node<K, V> target = first;
+                while (target != null && !(target.hash == hash && target.key.equals(key))) {
+                    target = target.next;
+                }
+                V value = remappingFunction.apply(key, target == null ? null : target.value);
+                if (target == null) {
+                    if (value != null) {
+                        add(t, index, key, hash, value);
+                    }
+                } else if (value == null) {
+                    unlink(t, index, first, target);
+                } else {
+                    target.value = value;
+                }
+                return value;
+            } finally {
+                unlock();
+            }
+        }
+
+        /**
+         * Adds a new node to the front of a chain, resizing the table if it
+         * becomes too full. Called only while holding the lock.
+         *
+         * @param t     the table of the segment
+         * @param index the index of the chain
+         * @param key   the key of the new node
+         * @param hash  the spread hash of the key
+         * @param value the value of the new node
+         */
+        private void add(AtomicReferenceArray<Node<K, V>> t, int index, K key, int hash, V value) {
+            t.set(index, new Node<K, V>(key, hash, value, t.get(index)));
+            count = count + 1;
+            if (count > t.length() * MAX_LOAD_FACTOR) {
+                resize(t.length() * 2);
+            }
+        }
+
+        /**
+         * Removes the entry with the given key by publishing a copy of the nodes
+         * in front of it linked to the nodes behind it
+         *
+         * @param key  the key of the entry to remove
+         * @param hash the spread hash of the key
+         * @return the value of the removed entry, or null if the key did not exist
+         */
+        V remove(K key, int hash) {
+            lock();
+            try {
+                AtomicReferenceArray<Node<K, V>> t = table;
+                int index = hash & (t.length() - 1);
+                Node<K, V> first = t.get(index);
+                Node<K, V> target = first;
+                while (target != null && !(target.hash == hash && target.key.equals(key))) {
+                    target = target.next;
+                }
+                if (target == null) {
+                    return null;
+                }
+                unlink(t, index, first, target);
+                return target.value;
+            } finally {
+                unlock();
+            }
+        }
+
+        /**
+         * Publishes a copy of the nodes in front of the target node linked to the
+         * nodes behind it. Called only while holding the lock.
+         *
+         * @param t      the table of the segment
+         * @param index  the index of the chain
+         * @param first  the first node of the chain
+         * @param target the node to remove
+         */
+        private void unlink(AtomicReferenceArray<Node<K, V>> t, int index, Node<K, V> first, Node<K, V> target) {
+            Node<K, V> newFirst = target.next;
+            for (Node<K, V> n = first; n != target; n = n.next) {
+                newFirst = new Node<K, V>(n.key, n.hash, n.value, newFirst);
+            }
+            t.set(index, newFirst);
+            count = count - 1;
+        }
+
+        /**
+         * Grows the table array so the segment holds the given number of entries
+         * without resizing again
+         *
+         * @param capacity the number of entries the segment should hold
+         */
+        void ensureCapacity(int capacity) {
+            lock();
+            try {
+                int length = table.length();
+                while (capacity > length * MAX_LOAD_FACTOR) {
+                    length <<= 1;
+                }
+                if (length > table.length()) {
+                    resize(length);
+                }
+            } finally {
+                unlock();
+            }
+        }
+
+        /**
+         * Moves every entry into a new, larger table array. The new array is
+         * filled completely before it is published, so readers keep using the old
+         * array until the new one is ready. Called only while holding the lock.
+         *
+         * @param length the length (a power of two) of the new table array
+         */
+        private void resize(int length) {
+            AtomicReferenceArray<Node<K, V>> oldTable = table;
+            AtomicReferenceArray<Node<K, V>> newTable = new AtomicReferenceArray<Node<K, V>>(length);
+            int mask = newTable.length() - 1;
+            for (int i = 0; i < oldTable.length(); i++) {
+                for (Node<K, V> n = oldTable.get(i); n != null; n = n.next) {
+                    int index = n.hash & mask;
+                    newTable.set(index, new Node<K, V>(n.key, n.hash, n.value, newTable.get(index)));
+                }
+            }
+            table = newTable;
+        }
+    }
+}
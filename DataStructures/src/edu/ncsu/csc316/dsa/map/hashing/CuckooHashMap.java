@@ -0,0 +1,601 @@
+package edu.ncsu.csc316.dsa.map.hashing;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.function.BiFunction;
+
+import edu.ncsu.csc316.dsa.list.ArrayBasedList;
+import edu.ncsu.csc316.dsa.list.List;
+import edu.ncsu.csc316.dsa.map.AbstractMap;
+import edu.ncsu.csc316.dsa.map.Map;
+
+/**
+ * The CuckooHashMap is implemented as two hash table arrays, each with its own
+ * hash function, plus a small overflow stash.
+ *
+ * Every key has exactly one candidate slot in each table, so
+ * {@link Map#get} and {@link Map#remove} inspect at most two slots (and the
+ * stash, whose size is a small constant) in the worst case. To insert a key,
+ * the new entry is placed in its slot of the first table; if that slot was
+ * occupied, the evicted entry moves to its slot in the other table, possibly
+ * evicting another entry, and so on. If the chain of evictions grows too long,
+ * the last evicted entry is kept in the stash. Once the stash is full, the map
+ * picks new hash functions and rebuilds both tables, and grows the tables if
+ * rebuilding repeatedly fails. Keys whose hash codes are equal share the same
+ * two slots at every capacity, so once the tables are mostly empty the map
+ * grows the stash instead of the tables; lookups for such keys then scan the
+ * larger stash, but the tables never grow without bound.
+ *
+ * Both hash functions use the multiply-add-and-divide (MAD) method of
+ * {@link AbstractHashMap}, h(k) = ((alpha * f(k) + beta) % prime) % capacity,
+ * with independently chosen alpha and beta values. Since an insertion is only
+ * likely to succeed while fewer than half of the slots are in use, the tables
+ * resize if the load factor of the two tables together exceeds 0.45.
+ *
+ * @author Ben Morris
+ *
+ * @param <K> the type of keys stored in the hash map
+ * @param <V> the type of values associated with keys in the hash map
+ */
+public class CuckooHashMap<K, V> extends AbstractMap<K, V> {
+
+    /**
+     * The maximum load factor (over both tables together) to allow before
+     * resizing the hash tables
+     */
+    private static final double MAX_LOAD_FACTOR = 0.45;
+
+    /**
+     * The default number of entries the stash can hold
+     */
+    private static final int DEFAULT_STASH_SIZE = 4;
+
+    /**
+     * The number of times the map picks new hash functions for the same capacity
+     * before growing the tables
+     */
+    private static final int MAX_REHASHES = 5;
+
+    /**
+     * The load factor (over both tables together) below which a failed rebuild
+     * grows the stash instead of the tables
+     */
+    private static final double MIN_GROWTH_LOAD_FACTOR = 0.1;
+
+    /** The first hash table array */
+    private MapEntry<K, V>[] table1;
+    /** The second hash table array */
+    private MapEntry<K, V>[] table2;
+    /** Entries that could not be placed in either table */
+    private MapEntry<K, V>[] stash;
+    /** The number of entries in the stash */
+    private int stashCount;
+    /** The number of entries in the map */
+    private int size;
+
+    /** Alpha value for the first hash function */
+    private long alpha1;
+    /** Beta value for the first hash function */
+    private long beta1;
+    /** Alpha value for the second hash function */
+    private long alpha2;
+    /** Beta value for the second hash function */
+    private long beta2;
+    /** The prime number to use for compression strategy */
+    private int prime;
+    /** Source of new hash function parameters when rehashing */
+    private Random rand;
+
+    /**
+     * Constructs a new cuckoo hash map. Each of the created hash tables uses the
+     * {@link AbstractHashMap#DEFAULT_CAPACITY}
+     */
+    public CuckooHashMap() {
+        this(AbstractHashMap.DEFAULT_CAPACITY, false);
+    }
+
+    /**
+     * FOR TESTING PURPOSES ONLY! Constructs a new cuckoo hash map. Each of the
+     * created hash tables uses the {@link AbstractHashMap#DEFAULT_CAPACITY}
+     *
+     * @param isTesting if true, the hash tables use a predictable series of random
+     *                  values for deterministic and repeatable testing
+     */
+    public CuckooHashMap(boolean isTesting) {
+        this(AbstractHashMap.DEFAULT_CAPACITY, isTesting);
+    }
+
+    /**
+     * Constructs a new cuckoo hash map. Each of the created hash tables is
+     * initialized to have the provided capacity.
+     *
+     * @param capacity the initial capacity of each hash table
+     */
+    public CuckooHashMap(int capacity) {
+        this(capacity, false);
+    }
+
+    /**
+     * FOR TESTING PURPOSES ONLY! Constructs a new cuckoo hash map. Each of the
+     * created hash tables is initialized to have the provided capacity.
+     *
+     * @param capacity  the initial capacity of each hash table
+     * @param isTesting if true, the hash tables use a predictable series of random
+     *                  values for deterministic and repeatable testing
+     */
+    public CuckooHashMap(int capacity, boolean isTesting) {
+        this(capacity, DEFAULT_STASH_SIZE, isTesting);
+    }
+
+    /**
+     * Constructs a new cuckoo hash map with a stash of the provided size. Each of
+     * the created hash tables is initialized to have the provided capacity.
+     *
+     * In TESTING MODE only, the first hash function uses alpha=1, beta=1, and
+     * prime=7, the second uses alpha=3, beta=1, and prime=7, and new hash
+     * functions are drawn from a seeded sequence of random numbers.
+     *
+     * @param capacity  the initial capacity of each hash table
+     * @param stashSize the number of entries the stash can hold, or 0 for no
+     *                  stash
+     * @param isTesting if true, the hash tables use a predictable series of random
+     *                  values for deterministic and repeatable testing
+     * @throws IllegalArgumentException if the stash size is negative
+     */
+    @SuppressWarnings("unchecked")
+    public CuckooHashMap(int capacity, int stashSize, boolean isTesting) {
+        if (stashSize < 0) {
+            throw new IllegalArgumentException("Stash size cannot be negative.");
+        }
+        if (isTesting) {
+            alpha1 = 1;
+            beta1 = 1;
+            alpha2 = 3;
+            beta2 = 1;
+            prime = 7;
+            rand = new Random(0);
+        } else {
+            rand = new Random();
+            newHashFunctions();
+        }
+        stash = (MapEntry<K, V>[]) new MapEntry[stashSize];
+        stashCount = 0;
+        createTables(capacity);
+        size = 0;
+    }
+
+    /**
+     * Picks new, random alpha and beta values for both hash functions
+     */
+    private void newHashFunctions() {
+        prime = AbstractHashMap.DEFAULT_PRIME;
+        alpha1 = rand.nextInt(prime - 1) + 1;
+        beta1 = rand.nextInt(prime);
+        alpha2 = rand.nextInt(prime - 1) + 1;
+        beta2 = rand.nextInt(prime);
+    }
+
+    /**
+     * Creates new, empty hash table arrays with the given capacity
+     *
+     * @param capacity the capacity of each new hash table array
+     */
+    @SuppressWarnings("unchecked")
+    private void createTables(int capacity) {
+        table1 = (MapEntry<K, V>[]) new MapEntry[capacity];
+        table2 = (MapEntry<K, V>[]) new MapEntry[capacity];
+    }
+
+    /**
+     * Returns the index of the given key in the first hash table array
+     *
+     * @param key the key for which to calculate the hash function
+     * @return the compressed hash function for the provided key
+     */
+    private int hash1(K key) {
+        return (int) ((Math.abs(key.hashCode() * alpha1 + beta1) % prime) % table1.length);
+    }
+
+    /**
+     * Returns the index of the given key in the second hash table array
+     *
+     * @param key the key for which to calculate the hash function
+     * @return the compressed hash function for the provided key
+     */
+    private int hash2(K key) {
+        return (int) ((Math.abs(key.hashCode() * alpha2 + beta2) % prime) % table2.length);
+    }
+
+    /**
+     * Returns the index of the stash entry with the given key, or -1 if the key
+     * is not in the stash
+     *
+     * @param key the key to locate
+     * @return the index of the stash entry with the key, or -1
+     */
+    private int stashIndex(K key) {
+        for (int i = 0; i < stashCount; i++) {
+            if (stash[i].getKey().equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the entry with the given key, or null if the key is not in the map
+     *
+     * @param key the key to locate
+     * @return the entry with the key, or null
+     */
+    private MapEntry<K, V> lookUp(K key) {
+        MapEntry<K, V> e = table1[hash1(key)];
+        if (e != null && e.getKey().equals(key)) {
+            return e;
+        }
+        e = table2[hash2(key)];
+        if (e != null && e.getKey().equals(key)) {
+            return e;
+        }
+        int i = stashIndex(key);
+        return i >= 0 ? stash[i] : null;
+    }
+
+    @Override
+    public V get(K key) {
+        MapEntry<K, V> e = lookUp(key);
+        return e == null ? null : e.getValue();
+    }
+
+    @Override
+    public V put(K key, V value) {
+        MapEntry<K, V> e = lookUp(key);
+        if (e != null) {
+            V oldValue = e.getValue();
+            e.setValue(value);
+            return oldValue;
+        }
+        add(key, value);
+        return null;
+    }
+
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        MapEntry<K, V> e = lookUp(key);
+        V value = remappingFunction.apply(key, e == null ? null : e.getValue());
+        if (e == null) {
+            if (value != null) {
+                add(key, value);
+            }
+        } else if (value == null) {
+            // Removal checks the same two slots and the stash again, which is
+            // still a constant amount of work
+            remove(key);
+        } else {
+            e.setValue(value);
+        }
+        return value;
+    }
+
+    /**
+     * Adds a mapping for a key that is not in the map, growing the tables first
+     * if they are too full
+     *
+     * @param key   the key of the new mapping
+     * @param value the value of the new mapping
+     */
+    private void add(K key, V value) {
+        size++;
+        if ((double) size / (2 * table1.length) > MAX_LOAD_FACTOR) {
+            rehash(2 * table1.length + 1, new MapEntry<K, V>(key, value));
+        } else {
+            insert(new MapEntry<K, V>(key, value));
+        }
+    }
+
+    @Override
+    public V remove(K key) {
+        int h = hash1(key);
+        if (table1[h] != null && table1[h].getKey().equals(key)) {
+            V oldValue = table1[h].getValue();
+            table1[h] = null;
+            size--;
+            return oldValue;
+        }
+        h = hash2(key);
+        if (table2[h] != null && table2[h].getKey().equals(key)) {
+            V oldValue = table2[h].getValue();
+            table2[h] = null;
+            size--;
+            return oldValue;
+        }
+        int i = stashIndex(key);
+        if (i < 0) {
+            return null;
+        }
+        V oldValue = stash[i].getValue();
+        stash[i] = stash[stashCount - 1];
+        stash[stashCount - 1] = null;
+        stashCount--;
+        size--;
+        return oldValue;
+    }
+
+    /**
+     * {@inheritDoc} The tables are rebuilt once, with new hash functions, at the
+     * first capacity in their growth sequence that keeps the load factor within
+     * its maximum.
+     */
+    @Override
+    public void ensureCapacity(int capacity) {
+        int newCapacity = table1.length;
+        while ((double) capacity / (2 * newCapacity) > MAX_LOAD_FACTOR) {
+            newCapacity = 2 * newCapacity + 1;
+        }
+        if (newCapacity > table1.length) {
+            rehash(newCapacity, null);
+        }
+    }
+
+    /**
+     * Inserts an entry whose key is not in the map, rehashing the tables if the
+     * entry cannot be placed
+     *
+     * @param entry the entry to insert
+     */
+    private void insert(MapEntry<K, V> entry) {
+        MapEntry<K, V> homeless = place(entry);
+        if (homeless != null && !addToStash(homeless)) {
+            rehash(table1.length, homeless);
+        }
+    }
+
+    /**
+     * Places the given entry in the tables, evicting entries from their slots
+     * and moving each evicted entry to its slot in the other table. Gives up
+     * after a number of evictions proportional to the log of the capacity.
+     *
+     * @param entry the entry to place
+     * @return null if every entry found a slot; otherwise, the entry that was
+     *         left without a slot
+     */
+    private MapEntry<K, V> place(MapEntry<K, V> entry) {
+        int maxEvictions = 3 * (32 - Integer.numberOfLeadingZeros(table1.length)) + 8;
+        MapEntry<K, V> current = entry;
+        for (int i = 0; i < maxEvictions; i++) {
+            int h = hash1(current.getKey());
+            MapEntry<K, V> evicted = table1[h];
+            table1[h] = current;
+            if (evicted == null) {
+                return null;
+            }
+            h = hash2(evicted.getKey());
+            current = table2[h];
+            table2[h] = evicted;
+            if (current == null) {
+                return null;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Adds the given entry to the stash if the stash has room
+     *
+     * @param entry the entry to add
+     * @return true if the entry was added to the stash
+     */
+    private boolean addToStash(MapEntry<K, V> entry) {
+        if (stashCount == stash.length) {
+            return false;
+        }
+        stash[stashCount] = entry;
+        stashCount++;
+        return true;
+    }
+
+    /**
+     * Rebuilds the hash tables with the given capacity and new hash functions,
+     * then inserts the given extra entry. If some entry still cannot be placed,
+     * the map picks new hash functions again, and grows the tables after
+     * {@link #MAX_REHASHES} failed attempts at the same capacity. Once the load
+     * factor falls to {@link #MIN_GROWTH_LOAD_FACTOR}, larger tables are
+     * unlikely to help, so the stash doubles in size instead.
+     *
+     * @param capacity the capacity of each new hash table array
+     * @param extra    an entry that is not yet stored in the tables or stash, or
+     *                 null
+     */
+    private void rehash(int capacity, MapEntry<K, V> extra) {
+        List<MapEntry<K, V>> entries = new ArrayBasedList<MapEntry<K, V>>();
+        for (int i = 0; i < table1.length; i++) {
+            if (table1[i] != null) {
+                entries.addLast(table1[i]);
+            }
+            if (table2[i] != null) {
+                entries.addLast(table2[i]);
+            }
+        }
+        for (int i = 0; i < stashCount; i++) {
+            entries.addLast(stash[i]);
+        }
+        if (extra != null) {
+            entries.addLast(extra);
+        }
+        int newCapacity = capacity;
+        int attempts = 0;
+        while (!rebuild(entries, newCapacity)) {
+            attempts++;
+            if (attempts % MAX_REHASHES == 0) {
+                if ((double) entries.size() / (2 * newCapacity) > MIN_GROWTH_LOAD_FACTOR) {
+                    newCapacity = 2 * newCapacity + 1;
+                } else {
+                    growStash();
+                }
+            }
+        }
+    }
+
+    /**
+     * Doubles the number of entries the stash can hold, keeping the entries
+     * already in it
+     */
+    @SuppressWarnings("unchecked")
+    private void growStash() {
+        MapEntry<K, V>[] newStash = (MapEntry<K, V>[]) new MapEntry[Math.max(1, 2 * stash.length)];
+        for (int i = 0; i < stashCount; i++) {
+            newStash[i] = stash[i];
+        }
+        stash = newStash;
+    }
+
+    /**
+     * Picks new hash functions and places every given entry into new hash tables
+     * with the given capacity
+     *
+     * @param entries  the entries to place
+     * @param capacity the capacity of each new hash table array
+     * @return true if every entry found a slot in the tables or stash
+     */
+    private boolean rebuild(List<MapEntry<K, V>> entries, int capacity) {
+        newHashFunctions();
+        createTables(capacity);
+        for (int i = 0; i < stashCount; i++) {
+            stash[i] = null;
+        }
+        stashCount = 0;
+        for (MapEntry<K, V> entry : entries) {
+            MapEntry<K, V> homeless = place(entry);
+            if (homeless != null && !addToStash(homeless)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the capacity of each of the two hash table arrays
+     *
+     * @return the capacity of each hash table array
+     */
+    protected int capacity() {
+        return table1.length;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterable<Entry<K, V>> entrySet() {
+        return new EntryIterable();
+    }
+
+    /**
+     * A live view of the entries in the map. Iterating the view walks the two
+     * hash table arrays and the stash directly instead of copying the entries
+     * first.
+     *
+     * @author Ben Morris
+     */
+    private class EntryIterable implements Iterable<Entry<K, V>> {
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new EntryIterator();
+        }
+    }
+
+    /**
+     * EntryIterator walks the slots of both hash table arrays side by side,
+     * skipping empty slots, and then the stash. Removing through the iterator
+     * empties the entry's slot; removing a stash entry moves the last stash
+     * entry into its place, so the iterator examines that position again.
+     *
+     * @author Ben Morris
+     */
+    private class EntryIterator implements Iterator<Entry<K, V>> {
+        /**
+         * The position of the next entry to return: slot i of the first table is
+         * position 2i, slot i of the second table is position 2i + 1, and the
+         * stash follows both tables
+         */
+        private int position;
+        /** The position of the entry most recently returned by next() */
+        private int lastPosition;
+        /** The entry most recently returned by next(), or null */
+        private MapEntry<K, V> lastReturned;
+
+        /**
+         * Constructs a new iterator positioned before the first entry
+         */
+        EntryIterator() {
+            position = 0;
+            lastReturned = null;
+            skipEmpty();
+        }
+
+        /**
+         * Returns the entry at the given position, or null if that slot is empty
+         *
+         * @param pos the position to inspect
+         * @return the entry at the position, or null
+         */
+        private MapEntry<K, V> entryAt(int pos) {
+            if (pos >= 2 * table1.length) {
+                return stash[pos - 2 * table1.length];
+            }
+            return pos % 2 == 0 ? table1[pos / 2] : table2[pos / 2];
+        }
+
+        /**
+         * Moves position to the next slot that holds an entry
+         */
+        private void skipEmpty() {
+            while (hasNext() && entryAt(position) == null) {
+                position++;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return position < 2 * table1.length + stashCount;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("There are no more elements.");
+            }
+            lastPosition = position;
+            lastReturned = entryAt(position);
+            position++;
+            skipEmpty();
+            return lastReturned;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException("Successful next() not yet called.");
+            }
+            if (lastPosition < 2 * table1.length) {
+                if (lastPosition % 2 == 0) {
+                    table1[lastPosition / 2] = null;
+                } else {
+                    table2[lastPosition / 2] = null;
+                }
+            } else {
+                int i = lastPosition - 2 * table1.length;
+                stash[i] = stash[stashCount - 1];
+                stash[stashCount - 1] = null;
+                stashCount--;
+                // The last stash entry moved into the removed entry's place
+                position = lastPosition;
+            }
+            size--;
+            lastReturned = null;
+        }
+    }
+}
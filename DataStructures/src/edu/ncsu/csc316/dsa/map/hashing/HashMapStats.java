@@ -0,0 +1,189 @@
+package edu.ncsu.csc316.dsa.map.hashing;
+
+/**
+ * A HashMapStats is a snapshot of the collision statistics of a hash map,
+ * returned by {@link AbstractHashMap#getStats()}. The probe histogram and the
+ * resize figures are counted while statistics are enabled; the remaining
+ * figures describe the hash table array at the moment the snapshot was taken.
+ * Figures that do not apply to a hash map's collision resolution (such as
+ * tombstones for separate chaining) are reported as 0 or as an empty
+ * histogram.
+ * 
+ * A histogram is an array whose element i counts how often the value i was
+ * observed. The last element also counts every larger value.
+ * 
+ * @author Ben Morris
+ */
+public class HashMapStats {
+
+    /**
+     * The number of elements in each histogram; the last element counts every
+     * value of at least HISTOGRAM_SIZE - 1
+     */
+    public static final int HISTOGRAM_SIZE = 17;
+
+    /** Counts of the probe lengths of put, get, and remove operations */
+    private long[] probeHistogram;
+    /** The number of times the hash table array was resized */
+    private long resizeCount;
+    /** The total time, in nanoseconds, spent resizing */
+    private long resizeNanos;
+    /** The length of the longest run of occupied buckets */
+    private int maxClusterLength;
+    /** The number of deleted-entry markers in the hash table array */
+    private int tombstones;
+    /** Counts of the number of entries in each bucket */
+    private long[] bucketSizeHistogram;
+    /** The height of the tallest search tree used as a bucket */
+    private int maxBucketHeight;
+
+    /**
+     * Constructs a new snapshot with the given counted figures. The figures that
+     * describe the hash table array start at 0 and are filled in by the hash map.
+     * 
+     * @param probeHistogram counts of the probe lengths of map operations
+     * @param resizeCount    the number of times the hash table array was resized
+     * @param resizeNanos    the total time, in nanoseconds, spent resizing
+     */
+    HashMapStats(long[] probeHistogram, long resizeCount, long resizeNanos) {
+        this.probeHistogram = probeHistogram;
+        this.resizeCount = resizeCount;
+        this.resizeNanos = resizeNanos;
+        maxClusterLength = 0;
+        tombstones = 0;
+        bucketSizeHistogram = new long[0];
+        maxBucketHeight = 0;
+    }
+
+    /**
+     * Returns the histogram of probe lengths of the put, get, and remove
+     * operations performed while statistics were enabled. For open addressing, a
+     * probe length is the number of buckets examined; for separate chaining, it
+     * is the number of keys compared in the bucket that was searched.
+     * 
+     * @return the histogram of probe lengths
+     */
+    public long[] getProbeHistogram() {
+        return probeHistogram.clone();
+    }
+
+    /**
+     * Returns the number of operations recorded in the probe histogram
+     * 
+     * @return the number of operations recorded in the probe histogram
+     */
+    public long getOperationCount() {
+        long count = 0;
+        for (long c : probeHistogram) {
+            count += c;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of times the hash table array was resized while
+     * statistics were enabled
+     * 
+     * @return the number of resizes
+     */
+    public long getResizeCount() {
+        return resizeCount;
+    }
+
+    /**
+     * Returns the total time, in nanoseconds, spent resizing while statistics
+     * were enabled, including the time spent moving buckets during incremental
+     * resizes
+     * 
+     * @return the total time spent resizing, in nanoseconds
+     */
+    public long getResizeNanos() {
+        return resizeNanos;
+    }
+
+    /**
+     * Returns the length of the longest run of consecutive occupied buckets
+     * (including deleted-entry markers) in an open addressing hash table
+     * 
+     * @return the maximum cluster length
+     */
+    public int getMaxClusterLength() {
+        return maxClusterLength;
+    }
+
+    /**
+     * Sets the length of the longest run of consecutive occupied buckets
+     * 
+     * @param maxClusterLength the maximum cluster length
+     */
+    void setMaxClusterLength(int maxClusterLength) {
+        this.maxClusterLength = maxClusterLength;
+    }
+
+    /**
+     * Returns the number of deleted-entry markers (tombstones) in a linear
+     * probing hash table
+     * 
+     * @return the number of tombstones
+     */
+    public int getTombstones() {
+        return tombstones;
+    }
+
+    /**
+     * Sets the number of deleted-entry markers in the hash table
+     * 
+     * @param tombstones the number of tombstones
+     */
+    void setTombstones(int tombstones) {
+        this.tombstones = tombstones;
+    }
+
+    /**
+     * Returns the histogram of the number of entries in each bucket of a separate
+     * chaining hash table
+     * 
+     * @return the histogram of bucket sizes
+     */
+    public long[] getBucketSizeHistogram() {
+        return bucketSizeHistogram.clone();
+    }
+
+    /**
+     * Sets the histogram of the number of entries in each bucket
+     * 
+     * @param bucketSizeHistogram the histogram of bucket sizes
+     */
+    void setBucketSizeHistogram(long[] bucketSizeHistogram) {
+        this.bucketSizeHistogram = bucketSizeHistogram;
+    }
+
+    /**
+     * Returns the height of the tallest AVL tree used as a bucket in a separate
+     * chaining hash table
+     * 
+     * @return the maximum bucket height
+     */
+    public int getMaxBucketHeight() {
+        return maxBucketHeight;
+    }
+
+    /**
+     * Sets the height of the tallest search tree used as a bucket
+     * 
+     * @param maxBucketHeight the maximum bucket height
+     */
+    void setMaxBucketHeight(int maxBucketHeight) {
+        this.maxBucketHeight = maxBucketHeight;
+    }
+
+    /**
+     * Adds one observation of the given value to the given histogram
+     * 
+     * @param histogram the histogram to update
+     * @param value     the observed value
+     */
+    static void record(long[] histogram, int value) {
+        histogram[Math.min(value, histogram.length - 1)]++;
+    }
+}
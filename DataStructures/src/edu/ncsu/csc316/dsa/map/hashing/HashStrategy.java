@@ -0,0 +1,44 @@
+package edu.ncsu.csc316.dsa.map.hashing;
+
+/**
+ * A HashStrategy decides how a hash table turns a key into the index of a
+ * bucket and how large the table's array is allowed to be. Keeping these two
+ * decisions together lets a strategy rely on its own table sizes: for example,
+ * a strategy that only uses power-of-two capacities can compress a hash with a
+ * bit mask instead of a division.
+ * 
+ * @author Ben Morris
+ *
+ * @param <K> the type of keys the strategy hashes
+ */
+public interface HashStrategy<K> {
+
+    /**
+     * Returns the index of the bucket for the given key in a hash table array with
+     * the given capacity
+     * 
+     * @param key      the key for which to calculate the bucket index
+     * @param capacity the capacity of the hash table array, which was produced by
+     *                 {@link #tableCapacity} or {@link #nextCapacity}
+     * @return the index of the bucket for the key, between 0 and capacity - 1
+     */
+    int index(K key, int capacity);
+
+    /**
+     * Returns the capacity to use for a new hash table array that should have at
+     * least the requested capacity
+     * 
+     * @param requested the requested capacity of the hash table array
+     * @return the capacity the hash table array should use
+     */
+    int tableCapacity(int requested);
+
+    /**
+     * Returns the capacity of the larger hash table array to use when a hash table
+     * with the given capacity resizes
+     * 
+     * @param capacity the current capacity of the hash table array
+     * @return the capacity of the resized hash table array
+     */
+    int nextCapacity(int capacity);
+}
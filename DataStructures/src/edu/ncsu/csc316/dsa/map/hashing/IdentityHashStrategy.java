@@ -0,0 +1,31 @@
+package edu.ncsu.csc316.dsa.map.hashing;
+
+/**
+ * The IdentityHashStrategy uses the low bits of a key's hash code directly as
+ * the index of its bucket in a power-of-two hash table array. It does no mixing
+ * at all, so it is the fastest strategy, but it is only suitable for keys whose
+ * hash codes are already well mixed (for example, keys that cache the output of
+ * a strong hash function). Keys whose hash codes share their low bits all land
+ * in the same bucket.
+ * 
+ * @author Ben Morris
+ *
+ * @param <K> the type of keys the strategy hashes
+ */
+public class IdentityHashStrategy<K> implements HashStrategy<K> {
+
+    @Override
+    public int index(K key, int capacity) {
+        return key.hashCode() & (capacity - 1);
+    }
+
+    @Override
+    public int tableCapacity(int requested) {
+        return MurmurHashStrategy.powerOfTwoAtLeast(requested);
+    }
+
+    @Override
+    public int nextCapacity(int capacity) {
+        return 2 * capacity;
+    }
+}
@@ -0,0 +1,523 @@
+package edu.ncsu.csc316.dsa.map.hashing;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+
+import edu.ncsu.csc316.dsa.map.AbstractMap;
+import edu.ncsu.csc316.dsa.map.Map;
+
+/**
+ * The IntIntHashMap is implemented as an open-addressing hash table that uses
+ * linear probing for collision resolution and stores both its keys and its
+ * values as primitive ints.
+ *
+ * Keys and values are kept in two parallel int[] arrays, so no entry objects
+ * are created for mappings and neither keys nor values are boxed when using the
+ * primitive {@link #get(int)}, {@link #put(int, int)}, and {@link #remove(int)}
+ * overloads. Since a primitive int cannot be null, the primitive overloads
+ * return a configurable "no entry" value when a key is not in the map. The
+ * hash map ensures expected O(1) performance of {@link Map#put},
+ * {@link Map#get}, and {@link Map#remove}.
+ *
+ * The key 0 is used to mark an empty slot in the table, so a mapping for the
+ * key 0 is stored outside of the table. Removals shift later entries of the
+ * cluster backward, so the table never contains deleted markers.
+ *
+ * The hash table has a power-of-two capacity and resizes if the load factor
+ * exceeds 0.5.
+ *
+ * @author Ben Morris
+ */
+public class IntIntHashMap extends AbstractMap<Integer, Integer> {
+
+    /**
+     * The default initial capacity of the hash table arrays
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * The maximum load factor to allow before resizing the hash table
+     */
+    private static final double MAX_LOAD_FACTOR = 0.5;
+
+    /**
+     * The 32-bit golden ratio constant used to scramble keys before masking
+     */
+    private static final int GOLDEN_RATIO = 0x9E3779B9;
+
+    /** Keys of the mappings stored in the table; 0 marks an empty slot */
+    private int[] keys;
+    /** Values of the mappings stored in the table, parallel to keys */
+    private int[] values;
+    /** Bit mask used to reduce a hash to an index (capacity - 1) */
+    private int mask;
+    /** True if the map contains a mapping for the key 0 */
+    private boolean hasZeroKey;
+    /** Value associated with the key 0 */
+    private int zeroValue;
+    /** Value returned by the primitive overloads when a key is not in the map */
+    private int noEntryValue;
+    /** Number of mappings stored in the map */
+    private int size;
+
+    /**
+     * Constructs a new int-to-int hash map that uses the default initial capacity
+     * and 0 as its "no entry" value
+     */
+    public IntIntHashMap() {
+        this(DEFAULT_CAPACITY, 0);
+    }
+
+    /**
+     * Constructs a new int-to-int hash map that can hold the provided number of
+     * mappings before resizing and uses 0 as its "no entry" value
+     *
+     * @param capacity the number of mappings the map should hold without resizing
+     */
+    public IntIntHashMap(int capacity) {
+        this(capacity, 0);
+    }
+
+    /**
+     * Constructs a new int-to-int hash map that can hold the provided number of
+     * mappings before resizing and uses the provided "no entry" value
+     *
+     * @param capacity     the number of mappings the map should hold without
+     *                     resizing
+     * @param noEntryValue the value returned by the primitive overloads when a
+     *                     key is not in the map
+     */
+    public IntIntHashMap(int capacity, int noEntryValue) {
+        int length = 2;
+        while (length * MAX_LOAD_FACTOR < capacity) {
+            length <<= 1;
+        }
+        createTable(length);
+        this.noEntryValue = noEntryValue;
+        size = 0;
+    }
+
+    /**
+     * Returns the value returned by the primitive overloads when a key is not in
+     * the map
+     *
+     * @return the "no entry" value of the map
+     */
+    public int getNoEntryValue() {
+        return noEntryValue;
+    }
+
+    /**
+     * Creates new, empty key and value arrays with the given length
+     *
+     * @param length the length (a power of two) of the new arrays
+     */
+    private void createTable(int length) {
+        keys = new int[length];
+        values = new int[length];
+        mask = length - 1;
+    }
+
+    /**
+     * Returns the home index of the given key in the table
+     *
+     * @param key the key for which to calculate the index
+     * @return the index of the slot at which probing for the key begins
+     */
+    private int indexFor(int key) {
+        int h = key * GOLDEN_RATIO;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /**
+     * Returns the index of the slot that contains the given non-zero key, or
+     * -(a+1) where a is the index of the empty slot where the key should be
+     * inserted
+     *
+     * @param key the non-zero key to locate
+     * @return the index of the key, or -(a+1) if the key is not in the table
+     */
+    private int findSlot(int key) {
+        int j = indexFor(key);
+        while (keys[j] != 0) {
+            if (keys[j] == key) {
+                return j;
+            }
+            j = (j + 1) & mask;
+        }
+        return -(j + 1);
+    }
+
+    /**
+     * Returns true if the map contains a mapping for the given key
+     *
+     * @param key the key to locate
+     * @return true if the map contains a mapping for the given key
+     */
+    public boolean containsKey(int key) {
+        if (key == 0) {
+            return hasZeroKey;
+        }
+        return findSlot(key) >= 0;
+    }
+
+    /**
+     * Returns the value that is associated with the given key without boxing
+     *
+     * @param key the key of the entry for which to locate the associated value
+     * @return the value that is associated with the given key, or the "no entry"
+     *         value if the key is not in the map
+     */
+    public int get(int key) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : noEntryValue;
+        }
+        int j = findSlot(key);
+        return j >= 0 ? values[j] : noEntryValue;
+    }
+
+    @Override
+    public Integer get(Integer key) {
+        int k = key.intValue();
+        if (k == 0) {
+            return hasZeroKey ? Integer.valueOf(zeroValue) : null;
+        }
+        int j = findSlot(k);
+        return j >= 0 ? Integer.valueOf(values[j]) : null;
+    }
+
+    /**
+     * Associates the given key with the given value without boxing
+     *
+     * @param key   the key of the entry
+     * @param value the value of the entry
+     * @return the "no entry" value if an entry with the provided key did not
+     *         already exist; otherwise, return the original value that was
+     *         replaced
+     */
+    public int put(int key, int value) {
+        if (key == 0) {
+            int oldValue = hasZeroKey ? zeroValue : noEntryValue;
+            zeroValue = value;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            return oldValue;
+        }
+        int j = findSlot(key);
+        if (j >= 0) {
+            int oldValue = values[j];
+            values[j] = value;
+            return oldValue;
+        }
+        insertAt(-(j + 1), key, value);
+        return noEntryValue;
+    }
+
+    @Override
+    public Integer put(Integer key, Integer value) {
+        int k = key.intValue();
+        if (k == 0) {
+            Integer oldValue = hasZeroKey ? Integer.valueOf(zeroValue) : null;
+            put(k, value.intValue());
+            return oldValue;
+        }
+        int j = findSlot(k);
+        if (j >= 0) {
+            int oldValue = values[j];
+            values[j] = value.intValue();
+            return Integer.valueOf(oldValue);
+        }
+        insertAt(-(j + 1), k, value.intValue());
+        return null;
+    }
+
+    /**
+     * Stores a new entry in the given empty slot, which findSlot returned for
+     * the key, and grows the table if it is now too full
+     *
+     * @param j     the index of the empty slot
+     * @param key   the non-zero key of the new entry
+     * @param value the value of the new entry
+     */
+    private void insertAt(int j, int key, int value) {
+        keys[j] = key;
+        values[j] = value;
+        size++;
+        if ((double) size / keys.length > MAX_LOAD_FACTOR) {
+            resize(keys.length * 2);
+        }
+    }
+
+    @Override
+    public Integer compute(Integer key, BiFunction<? super Integer, ? super Integer, ? extends Integer> remappingFunction) {
+        int k = key.intValue();
+        if (k == 0) {
+            Integer value = remappingFunction.apply(key, hasZeroKey ? Integer.valueOf(zeroValue) : null);
+            if (value == null) {
+                if (hasZeroKey) {
+                    hasZeroKey = false;
+                    size--;
+                }
+            } else {
+                zeroValue = value.intValue();
+                if (!hasZeroKey) {
+                    hasZeroKey = true;
+                    size++;
+                }
+            }
+            return value;
+        }
+        int j = findSlot(k);
+        Integer value = remappingFunction.apply(key, j >= 0 ? Integer.valueOf(values[j]) : null);
+        if (j >= 0) {
+            if (value == null) {
+                shiftBack(j);
+                size--;
+            } else {
+                values[j] = value.intValue();
+            }
+        } else if (value != null) {
+            insertAt(-(j + 1), k, value.intValue());
+        }
+        return value;
+    }
+
+    /**
+     * Removes the mapping for the given key without boxing
+     *
+     * @param key the key of the entry to remove from the map
+     * @return the value of the entry that was removed from the map, or the "no
+     *         entry" value if an entry with the provided key did not exist
+     */
+    public int remove(int key) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                return noEntryValue;
+            }
+            hasZeroKey = false;
+            size--;
+            return zeroValue;
+        }
+        int j = findSlot(key);
+        if (j < 0) {
+            return noEntryValue;
+        }
+        int oldValue = values[j];
+        shiftBack(j);
+        size--;
+        return oldValue;
+    }
+
+    @Override
+    public Integer remove(Integer key) {
+        int k = key.intValue();
+        if (k == 0) {
+            return hasZeroKey ? Integer.valueOf(remove(k)) : null;
+        }
+        int j = findSlot(k);
+        if (j < 0) {
+            return null;
+        }
+        int oldValue = values[j];
+        shiftBack(j);
+        size--;
+        return Integer.valueOf(oldValue);
+    }
+
+    /**
+     * Empties the slot at the given index and shifts later entries of the same
+     * cluster backward so every remaining key stays reachable from its home
+     * index without leaving a deleted marker behind
+     *
+     * @param hole the index of the slot to empty
+     */
+    private void shiftBack(int hole) {
+        int j = hole;
+        while (true) {
+            j = (j + 1) & mask;
+            if (keys[j] == 0) {
+                break;
+            }
+            int home = indexFor(keys[j]);
+            // Move keys[j] into the hole only if its home is not cyclically in (hole, j]
+            if (((j - home) & mask) >= ((j - hole) & mask)) {
+                keys[hole] = keys[j];
+                values[hole] = values[j];
+                hole = j;
+            }
+        }
+        keys[hole] = 0;
+        values[hole] = 0;
+    }
+
+    /**
+     * {@inheritDoc} The table is rebuilt once, at the smallest power-of-two
+     * length that holds the given number of mappings within the maximum load
+     * factor.
+     */
+    @Override
+    public void ensureCapacity(int capacity) {
+        int length = keys.length;
+        while (length * MAX_LOAD_FACTOR < capacity) {
+            length <<= 1;
+        }
+        if (length > keys.length) {
+            resize(length);
+        }
+    }
+
+    /**
+     * Rebuilds the table with the given length, reinserting every mapping
+     * directly into the new arrays
+     *
+     * @param length the length (a power of two) of the new table
+     */
+    private void resize(int length) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        createTable(length);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int j = indexFor(oldKeys[i]);
+                while (keys[j] != 0) {
+                    j = (j + 1) & mask;
+                }
+                keys[j] = oldKeys[i];
+                values[j] = oldValues[i];
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterable<Entry<Integer, Integer>> entrySet() {
+        return new EntryIterable();
+    }
+
+    /**
+     * A live view of the mappings in the hash map. Iterating the view walks the
+     * key array directly instead of copying the mappings first.
+     *
+     * @author Ben Morris
+     */
+    private class EntryIterable implements Iterable<Entry<Integer, Integer>> {
+        @Override
+        public Iterator<Entry<Integer, Integer>> iterator() {
+            return new EntryIterator();
+        }
+    }
+
+    /**
+     * EntryIterator returns the mapping for the key 0 first, if there is one,
+     * and then walks the slots of the hash table, skipping empty slots. Since the
+     * table keeps no entry objects, next() returns a new entry holding the key
+     * and value.
+     *
+     * Removing through the iterator shifts later entries of the cluster backward
+     * just as {@link #remove(int)} does, so the iterator examines the removed
+     * entry's slot again before moving on. A shift can wrap from the end of the
+     * array to its start, so the slots are walked circularly starting just after
+     * the last empty slot: shifts stop at empty slots, so no entry already
+     * returned can move into a slot the iterator has not reached yet.
+     *
+     * @author Ben Morris
+     */
+    private class EntryIterator implements Iterator<Entry<Integer, Integer>> {
+        /** The slot at which the walk of the table starts */
+        private final int start;
+        /**
+         * The number of slots already passed, or -1 while the mapping for the key
+         * 0 is next
+         */
+        private int offset;
+        /** The offset of the mapping most recently returned by next() */
+        private int lastOffset;
+        /** The key most recently returned by next() */
+        private int lastKey;
+        /** True if remove() may be called */
+        private boolean removeOK;
+
+        /**
+         * Constructs a new iterator positioned before the first mapping
+         */
+        EntryIterator() {
+            int empty = keys.length - 1;
+            while (keys[empty] != 0) {
+                empty--;
+            }
+            start = empty + 1;
+            offset = -1;
+            removeOK = false;
+            skipEmpty();
+        }
+
+        /**
+         * Returns the index of the slot at the given offset of the walk
+         *
+         * @param off the number of slots passed
+         * @return the index of the slot in the table
+         */
+        private int indexOf(int off) {
+            return (start + off) & mask;
+        }
+
+        /**
+         * Moves offset to the next mapping
+         */
+        private void skipEmpty() {
+            if (offset < 0 && !hasZeroKey) {
+                offset = 0;
+            }
+            while (offset >= 0 && offset < keys.length && keys[indexOf(offset)] == 0) {
+                offset++;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return offset < keys.length;
+        }
+
+        @Override
+        public Entry<Integer, Integer> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("There are no more elements.");
+            }
+            lastOffset = offset;
+            Entry<Integer, Integer> entry;
+            if (offset < 0) {
+                lastKey = 0;
+                entry = new MapEntry<Integer, Integer>(0, zeroValue);
+            } else {
+                int index = indexOf(offset);
+                lastKey = keys[index];
+                entry = new MapEntry<Integer, Integer>(lastKey, values[index]);
+            }
+            removeOK = true;
+            offset++;
+            skipEmpty();
+            return entry;
+        }
+
+        @Override
+        public void remove() {
+            if (!removeOK) {
+                throw new IllegalStateException("Successful next() not yet called.");
+            }
+            IntIntHashMap.this.remove(lastKey);
+            if (lastOffset >= 0) {
+                // A later entry of the cluster may have shifted into the slot
+                offset = lastOffset;
+                skipEmpty();
+            }
+            removeOK = false;
+        }
+    }
+}
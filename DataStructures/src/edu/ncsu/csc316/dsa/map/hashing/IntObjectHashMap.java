@@ -0,0 +1,473 @@
+package edu.ncsu.csc316.dsa.map.hashing;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+
+import edu.ncsu.csc316.dsa.map.AbstractMap;
+import edu.ncsu.csc316.dsa.map.Map;
+
+/**
+ * The IntObjectHashMap is implemented as an open-addressing hash table that
+ * uses linear probing for collision resolution and stores its keys as
+ * primitive ints.
+ *
+ * Unlike {@link LinearProbingHashMap}, keys are kept in an int[] and values in
+ * a parallel array, so no entry objects are created for mappings and keys are
+ * never boxed when using the primitive {@link #get(int)}, {@link #put(int, Object)},
+ * and {@link #remove(int)} overloads. The hash map ensures expected O(1)
+ * performance of {@link Map#put}, {@link Map#get}, and {@link Map#remove}.
+ *
+ * The key 0 is used to mark an empty slot in the table, so a mapping for the
+ * key 0 is stored outside of the table. Removals shift later entries of the
+ * cluster backward, so the table never contains deleted markers.
+ *
+ * The hash table has a power-of-two capacity and resizes if the load factor
+ * exceeds 0.5.
+ *
+ * @author Ben Morris
+ *
+ * @param <V> the type of values associated with keys in the hash map
+ */
+public class IntObjectHashMap<V> extends AbstractMap<Integer, V> {
+
+    /**
+     * The default initial capacity of the hash table arrays
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * The maximum load factor to allow before resizing the hash table
+     */
+    private static final double MAX_LOAD_FACTOR = 0.5;
+
+    /**
+     * The 32-bit golden ratio constant used to scramble keys before masking
+     */
+    private static final int GOLDEN_RATIO = 0x9E3779B9;
+
+    /** Keys of the mappings stored in the table; 0 marks an empty slot */
+    private int[] keys;
+    /** Values of the mappings stored in the table, parallel to keys */
+    private V[] values;
+    /** Bit mask used to reduce a hash to an index (capacity - 1) */
+    private int mask;
+    /** True if the map contains a mapping for the key 0 */
+    private boolean hasZeroKey;
+    /** Value associated with the key 0 */
+    private V zeroValue;
+    /** Number of mappings stored in the map */
+    private int size;
+
+    /**
+     * Constructs a new int-keyed hash map that uses the default initial capacity
+     */
+    public IntObjectHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new int-keyed hash map that can hold the provided number of
+     * mappings before resizing
+     *
+     * @param capacity the number of mappings the map should hold without resizing
+     */
+    public IntObjectHashMap(int capacity) {
+        createTable(tableSizeFor(capacity));
+        size = 0;
+    }
+
+    /**
+     * Returns the smallest power of two table length that can hold the provided
+     * number of mappings without exceeding the maximum load factor
+     *
+     * @param capacity the number of mappings to hold
+     * @return a power of two table length
+     */
+    private static int tableSizeFor(int capacity) {
+        int length = 2;
+        while (length * MAX_LOAD_FACTOR < capacity) {
+            length <<= 1;
+        }
+        return length;
+    }
+
+    /**
+     * Creates new, empty key and value arrays with the given length
+     *
+     * @param length the length (a power of two) of the new arrays
+     */
+    @SuppressWarnings("unchecked")
+    private void createTable(int length) {
+        keys = new int[length];
+        values = (V[]) new Object[length];
+        mask = length - 1;
+    }
+
+    /**
+     * Returns the home index of the given key in the table
+     *
+     * @param key the key for which to calculate the index
+     * @return the index of the slot at which probing for the key begins
+     */
+    private int indexFor(int key) {
+        int h = key * GOLDEN_RATIO;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /**
+     * Returns the index of the slot that contains the given non-zero key, or
+     * -(a+1) where a is the index of the empty slot where the key should be
+     * inserted
+     *
+     * @param key the non-zero key to locate
+     * @return the index of the key, or -(a+1) if the key is not in the table
+     */
+    private int findSlot(int key) {
+        int j = indexFor(key);
+        while (keys[j] != 0) {
+            if (keys[j] == key) {
+                return j;
+            }
+            j = (j + 1) & mask;
+        }
+        return -(j + 1);
+    }
+
+    /**
+     * Returns true if the map contains a mapping for the given key
+     *
+     * @param key the key to locate
+     * @return true if the map contains a mapping for the given key
+     */
+    public boolean containsKey(int key) {
+        if (key == 0) {
+            return hasZeroKey;
+        }
+        return findSlot(key) >= 0;
+    }
+
+    /**
+     * Returns the value that is associated with the given key without boxing the
+     * key
+     *
+     * @param key the key of the entry for which to locate the associated value
+     * @return the value that is associated with the given key, or null if the key
+     *         is not in the map
+     */
+    public V get(int key) {
+        if (key == 0) {
+            return zeroValue;
+        }
+        int j = findSlot(key);
+        return j >= 0 ? values[j] : null;
+    }
+
+    @Override
+    public V get(Integer key) {
+        return get(key.intValue());
+    }
+
+    /**
+     * Associates the given key with the given value without boxing the key
+     *
+     * @param key   the key of the entry
+     * @param value the value of the entry
+     * @return null if an entry with the provided key did not already exist;
+     *         otherwise, return the original value that was replaced
+     */
+    public V put(int key, V value) {
+        if (key == 0) {
+            V oldValue = zeroValue;
+            zeroValue = value;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            return oldValue;
+        }
+        int j = findSlot(key);
+        if (j >= 0) {
+            V oldValue = values[j];
+            values[j] = value;
+            return oldValue;
+        }
+        j = -(j + 1);
+        keys[j] = key;
+        values[j] = value;
+        size++;
+        if ((double) size / keys.length > MAX_LOAD_FACTOR) {
+            resize(keys.length * 2);
+        }
+        return null;
+    }
+
+    @Override
+    public V put(Integer key, V value) {
+        return put(key.intValue(), value);
+    }
+
+    @Override
+    public V compute(Integer key, BiFunction<? super Integer, ? super V, ? extends V> remappingFunction) {
+        int k = key.intValue();
+        if (k == 0) {
+            V value = remappingFunction.apply(key, zeroValue);
+            if (value == null) {
+                if (hasZeroKey) {
+                    hasZeroKey = false;
+                    size--;
+                }
+            } else if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return value;
+        }
+        int j = findSlot(k);
+        V value = remappingFunction.apply(key, j >= 0 ? values[j] : null);
+        if (j >= 0) {
+            if (value == null) {
+                shiftBack(j);
+                size--;
+            } else {
+                values[j] = value;
+            }
+        } else if (value != null) {
+            j = -(j + 1);
+            keys[j] = k;
+            values[j] = value;
+            size++;
+            if ((double) size / keys.length > MAX_LOAD_FACTOR) {
+                resize(keys.length * 2);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Removes the mapping for the given key without boxing the key
+     *
+     * @param key the key of the entry to remove from the map
+     * @return the value of the entry that was removed from the map, or null if an
+     *         entry with the provided key did not exist within the map
+     */
+    public V remove(int key) {
+        if (key == 0) {
+            V oldValue = zeroValue;
+            if (hasZeroKey) {
+                hasZeroKey = false;
+                zeroValue = null;
+                size--;
+            }
+            return oldValue;
+        }
+        int j = findSlot(key);
+        if (j < 0) {
+            return null;
+        }
+        V oldValue = values[j];
+        shiftBack(j);
+        size--;
+        return oldValue;
+    }
+
+    @Override
+    public V remove(Integer key) {
+        return remove(key.intValue());
+    }
+
+    /**
+     * Empties the slot at the given index and shifts later entries of the same
+     * cluster backward so every remaining key stays reachable from its home
+     * index without leaving a deleted marker behind
+     *
+     * @param hole the index of the slot to empty
+     */
+    private void shiftBack(int hole) {
+        int j = hole;
+        while (true) {
+            j = (j + 1) & mask;
+            if (keys[j] == 0) {
+                break;
+            }
+            int home = indexFor(keys[j]);
+            // Move keys[j] into the hole only if its home is not cyclically in (hole, j]
+            if (((j - home) & mask) >= ((j - hole) & mask)) {
+                keys[hole] = keys[j];
+                values[hole] = values[j];
+                hole = j;
+            }
+        }
+        keys[hole] = 0;
+        values[hole] = null;
+    }
+
+    /**
+     * {@inheritDoc} The table is rebuilt once, at the smallest power-of-two
+     * length that holds the given number of mappings within the maximum load
+     * factor.
+     */
+    @Override
+    public void ensureCapacity(int capacity) {
+        int length = keys.length;
+        while (length * MAX_LOAD_FACTOR < capacity) {
+            length <<= 1;
+        }
+        if (length > keys.length) {
+            resize(length);
+        }
+    }
+
+    /**
+     * Rebuilds the table with the given length, reinserting every mapping
+     * directly into the new arrays
+     *
+     * @param length the length (a power of two) of the new table
+     */
+    private void resize(int length) {
+        int[] oldKeys = keys;
+        V[] oldValues = values;
+        createTable(length);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int j = indexFor(oldKeys[i]);
+                while (keys[j] != 0) {
+                    j = (j + 1) & mask;
+                }
+                keys[j] = oldKeys[i];
+                values[j] = oldValues[i];
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterable<Entry<Integer, V>> entrySet() {
+        return new EntryIterable();
+    }
+
+    /**
+     * A live view of the mappings in the hash map. Iterating the view walks the
+     * key array directly instead of copying the mappings first.
+     *
+     * @author Ben Morris
+     */
+    private class EntryIterable implements Iterable<Entry<Integer, V>> {
+        @Override
+        public Iterator<Entry<Integer, V>> iterator() {
+            return new EntryIterator();
+        }
+    }
+
+    /**
+     * EntryIterator returns the mapping for the key 0 first, if there is one,
+     * and then walks the slots of the hash table, skipping empty slots. Since the
+     * table keeps no entry objects, next() returns a new entry holding the key
+     * and value.
+     *
+     * Removing through the iterator shifts later entries of the cluster backward
+     * just as {@link #remove(int)} does, so the iterator examines the removed
+     * entry's slot again before moving on. A shift can wrap from the end of the
+     * array to its start, so the slots are walked circularly starting just after
+     * the last empty slot: shifts stop at empty slots, so no entry already
+     * returned can move into a slot the iterator has not reached yet.
+     *
+     * @author Ben Morris
+     */
+    private class EntryIterator implements Iterator<Entry<Integer, V>> {
+        /** The slot at which the walk of the table starts */
+        private final int start;
+        /**
+         * The number of slots already passed, or -1 while the mapping for the key
+         * 0 is next
+         */
+        private int offset;
+        /** The offset of the mapping most recently returned by next() */
+        private int lastOffset;
+        /** The key most recently returned by next() */
+        private int lastKey;
+        /** True if remove() may be called */
+        private boolean removeOK;
+
+        /**
+         * Constructs a new iterator positioned before the first mapping
+         */
+        EntryIterator() {
+            int empty = keys.length - 1;
+            while (keys[empty] != 0) {
+                empty--;
+            }
+            start = empty + 1;
+            offset = -1;
+            removeOK = false;
+            skipEmpty();
+        }
+
+        /**
+         * Returns the index of the slot at the given offset of the walk
+         *
+         * @param off the number of slots passed
+         * @return the index of the slot in the table
+         */
+        private int indexOf(int off) {
+            return (start + off) & mask;
+        }
+
+        /**
+         * Moves offset to the next mapping
+         */
+        private void skipEmpty() {
+            if (offset < 0 && !hasZeroKey) {
+                offset = 0;
+            }
+            while (offset >= 0 && offset < keys.length && keys[indexOf(offset)] == 0) {
+                offset++;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return offset < keys.length;
+        }
+
+        @Override
+        public Entry<Integer, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("There are no more elements.");
+            }
+            lastOffset = offset;
+            Entry<Integer, V> entry;
+            if (offset < 0) {
+                lastKey = 0;
+                entry = new MapEntry<Integer, V>(0, zeroValue);
+            } else {
+                int index = indexOf(offset);
+                lastKey = keys[index];
+                entry = new MapEntry<Integer, V>(lastKey, values[index]);
+            }
+            removeOK = true;
+            offset++;
+            skipEmpty();
+            return entry;
+        }
+
+        @Override
+        public void remove() {
+            if (!removeOK) {
+                throw new IllegalStateException("Successful next() not yet called.");
+            }
+            IntObjectHashMap.this.remove(lastKey);
+            if (lastOffset >= 0) {
+                // A later entry of the cluster may have shifted into the slot
+                offset = lastOffset;
+                skipEmpty();
+            }
+            removeOK = false;
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package edu.ncsu.csc316.dsa.map.hashing;
 
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+
 import edu.ncsu.csc316.dsa.map.Map;
 
 /**
@@ -28,6 +32,8 @@ public class LinearProbingHashMap<K, V> extends AbstractHashMap<K, V> {
 
 	/** Field for table of maps */
     private TableEntry<K, V>[] table;
+    /** Table whose entries are still being moved during an incremental resize */
+    private TableEntry<K, V>[] oldTable;
     /** Size of table */
     private int size;
 
@@ -77,16 +83,108 @@ public class LinearProbingHashMap<K, V> extends AbstractHashMap<K, V> {
         size = 0;
     }
 
+    /**
+     * Constructs a new linear probing hash map that uses the provided hash strategy to
+     * place keys in buckets. The created hash table is initialized to have at
+     * least the provided capacity; the strategy may round the capacity up.
+     * 
+     * @param capacity the requested initial capacity of the hash table
+     * @param strategy the strategy that maps keys to bucket indexes
+     */
+    public LinearProbingHashMap(int capacity, HashStrategy<K> strategy) {
+        super(capacity, strategy);
+        size = 0;
+    }
+
     @Override
     public Iterable<Entry<K, V>> entrySet() {
-    	EntryCollection collection = new EntryCollection();
-        
-    	for (int i = 0; i < table.length; i++) {
-            if (!isAvailable(i))
-                collection.add(table[i]);
+        return new EntryIterable();
+    }
+
+    /**
+     * A live view of the entries in the hash table. Iterating the view walks the
+     * table array (and the old array, during an incremental resize) directly
+     * instead of copying the entries first.
+     * 
+     * @author Ben Morris
+     */
+    private class EntryIterable implements Iterable<Entry<K, V>> {
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new EntryIterator();
+        }
+    }
+
+    /**
+     * EntryIterator walks the buckets of the hash table array, skipping empty
+     * buckets and deleted entries. Removing through the iterator marks the entry
+     * as deleted, just as {@link #remove} does, so the rest of the iteration is
+     * unaffected.
+     * 
+     * @author Ben Morris
+     */
+    private class EntryIterator implements Iterator<Entry<K, V>> {
+        /** The array currently being walked */
+        private TableEntry<K, V>[] current;
+        /** The index of the next entry to return in the current array */
+        private int index;
+        /** The entry most recently returned by next(), or null */
+        private TableEntry<K, V> lastReturned;
+
+        /**
+         * Constructs a new iterator positioned before the first entry
+         */
+        EntryIterator() {
+            current = table;
+            index = -1;
+            lastReturned = null;
+            advance();
+        }
+
+        /**
+         * Moves index to the next bucket that holds an entry, moving on to the old
+         * array once the current array is exhausted
+         */
+        private void advance() {
+            index++;
+            while (true) {
+                while (index < current.length && isAvailable(current, index)) {
+                    index++;
+                }
+                if (index < current.length || oldTable == null || current == oldTable) {
+                    return;
+                }
+                current = oldTable;
+                index = 0;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < current.length;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("There are no more elements.");
+            }
+            lastReturned = current[index];
+            advance();
+            return lastReturned;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException("Successful next() not yet called.");
+            }
+            if (!lastReturned.isDeleted()) {
+                lastReturned.setDeleted(true);
+                size--;
+            }
+            lastReturned = null;
         }
-        
-        return collection;
     }
 
     @SuppressWarnings("unchecked")
@@ -96,14 +194,22 @@ public class LinearProbingHashMap<K, V> extends AbstractHashMap<K, V> {
         size = 0;
     }
 
-    private boolean isAvailable(int index) {
-        return (table[index] == null || table[index].isDeleted());
+    /**
+     * Returns true if the bucket at the given index of the given table is empty
+     * or holds a deleted entry
+     * 
+     * @param t     the table to inspect
+     * @param index the index of the bucket to inspect
+     * @return true if the bucket is available for a new entry
+     */
+    private boolean isAvailable(TableEntry<K, V>[] t, int index) {
+        return (t[index] == null || t[index].isDeleted());
     }
 
     @Override
     public V bucketGet(int hash, K key) {
     	// See if the key exists
-    	int bucketIndex = findBucket(hash, key);
+    	int bucketIndex = findBucket(table, hash, key);
        
     	// If it does exist, return the value.
         if (bucketIndex >= 0)
@@ -115,7 +221,7 @@ public class LinearProbingHashMap<K, V> extends AbstractHashMap<K, V> {
     @Override
     public V bucketPut(int hash, K key, V value) {
         // See if the key exists
-    	int bucketIndex = findBucket(hash, key);
+    	int bucketIndex = findBucket(table, hash, key);
        
     	// If it does exist, return the old value and set the new value.
         if (bucketIndex >= 0) {
@@ -136,51 +242,94 @@ public class LinearProbingHashMap<K, V> extends AbstractHashMap<K, V> {
         return null;
     }
 
+    @Override
+    protected V bucketCompute(int hash, K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        int bucketIndex = findBucket(table, hash, key);
+        if (bucketIndex >= 0) {
+            V value = remappingFunction.apply(key, table[bucketIndex].getValue());
+            if (value == null) {
+                table[bucketIndex].setDeleted(true);
+                size--;
+            } else {
+                table[bucketIndex].setValue(value);
+            }
+            return value;
+        }
+        V value = remappingFunction.apply(key, null);
+        if (value != null) {
+            // Insert at the first available bucket that findBucket reported
+            table[-(bucketIndex + 1)] = new TableEntry<>(key, value);
+            size++;
+        }
+        return value;
+    }
+
     /**
      * Output the index of the bucket that contains the entry (if it exists), or
      * if the entry is not in the map, return -(a+1) where a is the index where 
      * the entry should be inserted. Comments below adapted from p. 395 of the 
      * text listed above.
      * 
+     * @param t table to search
      * @param index bucket index to search
      * @param key key to search for
      * @return the index of the bucket if the key exists, or -(a+1) where a
      * 		   is the index where the entry should be inserted
      */
-    private int findBucket(int index, K key) {
+    private int findBucket(TableEntry<K, V>[] t, int index, K key) {
     	// No slot available yet
     	int available = -1;
     	// Index while scanning table
     	int j = index;
+    	// Number of buckets examined
+    	int probes = 0;
     	do {
-    		if (isAvailable(j)) {
+    		probes++;
+    		if (isAvailable(t, j)) {
     			// First available slot
     			if (available == -1)
     				available = j;
     			// If the table is empty, the search failed
-    			if (table[j] == null)
+    			if (t[j] == null) {
+    				recordProbes(probes);
     				return -(available + 1);
+    			}
     		}
-    		else if (table[j].getKey().equals(key))
+    		else if (t[j].getKey().equals(key)) {
     			// Successful match
+    			recordProbes(probes);
     			return j;
+    		}
     		// Look at the next cyclical index
-    		j = (j + 1) % table.length;
+    		j = (j + 1) % t.length;
     	} while (j != index); // Stop if we return to the beginning
     	
     	// Search failed. Key should be added at -(available + 1)
+    	recordProbes(probes);
     	return -(available + 1);
     }
 
     @Override
     public V bucketRemove(int hash, K key) {
+    	return bucketRemove(table, hash, key);
+    }
+
+    /**
+     * Marks the entry with the given key in the given table as deleted
+     * 
+     * @param t     the table from which to remove the entry
+     * @param hash  the index of the bucket at which to begin searching
+     * @param key   the key of the entry to remove
+     * @return the value of the removed entry, or null if the key does not exist
+     */
+    private V bucketRemove(TableEntry<K, V>[] t, int hash, K key) {
     	// See if the key exists
-    	int bucketIndex = findBucket(hash, key);
+    	int bucketIndex = findBucket(t, hash, key);
        
     	// If the key exists, remove the entry, setDeleted(true), and return the old value.
         if (bucketIndex >= 0) {
-        	V oldValue = table[bucketIndex].getValue();
-        	table[bucketIndex].setDeleted(true);
+        	V oldValue = t[bucketIndex].getValue();
+        	t[bucketIndex].setDeleted(true);
         	size--;
         	
         	return oldValue;
@@ -190,6 +339,102 @@ public class LinearProbingHashMap<K, V> extends AbstractHashMap<K, V> {
         return null;
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    protected void beginTransfer(int capacity) {
+    	oldTable = table;
+    	table = (TableEntry<K, V>[]) new TableEntry[capacity];
+    }
+
+    @Override
+    protected int oldCapacity() {
+    	return oldTable.length;
+    }
+
+    @Override
+    protected Iterable<Entry<K, V>> drainOldBucket(int index) {
+    	EntryCollection drained = new EntryCollection();
+    	if (!isAvailable(oldTable, index)) {
+    		// Mark the entry deleted rather than emptying the bucket so that keys
+    		// later in the same cluster can still be found in the old table
+    		oldTable[index].setDeleted(true);
+    		size--;
+    		drained.add(oldTable[index]);
+    	}
+    	return drained;
+    }
+
+    @Override
+    protected V oldBucketGet(int hash, K key) {
+    	int bucketIndex = findBucket(oldTable, hash, key);
+    	if (bucketIndex >= 0)
+    		return oldTable[bucketIndex].getValue();
+    	return null;
+    }
+
+    @Override
+    protected V oldBucketRemove(int hash, K key) {
+    	return bucketRemove(oldTable, hash, key);
+    }
+
+    @Override
+    protected void endTransfer() {
+    	oldTable = null;
+    }
+
+    @Override
+    protected void collectTableStats(HashMapStats snapshot) {
+        int tombstones = countTombstones(table);
+        int maxCluster = maxClusterLength(table);
+        if (oldTable != null) {
+            tombstones += countTombstones(oldTable);
+            maxCluster = Math.max(maxCluster, maxClusterLength(oldTable));
+        }
+        snapshot.setTombstones(tombstones);
+        snapshot.setMaxClusterLength(maxCluster);
+    }
+
+    /**
+     * Returns the number of entries in the given table that are marked deleted
+     * 
+     * @param t the table to inspect
+     * @return the number of deleted entries in the table
+     */
+    private int countTombstones(TableEntry<K, V>[] t) {
+        int count = 0;
+        for (int i = 0; i < t.length; i++) {
+            if (t[i] != null && t[i].isDeleted()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the length of the longest run of non-null buckets in the given
+     * table. Deleted entries count as part of a cluster, since searches still
+     * probe past them. A run may wrap around from the end of the table to the
+     * start.
+     * 
+     * @param t the table to inspect
+     * @return the maximum cluster length of the table
+     */
+    private int maxClusterLength(TableEntry<K, V>[] t) {
+        int max = 0;
+        int run = 0;
+        // Walk the table twice so that a cluster that wraps around is measured
+        // in one piece, but never count a cluster longer than the table
+        for (int i = 0; i < 2 * t.length; i++) {
+            if (t[i % t.length] == null) {
+                run = 0;
+            } else {
+                run++;
+                max = Math.max(max, Math.min(run, t.length));
+            }
+        }
+        return max;
+    }
+
     @Override
     public int size() {
         return size;
@@ -0,0 +1,674 @@
+package edu.ncsu.csc316.dsa.map.hashing;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+import edu.ncsu.csc316.dsa.map.AbstractMap;
+import edu.ncsu.csc316.dsa.map.Map;
+
+/**
+ * The LockFreeHashMap is a thread-safe, non-blocking hash table that uses
+ * linear probing over {@link AtomicReferenceArray}s for collision resolution.
+ * No operation ever acquires a lock: every change to the table is a single
+ * compare-and-swap (CAS), so a stalled thread can never prevent other threads
+ * from making progress.
+ *
+ * The design follows Cliff Click's NonBlockingHashMap:
+ * <ul>
+ * <li>A key slot changes at most once, from empty to a key (or, during a
+ * resize, from empty to a dead marker). Keys are never moved within a
+ * table.</li>
+ * <li>A value slot is changed with CAS. Removing a key replaces its value with
+ * a dead marker (a tombstone) that is cleaned up by the next resize.</li>
+ * <li>A resize creates a new table and links it from the old one. Threads that
+ * touch the old table help copy it by claiming chunks of slots. Each slot is
+ * copied by first "priming" its value (wrapping it in a {@link Prime} box,
+ * which stops further updates in the old table), then installing the value in
+ * the new table, then marking the old slot as copied. Once every slot has been
+ * copied, the new table is promoted to the top-level table.</li>
+ * </ul>
+ *
+ * {@link Map#compute} and the other update methods read the current value,
+ * apply their function, and install the result with a CAS that only succeeds
+ * if the value has not changed in the meantime; otherwise, they retry, so the
+ * function may be called more than once.
+ *
+ * {@link Map#put}, {@link Map#get}, and {@link Map#remove} have expected O(1)
+ * runtime. {@link Map#size} and {@link Map#entrySet} are weakly consistent.
+ * Neither keys nor values may be null.
+ *
+ * @author Ben Morris
+ *
+ * @param <K> the type of keys stored in the hash map
+ * @param <V> the type of values associated with keys in the hash map
+ */
+public class LockFreeHashMap<K, V> extends AbstractMap<K, V> {
+
+    /**
+     * The default initial capacity of the hash table (a power of two)
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * The number of slots a helping thread claims and copies at a time during a
+     * resize
+     */
+    private static final int COPY_CHUNK = 64;
+
+    /**
+     * Marks a dead key slot (claimed during a resize so no new key can be added
+     * to the old table) or a removed value
+     */
+    private static final Object TOMBSTONE = new Object();
+
+    /**
+     * The expected value passed to putVal for an update that does not depend on
+     * the current value
+     */
+    private static final Object MATCH_ANY = new Object();
+
+    /**
+     * Marks an old-table value slot that has been completely copied into the new
+     * table
+     */
+    private static final Prime TOMBPRIME = new Prime(TOMBSTONE);
+
+    /** The top-level hash table */
+    private final AtomicReference<Table> top;
+    /** The number of live mappings, counted without contention */
+    private final LongAdder size;
+
+    /**
+     * Constructs a new lock-free hash map with the default initial capacity
+     */
+    public LockFreeHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new lock-free hash map that can hold the provided number of
+     * mappings before resizing
+     *
+     * @param capacity the number of mappings to hold without resizing
+     */
+    public LockFreeHashMap(int capacity) {
+        top = new AtomicReference<Table>(new Table(tableLength(capacity)));
+        size = new LongAdder();
+    }
+
+    /**
+     * Returns the length of a table that holds the given number of mappings
+     * without resizing
+     *
+     * @param capacity the number of mappings to hold
+     * @return the table length (a power of two)
+     */
+    private static int tableLength(int capacity) {
+        int length = DEFAULT_CAPACITY;
+        while (length >> 1 < capacity) {
+            length <<= 1;
+        }
+        return length;
+    }
+
+    /**
+     * A Prime wraps a value that is being copied from an old table into a new
+     * table. Once a value slot holds a Prime, the old table's slot may no longer
+     * be updated; readers and writers move on to the new table.
+     *
+     * @author Ben Morris
+     */
+    private static final class Prime {
+        /** The wrapped value */
+        private final Object value;
+
+        /**
+         * Constructs a new Prime box around the given value
+         *
+         * @param value the value to wrap
+         */
+        Prime(Object value) {
+            this.value = value;
+        }
+    }
+
+    /**
+     * A Table holds the key and value slots of one generation of the hash table,
+     * along with the bookkeeping used to copy it into the next generation
+     *
+     * @author Ben Morris
+     */
+    private static final class Table {
+        /** The key slots */
+        private final AtomicReferenceArray<Object> keys;
+        /** The value slots, parallel to the key slots */
+        private final AtomicReferenceArray<Object> values;
+        /** Bit mask used to reduce a hash to an index (length - 1) */
+        private final int mask;
+        /** The table this table is being copied into, or null */
+        private final AtomicReference<Table> next;
+        /** The number of key slots that have been claimed */
+        private final AtomicInteger slots;
+        /** The start of the next chunk of slots to claim for copying */
+        private final AtomicInteger claim;
+        /** The number of slots that have been copied into the next table */
+        private final AtomicInteger copied;
+
+        /**
+         * Constructs a new, empty table with the given length
+         *
+         * @param length the number of slots (a power of two)
+         */
+        Table(int length) {
+            keys = new AtomicReferenceArray<Object>(length);
+            values = new AtomicReferenceArray<Object>(length);
+            mask = length - 1;
+            next = new AtomicReference<Table>(null);
+            slots = new AtomicInteger(0);
+            claim = new AtomicInteger(0);
+            copied = new AtomicInteger(0);
+        }
+
+        /**
+         * Returns the number of slots in the table
+         *
+         * @return the number of slots in the table
+         */
+        int length() {
+            return mask + 1;
+        }
+
+        /**
+         * Returns the number of slots a probe sequence may visit before giving up
+         * on this table and moving on to (or creating) the next one
+         *
+         * @return the reprobe limit for the table
+         */
+        int reprobeLimit() {
+            return 10 + (length() >> 2);
+        }
+    }
+
+    /**
+     * Scrambles the hash code of the given key so its low bits depend on every
+     * bit of the original hash code
+     *
+     * @param key the key for which to calculate the hash
+     * @return the spread hash of the key
+     */
+    private static int spread(Object key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Returns true if the key stored in a slot is equal to the given key
+     *
+     * @param slotKey the key stored in a slot
+     * @param key     the key being searched for
+     * @return true if the keys are equal
+     */
+    private static boolean keyEquals(Object slotKey, Object key) {
+        return slotKey == key || (slotKey != TOMBSTONE && slotKey.equals(key));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V get(K key) {
+        return (V) get(top.get(), key, spread(key));
+    }
+
+    /**
+     * Returns the value associated with the given key, starting the search in
+     * the given table
+     *
+     * @param t    the table in which to start searching
+     * @param key  the key to locate
+     * @param hash the spread hash of the key
+     * @return the value associated with the key, or null
+     */
+    private Object get(Table t, Object key, int hash) {
+        int idx = hash & t.mask;
+        int reprobes = 0;
+        while (true) {
+            Object k = t.keys.get(idx);
+            if (k == null) {
+                // A clear miss: keys are never added past an empty slot
+                return null;
+            }
+            if (keyEquals(k, key)) {
+                Object v = t.values.get(idx);
+                if (!(v instanceof Prime)) {
+                    return v == TOMBSTONE ? null : v;
+                }
+                // The slot is being copied, so finish copying it and read the
+                // new table
+                return get(copySlotAndCheck(t, idx, false), key, hash);
+            }
+            if (++reprobes >= t.reprobeLimit() || k == TOMBSTONE) {
+                // The key can only be in a newer table
+                Table nt = t.next.get();
+                return nt == null ? null : get(nt, key, hash);
+            }
+            idx = (idx + 1) & t.mask;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V put(K key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Null values are not supported.");
+        }
+        return (V) putVal(top.get(), key, spread(key), value, MATCH_ANY, false);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V remove(K key) {
+        return (V) putVal(top.get(), key, spread(key), TOMBSTONE, MATCH_ANY, false);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        int hash = spread(key);
+        while (true) {
+            V original = (V) get(top.get(), key, hash);
+            V value = remappingFunction.apply(key, original);
+            Object witness = putVal(top.get(), key, hash, value == null ? TOMBSTONE : value,
+                    original == null ? TOMBSTONE : original, false);
+            if (witness == original) {
+                return value;
+            }
+            // Another thread changed the value first, so start over
+        }
+    }
+
+    /**
+     * Stores the given value (or TOMBSTONE, to remove) for the given key,
+     * starting in the given table.
+     *
+     * Unless the expected value is MATCH_ANY, the value is only stored if the
+     * key's current value is the expected value (TOMBSTONE expects the key to
+     * have no value).
+     *
+     * When copying, the value is only installed if the key has no value yet in
+     * the table; the copy never overwrites a newer value.
+     *
+     * @param t      the table in which to start
+     * @param key    the key of the entry
+     * @param hash   the spread hash of the key
+     * @param newVal the value to store, or TOMBSTONE to remove the key
+     * @param expVal the value the key must currently have, TOMBSTONE if the key
+     *               must have no value, or MATCH_ANY
+     * @param copy   true if the value is being copied from an older table
+     * @return for a regular update, the previous live value or null (if the
+     *         expected value did not match, the value was left unchanged); for a
+     *         copy, null if the value was installed or non-null if it was not
+     */
+    private Object putVal(Table t, Object key, int hash, Object newVal, Object expVal, boolean copy) {
+        int idx = hash & t.mask;
+        int reprobes = 0;
+        while (true) {
+            Object k = t.keys.get(idx);
+            if (k == null) {
+                if (newVal == TOMBSTONE) {
+                    // Removing a key that does not exist
+                    return null;
+                }
+                if (expVal != MATCH_ANY && expVal != TOMBSTONE) {
+                    // The key was expected to have a value, but it does not exist
+                    return null;
+                }
+                if (t.keys.compareAndSet(idx, null, key)) {
+                    if (t.slots.incrementAndGet() > t.length() >> 1) {
+                        resize(t, false);
+                    }
+                    break;
+                }
+                k = t.keys.get(idx);
+            }
+            if (keyEquals(k, key)) {
+                break;
+            }
+            if (++reprobes >= t.reprobeLimit() || k == TOMBSTONE) {
+                // No room for the key in this table, so move to the next one
+                Table nt = resize(t, true);
+                if (!copy) {
+                    helpCopy();
+                }
+                return putVal(nt, key, hash, newVal, expVal, copy);
+            }
+            idx = (idx + 1) & t.mask;
+        }
+
+        while (true) {
+            Object v = t.values.get(idx);
+            if (v instanceof Prime) {
+                return putVal(copySlotAndCheck(t, idx, !copy), key, hash, newVal, expVal, copy);
+            }
+            if (copy) {
+                if (v != null) {
+                    // A newer value is already in place
+                    return v;
+                }
+            } else {
+                if (t.next.get() != null) {
+                    // Updates always go to the newest table once this slot is copied
+                    return putVal(copySlotAndCheck(t, idx, true), key, hash, newVal, expVal, false);
+                }
+                boolean isLive = v != null && v != TOMBSTONE;
+                if (expVal != MATCH_ANY && (isLive ? v : TOMBSTONE) != expVal) {
+                    return isLive ? v : null;
+                }
+                if (newVal == TOMBSTONE && !isLive) {
+                    return null;
+                }
+            }
+            if (t.values.compareAndSet(idx, v, newVal)) {
+                if (copy) {
+                    return null;
+                }
+                boolean wasLive = v != null && v != TOMBSTONE;
+                if (newVal == TOMBSTONE) {
+                    if (wasLive) {
+                        size.decrement();
+                    }
+                } else if (!wasLive) {
+                    size.increment();
+                }
+                return wasLive ? v : null;
+            }
+        }
+    }
+
+    /**
+     * Returns the table that the given table is being copied into, creating it
+     * if necessary. The new table is sized from the number of live mappings, so
+     * a table full of removed keys is cleaned up without growing.
+     *
+     * @param t    the table to resize
+     * @param grow true if the new table must be larger than the old table
+     * @return the table that the given table is being copied into
+     */
+    private Table resize(Table t, boolean grow) {
+        Table nt = t.next.get();
+        if (nt != null) {
+            return nt;
+        }
+        long live = size.sum();
+        int length = t.length();
+        int newLength = length;
+        if (grow || live >= length >> 2) {
+            newLength = length << 1;
+        }
+        if (live >= length >> 1) {
+            newLength = length << 2;
+        }
+        t.next.compareAndSet(null, new Table(newLength));
+        return t.next.get();
+    }
+
+    /**
+     * Copies the slot at the given index of the given table into the next table,
+     * records the copy, and returns the next table
+     *
+     * @param t          the table being copied
+     * @param idx        the index of the slot to copy
+     * @param shouldHelp true if the calling thread should also copy a chunk of
+     *                   the top-level table
+     * @return the table that the given table is being copied into
+     */
+    private Table copySlotAndCheck(Table t, int idx, boolean shouldHelp) {
+        Table nt = t.next.get();
+        if (copySlot(t, idx, nt)) {
+            copyCheckAndPromote(t, 1);
+        }
+        if (shouldHelp) {
+            helpCopy();
+        }
+        return nt;
+    }
+
+    /**
+     * Copies one slot of the old table into the new table. Exactly one call per
+     * slot returns true, so the number of copied slots can be counted.
+     *
+     * @param old the table being copied
+     * @param idx the index of the slot to copy
+     * @param nt  the table being copied into
+     * @return true if this call completed the copy of the slot
+     */
+    private boolean copySlot(Table old, int idx, Table nt) {
+        // Kill empty key slots so no new keys are added to the old table
+        Object k;
+        while ((k = old.keys.get(idx)) == null) {
+            old.keys.compareAndSet(idx, null, TOMBSTONE);
+        }
+        // Prime the value to stop any further updates in the old table
+        Object v = old.values.get(idx);
+        while (!(v instanceof Prime)) {
+            Prime box = (v == null || v == TOMBSTONE) ? TOMBPRIME : new Prime(v);
+            if (old.values.compareAndSet(idx, v, box)) {
+                if (box == TOMBPRIME) {
+                    // Nothing to copy
+                    return true;
+                }
+                v = box;
+                break;
+            }
+            v = old.values.get(idx);
+        }
+        if (v == TOMBPRIME) {
+            // Another thread already finished copying this slot
+            return false;
+        }
+        // Install the value in the new table unless a newer value is there
+        boolean copiedIntoNew = putVal(nt, k, spread(k), ((Prime) v).value, MATCH_ANY, true) == null;
+        // Hide the old value for good so other threads stop copying this slot
+        while (v != TOMBPRIME && !old.values.compareAndSet(idx, v, TOMBPRIME)) {
+            v = old.values.get(idx);
+        }
+        return copiedIntoNew;
+    }
+
+    /**
+     * Copies one chunk of the top-level table into its next table, if a resize is
+     * in progress. If every chunk has already been claimed many times over (a
+     * thread that claimed a chunk may have stalled), copies every slot instead so
+     * the resize always finishes.
+     */
+    private void helpCopy() {
+        Table t = top.get();
+        Table nt = t.next.get();
+        if (nt == null) {
+            return;
+        }
+        int length = t.length();
+        int start = t.claim.getAndAdd(COPY_CHUNK);
+        int end = Math.min(start + COPY_CHUNK, length);
+        if (start >= 2 * length) {
+            start = 0;
+            end = length;
+        }
+        int work = 0;
+        for (int i = start; i < end; i++) {
+            if (copySlot(t, i, nt)) {
+                work++;
+            }
+        }
+        copyCheckAndPromote(t, work);
+    }
+
+    /**
+     * Records the given number of copied slots and, once every slot of the given
+     * table has been copied, promotes its next table to the top level
+     *
+     * @param t    the table being copied
+     * @param work the number of slots newly copied by the calling thread
+     */
+    private void copyCheckAndPromote(Table t, int work) {
+        int done = work > 0 ? t.copied.addAndGet(work) : t.copied.get();
+        if (done == t.length()) {
+            top.compareAndSet(t, t.next.get());
+        }
+    }
+
+    /**
+     * {@inheritDoc} If the top-level table is too small, a table of the required
+     * length becomes its next table (unless another resize already started one)
+     * and the calling thread copies slots until the resize finishes.
+     */
+    @Override
+    public void ensureCapacity(int capacity) {
+        int length = tableLength(capacity);
+        Table t = top.get();
+        while (t.length() < length) {
+            t.next.compareAndSet(null, new Table(length));
+            while (top.get() == t) {
+                helpCopy();
+            }
+            t = top.get();
+        }
+    }
+
+    /**
+     * Returns the number of slots in the top-level table
+     *
+     * @return the length of the top-level table
+     */
+    protected int capacity() {
+        return top.get().length();
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.max(0, size.sum());
+    }
+
+    @Override
+    public Iterable<Entry<K, V>> entrySet() {
+        return new EntryIterable();
+    }
+
+    /**
+     * Finishes any resizes in progress and returns the newest table. Copying is
+     * idempotent, so this never waits on another thread.
+     *
+     * @return the top-level table once no resize is in progress
+     */
+    private Table settledTable() {
+        Table t = top.get();
+        Table nt;
+        while ((nt = t.next.get()) != null) {
+            int work = 0;
+            for (int i = 0; i < t.length(); i++) {
+                if (copySlot(t, i, nt)) {
+                    work++;
+                }
+            }
+            // Count the copied slots so the new table is promoted
+            copyCheckAndPromote(t, work);
+            t = nt;
+        }
+        return t;
+    }
+
+    /**
+     * A live view of the entries in the hash map. Each iteration of the view
+     * walks the newest table directly instead of copying the entries first.
+     *
+     * @author Ben Morris
+     */
+    private class EntryIterable implements Iterable<Entry<K, V>> {
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new EntryIterator();
+        }
+    }
+
+    /**
+     * EntryIterator walks the slots of the table that was newest when the
+     * iterator was created. The iterator is weakly consistent: it never throws
+     * because of concurrent updates, returns each key at most once, and reflects
+     * updates made after it was created only if it has not yet passed their
+     * slot. next() returns a new entry holding the key and the value read from
+     * the slot, and removing through the iterator removes the key from the map,
+     * just as {@link #remove} does.
+     *
+     * @author Ben Morris
+     */
+    private class EntryIterator implements Iterator<Entry<K, V>> {
+        /** The table being walked */
+        private final Table table;
+        /** The index of the slot after the next entry to return */
+        private int index;
+        /** The next entry to return, or null if there are no more entries */
+        private Entry<K, V> nextEntry;
+        /** The entry most recently returned by next(), or null */
+        private Entry<K, V> lastReturned;
+
+        /**
+         * Constructs a new iterator positioned before the first entry
+         */
+        EntryIterator() {
+            table = settledTable();
+            index = 0;
+            lastReturned = null;
+            advance();
+        }
+
+        /**
+         * Reads slots until finding one that holds a live entry, and keeps that
+         * entry as the next entry to return
+         */
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            nextEntry = null;
+            while (nextEntry == null && index < table.length()) {
+                Object k = table.keys.get(index);
+                if (k != null && k != TOMBSTONE) {
+                    Object v = table.values.get(index);
+                    if (v instanceof Prime) {
+                        // A new resize started while walking the table
+                        v = get(table, k, spread(k));
+                    }
+                    if (v != null && v != TOMBSTONE) {
+                        nextEntry = new MapEntry<K, V>((K) k, (V) v);
+                    }
+                }
+                index++;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextEntry != null;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("There are no more elements.");
+            }
+            lastReturned = nextEntry;
+            advance();
+            return lastReturned;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException("Successful next() not yet called.");
+            }
+            LockFreeHashMap.this.remove(lastReturned.getKey());
+            lastReturned = null;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package edu.ncsu.csc316.dsa.map.hashing;
+
+import java.util.Random;
+
+/**
+ * The MADHashStrategy compresses hash codes using the multiply-add-and-divide
+ * (MAD) method: a key's bucket is ((|hashCode * alpha + beta|) mod prime) mod
+ * capacity, where alpha and beta are chosen at random. Since the result is
+ * reduced modulo the capacity, any capacity works; a resized hash table array
+ * has capacity 2 * capacity + 1, which keeps it odd.
+ * 
+ * In TESTING MODE only, alpha=1, beta=1, and prime=7 to help ensure a
+ * repeatable sequence of prime numbers and hash functions
+ * 
+ * @author Dr. King
+ * @author Ben Morris
+ *
+ * @param <K> the type of keys the strategy hashes
+ */
+public class MADHashStrategy<K> implements HashStrategy<K> {
+
+    /** The multiplier of the MAD hash function */
+    private long alpha;
+    /** The shift of the MAD hash function */
+    private long beta;
+    /** The prime modulus of the MAD hash function */
+    private int prime;
+
+    /**
+     * Constructs a new MAD hash strategy with randomly chosen alpha and beta
+     */
+    public MADHashStrategy() {
+        this(false);
+    }
+
+    /**
+     * FOR TESTING PURPOSES ONLY! Constructs a new MAD hash strategy that, in
+     * testing mode, uses alpha=1, beta=1, and prime=7
+     * 
+     * @param isTesting if true, controls the testing environment with a predictable
+     *                  sequence of random numbers when testing
+     */
+    public MADHashStrategy(boolean isTesting) {
+        if (isTesting) {
+            alpha = 1;
+            beta = 1;
+            prime = 7;
+        } else {
+            Random rand = new Random();
+            alpha = rand.nextInt(AbstractHashMap.DEFAULT_PRIME - 1) + 1;
+            beta = rand.nextInt(AbstractHashMap.DEFAULT_PRIME);
+            prime = AbstractHashMap.DEFAULT_PRIME;
+        }
+    }
+
+    @Override
+    public int index(K key, int capacity) {
+        return (int) ((Math.abs(key.hashCode() * alpha + beta) % prime) % capacity);
+    }
+
+    @Override
+    public int tableCapacity(int requested) {
+        return requested;
+    }
+
+    @Override
+    public int nextCapacity(int capacity) {
+        return 2 * capacity + 1;
+    }
+}
@@ -0,0 +1,87 @@
+package edu.ncsu.csc316.dsa.map.hashing;
+
+import java.util.Random;
+
+/**
+ * The MurmurHashStrategy scrambles a key's hash code with the 64-bit finalizer
+ * (fmix64) of the MurmurHash3 hash function and indexes power-of-two hash table
+ * arrays with a bit mask. The finalizer makes every bit of the hash code affect
+ * the low bits that the mask keeps, so keys with regular hash codes (such as
+ * consecutive integers or multiples of the capacity) still spread evenly, and
+ * compressing a hash costs a few multiplies and shifts rather than two
+ * divisions.
+ * 
+ * The hash code is combined with a random seed before it is scrambled, so the
+ * bucket of each key differs between hash tables.
+ * 
+ * @author Ben Morris
+ *
+ * @param <K> the type of keys the strategy hashes
+ */
+public class MurmurHashStrategy<K> implements HashStrategy<K> {
+
+    /** The value combined with each hash code before it is scrambled */
+    private long seed;
+
+    /**
+     * Constructs a new murmur hash strategy with a random seed
+     */
+    public MurmurHashStrategy() {
+        this(new Random().nextLong());
+    }
+
+    /**
+     * Constructs a new murmur hash strategy with the given seed. Hash tables
+     * that use strategies with the same seed place keys in the same buckets.
+     * 
+     * @param seed the value combined with each hash code before it is scrambled
+     */
+    public MurmurHashStrategy(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Returns the result of the MurmurHash3 64-bit finalizer applied to the given
+     * value. Each bit of the input affects every bit of the output.
+     * 
+     * @param k the value to scramble
+     * @return the scrambled value
+     */
+    public static long fmix64(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+
+    @Override
+    public int index(K key, int capacity) {
+        return (int) fmix64(key.hashCode() ^ seed) & (capacity - 1);
+    }
+
+    @Override
+    public int tableCapacity(int requested) {
+        return powerOfTwoAtLeast(requested);
+    }
+
+    @Override
+    public int nextCapacity(int capacity) {
+        return 2 * capacity;
+    }
+
+    /**
+     * Returns the smallest power of two that is at least the given capacity (and
+     * at least 1)
+     * 
+     * @param capacity the requested capacity
+     * @return the smallest power of two that is at least the requested capacity
+     */
+    static int powerOfTwoAtLeast(int capacity) {
+        if (capacity <= 1) {
+            return 1;
+        }
+        return Integer.highestOneBit(capacity - 1) << 1;
+    }
+}
@@ -0,0 +1,806 @@
+package edu.ncsu.csc316.dsa.map.hashing;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import edu.ncsu.csc316.dsa.map.AbstractMap;
+import edu.ncsu.csc316.dsa.map.Map;
+
+/**
+ * The PersistentHashMap is an immutable hash map implemented as a hash array
+ * mapped trie (HAMT). {@link #with} and {@link #without} never change a map;
+ * they return a new version that shares every unchanged part of the trie with
+ * the old one. Keeping a reference to a version is therefore an O(1) snapshot,
+ * and any number of threads may read a version without locking while a writer
+ * publishes newer versions.
+ *
+ * Each trie node covers 5 bits of a key's hash, so a node has at most 32
+ * children. A node stores a 32-bit bitmap of the children it has, and a
+ * compact array with a key and value pair for each child: either an entry, or
+ * a null key and a sub-node. The index of a child in the array is the number
+ * of bits set below its bit in the bitmap. Keys whose 32-bit hashes are equal
+ * share a collision node. {@link Map#get}, {@link #with}, and {@link #without}
+ * visit at most 7 nodes, and {@link #with} and {@link #without} copy only the
+ * nodes on the path to the key, O(log32 n) of them.
+ *
+ * Because a version cannot change, {@link Map#put}, {@link Map#remove}, and
+ * the other update methods of {@link Map} throw
+ * {@link UnsupportedOperationException}. To load many entries, use a
+ * {@link Builder}: a mutable map that changes the nodes it has created in
+ * place, copying a node only the first time it changes one shared with a
+ * published version.
+ *
+ * The design follows the persistent hash maps of Phil Bagwell and Clojure.
+ * Keys may not be null.
+ *
+ * @author Ben Morris
+ *
+ * @param <K> the type of keys stored in the hash map
+ * @param <V> the type of values associated with keys in the hash map
+ */
+public class PersistentHashMap<K, V> extends AbstractMap<K, V> {
+
+    /** The number of hash bits covered by each level of the trie */
+    private static final int BITS = 5;
+
+    /** Mask of the hash bits covered by one level of the trie */
+    private static final int MASK = (1 << BITS) - 1;
+
+    /** The deepest a trie can be: 32 hash bits, plus a collision node */
+    private static final int MAX_DEPTH = 8;
+
+    /** The root of an empty trie, shared by every empty map */
+    private static final Node EMPTY_ROOT = new BitmapNode(null, 0, new Object[0]);
+
+    /** The root of the trie; never null */
+    private final Node root;
+
+    /** The number of entries in the map */
+    private final int size;
+
+    /**
+     * Constructs a new, empty persistent hash map
+     */
+    public PersistentHashMap() {
+        this(EMPTY_ROOT, 0);
+    }
+
+    /**
+     * Constructs a version of the map with the given trie
+     *
+     * @param root the root of the trie
+     * @param size the number of entries in the trie
+     */
+    private PersistentHashMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V get(K key) {
+        return (V) root.get(0, hash(key), key);
+    }
+
+    /**
+     * Returns a version of this map in which the given key maps to the given
+     * value. This map is not changed.
+     *
+     * @param key   the key to add or replace
+     * @param value the value to associate with the key
+     * @return the new version of the map, or this map if the key already maps to
+     *         the value
+     */
+    public PersistentHashMap<K, V> with(K key, V value) {
+        Change change = new Change();
+        Node newRoot = root.put(null, 0, hash(key), key, value, change);
+        if (newRoot == root) {
+            return this;
+        }
+        return new PersistentHashMap<K, V>(newRoot, change.sizeChanged ? size + 1 : size);
+    }
+
+    /**
+     * Returns a version of this map without the given key. This map is not
+     * changed.
+     *
+     * @param key the key to remove
+     * @return the new version of the map, or this map if the key is not in it
+     */
+    public PersistentHashMap<K, V> without(K key) {
+        Change change = new Change();
+        Node newRoot = root.remove(null, 0, hash(key), key, change);
+        if (!change.sizeChanged) {
+            return this;
+        }
+        return new PersistentHashMap<K, V>(newRoot == null ? EMPTY_ROOT : newRoot, size - 1);
+    }
+
+    /**
+     * Returns a version of this map that also holds every given entry, built
+     * with a {@link Builder} so that each node is copied at most once. This map
+     * is not changed.
+     *
+     * @param entries the entries to add
+     * @return the new version of the map
+     */
+    public PersistentHashMap<K, V> withAll(Iterable<? extends Entry<K, V>> entries) {
+        Builder<K, V> builder = toBuilder();
+        builder.putAll(entries);
+        return builder.build();
+    }
+
+    /**
+     * Returns a new builder that starts with the entries of this map. Creating
+     * the builder is O(1); it copies nodes only as it changes them.
+     *
+     * @return a new builder holding the entries of this map
+     */
+    public Builder<K, V> toBuilder() {
+        return new Builder<K, V>(root, size);
+    }
+
+    /**
+     * A persistent map cannot be changed; use {@link #with} instead
+     *
+     * @param key   the key to add or replace
+     * @param value the value to associate with the key
+     * @return never returns normally
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public V put(K key, V value) {
+        throw new UnsupportedOperationException("A persistent map cannot be changed; use with(key, value).");
+    }
+
+    /**
+     * A persistent map cannot be changed; use {@link #without} instead
+     *
+     * @param key the key to remove
+     * @return never returns normally
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public V remove(K key) {
+        throw new UnsupportedOperationException("A persistent map cannot be changed; use without(key).");
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc} Entries are visited in order of their hashes, lowest bits
+     * first. The iterator does not support removal.
+     */
+    @Override
+    public Iterable<Entry<K, V>> entrySet() {
+        return new EntryIterable<K, V>(root);
+    }
+
+    /**
+     * Returns the hash code of a key with its high bits mixed into its low bits,
+     * since the top levels of the trie use the lowest bits
+     *
+     * @param key the key to hash
+     * @return the spread hash of the key
+     */
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Returns the bit of a bitmap that covers a hash at the given level
+     *
+     * @param hash  the spread hash of a key
+     * @param shift the number of hash bits used by the levels above
+     * @return the bitmap bit for the hash
+     */
+    private static int bit(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    /**
+     * Builder is a mutable map for loading many entries into a persistent map.
+     * Every builder has an owner token, and the nodes it creates are stamped
+     * with it; a node stamped with the builder's current token is changed in
+     * place, and any other node is copied the first time it is changed.
+     * {@link #build} publishes the current trie and takes a new token, so the
+     * builder never changes a node that a published version can reach, and it
+     * can go on being used afterward.
+     *
+     * A builder is not thread-safe, and its iterators do not support removal.
+     *
+     * @author Ben Morris
+     *
+     * @param <K> the type of keys stored in the map
+     * @param <V> the type of values associated with keys in the map
+     */
+    public static class Builder<K, V> extends AbstractMap<K, V> {
+
+        /** The owner token of the nodes this builder may change in place */
+        private Object edit;
+
+        /** The root of the trie; never null */
+        private Node root;
+
+        /** The number of entries in the map */
+        private int size;
+
+        /**
+         * Constructs a new, empty builder
+         */
+        public Builder() {
+            this(EMPTY_ROOT, 0);
+        }
+
+        /**
+         * Constructs a builder that starts with the given trie
+         *
+         * @param root the root of the trie
+         * @param size the number of entries in the trie
+         */
+        private Builder(Node root, int size) {
+            this.edit = new Object();
+            this.root = root;
+            this.size = size;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public V get(K key) {
+            return (V) root.get(0, hash(key), key);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public V put(K key, V value) {
+            Change change = new Change();
+            root = root.put(edit, 0, hash(key), key, value, change);
+            if (change.sizeChanged) {
+                size++;
+            }
+            return (V) change.oldValue;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public V remove(K key) {
+            Change change = new Change();
+            Node newRoot = root.remove(edit, 0, hash(key), key, change);
+            if (change.sizeChanged) {
+                root = newRoot == null ? EMPTY_ROOT : newRoot;
+                size--;
+            }
+            return (V) change.oldValue;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterable<Entry<K, V>> entrySet() {
+            return new EntryIterable<K, V>(root);
+        }
+
+        /**
+         * Returns a persistent map holding the current entries of the builder in
+         * O(1) time. Later changes to the builder do not affect the returned map.
+         *
+         * @return a persistent map holding the entries of the builder
+         */
+        public PersistentHashMap<K, V> build() {
+            edit = new Object();
+            return new PersistentHashMap<K, V>(root, size);
+        }
+    }
+
+    /**
+     * Change records what an update did to the trie: the value it replaced or
+     * removed, and whether the number of entries changed
+     *
+     * @author Ben Morris
+     *
+     */
+    private static class Change {
+
+        /** The value that was replaced or removed, or null if none */
+        private Object oldValue;
+
+        /** True if an entry was added or removed */
+        private boolean sizeChanged;
+    }
+
+    /**
+     * A Node is a node of the trie. Its array holds a key and value pair for
+     * each of its children; a pair with a null key holds a sub-node as its
+     * value. Every update returns the node to use in place of this one, which
+     * is this node itself if nothing changed or if the update was made in place.
+     *
+     * @author Ben Morris
+     *
+     */
+    private abstract static class Node {
+
+        /** The token of the builder that may change this node in place, or null */
+        protected Object edit;
+
+        /** The key and value pairs of the node's children */
+        protected Object[] array;
+
+        /**
+         * Constructs a node owned by the given builder token
+         *
+         * @param edit  the token of the builder that owns the node, or null
+         * @param array the key and value pairs of the node's children
+         */
+        Node(Object edit, Object[] array) {
+            this.edit = edit;
+            this.array = array;
+        }
+
+        /**
+         * Returns true if the node may be changed in place by the given builder
+         * token
+         *
+         * @param edit the token of the builder making a change, or null for a
+         *             persistent update
+         * @return true if the node belongs to the builder
+         */
+        boolean isEditable(Object edit) {
+            return edit != null && this.edit == edit;
+        }
+
+        /**
+         * Returns true if the node holds a single entry and no sub-nodes, so its
+         * parent can hold the entry directly
+         *
+         * @return true if the node holds exactly one entry
+         */
+        boolean isSingleEntry() {
+            return array.length == 2 && array[0] != null;
+        }
+
+        /**
+         * Returns the value associated with a key in the part of the trie rooted
+         * at this node
+         *
+         * @param shift the number of hash bits used by the levels above
+         * @param hash  the spread hash of the key
+         * @param key   the key to look up
+         * @return the value of the key, or null if the key is not present
+         */
+        abstract Object get(int shift, int hash, Object key);
+
+        /**
+         * Adds or replaces an entry in the part of the trie rooted at this node
+         *
+         * @param edit   the token of the builder making the change, or null for
+         *               a persistent update
+         * @param shift  the number of hash bits used by the levels above
+         * @param hash   the spread hash of the key
+         * @param key    the key to add or replace
+         * @param value  the value to associate with the key
+         * @param change records the replaced value and whether the size changed
+         * @return the node to use in place of this one
+         */
+        abstract Node put(Object edit, int shift, int hash, Object key, Object value, Change change);
+
+        /**
+         * Removes an entry from the part of the trie rooted at this node
+         *
+         * @param edit   the token of the builder making the change, or null for
+         *               a persistent update
+         * @param shift  the number of hash bits used by the levels above
+         * @param hash   the spread hash of the key
+         * @param key    the key to remove
+         * @param change records the removed value and whether the size changed
+         * @return the node to use in place of this one, or null if the node is
+         *         now empty
+         */
+        abstract Node remove(Object edit, int shift, int hash, Object key, Change change);
+    }
+
+    /**
+     * A BitmapNode is an interior node of the trie. Its bitmap has a bit set for
+     * each of the 32 possible children it holds, and its array holds a pair for
+     * each set bit, in bit order.
+     *
+     * @author Ben Morris
+     *
+     */
+    private static class BitmapNode extends Node {
+
+        /** The children present in the node, one bit for each */
+        private int bitmap;
+
+        /**
+         * Constructs a bitmap node
+         *
+         * @param edit   the token of the builder that owns the node, or null
+         * @param bitmap the children present in the node
+         * @param array  the key and value pairs of the node's children
+         */
+        BitmapNode(Object edit, int bitmap, Object[] array) {
+            super(edit, array);
+            this.bitmap = bitmap;
+        }
+
+        /**
+         * Returns the index in the array of the pair for the given bitmap bit
+         *
+         * @param bit a bitmap bit
+         * @return the index of the key of the pair
+         */
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1)) * 2;
+        }
+
+        @Override
+        Object get(int shift, int hash, Object key) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+            int i = index(bit);
+            Object k = array[i];
+            if (k == null) {
+                return ((Node) array[i + 1]).get(shift + BITS, hash, key);
+            }
+            return key.equals(k) ? array[i + 1] : null;
+        }
+
+        @Override
+        Node put(Object edit, int shift, int hash, Object key, Object value, Change change) {
+            int bit = bit(hash, shift);
+            int i = index(bit);
+            if ((bitmap & bit) == 0) {
+                Object[] newArray = new Object[array.length + 2];
+                System.arraycopy(array, 0, newArray, 0, i);
+                newArray[i] = key;
+                newArray[i + 1] = value;
+                System.arraycopy(array, i, newArray, i + 2, array.length - i);
+                change.sizeChanged = true;
+                return update(edit, bitmap | bit, newArray);
+            }
+            Object k = array[i];
+            Object v = array[i + 1];
+            if (k == null) {
+                Node child = (Node) v;
+                Node newChild = child.put(edit, shift + BITS, hash, key, value, change);
+                return newChild == child ? this : set(edit, i, null, newChild);
+            }
+            if (key.equals(k)) {
+                change.oldValue = v;
+                return v == value ? this : set(edit, i, k, value);
+            }
+            change.sizeChanged = true;
+            Node child = split(edit, shift + BITS, k, v, hash, key, value);
+            return set(edit, i, null, child);
+        }
+
+        @Override
+        Node remove(Object edit, int shift, int hash, Object key, Change change) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            int i = index(bit);
+            Object k = array[i];
+            if (k == null) {
+                Node child = (Node) array[i + 1];
+                Node newChild = child.remove(edit, shift + BITS, hash, key, change);
+                if (newChild == child) {
+                    return this;
+                }
+                if (newChild == null) {
+                    return removePair(edit, bit, i);
+                }
+                if (newChild.isSingleEntry()) {
+                    // Pull a lone entry up so the trie stays as shallow as possible
+                    return set(edit, i, newChild.array[0], newChild.array[1]);
+                }
+                return set(edit, i, null, newChild);
+            }
+            if (!key.equals(k)) {
+                return this;
+            }
+            change.oldValue = array[i + 1];
+            change.sizeChanged = true;
+            return removePair(edit, bit, i);
+        }
+
+        /**
+         * Returns a node with one pair of the array changed, changing this node
+         * in place if it belongs to the builder
+         *
+         * @param edit  the token of the builder making the change, or null
+         * @param i     the index of the key of the pair
+         * @param key   the new key of the pair, or null for a sub-node
+         * @param value the new value or sub-node of the pair
+         * @return the changed node
+         */
+        private Node set(Object edit, int i, Object key, Object value) {
+            if (isEditable(edit)) {
+                array[i] = key;
+                array[i + 1] = value;
+                return this;
+            }
+            Object[] newArray = array.clone();
+            newArray[i] = key;
+            newArray[i + 1] = value;
+            return new BitmapNode(edit, bitmap, newArray);
+        }
+
+        /**
+         * Returns a node without one pair, or null if the pair was the last one
+         *
+         * @param edit the token of the builder making the change, or null
+         * @param bit  the bitmap bit of the pair
+         * @param i    the index of the key of the pair
+         * @return the changed node, or null if it is now empty
+         */
+        private Node removePair(Object edit, int bit, int i) {
+            if (bitmap == bit) {
+                return null;
+            }
+            Object[] newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, i);
+            System.arraycopy(array, i + 2, newArray, i, newArray.length - i);
+            return update(edit, bitmap ^ bit, newArray);
+        }
+
+        /**
+         * Returns a node with a new bitmap and array, changing this node in
+         * place if it belongs to the builder
+         *
+         * @param edit      the token of the builder making the change, or null
+         * @param newBitmap the new bitmap
+         * @param newArray  the new array
+         * @return the changed node
+         */
+        private Node update(Object edit, int newBitmap, Object[] newArray) {
+            if (isEditable(edit)) {
+                bitmap = newBitmap;
+                array = newArray;
+                return this;
+            }
+            return new BitmapNode(edit, newBitmap, newArray);
+        }
+    }
+
+    /**
+     * A CollisionNode holds the entries of keys whose spread hashes are all
+     * equal, in no particular order
+     *
+     * @author Ben Morris
+     *
+     */
+    private static class CollisionNode extends Node {
+
+        /** The hash shared by every key in the node */
+        private final int hash;
+
+        /**
+         * Constructs a collision node
+         *
+         * @param edit  the token of the builder that owns the node, or null
+         * @param hash  the hash shared by every key in the node
+         * @param array the key and value pairs of the node
+         */
+        CollisionNode(Object edit, int hash, Object[] array) {
+            super(edit, array);
+            this.hash = hash;
+        }
+
+        /**
+         * Returns the index in the array of a key, or -1 if it is not present
+         *
+         * @param key the key to find
+         * @return the index of the key
+         */
+        private int find(Object key) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        Object get(int shift, int hash, Object key) {
+            int i = find(key);
+            return i < 0 ? null : array[i + 1];
+        }
+
+        @Override
+        Node put(Object edit, int shift, int hash, Object key, Object value, Change change) {
+            if (hash != this.hash) {
+                // The new key differs at this level, so the collision node moves
+                // one level down, below a bitmap node
+                Node parent = new BitmapNode(edit, bit(this.hash, shift), new Object[] { null, this });
+                return parent.put(edit, shift, hash, key, value, change);
+            }
+            int i = find(key);
+            if (i >= 0) {
+                change.oldValue = array[i + 1];
+                if (array[i + 1] == value) {
+                    return this;
+                }
+                Object[] newArray = isEditable(edit) ? array : array.clone();
+                newArray[i + 1] = value;
+                return isEditable(edit) ? this : new CollisionNode(edit, hash, newArray);
+            }
+            change.sizeChanged = true;
+            Object[] newArray = new Object[array.length + 2];
+            System.arraycopy(array, 0, newArray, 0, array.length);
+            newArray[array.length] = key;
+            newArray[array.length + 1] = value;
+            if (isEditable(edit)) {
+                array = newArray;
+                return this;
+            }
+            return new CollisionNode(edit, hash, newArray);
+        }
+
+        @Override
+        Node remove(Object edit, int shift, int hash, Object key, Change change) {
+            int i = find(key);
+            if (i < 0) {
+                return this;
+            }
+            change.oldValue = array[i + 1];
+            change.sizeChanged = true;
+            if (array.length == 2) {
+                return null;
+            }
+            Object[] newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, i);
+            System.arraycopy(array, i + 2, newArray, i, newArray.length - i);
+            if (isEditable(edit)) {
+                array = newArray;
+                return this;
+            }
+            return new CollisionNode(edit, hash, newArray);
+        }
+    }
+
+    /**
+     * Returns a new node that holds two entries whose keys collided at the level
+     * above: a collision node if their hashes are equal, or otherwise a bitmap
+     * node (with sub-nodes, if the hashes also agree at this level)
+     *
+     * @param edit   the token of the builder making the change, or null
+     * @param shift  the number of hash bits used by the levels above
+     * @param key1   the key of the entry already in the trie
+     * @param value1 the value of the entry already in the trie
+     * @param hash2  the spread hash of the new key
+     * @param key2   the new key
+     * @param value2 the new value
+     * @return the new node
+     */
+    private static Node split(Object edit, int shift, Object key1, Object value1, int hash2, Object key2,
+            Object value2) {
+        int hash1 = hash(key1);
+        if (hash1 == hash2) {
+            return new CollisionNode(edit, hash1, new Object[] { key1, value1, key2, value2 });
+        }
+        Change ignored = new Change();
+        Node node = new BitmapNode(edit, 0, new Object[0]);
+        node = node.put(edit, shift, hash1, key1, value1, ignored);
+        return node.put(edit, shift, hash2, key2, value2, ignored);
+    }
+
+    /**
+     * EntryIterable allows traversing the entries of a trie
+     *
+     * @author Ben Morris
+     *
+     * @param <K> the type of keys stored in the trie
+     * @param <V> the type of values stored in the trie
+     */
+    private static class EntryIterable<K, V> implements Iterable<Entry<K, V>> {
+
+        /** The root of the trie to traverse */
+        private Node root;
+
+        /**
+         * Constructs an iterable over the trie with the given root
+         *
+         * @param root the root of the trie
+         */
+        EntryIterable(Node root) {
+            this.root = root;
+        }
+
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new EntryIterator<K, V>(root);
+        }
+    }
+
+    /**
+     * EntryIterator walks a trie depth first with an explicit stack of node
+     * arrays, creating an entry for each key and value pair it visits
+     *
+     * @author Ben Morris
+     *
+     * @param <K> the type of keys stored in the trie
+     * @param <V> the type of values stored in the trie
+     */
+    private static class EntryIterator<K, V> implements Iterator<Entry<K, V>> {
+
+        /** The arrays of the nodes on the path to the next entry */
+        private Object[][] arrays;
+
+        /** The index of the next pair to visit in each array on the path */
+        private int[] positions;
+
+        /** The index of the deepest array on the path, or -1 when done */
+        private int depth;
+
+        /**
+         * Constructs an iterator positioned before the first entry of the trie
+         *
+         * @param root the root of the trie
+         */
+        EntryIterator(Node root) {
+            arrays = new Object[MAX_DEPTH][];
+            positions = new int[MAX_DEPTH];
+            depth = 0;
+            arrays[0] = root.array;
+            positions[0] = 0;
+            advance();
+        }
+
+        /**
+         * Moves the path down to the next entry, or sets depth to -1 if there
+         * are no more entries
+         */
+        private void advance() {
+            while (depth >= 0) {
+                Object[] array = arrays[depth];
+                int i = positions[depth];
+                if (i >= array.length) {
+                    depth--;
+                } else if (array[i] == null) {
+                    positions[depth] = i + 2;
+                    depth++;
+                    arrays[depth] = ((Node) array[i + 1]).array;
+                    positions[depth] = 0;
+                } else {
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return depth >= 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("There are no more elements.");
+            }
+            Object[] array = arrays[depth];
+            int i = positions[depth];
+            positions[depth] = i + 2;
+            Entry<K, V> entry = new MapEntry<K, V>((K) array[i], (V) array[i + 1]);
+            advance();
+            return entry;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("The remove operation is not supported.");
+        }
+    }
+}
@@ -0,0 +1,536 @@
+package edu.ncsu.csc316.dsa.map.hashing;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+
+import edu.ncsu.csc316.dsa.map.Map;
+
+/**
+ * The RobinHoodHashMap is implemented as a hash table that uses linear probing
+ * with Robin Hood displacement for collision resolution.
+ *
+ * Each entry remembers its probe distance (how far it sits from the bucket its
+ * key hashes to). When inserting, an entry that has probed farther than the
+ * entry occupying a slot takes that slot, and the displaced entry continues
+ * probing. This keeps probe distances nearly equal across the table, so an
+ * unsuccessful search can stop as soon as it reaches an entry that is closer
+ * to its home bucket than the search is. Removals shift the following entries
+ * of the cluster back by one slot, so the table never contains deleted
+ * markers.
+ *
+ * Because probe sequences stay short, the hash table resizes only when the
+ * load factor exceeds 0.9 (or a provided maximum load factor). The hash map
+ * ensures expected O(1) performance of {@link Map#put}, {@link Map#get}, and
+ * {@link Map#remove}.
+ *
+ * @author Ben Morris
+ *
+ * @param <K> the type of keys stored in the hash map
+ * @param <V> the type of values associated with keys in the hash map
+ */
+public class RobinHoodHashMap<K, V> extends AbstractHashMap<K, V> {
+
+    /**
+     * The default maximum load factor to allow before resizing the hash table
+     */
+    private static final double DEFAULT_MAX_LOAD_FACTOR = 0.9;
+
+    /** Field for table of entries */
+    private RobinHoodEntry<K, V>[] table;
+    /** Table whose entries are still being moved during an incremental resize */
+    private RobinHoodEntry<K, V>[] oldTable;
+    /** Size of table */
+    private int size;
+    /** The maximum load factor to allow before resizing the hash table */
+    private double loadFactor;
+
+    /**
+     * Constructs a new Robin Hood hash map. The created hash table uses the
+     * {@link AbstractHashMap#DEFAULT_CAPACITY}
+     */
+    public RobinHoodHashMap() {
+        this(AbstractHashMap.DEFAULT_CAPACITY, false);
+    }
+
+    /**
+     * FOR TESTING PURPOSES ONLY! Constructs a new Robin Hood hash map. The
+     * created hash table uses the {@link AbstractHashMap#DEFAULT_CAPACITY}
+     *
+     * @param isTesting if true, the hash table uses a predictable series of random
+     *                  values for deterministic and repeatable testing
+     */
+    public RobinHoodHashMap(boolean isTesting) {
+        this(AbstractHashMap.DEFAULT_CAPACITY, isTesting);
+    }
+
+    /**
+     * Constructs a new Robin Hood hash map. The created hash table is initialized
+     * to have the provided capacity.
+     *
+     * @param capacity the initial capacity of the hash table
+     */
+    public RobinHoodHashMap(int capacity) {
+        this(capacity, false);
+    }
+
+    /**
+     * FOR TESTING PURPOSES ONLY! Constructs a new Robin Hood hash map. The
+     * created hash table is initialized to have the provided capacity.
+     *
+     * @param capacity  the initial capacity of the hash table
+     * @param isTesting if true, the hash table uses a predictable series of random
+     *                  values for deterministic and repeatable testing
+     */
+    public RobinHoodHashMap(int capacity, boolean isTesting) {
+        this(capacity, DEFAULT_MAX_LOAD_FACTOR, isTesting);
+    }
+
+    /**
+     * Constructs a new Robin Hood hash map that resizes once the provided maximum
+     * load factor is exceeded. The created hash table is initialized to have the
+     * provided capacity.
+     *
+     * @param capacity      the initial capacity of the hash table
+     * @param maxLoadFactor the maximum load factor to allow before resizing
+     * @param isTesting     if true, the hash table uses a predictable series of
+     *                      random values for deterministic and repeatable testing
+     * @throws IllegalArgumentException if the maximum load factor is not greater
+     *                                  than 0 and less than 1
+     */
+    public RobinHoodHashMap(int capacity, double maxLoadFactor, boolean isTesting) {
+        this(capacity, maxLoadFactor, new MADHashStrategy<K>(isTesting));
+    }
+
+    /**
+     * Constructs a new Robin Hood hash map that uses the provided hash strategy
+     * to place keys in buckets. The created hash table is initialized to have at
+     * least the provided capacity; the strategy may round the capacity up.
+     *
+     * @param capacity the requested initial capacity of the hash table
+     * @param strategy the strategy that maps keys to bucket indexes
+     */
+    public RobinHoodHashMap(int capacity, HashStrategy<K> strategy) {
+        this(capacity, DEFAULT_MAX_LOAD_FACTOR, strategy);
+    }
+
+    /**
+     * Constructs a new Robin Hood hash map that uses the provided hash strategy
+     * and resizes once the provided maximum load factor is exceeded
+     *
+     * @param capacity      the requested initial capacity of the hash table
+     * @param maxLoadFactor the maximum load factor to allow before resizing
+     * @param strategy      the strategy that maps keys to bucket indexes
+     * @throws IllegalArgumentException if the maximum load factor is not greater
+     *                                  than 0 and less than 1
+     */
+    public RobinHoodHashMap(int capacity, double maxLoadFactor, HashStrategy<K> strategy) {
+        super(capacity, strategy);
+        if (maxLoadFactor <= 0 || maxLoadFactor >= 1) {
+            throw new IllegalArgumentException("Load factor must be between 0 and 1 (exclusive).");
+        }
+        loadFactor = maxLoadFactor;
+        size = 0;
+    }
+
+    @Override
+    protected double maxLoadFactor() {
+        return loadFactor;
+    }
+
+    @Override
+    public Iterable<Entry<K, V>> entrySet() {
+        return new EntryIterable();
+    }
+
+    /**
+     * A live view of the entries in the hash table. Iterating the view walks the
+     * table array (and the old array, during an incremental resize) directly
+     * instead of copying the entries first.
+     *
+     * @author Ben Morris
+     */
+    private class EntryIterable implements Iterable<Entry<K, V>> {
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new EntryIterator();
+        }
+    }
+
+    /**
+     * EntryIterator walks the buckets of the hash table array, skipping empty
+     * buckets. Removing through the iterator shifts the rest of the cluster back
+     * by one slot, just as {@link #remove} does, so the iterator examines the
+     * removed entry's bucket again before moving on.
+     *
+     * A backward shift can wrap from the end of the array to its start, which
+     * would move an entry the iterator has already returned into a bucket it has
+     * not reached yet. To rule that out, each array is walked circularly starting
+     * just after its last empty bucket: shifts stop at empty buckets, so no
+     * cluster crosses the point where the walk begins and ends.
+     *
+     * @author Ben Morris
+     */
+    private class EntryIterator implements Iterator<Entry<K, V>> {
+        /** The array currently being walked */
+        private RobinHoodEntry<K, V>[] current;
+        /** The bucket at which the walk of the current array starts */
+        private int start;
+        /** The number of buckets of the current array already passed */
+        private int offset;
+        /** The array holding the entry most recently returned by next() */
+        private RobinHoodEntry<K, V>[] lastArray;
+        /** The index of the entry most recently returned by next() */
+        private int lastIndex;
+        /** The offset of the entry most recently returned by next() */
+        private int lastOffset;
+        /** The entry most recently returned by next(), or null */
+        private RobinHoodEntry<K, V> lastReturned;
+
+        /**
+         * Constructs a new iterator positioned before the first entry
+         */
+        EntryIterator() {
+            walk(table);
+            lastReturned = null;
+            skipEmpty();
+        }
+
+        /**
+         * Starts walking the given array just after its last empty bucket
+         *
+         * @param t the array to walk
+         */
+        private void walk(RobinHoodEntry<K, V>[] t) {
+            current = t;
+            int empty = t.length - 1;
+            while (empty > 0 && t[empty] != null) {
+                empty--;
+            }
+            start = empty + 1;
+            offset = 0;
+        }
+
+        /**
+         * Returns the index of the bucket at the given offset of the walk
+         *
+         * @param off the number of buckets passed
+         * @return the index of the bucket in the current array
+         */
+        private int indexOf(int off) {
+            return (start + off) % current.length;
+        }
+
+        /**
+         * Moves offset to the next bucket that holds an entry, moving on to the
+         * old array once the current array is exhausted
+         */
+        private void skipEmpty() {
+            while (true) {
+                while (offset < current.length && current[indexOf(offset)] == null) {
+                    offset++;
+                }
+                if (offset < current.length || oldTable == null || current == oldTable) {
+                    return;
+                }
+                walk(oldTable);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return offset < current.length;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("There are no more elements.");
+            }
+            lastArray = current;
+            lastIndex = indexOf(offset);
+            lastOffset = offset;
+            lastReturned = current[lastIndex];
+            offset++;
+            skipEmpty();
+            return lastReturned;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException("Successful next() not yet called.");
+            }
+            removeAt(lastArray, lastIndex);
+            if (lastArray == current) {
+                // The next entry of the cluster shifted into the removed bucket,
+                // so examine that bucket again
+                offset = lastOffset;
+                skipEmpty();
+            }
+            lastReturned = null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void createTable(int capacity) {
+        table = (RobinHoodEntry<K, V>[]) new RobinHoodEntry[capacity];
+        size = 0;
+    }
+
+    /**
+     * Returns the index of the bucket that contains the entry with the given key,
+     * or -1 if the key is not in the map. The search stops early once it reaches
+     * an empty bucket or an entry that is closer to its home bucket than the
+     * search currently is, since the key would have displaced that entry.
+     *
+     * @param t    the table to search
+     * @param hash the home bucket of the key
+     * @param key  the key to search for
+     * @return the index of the bucket that contains the key, or -1
+     */
+    private int findBucket(RobinHoodEntry<K, V>[] t, int hash, K key) {
+        int j = hash;
+        int distance = 0;
+        while (t[j] != null && t[j].getProbeDistance() >= distance) {
+            if (t[j].getKey().equals(key)) {
+                recordProbes(distance + 1);
+                return j;
+            }
+            j = (j + 1) % t.length;
+            distance++;
+        }
+        recordProbes(distance + 1);
+        return -1;
+    }
+
+    @Override
+    public V bucketGet(int hash, K key) {
+        int bucketIndex = findBucket(table, hash, key);
+        if (bucketIndex >= 0) {
+            return table[bucketIndex].getValue();
+        }
+        return null;
+    }
+
+    @Override
+    public V bucketPut(int hash, K key, V value) {
+        int bucketIndex = findBucket(table, hash, key);
+        if (bucketIndex >= 0) {
+            V oldValue = table[bucketIndex].getValue();
+            table[bucketIndex].setValue(value);
+            return oldValue;
+        }
+        insert(hash, key, value);
+        return null;
+    }
+
+    @Override
+    protected V bucketCompute(int hash, K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        int bucketIndex = findBucket(table, hash, key);
+        if (bucketIndex >= 0) {
+            V value = remappingFunction.apply(key, table[bucketIndex].getValue());
+            if (value == null) {
+                removeAt(table, bucketIndex);
+            } else {
+                table[bucketIndex].setValue(value);
+            }
+            return value;
+        }
+        V value = remappingFunction.apply(key, null);
+        if (value != null) {
+            insert(hash, key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Inserts a new entry for a key that is not in the table
+     *
+     * @param hash  the home bucket of the key
+     * @param key   the key of the new entry
+     * @param value the value of the new entry
+     */
+    private void insert(int hash, K key, V value) {
+        // Walk forward from the home bucket; whenever the entry being placed has
+        // probed farther than the resident entry, swap them and keep placing the
+        // displaced resident
+        RobinHoodEntry<K, V> current = new RobinHoodEntry<K, V>(key, value);
+        int j = hash;
+        while (table[j] != null) {
+            if (table[j].getProbeDistance() < current.getProbeDistance()) {
+                RobinHoodEntry<K, V> displaced = table[j];
+                table[j] = current;
+                current = displaced;
+            }
+            j = (j + 1) % table.length;
+            current.setProbeDistance(current.getProbeDistance() + 1);
+        }
+        table[j] = current;
+        size++;
+    }
+
+    @Override
+    public V bucketRemove(int hash, K key) {
+        int bucketIndex = findBucket(table, hash, key);
+        if (bucketIndex < 0) {
+            return null;
+        }
+        return removeAt(table, bucketIndex);
+    }
+
+    /**
+     * Removes the entry at the given index of the given table, shifting the rest
+     * of the cluster back by one slot until reaching an empty bucket or an entry
+     * that already sits in its home bucket
+     *
+     * @param t     the table from which to remove the entry
+     * @param index the index of the entry to remove
+     * @return the value of the removed entry
+     */
+    private V removeAt(RobinHoodEntry<K, V>[] t, int index) {
+        V oldValue = t[index].getValue();
+        int hole = index;
+        int next = (hole + 1) % t.length;
+        while (t[next] != null && t[next].getProbeDistance() > 0) {
+            t[hole] = t[next];
+            t[hole].setProbeDistance(t[hole].getProbeDistance() - 1);
+            hole = next;
+            next = (next + 1) % t.length;
+        }
+        t[hole] = null;
+        size--;
+        return oldValue;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected void beginTransfer(int capacity) {
+        oldTable = table;
+        table = (RobinHoodEntry<K, V>[]) new RobinHoodEntry[capacity];
+    }
+
+    @Override
+    protected int oldCapacity() {
+        return oldTable.length;
+    }
+
+    @Override
+    protected Iterable<Entry<K, V>> drainOldBucket(int index) {
+        EntryCollection drained = new EntryCollection();
+        // Removing shifts the next entry of the cluster into this bucket, so keep
+        // removing until the bucket is empty
+        while (oldTable[index] != null) {
+            RobinHoodEntry<K, V> entry = oldTable[index];
+            removeAt(oldTable, index);
+            drained.add(entry);
+        }
+        return drained;
+    }
+
+    @Override
+    protected V oldBucketGet(int hash, K key) {
+        int bucketIndex = findBucket(oldTable, hash, key);
+        if (bucketIndex >= 0) {
+            return oldTable[bucketIndex].getValue();
+        }
+        return null;
+    }
+
+    @Override
+    protected V oldBucketRemove(int hash, K key) {
+        int bucketIndex = findBucket(oldTable, hash, key);
+        if (bucketIndex < 0) {
+            return null;
+        }
+        return removeAt(oldTable, bucketIndex);
+    }
+
+    @Override
+    protected void endTransfer() {
+        oldTable = null;
+    }
+
+    @Override
+    protected void collectTableStats(HashMapStats snapshot) {
+        int max = maxClusterLength(table);
+        if (oldTable != null) {
+            max = Math.max(max, maxClusterLength(oldTable));
+        }
+        snapshot.setMaxClusterLength(max);
+    }
+
+    /**
+     * Returns the length of the longest run of non-null buckets in the given
+     * table, including a run that wraps around from the end of the table to the
+     * start
+     *
+     * @param t the table to inspect
+     * @return the maximum cluster length of the table
+     */
+    private int maxClusterLength(RobinHoodEntry<K, V>[] t) {
+        int max = 0;
+        int run = 0;
+        for (int i = 0; i < 2 * t.length; i++) {
+            if (t[i % t.length] == null) {
+                run = 0;
+            } else {
+                run++;
+                max = Math.max(max, Math.min(run, t.length));
+            }
+        }
+        return max;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    protected int capacity() {
+        return table.length;
+    }
+
+    /**
+     * An entry in the Robin Hood hash table that also tracks how many buckets
+     * away from its home bucket it is stored
+     *
+     * @author Ben Morris
+     *
+     * @param <K> Keys of entries
+     * @param <V> Values of entries
+     */
+    private static class RobinHoodEntry<K, V> extends MapEntry<K, V> {
+
+        /** Number of buckets between the entry's home bucket and its bucket */
+        private int probeDistance;
+
+        /**
+         * Constructor
+         * @param key key to set
+         * @param value value to set
+         */
+        public RobinHoodEntry(K key, V value) {
+            super(key, value);
+            setProbeDistance(0);
+        }
+
+        /**
+         * Returns the probe distance of the entry
+         * @return the probe distance
+         */
+        public int getProbeDistance() {
+            return probeDistance;
+        }
+
+        /**
+         * Sets the probe distance of the entry
+         * @param probeDistance the probe distance to set
+         */
+        public void setProbeDistance(int probeDistance) {
+            this.probeDistance = probeDistance;
+        }
+    }
+}
@@ -1,5 +1,12 @@
 package edu.ncsu.csc316.dsa.map.hashing;
 
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+
+import edu.ncsu.csc316.dsa.map.AbstractMap;
 import edu.ncsu.csc316.dsa.map.Map;
 import edu.ncsu.csc316.dsa.map.search_tree.AVLTreeMap;
 
@@ -15,6 +22,13 @@ import edu.ncsu.csc316.dsa.map.search_tree.AVLTreeMap;
  * supports worst-case O(logn) runtime for {at see Map#put}, {at see Map#get}, and
  * {at link Map#remove} within each bucket.
  * 
+ * Optionally, buckets start out as small sorted arrays of keys and values, and a
+ * bucket only becomes an AVL tree once it holds more than
+ * {@link #TREEIFY_THRESHOLD} entries. A tree bucket that shrinks to
+ * {@link #UNTREEIFY_THRESHOLD} entries goes back to being an array. Since most
+ * buckets hold only a few entries, this saves the tree nodes, sentinel leaves,
+ * and entry objects that a tree needs for every entry.
+ * 
  * The SeparateChainingHashMap class is based on the implementation developed
  * for use with the textbook:
  *
@@ -31,8 +45,31 @@ public class SeparateChainingHashMap<K extends Comparable<K>, V> extends Abstrac
 
 	/** Field for the array of maps */
     private Map<K, V>[] table;
+    /** Array of maps whose entries are still being moved during an incremental resize */
+    private Map<K, V>[] oldTable;
     /** Size of the array */
     private int size;
+    /** True if buckets start as arrays and only become trees when they grow */
+    private boolean arrayBuckets;
+    /** The number of key comparisons made by the buckets since it was last reset */
+    private int comparisons;
+    /** Orders keys naturally and counts each comparison, for the probe statistics */
+    private final Comparator<K> countingOrder = (a, b) -> {
+        comparisons++;
+        return a.compareTo(b);
+    };
+
+    /**
+     * The number of entries above which an array bucket becomes a tree
+     */
+    public static final int TREEIFY_THRESHOLD = 8;
+
+    /**
+     * The number of entries at or below which a tree bucket becomes an array.
+     * Keeping this below {@link #TREEIFY_THRESHOLD} stops a bucket that grows and
+     * shrinks around the threshold from converting on every operation.
+     */
+    public static final int UNTREEIFY_THRESHOLD = 6;
 
     /**
      * Constructs a new separate chaining hash map that uses natural ordering of
@@ -76,25 +113,168 @@ public class SeparateChainingHashMap<K extends Comparable<K>, V> extends Abstrac
      *                  values for deterministic and repeatable testing
      */
     public SeparateChainingHashMap(int capacity, boolean isTesting) {
+        this(capacity, isTesting, false);
+    }
+
+    /**
+     * FOR TESTING PURPOSES ONLY! Constructs a new separate chaining hash map that
+     * uses natural ordering of keys when performing comparisons. The created hash
+     * table is initialized to have the provided capacity.
+     * 
+     * @param capacity     the initial capacity of the hash table
+     * @param isTesting    if true, the hash table uses a predictable series of
+     *                     random values for deterministic and repeatable testing
+     * @param arrayBuckets if true, buckets start as sorted arrays and only become
+     *                     AVL trees once they hold more than
+     *                     {@link #TREEIFY_THRESHOLD} entries
+     */
+    public SeparateChainingHashMap(int capacity, boolean isTesting, boolean arrayBuckets) {
         super(capacity, isTesting);
+        this.arrayBuckets = arrayBuckets;
+        size = 0;
+    }
+
+    /**
+     * Constructs a new separate chaining hash map that uses the provided hash
+     * strategy to place keys in buckets. The created hash table is initialized to
+     * have at least the provided capacity; the strategy may round the capacity up.
+     * 
+     * @param capacity the requested initial capacity of the hash table
+     * @param strategy the strategy that maps keys to bucket indexes
+     */
+    public SeparateChainingHashMap(int capacity, HashStrategy<K> strategy) {
+        this(capacity, strategy, false);
+    }
+
+    /**
+     * Constructs a new separate chaining hash map that uses the provided hash
+     * strategy to place keys in buckets, and optionally starts buckets as arrays
+     * 
+     * @param capacity     the requested initial capacity of the hash table
+     * @param strategy     the strategy that maps keys to bucket indexes
+     * @param arrayBuckets if true, buckets start as sorted arrays and only become
+     *                     AVL trees once they hold more than
+     *                     {@link #TREEIFY_THRESHOLD} entries
+     */
+    public SeparateChainingHashMap(int capacity, HashStrategy<K> strategy, boolean arrayBuckets) {
+        super(capacity, strategy);
+        this.arrayBuckets = arrayBuckets;
         size = 0;
     }
 
+    /**
+     * Returns true if buckets start as arrays and only become trees when they grow
+     * 
+     * @return true if the hash table uses array buckets
+     */
+    public boolean isArrayBuckets() {
+        return arrayBuckets;
+    }
+
     @Override
     public Iterable<Entry<K, V>> entrySet() {
-    	EntryCollection collection = new EntryCollection();
-        for (int i = 0; i < table.length; i++) {
-            if (table[i] != null) {
-                // Each bucket contains a map, so include
-                // all entries in the entrySet for the map
-                // at the current bucket
-                for (Entry<K, V> entry : table[i].entrySet()) {
-                    collection.add(entry);
+        return new EntryIterable();
+    }
+
+    /**
+     * A live view of the entries in the hash table. Iterating the view walks the
+     * buckets (and the old buckets, during an incremental resize) directly
+     * instead of copying the entries first.
+     * 
+     * @author Ben Morris
+     */
+    private class EntryIterable implements Iterable<Entry<K, V>> {
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new EntryIterator();
+        }
+    }
+
+    /**
+     * EntryIterator walks the non-empty buckets of the hash table array and
+     * delegates to the iterator of the map in each bucket. Removing through the
+     * iterator removes the entry from its bucket's map, and drops the bucket if
+     * it is left empty.
+     * 
+     * @author Ben Morris
+     */
+    private class EntryIterator implements Iterator<Entry<K, V>> {
+        /** The array of maps currently being walked */
+        private Map<K, V>[] current;
+        /** The index of the bucket whose map is being iterated */
+        private int index;
+        /** The iterator over the current bucket's map, or null when exhausted */
+        private Iterator<Entry<K, V>> bucketIterator;
+        /** The bucket iterator that returned the most recent entry, or null */
+        private Iterator<Entry<K, V>> lastIterator;
+        /** The array of maps that holds the bucket of the most recent entry */
+        private Map<K, V>[] lastTable;
+        /** The index of the bucket of the most recent entry */
+        private int lastIndex;
+
+        /**
+         * Constructs a new iterator positioned before the first entry
+         */
+        EntryIterator() {
+            current = table;
+            index = -1;
+            bucketIterator = null;
+            lastIterator = null;
+            advance();
+        }
+
+        /**
+         * Moves to the next bucket that has entries left to return, moving on to
+         * the old array once the current array is exhausted
+         */
+        private void advance() {
+            while (bucketIterator == null || !bucketIterator.hasNext()) {
+                index++;
+                if (index == current.length) {
+                    if (oldTable == null || current == oldTable) {
+                        bucketIterator = null;
+                        return;
+                    }
+                    current = oldTable;
+                    index = 0;
                 }
+                bucketIterator = current[index] == null ? null : current[index].entrySet().iterator();
             }
         }
-        
-        return collection;
+
+        @Override
+        public boolean hasNext() {
+            return bucketIterator != null;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("There are no more elements.");
+            }
+            lastIterator = bucketIterator;
+            lastTable = current;
+            lastIndex = index;
+            Entry<K, V> entry = bucketIterator.next();
+            if (!bucketIterator.hasNext()) {
+                advance();
+            }
+            return entry;
+        }
+
+        @Override
+        public void remove() {
+            if (lastIterator == null) {
+                throw new IllegalStateException("Successful next() not yet called.");
+            }
+            lastIterator.remove();
+            size--;
+            // Like bucketRemove, drop a bucket once it is empty
+            if (arrayBuckets && lastTable[lastIndex] != null && lastTable[lastIndex].isEmpty()) {
+                lastTable[lastIndex] = null;
+            }
+            lastIterator = null;
+        }
     }
 
     @SuppressWarnings("unchecked")
@@ -107,7 +287,7 @@ public class SeparateChainingHashMap<K extends Comparable<K>, V> extends Abstrac
         // BinarySearchTreeMap has O(n) put, get, and remove. Therefore, use a
         // SkipListMap with expected O(logn) runtime, or a balanced binary search tree
         // for guaranteed O(logn) worst-case runtime.
-        table = new AVLTreeMap[capacity];
+        table = new Map[capacity];
         size = 0;
     }
 
@@ -117,10 +297,14 @@ public class SeparateChainingHashMap<K extends Comparable<K>, V> extends Abstrac
         Map<K, V> bucket = table[hash];
         // If there is no map in the bucket, then the entry does not exist
         if (bucket == null) {
+            recordProbes(0);
             return null;
         }
         // Otherwise, delegate to the existing map's get method to return the value
-        return bucket.get(key);
+        comparisons = 0;
+        V value = bucket.get(key);
+        recordProbes(comparisons);
+        return value;
     }
 
     @Override
@@ -131,34 +315,182 @@ public class SeparateChainingHashMap<K extends Comparable<K>, V> extends Abstrac
         // If there is no map in the bucket, create a new map and insert it at table[hash].
         if (bucket == null) {
         	// Following lines of code adapted from the text cited above, page 393.
-        	table[hash] = new AVLTreeMap<>();
+        	if (arrayBuckets) {
+        		table[hash] = new ArrayBucket<>(countingOrder);
+        	} else {
+        		table[hash] = new AVLTreeMap<>(countingOrder);
+        	}
         	bucket = table[hash];
         }
         
         int oldSize = bucket.size();
+        comparisons = 0;
         V oldValue = bucket.put(key, value);
+        recordProbes(comparisons);
         size += (bucket.size() - oldSize); // Size may have increased
         
+        // An array bucket that has grown too large becomes a tree
+        if (bucket.size() > TREEIFY_THRESHOLD && bucket instanceof ArrayBucket) {
+        	table[hash] = convert(bucket, new AVLTreeMap<>(countingOrder));
+        }
         return oldValue;
     }
 
+    @Override
+    protected V bucketCompute(int hash, K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        Map<K, V> bucket = table[hash];
+        if (bucket == null) {
+            V value = remappingFunction.apply(key, null);
+            if (value != null) {
+                // bucketPut records the probe
+                bucketPut(hash, key, value);
+            } else {
+                recordProbes(0);
+            }
+            return value;
+        }
+        int oldSize = bucket.size();
+        comparisons = 0;
+        // Delegate to the bucket's own single-traversal update
+        V value = bucket.compute(key, remappingFunction);
+        recordProbes(comparisons);
+        size += (bucket.size() - oldSize);
+        if (arrayBuckets) {
+            if (bucket.isEmpty()) {
+                table[hash] = null;
+            } else if (bucket.size() > TREEIFY_THRESHOLD && bucket instanceof ArrayBucket) {
+                table[hash] = convert(bucket, new AVLTreeMap<>(countingOrder));
+            } else if (bucket.size() <= UNTREEIFY_THRESHOLD && !(bucket instanceof ArrayBucket)) {
+                table[hash] = convert(bucket, new ArrayBucket<>(countingOrder));
+            }
+        }
+        return value;
+    }
+
     @Override
     public V bucketRemove(int hash, K key) {
+        return bucketRemove(table, hash, key);
+    }
+
+    /**
+     * Removes the entry with the given key from the bucket with the given hash in
+     * the given array of maps
+     * 
+     * @param t    the array of maps from which to remove the entry
+     * @param hash the index of the bucket in which to remove the entry
+     * @param key  the key of the entry to remove
+     * @return the value of the removed entry, or null if the key does not exist
+     */
+    private V bucketRemove(Map<K, V>[] t, int hash, K key) {
     	// Get the bucket at the specified index in the hash table
-        Map<K, V> bucket = table[hash];
+        Map<K, V> bucket = t[hash];
 
         // If there is no map in the bucket, then the entry does not exist        
         if (bucket == null) {
+            recordProbes(0);
             return null;
         }
         
         int oldSize = bucket.size();
+        comparisons = 0;
         V oldValue = bucket.remove(key);
+        recordProbes(comparisons);
         size -= (oldSize - bucket.size()); // Size may have decreased
         
+        if (arrayBuckets) {
+        	// Empty buckets are dropped, and a tree bucket that has shrunk enough
+        	// becomes an array again
+        	if (bucket.isEmpty()) {
+        		t[hash] = null;
+        	} else if (bucket.size() <= UNTREEIFY_THRESHOLD && !(bucket instanceof ArrayBucket)) {
+        		t[hash] = convert(bucket, new ArrayBucket<>(countingOrder));
+        	}
+        }
         return oldValue;        
     }
 
+    /**
+     * Copies every entry of the given bucket into the given, empty bucket and
+     * returns the new bucket
+     * 
+     * @param from the bucket whose entries are copied
+     * @param to   the empty bucket that receives the entries
+     * @return the bucket that received the entries
+     */
+    private Map<K, V> convert(Map<K, V> from, Map<K, V> to) {
+        for (Entry<K, V> entry : from.entrySet()) {
+            to.put(entry.getKey(), entry.getValue());
+        }
+        return to;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected void beginTransfer(int capacity) {
+        oldTable = table;
+        table = new Map[capacity];
+    }
+
+    @Override
+    protected int oldCapacity() {
+        return oldTable.length;
+    }
+
+    @Override
+    protected Iterable<Entry<K, V>> drainOldBucket(int index) {
+        Map<K, V> bucket = oldTable[index];
+        oldTable[index] = null;
+        if (bucket == null) {
+            return new EntryCollection();
+        }
+        size -= bucket.size();
+        return bucket.entrySet();
+    }
+
+    @Override
+    protected V oldBucketGet(int hash, K key) {
+        Map<K, V> bucket = oldTable[hash];
+        if (bucket == null) {
+            return null;
+        }
+        comparisons = 0;
+        V value = bucket.get(key);
+        recordProbes(comparisons);
+        return value;
+    }
+
+    @Override
+    protected V oldBucketRemove(int hash, K key) {
+        return bucketRemove(oldTable, hash, key);
+    }
+
+    @Override
+    protected void endTransfer() {
+        oldTable = null;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected void collectTableStats(HashMapStats snapshot) {
+        long[] sizes = new long[HashMapStats.HISTOGRAM_SIZE];
+        int maxHeight = 0;
+        Map<K, V>[][] tables = oldTable == null ? new Map[][] {table} : new Map[][] {table, oldTable};
+        for (Map<K, V>[] t : tables) {
+            for (int i = 0; i < t.length; i++) {
+                if (t[i] == null) {
+                    HashMapStats.record(sizes, 0);
+                } else {
+                    HashMapStats.record(sizes, t[i].size());
+                    if (t[i] instanceof AVLTreeMap) {
+                        maxHeight = Math.max(maxHeight, ((AVLTreeMap<K, V>) t[i]).height());
+                    }
+                }
+            }
+        }
+        snapshot.setBucketSizeHistogram(sizes);
+        snapshot.setMaxBucketHeight(maxHeight);
+    }
+
     @Override
     public int size() {
         return size;
@@ -168,4 +500,253 @@ public class SeparateChainingHashMap<K extends Comparable<K>, V> extends Abstrac
     protected int capacity() {
         return table.length;
     }
-}
\ No newline at end of file
+
+    /**
+     * An ArrayBucket is a small map that keeps its keys and values in a pair of
+     * parallel arrays, sorted by key. Buckets hold only a handful of entries, so
+     * scanning the arrays is faster than walking a tree, and the whole bucket
+     * costs three objects no matter how many entries it holds. Entries are kept
+     * in sorted order so that iterating an array bucket gives the same order as
+     * iterating a tree bucket.
+     * 
+     * @author Ben Morris
+     *
+     * @param <K> the type of keys stored in the bucket
+     * @param <V> the type of values stored in the bucket
+     */
+    private static class ArrayBucket<K extends Comparable<K>, V> extends AbstractMap<K, V> {
+
+        /** The initial length of the key and value arrays */
+        private static final int INITIAL_LENGTH = 2;
+
+        /** The keys of the bucket, in sorted order */
+        private K[] keys;
+        /** The values of the bucket, parallel to keys */
+        private V[] values;
+        /** The number of entries in the bucket */
+        private int size;
+        /** The ordering of the keys */
+        private final Comparator<K> order;
+
+        /**
+         * Constructs a new, empty array bucket that orders keys with the given
+         * comparator
+         * 
+         * @param order the comparator that orders the keys
+         */
+        @SuppressWarnings("unchecked")
+        ArrayBucket(Comparator<K> order) {
+            this.order = order;
+            keys = (K[]) new Comparable[INITIAL_LENGTH];
+            values = (V[]) new Object[INITIAL_LENGTH];
+            size = 0;
+        }
+
+        /**
+         * Returns the index of the given key, or -(a+1) where a is the index at
+         * which the key would be inserted
+         * 
+         * @param key the key to search for
+         * @return the index of the key, or -(a+1) if the key is not in the bucket
+         */
+        private int indexOf(K key) {
+            for (int i = 0; i < size; i++) {
+                int c = order.compare(keys[i], key);
+                if (c == 0) {
+                    return i;
+                }
+                if (c > 0) {
+                    return -(i + 1);
+                }
+            }
+            return -(size + 1);
+        }
+
+        @Override
+        public V get(K key) {
+            int index = indexOf(key);
+            return index >= 0 ? values[index] : null;
+        }
+
+        @Override
+        public V put(K key, V value) {
+            int index = indexOf(key);
+            if (index >= 0) {
+                V oldValue = values[index];
+                values[index] = value;
+                return oldValue;
+            }
+            insertAt(-(index + 1), key, value);
+            return null;
+        }
+
+        /**
+         * Inserts the given key and value at the given index, shifting the
+         * following entries forward by one
+         * 
+         * @param index the index at which to insert the entry
+         * @param key   the key of the new entry
+         * @param value the value of the new entry
+         */
+        private void insertAt(int index, K key, V value) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, 2 * size);
+                values = Arrays.copyOf(values, 2 * size);
+            }
+            System.arraycopy(keys, index, keys, index + 1, size - index);
+            System.arraycopy(values, index, values, index + 1, size - index);
+            keys[index] = key;
+            values[index] = value;
+            size++;
+        }
+
+        @Override
+        public V remove(K key) {
+            int index = indexOf(key);
+            if (index < 0) {
+                return null;
+            }
+            V oldValue = values[index];
+            removeAt(index);
+            return oldValue;
+        }
+
+        @Override
+        public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+            int index = indexOf(key);
+            if (index >= 0) {
+                V value = remappingFunction.apply(key, values[index]);
+                if (value == null) {
+                    removeAt(index);
+                } else {
+                    values[index] = value;
+                }
+                return value;
+            }
+            V value = remappingFunction.apply(key, null);
+            if (value != null) {
+                insertAt(-(index + 1), key, value);
+            }
+            return value;
+        }
+
+        /**
+         * Removes the entry at the given index, shifting the following entries
+         * back by one
+         * 
+         * @param index the index of the entry to remove
+         */
+        private void removeAt(int index) {
+            System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+            System.arraycopy(values, index + 1, values, index, size - index - 1);
+            size--;
+            keys[size] = null;
+            values[size] = null;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterable<Entry<K, V>> entrySet() {
+            return new ArrayBucketIterable();
+        }
+
+        /**
+         * A live view of the entries of the bucket
+         * 
+         * @author Ben Morris
+         */
+        private class ArrayBucketIterable implements Iterable<Entry<K, V>> {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new ArrayBucketIterator();
+            }
+        }
+
+        /**
+         * ArrayBucketIterator walks the arrays of the bucket in order, returning
+         * an entry backed by the arrays for each index. Removing through the
+         * iterator removes the entry from the bucket.
+         * 
+         * @author Ben Morris
+         */
+        private class ArrayBucketIterator implements Iterator<Entry<K, V>> {
+            /** The index of the next entry to return */
+            private int index;
+            /** True if next() has returned an entry that has not been removed */
+            private boolean removeOK;
+
+            /**
+             * Constructs a new iterator positioned before the first entry
+             */
+            ArrayBucketIterator() {
+                index = 0;
+                removeOK = false;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public Entry<K, V> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("There are no more elements.");
+                }
+                removeOK = true;
+                return new BucketEntry(index++);
+            }
+
+            @Override
+            public void remove() {
+                if (!removeOK) {
+                    throw new IllegalStateException("Successful next() not yet called.");
+                }
+                index--;
+                removeAt(index);
+                removeOK = false;
+            }
+        }
+
+        /**
+         * A BucketEntry is the entry at one index of the bucket's arrays. It
+         * reads the key and value from the arrays instead of copying them, so it
+         * reflects the bucket until an entry is added to or removed from the
+         * bucket.
+         * 
+         * @author Ben Morris
+         */
+        private class BucketEntry implements Entry<K, V> {
+            /** The index of the entry in the arrays */
+            private final int index;
+
+            /**
+             * Constructs a new entry for the given index of the arrays
+             * 
+             * @param index the index of the entry
+             */
+            BucketEntry(int index) {
+                this.index = index;
+            }
+
+            @Override
+            public K getKey() {
+                return keys[index];
+            }
+
+            @Override
+            public V getValue() {
+                return values[index];
+            }
+
+            @Override
+            public int compareTo(Entry<K, V> o) {
+                return order.compare(getKey(), o.getKey());
+            }
+        }
+    }
+}
@@ -0,0 +1,511 @@
+package edu.ncsu.csc316.dsa.map.hashing;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+
+import edu.ncsu.csc316.dsa.map.AbstractMap;
+import edu.ncsu.csc316.dsa.map.Map;
+
+/**
+ * The SwissTableHashMap is implemented as an open-addressing hash table that
+ * keeps one control byte per slot, in the style of the "Swiss table" hash maps.
+ *
+ * A control byte is either EMPTY, DELETED, or, for a slot that holds a
+ * mapping, the low 7 bits of the key's hash (its fingerprint). Slots are probed
+ * in groups of 8, and the 8 control bytes of a group are packed into a single
+ * long so the whole group can be compared against a fingerprint with a handful
+ * of word-sized (SIMD-within-a-register) operations. Only slots whose
+ * fingerprint matches are compared with {@link Object#equals}, so most probes
+ * are rejected without touching the key at all. Keys and values are kept in
+ * parallel arrays, so no entry objects are created for mappings.
+ *
+ * A search stops at the first group that contains an EMPTY slot. A removed
+ * mapping leaves a DELETED marker behind only if its group has no EMPTY slot,
+ * since only then could a search have probed past the group. The hash map
+ * ensures expected O(1) performance of {@link Map#put}, {@link Map#get}, and
+ * {@link Map#remove}.
+ *
+ * The hash table has a power-of-two capacity and resizes if the load factor
+ * (counting DELETED markers) exceeds 0.875, or a provided maximum load factor.
+ *
+ * @author Ben Morris
+ *
+ * @param <K> the type of keys stored in the hash map
+ * @param <V> the type of values associated with keys in the hash map
+ */
+public class SwissTableHashMap<K, V> extends AbstractMap<K, V> {
+
+    /**
+     * The default number of mappings the hash table holds without resizing
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * The default maximum load factor to allow before resizing the hash table
+     */
+    private static final double DEFAULT_MAX_LOAD_FACTOR = 0.875;
+
+    /** The number of slots in a group */
+    private static final int GROUP_WIDTH = 8;
+
+    /** Control byte of a slot that has never held a mapping since the last resize */
+    private static final int EMPTY = 0x80;
+    /** Control byte of a slot whose mapping was removed */
+    private static final int DELETED = 0xFE;
+
+    /** The lowest bit of every byte in a long */
+    private static final long LSBS = 0x0101010101010101L;
+    /** The highest bit of every byte in a long */
+    private static final long MSBS = 0x8080808080808080L;
+
+    /** Control bytes, packed 8 per long so each long is one group */
+    private long[] ctrl;
+    /** Keys of the mappings, indexed by slot */
+    private K[] keys;
+    /** Values of the mappings, parallel to keys */
+    private V[] values;
+    /** Bit mask used to reduce a hash to a group index (groups - 1) */
+    private int groupMask;
+    /** The number of mappings in the map */
+    private int size;
+    /** The number of EMPTY slots that may still be filled before resizing */
+    private int growthLeft;
+    /** The maximum load factor to allow before resizing the hash table */
+    private double loadFactor;
+
+    /**
+     * Constructs a new Swiss table hash map that uses the default initial
+     * capacity and maximum load factor
+     */
+    public SwissTableHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new Swiss table hash map that can hold the provided number of
+     * mappings before resizing
+     *
+     * @param capacity the number of mappings the map should hold without resizing
+     */
+    public SwissTableHashMap(int capacity) {
+        this(capacity, DEFAULT_MAX_LOAD_FACTOR);
+    }
+
+    /**
+     * Constructs a new Swiss table hash map that can hold the provided number of
+     * mappings before resizing and resizes once the provided maximum load factor
+     * is exceeded
+     *
+     * @param capacity      the number of mappings the map should hold without
+     *                      resizing
+     * @param maxLoadFactor the maximum load factor to allow before resizing
+     * @throws IllegalArgumentException if the maximum load factor is not greater
+     *                                  than 0 and less than 1
+     */
+    public SwissTableHashMap(int capacity, double maxLoadFactor) {
+        if (maxLoadFactor <= 0 || maxLoadFactor >= 1) {
+            throw new IllegalArgumentException("Load factor must be between 0 and 1 (exclusive).");
+        }
+        loadFactor = maxLoadFactor;
+        int length = GROUP_WIDTH;
+        while (maxMappings(length) < capacity) {
+            length <<= 1;
+        }
+        createTable(length);
+        size = 0;
+    }
+
+    /**
+     * Returns the number of slots that may be in use (holding a mapping or a
+     * DELETED marker) in a table with the given length. At least one slot is
+     * always left EMPTY so every search terminates.
+     *
+     * @param length the number of slots in the table
+     * @return the maximum number of slots in use before resizing
+     */
+    private int maxMappings(int length) {
+        return Math.min((int) (length * loadFactor), length - 1);
+    }
+
+    /**
+     * Creates new, empty control, key, and value arrays with the given number of
+     * slots
+     *
+     * @param length the number of slots (a power of two, at least 8)
+     */
+    @SuppressWarnings("unchecked")
+    private void createTable(int length) {
+        ctrl = new long[length / GROUP_WIDTH];
+        for (int i = 0; i < ctrl.length; i++) {
+            ctrl[i] = LSBS * EMPTY;
+        }
+        keys = (K[]) new Object[length];
+        values = (V[]) new Object[length];
+        groupMask = ctrl.length - 1;
+        growthLeft = maxMappings(length);
+    }
+
+    /**
+     * Returns the hash of the given key. The low 7 bits are the fingerprint
+     * stored in the control byte, and the remaining bits select the first group
+     * to probe.
+     *
+     * @param key the key for which to calculate the hash
+     * @return the hash of the key
+     */
+    private static int hash(Object key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Returns a word with the high bit set in each byte of the group that equals
+     * the given fingerprint. A byte directly above a true match may also be
+     * reported, so callers must confirm each match.
+     *
+     * @param group       the 8 control bytes of a group
+     * @param fingerprint the fingerprint to look for
+     * @return a word with the high bit set in each candidate byte
+     */
+    private static long matchFingerprint(long group, int fingerprint) {
+        long x = group ^ (LSBS * fingerprint);
+        return (x - LSBS) & ~x & MSBS;
+    }
+
+    /**
+     * Returns a word with the high bit set in each EMPTY byte of the group. EMPTY
+     * is the only control byte with its high bit set and its second-lowest bit
+     * clear.
+     *
+     * @param group the 8 control bytes of a group
+     * @return a word with the high bit set in each EMPTY byte
+     */
+    private static long matchEmpty(long group) {
+        return group & ~(group << 6) & MSBS;
+    }
+
+    /**
+     * Returns a word with the high bit set in each EMPTY or DELETED byte of the
+     * group
+     *
+     * @param group the 8 control bytes of a group
+     * @return a word with the high bit set in each EMPTY or DELETED byte
+     */
+    private static long matchEmptyOrDeleted(long group) {
+        return group & MSBS;
+    }
+
+    /**
+     * Returns the slot index within its group of the lowest byte flagged in the
+     * given match word
+     *
+     * @param match a non-zero match word
+     * @return the index (0 to 7) of the lowest flagged byte
+     */
+    private static int lowestByte(long match) {
+        return Long.numberOfTrailingZeros(match) >>> 3;
+    }
+
+    /**
+     * Returns the control byte of the given slot
+     *
+     * @param slot the index of the slot
+     * @return the control byte of the slot
+     */
+    private int ctrlAt(int slot) {
+        return (int) (ctrl[slot >>> 3] >>> ((slot & 7) << 3)) & 0xFF;
+    }
+
+    /**
+     * Sets the control byte of the given slot
+     *
+     * @param slot  the index of the slot
+     * @param value the new control byte
+     */
+    private void setCtrl(int slot, int value) {
+        int shift = (slot & 7) << 3;
+        int g = slot >>> 3;
+        ctrl[g] = (ctrl[g] & ~(0xFFL << shift)) | ((long) value << shift);
+    }
+
+    /**
+     * Returns the slot that holds the given key, or -1 if the key is not in the
+     * map. Groups are probed in triangular order, which visits every group of a
+     * power-of-two table.
+     *
+     * @param key  the key to locate
+     * @param hash the hash of the key
+     * @return the slot that holds the key, or -1
+     */
+    private int findSlot(Object key, int hash) {
+        int fingerprint = hash & 0x7F;
+        int g = (hash >>> 7) & groupMask;
+        for (int step = 1;; step++) {
+            long group = ctrl[g];
+            for (long m = matchFingerprint(group, fingerprint); m != 0; m &= m - 1) {
+                int slot = (g << 3) + lowestByte(m);
+                if (keys[slot].equals(key)) {
+                    return slot;
+                }
+            }
+            if (matchEmpty(group) != 0) {
+                return -1;
+            }
+            g = (g + step) & groupMask;
+        }
+    }
+
+    /**
+     * Returns the first EMPTY or DELETED slot on the probe sequence for the given
+     * hash
+     *
+     * @param hash the hash of the key to insert
+     * @return the slot in which to insert the key
+     */
+    private int findInsertSlot(int hash) {
+        int g = (hash >>> 7) & groupMask;
+        for (int step = 1;; step++) {
+            long m = matchEmptyOrDeleted(ctrl[g]);
+            if (m != 0) {
+                return (g << 3) + lowestByte(m);
+            }
+            g = (g + step) & groupMask;
+        }
+    }
+
+    @Override
+    public V get(K key) {
+        int slot = findSlot(key, hash(key));
+        return slot >= 0 ? values[slot] : null;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        int h = hash(key);
+        int slot = findSlot(key, h);
+        if (slot >= 0) {
+            V oldValue = values[slot];
+            values[slot] = value;
+            return oldValue;
+        }
+        insert(key, h, value);
+        return null;
+    }
+
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        int h = hash(key);
+        int slot = findSlot(key, h);
+        if (slot >= 0) {
+            V value = remappingFunction.apply(key, values[slot]);
+            if (value == null) {
+                removeSlot(slot);
+            } else {
+                values[slot] = value;
+            }
+            return value;
+        }
+        V value = remappingFunction.apply(key, null);
+        if (value != null) {
+            insert(key, h, value);
+        }
+        return value;
+    }
+
+    /**
+     * Adds a mapping for a key that is not in the map
+     *
+     * @param key   the key of the new mapping
+     * @param h     the hash of the key
+     * @param value the value of the new mapping
+     */
+    private void insert(K key, int h, V value) {
+        int slot = findInsertSlot(h);
+        if (growthLeft == 0 && ctrlAt(slot) != DELETED) {
+            // Reusing a DELETED slot never needs a resize
+            rehash();
+            slot = findInsertSlot(h);
+        }
+        if (ctrlAt(slot) == EMPTY) {
+            growthLeft--;
+        }
+        setCtrl(slot, h & 0x7F);
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+    }
+
+    @Override
+    public V remove(K key) {
+        int slot = findSlot(key, hash(key));
+        if (slot < 0) {
+            return null;
+        }
+        V oldValue = values[slot];
+        removeSlot(slot);
+        return oldValue;
+    }
+
+    /**
+     * Removes the mapping in the given slot
+     *
+     * @param slot the slot that holds the mapping to remove
+     */
+    private void removeSlot(int slot) {
+        // A group that still has an EMPTY slot has never been full, so no search
+        // has ever probed past it and the slot can become EMPTY again
+        if (matchEmpty(ctrl[slot >>> 3]) != 0) {
+            setCtrl(slot, EMPTY);
+            growthLeft++;
+        } else {
+            setCtrl(slot, DELETED);
+        }
+        keys[slot] = null;
+        values[slot] = null;
+        size--;
+    }
+
+    /**
+     * Rebuilds the table once it runs out of EMPTY slots. If DELETED markers take
+     * up most of the used slots, the table is rebuilt at the same length to
+     * clear them; otherwise, the length doubles.
+     */
+    private void rehash() {
+        int length = keys.length;
+        if (size > maxMappings(length) / 2) {
+            length <<= 1;
+        }
+        rehash(length);
+    }
+
+    /**
+     * Rebuilds the table with the given length, which clears every DELETED
+     * marker
+     *
+     * @param length the number of slots (a power of two) in the new table
+     */
+    private void rehash(int length) {
+        K[] oldKeys = keys;
+        V[] oldValues = values;
+        long[] oldCtrl = ctrl;
+        createTable(length);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if ((oldCtrl[i >>> 3] >>> ((i & 7) << 3) & 0x80) == 0) {
+                int h = hash(oldKeys[i]);
+                int slot = findInsertSlot(h);
+                setCtrl(slot, h & 0x7F);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+                growthLeft--;
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc} The table is rebuilt once, at the smallest power-of-two
+     * length that holds the given number of mappings within the maximum load
+     * factor.
+     */
+    @Override
+    public void ensureCapacity(int capacity) {
+        int length = keys.length;
+        while (maxMappings(length) < capacity) {
+            length <<= 1;
+        }
+        if (length > keys.length) {
+            rehash(length);
+        }
+    }
+
+    /**
+     * Returns the number of slots in the hash table
+     *
+     * @return the number of slots in the hash table
+     */
+    protected int capacity() {
+        return keys.length;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterable<Entry<K, V>> entrySet() {
+        return new EntryIterable();
+    }
+
+    /**
+     * A live view of the mappings in the hash table. Iterating the view walks
+     * the control bytes directly instead of copying the mappings first.
+     *
+     * @author Ben Morris
+     */
+    private class EntryIterable implements Iterable<Entry<K, V>> {
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new EntryIterator();
+        }
+    }
+
+    /**
+     * EntryIterator walks the slots of the hash table, skipping slots whose
+     * control byte is EMPTY or DELETED. Since the table keeps no entry objects,
+     * next() returns a new entry holding the slot's key and value. Removing
+     * through the iterator clears the slot just as {@link #remove} does, which
+     * never moves another mapping, so the rest of the iteration is unaffected.
+     *
+     * @author Ben Morris
+     */
+    private class EntryIterator implements Iterator<Entry<K, V>> {
+        /** The index of the next slot to return */
+        private int slot;
+        /** The slot of the mapping most recently returned by next(), or -1 */
+        private int lastSlot;
+
+        /**
+         * Constructs a new iterator positioned before the first mapping
+         */
+        EntryIterator() {
+            slot = -1;
+            lastSlot = -1;
+            advance();
+        }
+
+        /**
+         * Moves slot to the next slot that holds a mapping
+         */
+        private void advance() {
+            slot++;
+            while (slot < keys.length && (ctrlAt(slot) & 0x80) != 0) {
+                slot++;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return slot < keys.length;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("There are no more elements.");
+            }
+            lastSlot = slot;
+            advance();
+            return new MapEntry<K, V>(keys[lastSlot], values[lastSlot]);
+        }
+
+        @Override
+        public void remove() {
+            if (lastSlot < 0) {
+                throw new IllegalStateException("Successful next() not yet called.");
+            }
+            removeSlot(lastSlot);
+            lastSlot = -1;
+        }
+    }
+}
@@ -49,6 +49,16 @@ public class AVLTreeMap<K extends Comparable<K>, V> extends BinarySearchTreeMap<
         super(compare);
     }
 
+    /**
+     * Returns the height of the tree: the number of entries on the longest path
+     * from the root to a sentinel leaf, or 0 if the tree is empty
+     * 
+     * @return the height of the tree
+     */
+    public int height() {
+        return getProperty(root());
+    }
+
     /**
      * Checks the height-balance property at each level of the tree up to the root.
      * If the height-balance property is violated, then a restructuring is
@@ -145,4 +155,14 @@ public class AVLTreeMap<K extends Comparable<K>, V> extends BinarySearchTreeMap<
             rebalance(parent(node));
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * {@inheritDoc} For an AVL tree, the height of each built position follows
+     * from the heights of its subtrees, which are built first. A tree built from
+     * the middle of each range is already height-balanced.
+     */
+    @Override
+    protected void actionOnBuild(Position<Entry<K, V>> node, int depth, int maxDepth) {
+        recomputeHeight(node);
+    }
+}
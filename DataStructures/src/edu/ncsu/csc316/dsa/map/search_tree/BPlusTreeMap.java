@@ -0,0 +1,809 @@
+package edu.ncsu.csc316.dsa.map.search_tree;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import edu.ncsu.csc316.dsa.list.List;
+import edu.ncsu.csc316.dsa.map.AbstractOrderedMap;
+
+/**
+ * A B+ tree map is an ordered map that stores many keys in each node, so the
+ * tree is only a few levels deep. Every entry is stored in a leaf; internal
+ * nodes hold only the separator keys that guide a search to the right child.
+ * Each node keeps its keys in a contiguous array that is searched with binary
+ * search, and the leaves are linked left to right, so iterating over the map
+ * walks the leaves in order without going back up the tree.
+ *
+ * The order of the tree is the maximum number of entries in a leaf and the
+ * maximum number of children of an internal node. Every node other than the
+ * root holds at least half that many. With the default order of 32, a tree of
+ * a million entries is 4 or 5 levels deep, where a balanced binary search tree
+ * is about 20.
+ *
+ * Insertions and removals make a single pass down the tree: a full node is
+ * split before the search descends into it, and a node with the fewest
+ * allowed entries borrows from or is merged with a sibling before the search
+ * descends into it. get, put, and remove take O(log n) time.
+ *
+ * @author Ben Morris
+ *
+ * @param <K> the type of keys stored in the map
+ * @param <V> the type of values that are associated with keys in the map
+ */
+public class BPlusTreeMap<K extends Comparable<K>, V> extends AbstractOrderedMap<K, V> {
+
+    /** The default maximum number of entries in a leaf or children of a node */
+    private static final int DEFAULT_ORDER = 32;
+
+    /** The maximum number of entries in a leaf or children of an internal node */
+    private int order;
+
+    /** The root of the tree, a leaf while every entry fits in one node */
+    private Node<K, V> root;
+
+    /** The number of levels of nodes, including the leaves */
+    private int height;
+
+    /** The number of entries in the map */
+    private int size;
+
+    /**
+     * Constructs a new B+ tree map of the default order that uses the natural
+     * ordering of keys
+     */
+    public BPlusTreeMap() {
+        this(null, DEFAULT_ORDER);
+    }
+
+    /**
+     * Constructs a new B+ tree map of the default order that uses a provided
+     * {@link Comparator} when performing comparisons of keys
+     *
+     * @param compare the Comparator to use, or null for the natural ordering
+     */
+    public BPlusTreeMap(Comparator<K> compare) {
+        this(compare, DEFAULT_ORDER);
+    }
+
+    /**
+     * Constructs a new B+ tree map of the given order that uses the natural
+     * ordering of keys
+     *
+     * @param order the maximum number of entries in a leaf or children of an
+     *              internal node
+     * @throws IllegalArgumentException if order is less than 4
+     */
+    public BPlusTreeMap(int order) {
+        this(null, order);
+    }
+
+    /**
+     * Constructs a new B+ tree map of the given order that uses a provided
+     * {@link Comparator} when performing comparisons of keys
+     *
+     * @param compare the Comparator to use, or null for the natural ordering
+     * @param order   the maximum number of entries in a leaf or children of an
+     *                internal node
+     * @throws IllegalArgumentException if order is less than 4
+     */
+    public BPlusTreeMap(Comparator<K> compare, int order) {
+        super(compare);
+        if (order < 4) {
+            throw new IllegalArgumentException("Order must be at least 4.");
+        }
+        this.order = order;
+        root = new Node<K, V>(order, true);
+        height = 1;
+        size = 0;
+    }
+
+    /**
+     * Returns the number of levels of nodes from the root down to the leaves,
+     * or 0 if the map is empty
+     *
+     * @return the height of the tree
+     */
+    public int height() {
+        return isEmpty() ? 0 : height;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public V get(K key) {
+        Node<K, V> leaf = findLeaf(key);
+        int i = search(leaf, key);
+        return i >= 0 ? leaf.values[i] : null;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        if (isFull(root)) {
+            // Split the root first, so the tree grows one level at the top
+            Node<K, V> newRoot = new Node<K, V>(order, false);
+            newRoot.children[0] = root;
+            splitChild(newRoot, 0);
+            root = newRoot;
+            height++;
+        }
+        Node<K, V> leaf = root;
+        while (!leaf.isLeaf()) {
+            Node<K, V> parent = leaf;
+            int i = childIndex(parent, key);
+            if (isFull(parent.children[i])) {
+                splitChild(parent, i);
+                if (compare(key, parent.keys[i]) >= 0) {
+                    i++;
+                }
+            }
+            leaf = parent.children[i];
+        }
+        int i = search(leaf, key);
+        if (i >= 0) {
+            V original = leaf.values[i];
+            leaf.values[i] = value;
+            return original;
+        }
+        i = -(i + 1);
+        System.arraycopy(leaf.keys, i, leaf.keys, i + 1, leaf.numKeys - i);
+        System.arraycopy(leaf.values, i, leaf.values, i + 1, leaf.numKeys - i);
+        leaf.keys[i] = key;
+        leaf.values[i] = value;
+        leaf.numKeys++;
+        size++;
+        return null;
+    }
+
+    @Override
+    public V remove(K key) {
+        Node<K, V> leaf = root;
+        while (!leaf.isLeaf()) {
+            Node<K, V> parent = leaf;
+            int i = childIndex(parent, key);
+            if (isMinimal(parent.children[i])) {
+                i = refill(parent, i);
+            }
+            leaf = parent.children[i];
+            if (parent == root && parent.numKeys == 0) {
+                // The root's last two children were merged, so the tree shrinks
+                // one level at the top
+                root = leaf;
+                height--;
+            }
+        }
+        int i = search(leaf, key);
+        if (i < 0) {
+            return null;
+        }
+        V original = leaf.values[i];
+        System.arraycopy(leaf.keys, i + 1, leaf.keys, i, leaf.numKeys - i - 1);
+        System.arraycopy(leaf.values, i + 1, leaf.values, i, leaf.numKeys - i - 1);
+        leaf.numKeys--;
+        leaf.keys[leaf.numKeys] = null;
+        leaf.values[leaf.numKeys] = null;
+        size--;
+        return original;
+    }
+
+    /**
+     * {@inheritDoc} If the map is empty and the batch is sorted by key, the tree
+     * is built bottom-up in O(n) time: the entries are spread evenly over as few
+     * leaves as possible, and each level of internal nodes is built the same way
+     * over the level below. Otherwise, the entries are added one at a time.
+     */
+    @Override
+    public void putAll(Iterable<? extends Entry<K, V>> entries) {
+        List<Entry<K, V>> batch = isEmpty() ? sortedBatch(entries) : null;
+        if (batch == null) {
+            super.putAll(entries);
+        } else if (!batch.isEmpty()) {
+            build(batch);
+        }
+    }
+
+    @Override
+    public Iterable<Entry<K, V>> entrySet() {
+        return new EntryIterable();
+    }
+
+    @Override
+    public Entry<K, V> firstEntry() {
+        Node<K, V> leaf = root;
+        while (!leaf.isLeaf()) {
+            leaf = leaf.children[0];
+        }
+        return entryAt(leaf, 0);
+    }
+
+    @Override
+    public Entry<K, V> lastEntry() {
+        Node<K, V> leaf = lastLeaf(root);
+        return entryAt(leaf, leaf.numKeys - 1);
+    }
+
+    @Override
+    public Entry<K, V> floorEntry(K key) {
+        return lastBelow(key, true);
+    }
+
+    @Override
+    public Entry<K, V> lowerEntry(K key) {
+        return lastBelow(key, false);
+    }
+
+    @Override
+    public Entry<K, V> ceilingEntry(K key) {
+        EntryIterator it = new EntryIterator(key, true);
+        return it.hasNext() ? it.next() : null;
+    }
+
+    @Override
+    public Entry<K, V> higherEntry(K key) {
+        EntryIterator it = new EntryIterator(key, false);
+        return it.hasNext() ? it.next() : null;
+    }
+
+    /**
+     * {@inheritDoc} The first entry is located with a single search down the
+     * tree, and the iteration then walks the linked leaves.
+     */
+    @Override
+    protected Iterator<Entry<K, V>> entriesFrom(K fromKey, boolean inclusive) {
+        return new EntryIterator(fromKey, inclusive);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("BPlusTreeMap[");
+        Iterator<Entry<K, V>> it = entrySet().iterator();
+        while (it.hasNext()) {
+            sb.append(it.next().getKey());
+            if (it.hasNext()) {
+                sb.append(", ");
+            }
+        }
+        sb.append("]");
+        return sb.toString();
+    }
+
+    /**
+     * Performs a binary search for a key among the keys of a node
+     *
+     * @param node the node to search
+     * @param key  the key to locate
+     * @return the index of the key, or -(i + 1) if the key is not in the node
+     *         and would be inserted at index i
+     */
+    private int search(Node<K, V> node, K key) {
+        int low = 0;
+        int high = node.numKeys - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int comp = compare(node.keys[mid], key);
+            if (comp < 0) {
+                low = mid + 1;
+            } else if (comp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Returns the index of the child of an internal node whose subtree holds
+     * the given key. The child at index i holds the keys from separator i - 1
+     * (inclusive) up to separator i (exclusive).
+     *
+     * @param node the internal node to search
+     * @param key  the key to locate
+     * @return the index of the child to descend into
+     */
+    private int childIndex(Node<K, V> node, K key) {
+        int i = search(node, key);
+        return i >= 0 ? i + 1 : -(i + 1);
+    }
+
+    /**
+     * Returns the leaf whose range of keys includes the given key
+     *
+     * @param key the key to locate
+     * @return the leaf that holds the key, if it is in the map
+     */
+    private Node<K, V> findLeaf(K key) {
+        Node<K, V> node = root;
+        while (!node.isLeaf()) {
+            node = node.children[childIndex(node, key)];
+        }
+        return node;
+    }
+
+    /**
+     * Returns the entry with the largest key at or below (or strictly below) the
+     * given key. Leaves are only linked forward, so the search remembers the
+     * subtree just left of its path: if the leaf it reaches has no such key,
+     * the answer is the last key of that subtree.
+     *
+     * @param key       the key to search for
+     * @param inclusive true to accept an entry with a key equal to the given key
+     * @return the entry with the largest such key, or null if there is none
+     */
+    private Entry<K, V> lastBelow(K key, boolean inclusive) {
+        Node<K, V> leaf = root;
+        Node<K, V> leftOfPath = null;
+        while (!leaf.isLeaf()) {
+            int i = childIndex(leaf, key);
+            if (i > 0) {
+                leftOfPath = leaf.children[i - 1];
+            }
+            leaf = leaf.children[i];
+        }
+        int i = search(leaf, key);
+        int index = i >= 0 ? (inclusive ? i : i - 1) : -(i + 1) - 1;
+        if (index >= 0) {
+            return entryAt(leaf, index);
+        }
+        if (leftOfPath == null) {
+            return null;
+        }
+        leaf = lastLeaf(leftOfPath);
+        return entryAt(leaf, leaf.numKeys - 1);
+    }
+
+    /**
+     * Returns the last leaf of the subtree rooted at the given node
+     *
+     * @param node the root of the subtree
+     * @return the leaf with the largest keys in the subtree
+     */
+    private Node<K, V> lastLeaf(Node<K, V> node) {
+        Node<K, V> leaf = node;
+        while (!leaf.isLeaf()) {
+            leaf = leaf.children[leaf.numKeys];
+        }
+        return leaf;
+    }
+
+    /**
+     * Returns a copy of the entry at the given index of a leaf
+     *
+     * @param leaf  the leaf that holds the entry
+     * @param index the index of the entry in the leaf
+     * @return a copy of the entry, or null if the index is out of range
+     */
+    private Entry<K, V> entryAt(Node<K, V> leaf, int index) {
+        if (index < 0 || index >= leaf.numKeys) {
+            return null;
+        }
+        return new MapEntry<K, V>(leaf.keys[index], leaf.values[index]);
+    }
+
+    /**
+     * Returns true if a node cannot hold another key
+     *
+     * @param node the node to check
+     * @return true if the node is full
+     */
+    private boolean isFull(Node<K, V> node) {
+        return node.isLeaf() ? node.numKeys == order : node.numKeys == order - 1;
+    }
+
+    /**
+     * Returns true if a node other than the root holds the fewest entries (for
+     * a leaf) or children (for an internal node) allowed, half the order
+     *
+     * @param node the node to check
+     * @return true if removing from the node would leave it too small
+     */
+    private boolean isMinimal(Node<K, V> node) {
+        return node.isLeaf() ? node.numKeys <= order / 2 : node.numKeys + 1 <= order / 2;
+    }
+
+    /**
+     * Splits a full child of an internal node, which is not full, in two. The
+     * upper half of the child moves to a new node that becomes the next child,
+     * and the key that separates the halves is added to the parent. A leaf
+     * keeps a copy of the separator, since every entry stays in a leaf; an
+     * internal node moves its middle key up to the parent.
+     *
+     * @param parent the parent of the child to split
+     * @param i      the index of the child to split
+     */
+    private void splitChild(Node<K, V> parent, int i) {
+        Node<K, V> child = parent.children[i];
+        Node<K, V> sibling = new Node<K, V>(order, child.isLeaf());
+        int mid = child.numKeys / 2;
+        K separator;
+        if (child.isLeaf()) {
+            sibling.numKeys = child.numKeys - mid;
+            System.arraycopy(child.keys, mid, sibling.keys, 0, sibling.numKeys);
+            System.arraycopy(child.values, mid, sibling.values, 0, sibling.numKeys);
+            clear(child.keys, mid, child.numKeys);
+            clear(child.values, mid, child.numKeys);
+            sibling.next = child.next;
+            child.next = sibling;
+            separator = sibling.keys[0];
+        } else {
+            separator = child.keys[mid];
+            sibling.numKeys = child.numKeys - mid - 1;
+            System.arraycopy(child.keys, mid + 1, sibling.keys, 0, sibling.numKeys);
+            System.arraycopy(child.children, mid + 1, sibling.children, 0, sibling.numKeys + 1);
+            clear(child.keys, mid, child.numKeys);
+            clear(child.children, mid + 1, child.numKeys + 1);
+        }
+        child.numKeys = mid;
+        System.arraycopy(parent.keys, i, parent.keys, i + 1, parent.numKeys - i);
+        System.arraycopy(parent.children, i + 1, parent.children, i + 2, parent.numKeys - i);
+        parent.keys[i] = separator;
+        parent.children[i + 1] = sibling;
+        parent.numKeys++;
+    }
+
+    /**
+     * Makes sure a minimal child of an internal node can lose an entry, by
+     * borrowing one from a sibling that has more than the minimum, or else by
+     * merging the child with a sibling
+     *
+     * @param parent the parent of the child, which is the root or is not minimal
+     * @param i      the index of the minimal child
+     * @return the index of the child whose subtree now holds the keys of the
+     *         original child
+     */
+    private int refill(Node<K, V> parent, int i) {
+        if (i > 0 && !isMinimal(parent.children[i - 1])) {
+            borrowFromLeft(parent, i);
+            return i;
+        }
+        if (i < parent.numKeys && !isMinimal(parent.children[i + 1])) {
+            borrowFromRight(parent, i);
+            return i;
+        }
+        if (i > 0) {
+            merge(parent, i - 1);
+            return i - 1;
+        }
+        merge(parent, i);
+        return i;
+    }
+
+    /**
+     * Moves the last entry or child of a child's left sibling into the child,
+     * and updates the separator between them
+     *
+     * @param parent the parent of the child
+     * @param i      the index of the child, which has a left sibling
+     */
+    private void borrowFromLeft(Node<K, V> parent, int i) {
+        Node<K, V> child = parent.children[i];
+        Node<K, V> sibling = parent.children[i - 1];
+        int last = sibling.numKeys - 1;
+        System.arraycopy(child.keys, 0, child.keys, 1, child.numKeys);
+        if (child.isLeaf()) {
+            System.arraycopy(child.values, 0, child.values, 1, child.numKeys);
+            child.keys[0] = sibling.keys[last];
+            child.values[0] = sibling.values[last];
+            sibling.values[last] = null;
+            parent.keys[i - 1] = child.keys[0];
+        } else {
+            // The separator moves down, and the sibling's last key moves up
+            System.arraycopy(child.children, 0, child.children, 1, child.numKeys + 1);
+            child.keys[0] = parent.keys[i - 1];
+            child.children[0] = sibling.children[last + 1];
+            sibling.children[last + 1] = null;
+            parent.keys[i - 1] = sibling.keys[last];
+        }
+        sibling.keys[last] = null;
+        sibling.numKeys--;
+        child.numKeys++;
+    }
+
+    /**
+     * Moves the first entry or child of a child's right sibling into the child,
+     * and updates the separator between them
+     *
+     * @param parent the parent of the child
+     * @param i      the index of the child, which has a right sibling
+     */
+    private void borrowFromRight(Node<K, V> parent, int i) {
+        Node<K, V> child = parent.children[i];
+        Node<K, V> sibling = parent.children[i + 1];
+        int last = sibling.numKeys - 1;
+        if (child.isLeaf()) {
+            child.keys[child.numKeys] = sibling.keys[0];
+            child.values[child.numKeys] = sibling.values[0];
+            System.arraycopy(sibling.values, 1, sibling.values, 0, last);
+            sibling.values[last] = null;
+            System.arraycopy(sibling.keys, 1, sibling.keys, 0, last);
+            parent.keys[i] = sibling.keys[0];
+        } else {
+            // The separator moves down, and the sibling's first key moves up
+            child.keys[child.numKeys] = parent.keys[i];
+            child.children[child.numKeys + 1] = sibling.children[0];
+            parent.keys[i] = sibling.keys[0];
+            System.arraycopy(sibling.keys, 1, sibling.keys, 0, last);
+            System.arraycopy(sibling.children, 1, sibling.children, 0, last + 1);
+            sibling.children[last + 1] = null;
+        }
+        sibling.keys[last] = null;
+        sibling.numKeys--;
+        child.numKeys++;
+    }
+
+    /**
+     * Merges the child at index i + 1 of an internal node into the child at
+     * index i, and removes the separator between them from the parent. Both
+     * children must be minimal, so the merged node fits in one node.
+     *
+     * @param parent the parent of the children
+     * @param i      the index of the left child to merge
+     */
+    private void merge(Node<K, V> parent, int i) {
+        Node<K, V> child = parent.children[i];
+        Node<K, V> sibling = parent.children[i + 1];
+        if (child.isLeaf()) {
+            System.arraycopy(sibling.keys, 0, child.keys, child.numKeys, sibling.numKeys);
+            System.arraycopy(sibling.values, 0, child.values, child.numKeys, sibling.numKeys);
+            child.numKeys += sibling.numKeys;
+            child.next = sibling.next;
+        } else {
+            // The separator moves down between the two halves
+            child.keys[child.numKeys] = parent.keys[i];
+            System.arraycopy(sibling.keys, 0, child.keys, child.numKeys + 1, sibling.numKeys);
+            System.arraycopy(sibling.children, 0, child.children, child.numKeys + 1, sibling.numKeys + 1);
+            child.numKeys += sibling.numKeys + 1;
+        }
+        System.arraycopy(parent.keys, i + 1, parent.keys, i, parent.numKeys - i - 1);
+        System.arraycopy(parent.children, i + 2, parent.children, i + 1, parent.numKeys - i - 1);
+        parent.numKeys--;
+        parent.keys[parent.numKeys] = null;
+        parent.children[parent.numKeys + 1] = null;
+    }
+
+    /**
+     * Sets a range of an array to null, so removed keys, values, and children
+     * can be garbage collected
+     *
+     * @param array the array to clear
+     * @param from  the first index to clear
+     * @param to    the index after the last index to clear
+     */
+    private static void clear(Object[] array, int from, int to) {
+        for (int i = from; i < to; i++) {
+            array[i] = null;
+        }
+    }
+
+    /**
+     * Builds the tree bottom-up from a batch of entries with strictly increasing
+     * keys. Each level spreads its entries or children evenly over as few nodes
+     * as possible, so every node other than the root is at least half full.
+     *
+     * @param batch the entries, sorted by strictly increasing keys
+     */
+    @SuppressWarnings("unchecked")
+    private void build(List<Entry<K, V>> batch) {
+        int count = (batch.size() + order - 1) / order;
+        Node<K, V>[] level = (Node<K, V>[]) new Node[count];
+        // The smallest key in the subtree of each node of the level
+        Object[] lowest = new Object[count];
+        Node<K, V> previous = null;
+        for (int j = 0; j < count; j++) {
+            int start = (int) ((long) batch.size() * j / count);
+            int end = (int) ((long) batch.size() * (j + 1) / count);
+            Node<K, V> leaf = new Node<K, V>(order, true);
+            for (int k = start; k < end; k++) {
+                Entry<K, V> entry = batch.get(k);
+                leaf.keys[k - start] = entry.getKey();
+                leaf.values[k - start] = entry.getValue();
+            }
+            leaf.numKeys = end - start;
+            if (previous != null) {
+                previous.next = leaf;
+            }
+            previous = leaf;
+            level[j] = leaf;
+            lowest[j] = leaf.keys[0];
+        }
+        height = 1;
+        while (count > 1) {
+            int parents = (count + order - 1) / order;
+            Node<K, V>[] above = (Node<K, V>[]) new Node[parents];
+            Object[] aboveLowest = new Object[parents];
+            for (int j = 0; j < parents; j++) {
+                int start = (int) ((long) count * j / parents);
+                int end = (int) ((long) count * (j + 1) / parents);
+                Node<K, V> node = new Node<K, V>(order, false);
+                for (int k = start; k < end; k++) {
+                    node.children[k - start] = level[k];
+                    if (k > start) {
+                        node.keys[k - start - 1] = (K) lowest[k];
+                    }
+                }
+                node.numKeys = end - start - 1;
+                above[j] = node;
+                aboveLowest[j] = lowest[start];
+            }
+            level = above;
+            lowest = aboveLowest;
+            count = parents;
+            height++;
+        }
+        root = level[0];
+        size = batch.size();
+    }
+
+    /**
+     * A Node is a node of the B+ tree, which keeps its keys in sorted order at
+     * the front of an array. A leaf keeps the value of each key at the same
+     * index of a parallel array and links to the next leaf in key order; an
+     * internal node holds separator keys and one more child than keys, and every
+     * key in the subtree of child i is at least separator i - 1 and less than
+     * separator i.
+     *
+     * @author Ben Morris
+     *
+     * @param <K> the type of keys stored in the node
+     * @param <V> the type of values stored in the tree
+     */
+    private static class Node<K, V> {
+
+        /** The keys of the node, in sorted order */
+        private K[] keys;
+
+        /** The number of keys in the node */
+        private int numKeys;
+
+        /** The values of a leaf, parallel to its keys; null for an internal node */
+        private V[] values;
+
+        /** The children of an internal node; null for a leaf */
+        private Node<K, V>[] children;
+
+        /** The leaf with the next larger keys, or null for the last leaf */
+        private Node<K, V> next;
+
+        /**
+         * Constructs an empty leaf or internal node for a tree of the given order
+         *
+         * @param order the order of the tree
+         * @param leaf  true to construct a leaf
+         */
+        @SuppressWarnings("unchecked")
+        Node(int order, boolean leaf) {
+            // The map's keys are Comparable, so it sees the array as a Comparable[]
+            if (leaf) {
+                keys = (K[]) new Comparable[order];
+                values = (V[]) new Object[order];
+            } else {
+                keys = (K[]) new Comparable[order - 1];
+                children = (Node<K, V>[]) new Node[order];
+            }
+            numKeys = 0;
+            next = null;
+        }
+
+        /**
+         * Returns true if the node is a leaf
+         *
+         * @return true if the node is a leaf
+         */
+        boolean isLeaf() {
+            return children == null;
+        }
+    }
+
+    /**
+     * EntryIterable allows traversing the entries of the map in key order
+     *
+     * @author Ben Morris
+     *
+     */
+    private class EntryIterable implements Iterable<Entry<K, V>> {
+
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new EntryIterator();
+        }
+    }
+
+    /**
+     * EntryIterator walks the linked leaves from left to right. Each entry it
+     * returns is a copy of a key and value. Removing an entry may move entries
+     * between leaves, so after a removal the iterator searches the tree again
+     * for the next larger key.
+     *
+     * @author Ben Morris
+     *
+     */
+    private class EntryIterator implements Iterator<Entry<K, V>> {
+
+        /** The leaf that holds the next entry, or null if there are no more */
+        private Node<K, V> leaf;
+
+        /** The index of the next entry in its leaf */
+        private int index;
+
+        /** The key most recently returned by next() */
+        private K lastKey;
+
+        /** True if next() has been called since the last call to remove() */
+        private boolean removeOK;
+
+        /**
+         * Constructs a new iterator positioned before the smallest key
+         */
+        EntryIterator() {
+            Node<K, V> node = root;
+            while (!node.isLeaf()) {
+                node = node.children[0];
+            }
+            leaf = node;
+            index = 0;
+            skipEmptyLeaf();
+            removeOK = false;
+        }
+
+        /**
+         * Constructs a new iterator positioned before the first key at or above
+         * (or strictly above) the given key
+         *
+         * @param fromKey   the key at which to start
+         * @param inclusive true to start at an entry with a key equal to fromKey,
+         *                  false to start after it
+         */
+        EntryIterator(K fromKey, boolean inclusive) {
+            leaf = findLeaf(fromKey);
+            int i = search(leaf, fromKey);
+            index = i >= 0 ? (inclusive ? i : i + 1) : -(i + 1);
+            skipEmptyLeaf();
+            removeOK = false;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return leaf != null;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (leaf == null) {
+                throw new NoSuchElementException("There are no more elements.");
+            }
+            lastKey = leaf.keys[index];
+            Entry<K, V> entry = entryAt(leaf, index);
+            index++;
+            skipEmptyLeaf();
+            removeOK = true;
+            return entry;
+        }
+
+        @Override
+        public void remove() {
+            if (!removeOK) {
+                throw new IllegalStateException("Successful next() not yet called.");
+            }
+            BPlusTreeMap.this.remove(lastKey);
+            // Every key after lastKey is now at or after its insertion point
+            leaf = findLeaf(lastKey);
+            index = -(search(leaf, lastKey) + 1);
+            skipEmptyLeaf();
+            removeOK = false;
+        }
+
+        /**
+         * Moves to the start of the next leaf once every entry of the current
+         * leaf has been returned
+         */
+        private void skipEmptyLeaf() {
+            while (leaf != null && index >= leaf.numKeys) {
+                leaf = leaf.next;
+                index = 0;
+            }
+        }
+    }
+}
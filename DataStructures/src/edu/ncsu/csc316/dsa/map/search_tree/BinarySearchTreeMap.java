@@ -1,7 +1,12 @@
 package edu.ncsu.csc316.dsa.map.search_tree;
 
 import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+
 import edu.ncsu.csc316.dsa.Position;
+import edu.ncsu.csc316.dsa.list.List;
 import edu.ncsu.csc316.dsa.map.AbstractOrderedMap;
 import edu.ncsu.csc316.dsa.tree.LinkedBinaryTree;
 
@@ -15,8 +20,19 @@ import edu.ncsu.csc316.dsa.tree.LinkedBinaryTree;
  * logic. This allows us to adapt our implementation to delegate to the
  * {@link BalanceableBinaryTree} instead of extending {@link LinkedBinaryTree}.
  * 
- * BinarySearchTreeMap uses sentinel leaves. Every leaf node should have 2
- * sentinel children.
+ * BinarySearchTreeMap uses sentinel leaves. Every node that holds an entry has
+ * 2 children, and a missing child is the tree's single shared sentinel, which
+ * holds no entry. Each node stores its key, value, and balance property inline
+ * and is itself the entry at its position, so a tree of n entries allocates n
+ * nodes instead of n map entries, n internal nodes, and n + 1 sentinel nodes.
+ * With compressed references, a node takes 48 bytes, where an entry used to
+ * take about 88.
+ * 
+ * Each node also counts the entries in its subtree, and rotations keep the
+ * counts up to date, so {@link #rank}, {@link #select}, and
+ * {@link #countInRange} answer order-statistic queries (such as the k-th
+ * smallest key or the percentile of a key) along a single path, in O(logn)
+ * time for the balanced {@link AVLTreeMap} and {@link RedBlackTreeMap}.
  * 
  * The BinarySearchTreeMap class is based on the implementation developed for
  * use with the textbook:
@@ -53,34 +69,27 @@ public class BinarySearchTreeMap<K extends Comparable<K>, V> extends AbstractOrd
     public BinarySearchTreeMap(Comparator<K> compare) {
         super(compare);
         tree = new BalanceableBinaryTree<K, V>();
-        tree.addRoot(null);
     }
 
     @Override
     public int size() {
-        // Our search trees will all use dummy/sentinel leaf nodes,
-        // so the actual number of elements in the tree will be (size-1)/2
-        return (tree.size() - 1) / 2;
+        return tree.size();
     }
 
     /**
-     * To preserve the property of having all sentinel leaves, expandLeaf converts a
-     * sentinel leaf into a position with an entry, then adds 2 new sentinel
-     * children to the position
+     * Replaces a sentinel leaf reached by {@link #lookUp} with a new position that
+     * holds the given key and value and has 2 sentinel children
      * 
-     * @param p     the position in the tree to update to store the provided entry
-     * @param entry the entry to store in the provided position of the tree
+     * @param p     the sentinel leaf at which the search for the key stopped
+     * @param key   the key to store in the new position
+     * @param value the value to store in the new position
+     * @return the new position
      */
-    private void expandLeaf(Position<Entry<K, V>> p, Entry<K, V> entry) {
-        // This method is used to add dummy/sentinel left and right children as leaves
-
-        // initially, p is a dummy/sentinel node,
-        // so replace the null entry with the new actual entry
-        tree.set(p, entry);
-
-        // Then add new dummy/sentinel children
-        tree.addLeft(p, null);
-        tree.addRight(p, null);
+    private Position<Entry<K, V>> expandLeaf(Position<Entry<K, V>> p, K key, V value) {
+        // The sentinel is shared, so its side is found from its parent's key
+        Position<Entry<K, V>> parent = parent(p);
+        boolean makeLeftChild = parent != null && compare(key, parent.getElement().getKey()) < 0;
+        return tree.expand(parent, makeLeftChild, key, value);
     }
 
     /**
@@ -101,20 +110,20 @@ public class BinarySearchTreeMap<K extends Comparable<K>, V> extends AbstractOrd
         // that contains an entry with the given key.
         // Think of "lookUp" as returning the last position visited when tracing
         // a path down the tree to find the given key
-
-        // If we have reached a dummy/sentinel node (a leaf), return that sentinel node
-        if (isLeaf(p)) {
-            return p;
-        }
-        int comp = compare(key, p.getElement().getKey());
-        if (comp == 0) {
-            // Return the position that contains the entry with the key
-            return p;
-        } else if (comp < 0) {
-            return lookUp(left(p), key);
-        } else {
-            return lookUp(right(p), key);
+        Position<Entry<K, V>> current = p;
+        Position<Entry<K, V>> last = isRoot(p) ? null : parent(p);
+        while (isInternal(current)) {
+            int comp = compare(key, current.getElement().getKey());
+            if (comp == 0) {
+                // Return the position that contains the entry with the key
+                return current;
+            }
+            last = current;
+            current = comp < 0 ? left(current) : right(current);
         }
+        // We have reached the dummy/sentinel node, which is shared by every leaf,
+        // so point it back at the last position visited before returning it
+        return tree.sentinelBelow(last);
     }
 
     @Override
@@ -130,21 +139,17 @@ public class BinarySearchTreeMap<K extends Comparable<K>, V> extends AbstractOrd
 
     @Override
     public V put(K key, V value) {
-        // Create the new map entry
-        Entry<K, V> newEntry = new MapEntry<K, V>(key, value);
-
         // Get the last node visited when looking for the key
         Position<Entry<K, V>> p = lookUp(root(), key);
 
         // If the last node visited is a dummy/sentinel node
         if (isLeaf(p)) {
-            expandLeaf(p, newEntry);
+            p = expandLeaf(p, key, value);
             // actionOnInsert is a "hook" for our AVL, Splay, and Red-Black Trees to use
             actionOnInsert(p);
             return null;
         } else {
-            V original = p.getElement().getValue();
-            set(p, newEntry);
+            V original = tree.setValue(p, value);
             // actionOnAccess is a "hook" for our AVL, Splay, and Red-Black Trees to use
             actionOnAccess(p);
             return original;
@@ -163,54 +168,410 @@ public class BinarySearchTreeMap<K extends Comparable<K>, V> extends AbstractOrd
             return null;
         } else {
             V original = p.getElement().getValue();
-            // If the node has two children (that are not dummy/sentinel nodes)
-            if (isInternal(left(p)) && isInternal(right(p))) {
-                // Replace with the inorder successor
-                Position<Entry<K, V>> replacement = treeMin(right(p));
-                set(p, replacement.getElement());
-                // Move the reference p to the replacement node in the right subtree
-                p = replacement;
-            }
-            // Get the dummy/sentinel node (in case the node has an actual entry as a
-            // child)...
-            Position<Entry<K, V>> leaf = (isLeaf(left(p)) ? left(p) : right(p));
-            // ... then get its sibling (will be another sentinel or an actual entry node)
-            Position<Entry<K, V>> sib = sibling(leaf);
-            // Remove the leaf NODE (this is your LinkedBinaryTree remove method)
-            remove(leaf);
-            // Remove the NODE (this is your LinkedBinaryTree remove method)
-            // which will "promote" the sib node to replace p
-            remove(p);
-            // actionOnDelete is a "hook" for our AVL, Splay, and Red-Black Trees to use
-            actionOnDelete(sib);
+            removeEntry(p);
             return original;
         }
     }
 
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        // Get the last node visited when looking for the key
+        Position<Entry<K, V>> p = lookUp(root(), key);
+        V original = isLeaf(p) ? null : p.getElement().getValue();
+        V value = remappingFunction.apply(key, original);
+        if (isLeaf(p)) {
+            if (value == null) {
+                actionOnAccess(p);
+            } else {
+                actionOnInsert(expandLeaf(p, key, value));
+            }
+        } else if (value == null) {
+            removeEntry(p);
+        } else {
+            tree.setValue(p, value);
+            actionOnAccess(p);
+        }
+        return value;
+    }
+
+    /**
+     * {@inheritDoc} If the tree is empty and the batch is sorted by key, the tree
+     * is built directly in O(n) time: the middle entry of each range becomes the
+     * root of that range's subtree, so the result is perfectly balanced, and
+     * {@link #actionOnBuild} lets balanced search trees set up their properties.
+     * Otherwise, the entries are added one at a time.
+     */
+    @Override
+    public void putAll(Iterable<? extends Entry<K, V>> entries) {
+        List<Entry<K, V>> batch = isEmpty() ? sortedBatch(entries) : null;
+        if (batch == null) {
+            super.putAll(entries);
+            return;
+        }
+        if (!batch.isEmpty()) {
+            // The deepest position of a tree built from the middle of each range
+            int maxDepth = 31 - Integer.numberOfLeadingZeros(batch.size());
+            build(null, false, batch, 0, batch.size() - 1, 0, maxDepth);
+        }
+    }
+
+    /**
+     * Stores the entries in the given range of a sorted batch in a new subtree
+     * that replaces a sentinel child of the given parent
+     * 
+     * @param parent        the parent of the new subtree, or null to build the
+     *                      subtree at the root
+     * @param makeLeftChild whether the subtree replaces the left (true) or right
+     *                      (false) child of the parent
+     * @param batch         the entries, sorted by strictly increasing keys
+     * @param low           the index of the first entry in the range
+     * @param high          the index of the last entry in the range
+     * @param depth         the depth of the root of the new subtree
+     * @param maxDepth      the depth of the deepest position that will hold an
+     *                      entry
+     */
+    private void build(Position<Entry<K, V>> parent, boolean makeLeftChild, List<Entry<K, V>> batch, int low,
+            int high, int depth, int maxDepth) {
+        if (low > high) {
+            return;
+        }
+        int mid = (low + high) / 2;
+        Entry<K, V> entry = batch.get(mid);
+        // The sizes of the ancestors already count this range
+        Position<Entry<K, V>> p = tree.expand(parent, makeLeftChild, entry.getKey(), entry.getValue(),
+                high - low + 1);
+        build(p, true, batch, low, mid - 1, depth + 1, maxDepth);
+        build(p, false, batch, mid + 1, high, depth + 1, maxDepth);
+        // actionOnBuild is a "hook" for our AVL and Red-Black Trees to use
+        actionOnBuild(p, depth, maxDepth);
+    }
+
+    /**
+     * Removes the entry stored at the given position, which must not be a
+     * dummy/sentinel node
+     * 
+     * @param p the position of the entry to remove
+     */
+    private void removeEntry(Position<Entry<K, V>> p) {
+        // If the node has two children (that are not dummy/sentinel nodes)
+        if (isInternal(left(p)) && isInternal(right(p))) {
+            // Swap the node with its inorder successor, which has no left child.
+            // The nodes trade places instead of entries, since each node is the
+            // entry that callers may still hold.
+            tree.swap(p, treeMin(right(p)));
+        }
+        // Get the child that will be "promoted" to replace p (another sentinel
+        // or an actual entry node)
+        Position<Entry<K, V>> sib = isLeaf(left(p)) ? right(p) : left(p);
+        // Remove the NODE, which links sib (even the shared sentinel) to p's parent
+        remove(p);
+        // actionOnDelete is a "hook" for our AVL, Splay, and Red-Black Trees to use
+        actionOnDelete(sib);
+    }
+
     /**
      * Locates and returns the position in the tree that stores the inorder
      * successor of the key in p. In other words, find the position that contains
      * the minimum key in the subtree rooted at p.
      * 
-     * @param p the position that represents the root of the subtree being searched
+     * @param p the position that represents the root of the subtree being
+     *          searched, which must not be a dummy/sentinel node
      * @return the position in the tree that stores the inorder successor of the key
      *         in p
      */
     private Position<Entry<K, V>> treeMin(Position<Entry<K, V>> p) {
         Position<Entry<K, V>> current = p;
-        while (isInternal(current)) {
+        while (isInternal(left(current))) {
             current = left(current);
         }
-        return parent(current);
+        return current;
     }
 
     @Override
     public Iterable<Entry<K, V>> entrySet() {
-        EntryCollection collection = new EntryCollection();
-        for (Position<Entry<K, V>> n : tree.inOrder()) {
-            collection.add(n.getElement());
+        return new EntryIterable();
+    }
+
+    /**
+     * A live view of the entries in the tree. Iterating the view performs an
+     * inorder traversal of the tree one position at a time instead of copying
+     * the entries first.
+     * 
+     * @author Ben Morris
+     */
+    private class EntryIterable implements Iterable<Entry<K, V>> {
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new EntryIterator();
+        }
+    }
+
+    /**
+     * EntryIterator visits the positions of the tree in inorder (sorted key
+     * order) by stepping from each position to its inorder successor. Rotations
+     * relink positions without changing the entries they hold or their inorder
+     * order, so restructuring the tree (for example, splaying on access) does not
+     * disturb the iteration.
+     * 
+     * @author Ben Morris
+     */
+    private class EntryIterator implements Iterator<Entry<K, V>> {
+        /** The position to return next, or null if the iteration is complete */
+        private Position<Entry<K, V>> next;
+        /** The position most recently returned by next(), or null */
+        private Position<Entry<K, V>> lastReturned;
+
+        /**
+         * Constructs a new iterator positioned before the smallest key
+         */
+        EntryIterator() {
+            this(isInternal(root()) ? treeMin(root()) : null);
+        }
+
+        /**
+         * Constructs a new iterator positioned before the entry at the given
+         * position
+         * 
+         * @param start the position of the first entry to return, or null if
+         *              there are no entries to return
+         */
+        EntryIterator(Position<Entry<K, V>> start) {
+            next = start;
+            lastReturned = null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (next == null) {
+                throw new NoSuchElementException("There are no more elements.");
+            }
+            lastReturned = next;
+            next = successor(next);
+            return lastReturned.getElement();
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException("Successful next() not yet called.");
+            }
+            // Removing a position never moves another entry to a different node,
+            // so the next position is still valid
+            BinarySearchTreeMap.this.remove(lastReturned.getElement().getKey());
+            lastReturned = null;
+        }
+    }
+
+    @Override
+    public Entry<K, V> firstEntry() {
+        if (isEmpty()) {
+            return null;
         }
-        return collection;
+        Position<Entry<K, V>> p = treeMin(root());
+        actionOnAccess(p);
+        return snapshot(p.getElement());
+    }
+
+    @Override
+    public Entry<K, V> lastEntry() {
+        if (isEmpty()) {
+            return null;
+        }
+        Position<Entry<K, V>> p = root();
+        while (isInternal(right(p))) {
+            p = right(p);
+        }
+        actionOnAccess(p);
+        return snapshot(p.getElement());
+    }
+
+    @Override
+    public Entry<K, V> floorEntry(K key) {
+        Position<Entry<K, V>> p = nearest(key, true, true);
+        return p == null ? null : snapshot(p.getElement());
+    }
+
+    @Override
+    public Entry<K, V> lowerEntry(K key) {
+        Position<Entry<K, V>> p = nearest(key, true, false);
+        return p == null ? null : snapshot(p.getElement());
+    }
+
+    @Override
+    public Entry<K, V> ceilingEntry(K key) {
+        Position<Entry<K, V>> p = nearest(key, false, true);
+        return p == null ? null : snapshot(p.getElement());
+    }
+
+    @Override
+    public Entry<K, V> higherEntry(K key) {
+        Position<Entry<K, V>> p = nearest(key, false, false);
+        return p == null ? null : snapshot(p.getElement());
+    }
+
+    /**
+     * {@inheritDoc} The first entry is located with a single path down the tree,
+     * and the iteration steps from each position to its inorder successor, so a
+     * range of k entries takes O(logn + k) time on a balanced tree.
+     */
+    @Override
+    protected Iterator<Entry<K, V>> entriesFrom(K fromKey, boolean inclusive) {
+        return new EntryIterator(nearest(fromKey, false, inclusive));
+    }
+
+    /**
+     * Returns the number of entries with keys strictly less than the given key,
+     * which is the index the key has (or would have) in key order. Each position
+     * counts the entries in its subtree, so this takes a single path down the
+     * tree: O(logn) time for balanced trees.
+     * 
+     * @param key the key to rank
+     * @return the number of entries with smaller keys
+     */
+    public int rank(K key) {
+        int rank = 0;
+        Position<Entry<K, V>> last = null;
+        Position<Entry<K, V>> current = root();
+        while (isInternal(current)) {
+            last = current;
+            int comp = compare(key, current.getElement().getKey());
+            if (comp <= 0) {
+                if (comp == 0) {
+                    rank += tree.subtreeSize(left(current));
+                    break;
+                }
+                current = left(current);
+            } else {
+                // Every key in the left subtree and the current key are smaller
+                rank += tree.subtreeSize(left(current)) + 1;
+                current = right(current);
+            }
+        }
+        if (last != null) {
+            // actionOnAccess is a "hook" for our AVL, Splay, and Red-Black Trees to use
+            actionOnAccess(last);
+        }
+        return rank;
+    }
+
+    /**
+     * Returns the entry with the given index in key order, so select(0) is the
+     * entry with the smallest key and select(size() - 1) is the entry with the
+     * largest. Like {@link #rank}, this takes O(logn) time for balanced trees.
+     * 
+     * @param index the number of entries with smaller keys than the entry to
+     *              return
+     * @return a snapshot of the entry with the given index in key order
+     * @throws IndexOutOfBoundsException if the index is negative or not less
+     *                                   than the size of the map
+     */
+    public Entry<K, V> select(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index is invalid: " + index + " (size=" + size() + ")");
+        }
+        int remaining = index;
+        Position<Entry<K, V>> current = root();
+        while (true) {
+            int leftSize = tree.subtreeSize(left(current));
+            if (remaining < leftSize) {
+                current = left(current);
+            } else if (remaining == leftSize) {
+                break;
+            } else {
+                remaining -= leftSize + 1;
+                current = right(current);
+            }
+        }
+        // actionOnAccess is a "hook" for our AVL, Splay, and Red-Black Trees to use
+        actionOnAccess(current);
+        return snapshot(current.getElement());
+    }
+
+    /**
+     * Returns the number of entries with keys from lo (inclusive) up to hi
+     * (exclusive), the same entries as {@link #subMap}, in O(logn) time for
+     * balanced trees
+     * 
+     * @param lo the smallest key in the range
+     * @param hi the key just past the end of the range
+     * @return the number of entries with keys in the range
+     * @throws IllegalArgumentException if lo is greater than hi
+     */
+    public int countInRange(K lo, K hi) {
+        if (compare(lo, hi) > 0) {
+            throw new IllegalArgumentException("lo must not be greater than hi.");
+        }
+        return rank(hi) - rank(lo);
+    }
+
+    /**
+     * Performs a traversal down a single path of the tree to locate the position
+     * with the closest key below or above the given key. Like {@link #get}, the
+     * search counts as an access of the last position it visits.
+     * 
+     * @param key       the key to search for
+     * @param below     true to find the largest key below the given key, false to
+     *                  find the smallest key above it
+     * @param inclusive true to accept a key equal to the given key
+     * @return the position with the closest key, or null if there is none
+     */
+    private Position<Entry<K, V>> nearest(K key, boolean below, boolean inclusive) {
+        Position<Entry<K, V>> best = null;
+        Position<Entry<K, V>> last = null;
+        Position<Entry<K, V>> current = root();
+        while (isInternal(current)) {
+            last = current;
+            int comp = compare(key, current.getElement().getKey());
+            if (comp == 0 && inclusive) {
+                best = current;
+                break;
+            }
+            if (below) {
+                // A key smaller than the target is the best so far; look right for a closer one
+                if (comp > 0) {
+                    best = current;
+                    current = right(current);
+                } else {
+                    current = left(current);
+                }
+            } else {
+                // A key larger than the target is the best so far; look left for a closer one
+                if (comp < 0) {
+                    best = current;
+                    current = left(current);
+                } else {
+                    current = right(current);
+                }
+            }
+        }
+        if (last != null) {
+            // actionOnAccess is a "hook" for our AVL, Splay, and Red-Black Trees to use
+            actionOnAccess(last);
+        }
+        return best;
+    }
+
+    /**
+     * Returns the position that holds the inorder successor of the entry at the
+     * given position, or null if the position holds the largest key
+     * 
+     * @param p a position that holds an entry
+     * @return the position of the inorder successor, or null
+     */
+    private Position<Entry<K, V>> successor(Position<Entry<K, V>> p) {
+        if (isInternal(right(p))) {
+            return treeMin(right(p));
+        }
+        Position<Entry<K, V>> current = p;
+        while (!isRoot(current) && current.equals(right(parent(current)))) {
+            current = parent(current);
+        }
+        return isRoot(current) ? null : parent(current);
     }
 
     @Override
@@ -247,13 +608,29 @@ public class BinarySearchTreeMap<K extends Comparable<K>, V> extends AbstractOrd
         // Do nothing for BST
     }
 
+    /**
+     * A method hook that is executed for each position that a bulk build adds to
+     * the tree, after both of its subtrees have been built. Every position of the
+     * built tree is within one level of the deepest position.
+     * 
+     * @param p        the position p that should be acted upon
+     * @param depth    the depth of p
+     * @param maxDepth the depth of the deepest position in the built tree
+     */
+    protected void actionOnBuild(Position<Entry<K, V>> p, int depth, int maxDepth) {
+        // Do nothing for BST
+    }
+
     /**
      * The BalanceableBinaryTree is implemented as a linked data structure to
      * support efficient Tree abstract data type behaviors.
      * 
      * We create a {@link BalanceableBinaryTree} class to handle rotation and
-     * relinking logic for binary trees. All behaviors delegate to
-     * {@link LinkedBinaryTree}.
+     * relinking logic for binary trees. Navigation delegates to
+     * {@link LinkedBinaryTree}, but the tree links its own {@link BSTNode}s: every
+     * missing child is the tree's one shared sentinel, whose parent is whichever
+     * position most recently linked to it, searched down to it, or was removed
+     * above it. The size of the tree is the number of nodes that hold entries.
      * 
      * The BalanceableBinaryTree class is based on the implementation developed for
      * use with the textbook:
@@ -262,12 +639,28 @@ public class BinarySearchTreeMap<K extends Comparable<K>, V> extends AbstractOrd
      * Roberto Tamassia, and Michael H. Goldwasser John Wiley & Sons, 2014
      * 
      * @author Dr. King
+     * @author Ben Morris
      *
      * @param <K> the type of keys stored in the binary tree
      * @param <V> the type of values associated with keys in the binary tree
      */
     protected static class BalanceableBinaryTree<K, V> extends LinkedBinaryTree<Entry<K, V>> {
 
+        /** The sentinel leaf shared by every node of the tree; it holds no entry */
+        private final BSTNode<K, V> sentinel;
+
+        /** The number of nodes that hold entries */
+        private int size;
+
+        /**
+         * Constructs a new empty tree, whose root is the sentinel leaf
+         */
+        public BalanceableBinaryTree() {
+            sentinel = new BSTNode<K, V>();
+            setRoot(sentinel);
+            size = 0;
+        }
+
         /**
          * Relink two positions to create a parent-child relationship
          * 
@@ -293,9 +686,9 @@ public class BinarySearchTreeMap<K extends Comparable<K>, V> extends AbstractOrd
          * @param p the position to rotate around its parent
          */
         public void rotate(Position<Entry<K, V>> p) {
-        	BSTNode<Entry<K, V>> node = (BSTNode<Entry<K, V>>) p;
-        	BSTNode<Entry<K, V>> parentNode = (BSTNode<Entry<K, V>>) parent(p);
-        	BSTNode<Entry<K, V>> grandparentNode = (BSTNode<Entry<K, V>>) parent(parent(p));
+        	BSTNode<K, V> node = (BSTNode<K, V>) p;
+        	BSTNode<K, V> parentNode = (BSTNode<K, V>) parent(p);
+        	BSTNode<K, V> grandparentNode = (BSTNode<K, V>) parent(parent(p));
         	
         	// Check whether the rotation is a single rotation (no grandparent exists).
         	if (grandparentNode == null) {
@@ -314,13 +707,16 @@ public class BinarySearchTreeMap<K extends Comparable<K>, V> extends AbstractOrd
         	// Regardless of whether a grandparent exists,
         	// relink the parent and node and transfer node's subtree.
         	if (left(parentNode) != null && left(parentNode).equals(node)) {
-        		relink(parentNode, (BSTNode<Entry<K, V>>) right(node), true);
+        		relink(parentNode, (BSTNode<K, V>) right(node), true);
         		relink(node, parentNode, false);
         	}
         	else {
-        		relink(parentNode, (BSTNode<Entry<K, V>>) left(node), false);
+        		relink(parentNode, (BSTNode<K, V>) left(node), false);
         		relink(node, parentNode, true);
         	}
+        	// The parent is now the node's child, so its size must be recomputed first
+        	resize(parentNode);
+        	resize(node);
         }
 
         /**
@@ -333,9 +729,9 @@ public class BinarySearchTreeMap<K extends Comparable<K>, V> extends AbstractOrd
          */
         public Position<Entry<K, V>> restructure(Position<Entry<K, V>> x) {
         	// Track the three nodes involved in the restructuring
-        	BSTNode<Entry<K, V>> node = (BSTNode<Entry<K, V>>) x;
-        	BSTNode<Entry<K, V>> parentNode = (BSTNode<Entry<K, V>>) parent(x);
-        	BSTNode<Entry<K, V>> grandparentNode = (BSTNode<Entry<K, V>>) parent(parent(x));
+        	BSTNode<K, V> node = (BSTNode<K, V>) x;
+        	BSTNode<K, V> parentNode = (BSTNode<K, V>) parent(x);
+        	BSTNode<K, V> grandparentNode = (BSTNode<K, V>) parent(parent(x));
         	//if node and parent are both left children OR both right children then
             // rotate the parent around the grandparent
         	if(left(parentNode) != null && left(parentNode).equals(node) &&
@@ -353,15 +749,282 @@ public class BinarySearchTreeMap<K extends Comparable<K>, V> extends AbstractOrd
         	}
         }
 
+        /**
+         * Replaces a sentinel child of the given parent (or the sentinel root) with
+         * a new node that holds the given key and value and has 2 sentinel children
+         * 
+         * @param parent        the parent of the new node, or null to make the new
+         *                      node the root of an empty tree
+         * @param makeLeftChild indicates whether the new node should be a left
+         *                      child (true) or not (false)
+         * @param key           the key to store in the new node
+         * @param value         the value to store in the new node
+         * @return the position of the new node
+         * @throws IllegalArgumentException if the child to replace is not the
+         *                                  sentinel
+         */
+        public Position<Entry<K, V>> expand(Position<Entry<K, V>> parent, boolean makeLeftChild, K key, V value) {
+            Position<Entry<K, V>> p = expand(parent, makeLeftChild, key, value, 1);
+            addToAncestors(parent, 1);
+            return p;
+        }
+
+        /**
+         * Replaces a sentinel child of the given parent (or the sentinel root) with
+         * a new node that will become the root of a subtree with the given number
+         * of entries. This is for building a tree from the top down when the size
+         * of each subtree is known in advance: the sizes of the new node's
+         * ancestors are not changed, since they already count its subtree, and the
+         * caller must then add exactly that many entries below the new node.
+         * 
+         * @param parent        the parent of the new node, or null to make the new
+         *                      node the root of an empty tree
+         * @param makeLeftChild indicates whether the new node should be a left
+         *                      child (true) or not (false)
+         * @param key           the key to store in the new node
+         * @param value         the value to store in the new node
+         * @param subtreeSize   the number of entries the subtree rooted at the new
+         *                      node will hold
+         * @return the position of the new node
+         * @throws IllegalArgumentException if the child to replace is not the
+         *                                  sentinel
+         */
+        public Position<Entry<K, V>> expand(Position<Entry<K, V>> parent, boolean makeLeftChild, K key, V value,
+                int subtreeSize) {
+            BSTNode<K, V> node = new BSTNode<K, V>(key, value);
+            node.setSubtreeSize(subtreeSize);
+            node.setLeft(sentinel);
+            node.setRight(sentinel);
+            if (parent == null) {
+                if (root() != sentinel) {
+                    throw new IllegalArgumentException("The tree already has a root.");
+                }
+                setRoot(node);
+            } else {
+                BinaryTreeNode<Entry<K, V>> parentNode = validate(parent);
+                if ((makeLeftChild ? parentNode.getLeft() : parentNode.getRight()) != sentinel) {
+                    throw new IllegalArgumentException("Node already has a child there.");
+                }
+                relink(parentNode, node, makeLeftChild);
+            }
+            size++;
+            return node;
+        }
+
+        /**
+         * Returns the sentinel leaf, first making the given position its parent
+         * 
+         * @param parent the position whose child the sentinel should act as, or
+         *               null if the sentinel is the root
+         * @return the sentinel leaf
+         */
+        public Position<Entry<K, V>> sentinelBelow(Position<Entry<K, V>> parent) {
+            sentinel.setParent(parent == null ? null : validate(parent));
+            return sentinel;
+        }
+
+        /**
+         * Replaces the value of the entry at the given position
+         * 
+         * @param p     the position of the entry, which must not be the sentinel
+         * @param value the new value of the entry
+         * @return the original value of the entry
+         */
+        public V setValue(Position<Entry<K, V>> p, V value) {
+            BSTNode<K, V> node = validateEntry(p);
+            V original = node.getValue();
+            node.setValue(value);
+            return original;
+        }
+
+        @Override
+        public Position<Entry<K, V>> addRoot(Entry<K, V> element) {
+            return expand(null, false, element.getKey(), element.getValue());
+        }
+
+        @Override
+        public Position<Entry<K, V>> addLeft(Position<Entry<K, V>> p, Entry<K, V> element) {
+            return expand(p, true, element.getKey(), element.getValue());
+        }
+
+        @Override
+        public Position<Entry<K, V>> addRight(Position<Entry<K, V>> p, Entry<K, V> element) {
+            return expand(p, false, element.getKey(), element.getValue());
+        }
+
+        /**
+         * {@inheritDoc} The key and value of the given entry are copied into the
+         * node, since each node is its own entry.
+         * 
+         * @return a copy of the original entry at the position
+         */
         @Override
-        protected BinaryTreeNode<Entry<K, V>> createNode(Entry<K, V> element, BinaryTreeNode<Entry<K, V>> parent,
-                BinaryTreeNode<Entry<K, V>> left, BinaryTreeNode<Entry<K, V>> right) {
-            BSTNode<Entry<K, V>> newNode = new BSTNode<Entry<K, V>>(element);
-            newNode.setParent(parent);
-            newNode.setLeft(left);
-            newNode.setRight(right);
-            newNode.setProperty(0);
-            return newNode;
+        public Entry<K, V> set(Position<Entry<K, V>> p, Entry<K, V> element) {
+            BSTNode<K, V> node = validateEntry(p);
+            Entry<K, V> original = new MapEntry<K, V>(node.getKey(), node.getValue());
+            node.setKey(element.getKey());
+            node.setValue(element.getValue());
+            return original;
+        }
+
+        /**
+         * Swaps the places of two nodes in the tree. Each node keeps its own key
+         * and value but takes the other node's parent, children, property, and
+         * subtree size, so the shape and the properties of the tree are unchanged.
+         * 
+         * @param p the position of the first node, which must not be the sentinel
+         * @param q the position of the second node, which must not be the sentinel
+         */
+        public void swap(Position<Entry<K, V>> p, Position<Entry<K, V>> q) {
+            BSTNode<K, V> a = validateEntry(p);
+            BSTNode<K, V> b = validateEntry(q);
+            BinaryTreeNode<Entry<K, V>> aParent = a.getParent();
+            BinaryTreeNode<Entry<K, V>> aLeft = a.getLeft();
+            BinaryTreeNode<Entry<K, V>> aRight = a.getRight();
+            BinaryTreeNode<Entry<K, V>> bParent = b.getParent();
+            BinaryTreeNode<Entry<K, V>> bLeft = b.getLeft();
+            BinaryTreeNode<Entry<K, V>> bRight = b.getRight();
+            boolean aIsLeft = aParent != null && aParent.getLeft() == a;
+            boolean bIsLeft = bParent != null && bParent.getLeft() == b;
+            // If one node is the other's parent, the two links between them flip
+            if (bParent == a) {
+                bParent = b;
+            } else if (aParent == b) {
+                aParent = a;
+            }
+            if (aLeft == b) {
+                aLeft = a;
+            } else if (aRight == b) {
+                aRight = a;
+            }
+            if (bLeft == a) {
+                bLeft = b;
+            } else if (bRight == a) {
+                bRight = b;
+            }
+            linkBelow(aParent, b, aIsLeft);
+            linkBelow(bParent, a, bIsLeft);
+            relink(b, aLeft, true);
+            relink(b, aRight, false);
+            relink(a, bLeft, true);
+            relink(a, bRight, false);
+            int property = a.getProperty();
+            a.setProperty(b.getProperty());
+            b.setProperty(property);
+            int subtreeSize = a.getSubtreeSize();
+            a.setSubtreeSize(b.getSubtreeSize());
+            b.setSubtreeSize(subtreeSize);
+        }
+
+        /**
+         * Links a node as a child of the given parent, or as the root if the
+         * parent is null
+         * 
+         * @param parent        the new parent of the node, or null
+         * @param child         the node to link
+         * @param makeLeftChild indicates whether the node should be a left child
+         *                      (true) or not (false)
+         */
+        private void linkBelow(BinaryTreeNode<Entry<K, V>> parent, BinaryTreeNode<Entry<K, V>> child,
+                boolean makeLeftChild) {
+            if (parent == null) {
+                setRoot(child);
+                child.setParent(null);
+            } else {
+                relink(parent, child, makeLeftChild);
+            }
+        }
+
+        /**
+         * {@inheritDoc} The position must have at least one sentinel child. Its
+         * other child (possibly the sentinel) is promoted to take its place, and
+         * becomes the parent's child even if it is the sentinel.
+         * 
+         * @throws IllegalArgumentException if the position is the sentinel or has
+         *                                  two children that hold entries
+         */
+        @Override
+        public Entry<K, V> remove(Position<Entry<K, V>> p) {
+            BSTNode<K, V> node = validateEntry(p);
+            BinaryTreeNode<Entry<K, V>> child;
+            if (node.getLeft() == sentinel) {
+                child = node.getRight();
+            } else if (node.getRight() == sentinel) {
+                child = node.getLeft();
+            } else {
+                throw new IllegalArgumentException("The node has two children");
+            }
+            BinaryTreeNode<Entry<K, V>> parentNode = node.getParent();
+            if (parentNode == null) {
+                setRoot(child);
+                child.setParent(null);
+            } else {
+                relink(parentNode, child, parentNode.getLeft() == node);
+                addToAncestors(parentNode, -1);
+            }
+            size--;
+            return node;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Returns the number of entries in the subtree rooted at the given
+         * position, which is 0 for the sentinel
+         * 
+         * @param p the root of the subtree
+         * @return the number of entries in the subtree
+         */
+        public int subtreeSize(Position<Entry<K, V>> p) {
+            if (p == null) {
+                return 0;
+            }
+            BSTNode<K, V> node = (BSTNode<K, V>) p;
+            return node.getSubtreeSize();
+        }
+
+        /**
+         * Recomputes the subtree size of a node from the sizes of its children
+         * 
+         * @param node the node whose subtree size to recompute, which must not be
+         *             the sentinel
+         */
+        private void resize(BSTNode<K, V> node) {
+            node.setSubtreeSize(1 + subtreeSize(node.getLeft()) + subtreeSize(node.getRight()));
+        }
+
+        /**
+         * Adds the given amount to the subtree size of the given position and of
+         * each of its ancestors
+         * 
+         * @param p     the lowest position whose subtree size changed
+         * @param delta the number of entries added to (or removed from, if
+         *              negative) the subtree
+         */
+        private void addToAncestors(Position<Entry<K, V>> p, int delta) {
+            BSTNode<K, V> node = (BSTNode<K, V>) p;
+            while (node != null) {
+                node.setSubtreeSize(node.getSubtreeSize() + delta);
+                node = (BSTNode<K, V>) node.getParent();
+            }
+        }
+
+        /**
+         * Safely casts a Position, p, to be a {@link BSTNode} that holds an entry
+         * 
+         * @param p the position to cast
+         * @return a reference to the node
+         * @throws IllegalArgumentException if p is not a node of a binary search
+         *                                  tree, or is the sentinel
+         */
+        private BSTNode<K, V> validateEntry(Position<Entry<K, V>> p) {
+            if (!(p instanceof BSTNode) || p == sentinel) {
+                throw new IllegalArgumentException("Position does not hold an entry");
+            }
+            return (BSTNode<K, V>) p;
         }
 
         /**
@@ -371,11 +1034,19 @@ public class BinarySearchTreeMap<K extends Comparable<K>, V> extends AbstractOrd
          * represents the height of the node; In a red-black tree, this extra
          * information represents the color of the node
          * 
+         * The node also stores its key and value inline and is itself the entry
+         * held at its position, so no separate map entry is allocated, and it
+         * counts the entries in its subtree so the tree can find an entry by rank.
+         * The sentinel node holds no entry, and its property and subtree size are
+         * always 0.
+         * 
          * @author Dr. King
+         * @author Ben Morris
          *
-         * @param <E> the element stored in the binary search tree node
+         * @param <K> the type of key stored in the node
+         * @param <V> the type of value stored in the node
          */
-        protected static class BSTNode<E> extends BinaryTreeNode<E> {
+        protected static class BSTNode<K, V> extends BinaryTreeNode<Entry<K, V>> implements Entry<K, V> {
 
         	/** 
         	 * Property field 
@@ -383,16 +1054,72 @@ public class BinarySearchTreeMap<K extends Comparable<K>, V> extends AbstractOrd
         	 */
             private int property;
 
+            /** The number of entries in the subtree rooted at the node */
+            private int subtreeSize;
+
+            /** The key of the entry held by the node */
+            private K key;
+
+            /** The value of the entry held by the node */
+            private V value;
+
             /**
-             * Constructs a binary search tree node with the provided element
+             * Constructs a sentinel node, which holds no entry
+             */
+            public BSTNode() {
+                super(null);
+                setProperty(0);
+            }
+
+            /**
+             * Constructs a binary search tree node that holds the provided key and
+             * value as its entry
              * 
-             * @param element the element to store in the binary search tree node
+             * @param key   the key to store in the binary search tree node
+             * @param value the value to store in the binary search tree node
              */
-            public BSTNode(E element) {
-                super(element);
+            public BSTNode(K key, V value) {
+                super(null);
+                setElement(this);
+                setKey(key);
+                setValue(value);
                 setProperty(0);
             }
 
+            @Override
+            public K getKey() {
+                return key;
+            }
+
+            @Override
+            public V getValue() {
+                return value;
+            }
+
+            /**
+             * Sets the key of the entry held by the node
+             * 
+             * @param key the new key
+             */
+            private void setKey(K key) {
+                this.key = key;
+            }
+
+            /**
+             * Sets the value of the entry held by the node
+             * 
+             * @param value the new value
+             */
+            public void setValue(V value) {
+                this.value = value;
+            }
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public int compareTo(Entry<K, V> o) {
+                return ((Comparable<K>) this.key).compareTo(o.getKey());
+            }
+
             /**
              * Sets the property of the binary search tree node.
              * 
@@ -403,6 +1130,24 @@ public class BinarySearchTreeMap<K extends Comparable<K>, V> extends AbstractOrd
                 this.property = property;
             }
 
+            /**
+             * Sets the number of entries in the subtree rooted at the node
+             * 
+             * @param subtreeSize the number of entries in the subtree
+             */
+            private void setSubtreeSize(int subtreeSize) {
+                this.subtreeSize = subtreeSize;
+            }
+
+            /**
+             * Returns the number of entries in the subtree rooted at the node
+             * 
+             * @return the number of entries in the subtree
+             */
+            private int getSubtreeSize() {
+                return subtreeSize;
+            }
+
             /**
              * Returns the propert of the binary search tree node.
              * 
@@ -425,21 +1170,23 @@ public class BinarySearchTreeMap<K extends Comparable<K>, V> extends AbstractOrd
             if (p == null) {
                 return 0;
             }
-            BSTNode<Entry<K, V>> node = (BSTNode<Entry<K, V>>) p;
+            BSTNode<K, V> node = (BSTNode<K, V>) p;
             return node.getProperty();
         }
 
         /**
          * Sets the property of a given position. The position must first be cast to a
-         * {@link BSTNode}.
+         * {@link BSTNode}. The property of the shared sentinel always stays 0.
          * 
          * @param p     the position for which to set the property information
          * @param value the value to set for the property information for the provided
          *              position in the tree
          */
         public void setProperty(Position<Entry<K, V>> p, int value) {
-            BSTNode<Entry<K, V>> node = (BSTNode<Entry<K, V>>) (p);
-            node.setProperty(value);
+            if (p != sentinel) {
+                BSTNode<K, V> node = (BSTNode<K, V>) (p);
+                node.setProperty(value);
+            }
         }
     }
 
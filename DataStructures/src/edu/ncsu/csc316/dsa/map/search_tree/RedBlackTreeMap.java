@@ -139,21 +139,21 @@ public class RedBlackTreeMap<K extends Comparable<K>, V> extends BinarySearchTre
     	
     	if (isBlack(sibling))
     	// CASE 1: trinode restructuring
-    		// If both siblings' children are red, temp is the opposite child 
-    		// of sibling that sibling is of parent
-    		if (isRed(left(sibling)) && isRed(right(sibling))) {
-    			if (sibling.equals(left(parent)))
-    				siblingIsLeft = true;
-    			else
-    				siblingIsLeft = false; // Parent is right child of grandparent
-    			if (siblingIsLeft)
-    				temp = left(sibling);
-    			else
-    				temp = right(sibling);
-    		}
-    		// else if there is just one red, make that red child temp
-    		else if (isRed(left(sibling)) || isRed(right(sibling))) {
-    	    	if (isRed(left(sibling))) 
+    		if (isRed(left(sibling)) || isRed(right(sibling))) {
+    			// If both siblings' children are red, temp is the opposite child 
+    			// of sibling that sibling is of parent
+    			if (isRed(left(sibling)) && isRed(right(sibling))) {
+    				if (sibling.equals(left(parent)))
+    					siblingIsLeft = true;
+    				else
+    					siblingIsLeft = false; // Parent is right child of grandparent
+    				if (siblingIsLeft)
+    					temp = left(sibling);
+    				else
+    					temp = right(sibling);
+    			}
+    			// else if there is just one red, make that red child temp
+    			else if (isRed(left(sibling))) 
     	    		temp = left(sibling);
     	    	else
     	    		temp = right(sibling);
@@ -209,4 +209,19 @@ public class RedBlackTreeMap<K extends Comparable<K>, V> extends BinarySearchTre
             }
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * {@inheritDoc} For a RedBlack tree, every dummy/sentinel leaf of a built
+     * tree is at the depth of the deepest position or one level below it, so
+     * coloring only the deepest positions red (unless the deepest position is the
+     * root) gives every leaf the same black-depth.
+     */
+    @Override
+    protected void actionOnBuild(Position<Entry<K, V>> p, int depth, int maxDepth) {
+        if (depth == maxDepth && depth > 0) {
+            makeRed(p);
+        } else {
+            makeBlack(p);
+        }
+    }
+}
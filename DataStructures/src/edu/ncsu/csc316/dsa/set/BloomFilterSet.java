@@ -0,0 +1,372 @@
+package edu.ncsu.csc316.dsa.set;
+
+import java.util.Iterator;
+
+/**
+ * A Bloom filter set is a probabilistic, space-efficient set that answers
+ * membership queries with no false negatives: if {@link #contains} returns
+ * false, the element was never added. If it returns true, the element was
+ * probably added, but may be a false positive. This makes the filter a cheap
+ * guard in front of expensive lookups when most queries are misses.
+ *
+ * The filter is sized from the number of elements it is expected to hold and
+ * a target false positive rate. Each element sets k bits of a bit array, which
+ * is stored in a long[]. The k bit indexes are derived from one 64-bit hash of
+ * the element with double hashing: the i-th index is h1 + i * h2, modulo the
+ * number of bits.
+ *
+ * A Bloom filter does not store its elements, so it cannot iterate over them,
+ * and a plain Bloom filter cannot remove them (see
+ * {@link CountingBloomFilterSet}). {@link #addAll} and {@link #retainAll} with
+ * another filter of the same class and size combine the two arrays a word at a
+ * time, so the union or intersection takes O(m / 64) time no matter how many
+ * elements were added.
+ *
+ * @author Ben Morris
+ *
+ * @param <E> the type of elements stored in the set
+ */
+public class BloomFilterSet<E> extends AbstractSet<E> {
+
+    /** Slots of the filter, packed into longs */
+    private long[] words;
+
+    /** The number of slots (bits, for a plain Bloom filter) in the filter */
+    private int numSlots;
+
+    /** The number of slots set by each element */
+    private int numHashes;
+
+    /** The number of bits in each slot */
+    private int bitsPerSlot;
+
+    /** The largest value a slot can hold */
+    private long slotMask;
+
+    /** The number of elements added, or an estimate after a union or intersection */
+    private int size;
+
+    /**
+     * Constructs a new Bloom filter set sized to hold the given number of
+     * elements with at most the given rate of false positives
+     *
+     * @param expectedElements  the number of elements the filter is expected to
+     *                          hold
+     * @param falsePositiveRate the target rate of false positives once the
+     *                          filter holds the expected number of elements
+     * @throws IllegalArgumentException if expectedElements is not positive, or
+     *                                  the false positive rate is not between 0
+     *                                  and 1
+     */
+    public BloomFilterSet(int expectedElements, double falsePositiveRate) {
+        this(expectedElements, falsePositiveRate, 1);
+    }
+
+    /**
+     * Constructs a new filter whose slots are the given number of bits wide.
+     * Slots wider than one bit are counters that stop at their largest value.
+     *
+     * @param expectedElements  the number of elements the filter is expected to
+     *                          hold
+     * @param falsePositiveRate the target rate of false positives once the
+     *                          filter holds the expected number of elements
+     * @param bitsPerSlot       the number of bits in each slot, 1 or 4
+     * @throws IllegalArgumentException if expectedElements is not positive, or
+     *                                  the false positive rate is not between 0
+     *                                  and 1
+     */
+    protected BloomFilterSet(int expectedElements, double falsePositiveRate, int bitsPerSlot) {
+        if (expectedElements <= 0) {
+            throw new IllegalArgumentException("Expected number of elements must be positive.");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1 (exclusive).");
+        }
+        // m = -n ln(p) / (ln 2)^2 slots, and k = (m / n) ln 2 hashes
+        double slots = Math.ceil(-expectedElements * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        numSlots = (int) Math.max(64, Math.min(slots, Integer.MAX_VALUE / 4));
+        numHashes = (int) Math.max(1, Math.round((double) numSlots / expectedElements * Math.log(2)));
+        this.bitsPerSlot = bitsPerSlot;
+        slotMask = (1L << bitsPerSlot) - 1;
+        words = new long[(int) (((long) numSlots * bitsPerSlot + 63) / 64)];
+        size = 0;
+    }
+
+    /**
+     * {@inheritDoc} An element counts toward the size only if it sets at least
+     * one slot that was empty, since otherwise it may already be in the set.
+     */
+    @Override
+    public void add(E element) {
+        long hash = hash(element);
+        boolean changed = false;
+        for (int i = 1; i <= numHashes; i++) {
+            changed |= incrementSlot(slot(hash, i));
+        }
+        if (changed) {
+            size++;
+        }
+    }
+
+    /**
+     * Adds every given element to the set
+     *
+     * @param elements the elements to add to the set
+     */
+    public void addAll(Iterable<? extends E> elements) {
+        for (E element : elements) {
+            add(element);
+        }
+    }
+
+    /**
+     * {@inheritDoc} If the other set is a filter of the same class and size,
+     * the filters are combined a word at a time, and the size of this set
+     * becomes an estimate.
+     *
+     * @throws IllegalArgumentException if the other set is a filter of a
+     *                                  different class or size
+     */
+    @Override
+    public void addAll(Set<E> other) {
+        if (other instanceof BloomFilterSet) {
+            combine((BloomFilterSet<E>) other, true);
+        } else {
+            super.addAll(other);
+        }
+    }
+
+    /**
+     * {@inheritDoc} Only another filter of the same class and size can be
+     * intersected with a filter; the result may report more false positives
+     * than a filter built from the common elements alone, and the size of this
+     * set becomes an estimate.
+     *
+     * @throws UnsupportedOperationException if the other set is not a filter
+     * @throws IllegalArgumentException      if the other set is a filter of a
+     *                                       different class or size
+     */
+    @Override
+    public void retainAll(Set<E> other) {
+        if (!(other instanceof BloomFilterSet)) {
+            throw new UnsupportedOperationException("A Bloom filter can only be intersected with another Bloom filter.");
+        }
+        combine((BloomFilterSet<E>) other, false);
+    }
+
+    /**
+     * {@inheritDoc} A false result is always correct; a true result may be a
+     * false positive.
+     */
+    @Override
+    public boolean contains(E element) {
+        long hash = hash(element);
+        for (int i = 1; i <= numHashes; i++) {
+            if (slotValue(slot(hash, i)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A plain Bloom filter cannot remove elements, since the bits of one element
+     * may also belong to others
+     *
+     * @param element the element to remove from the set
+     * @return never returns normally
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public E remove(E element) {
+        throw new UnsupportedOperationException("A Bloom filter cannot remove elements.");
+    }
+
+    /**
+     * A Bloom filter does not store its elements, so it cannot iterate over them
+     *
+     * @return never returns normally
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public Iterator<E> iterator() {
+        throw new UnsupportedOperationException("A Bloom filter cannot iterate over its elements.");
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the expected rate of false positives for the number of elements
+     * currently in the set, (1 - e^(-kn/m))^k
+     *
+     * @return the expected false positive rate
+     */
+    public double getFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-(double) numHashes * size / numSlots), numHashes);
+    }
+
+    /**
+     * Returns the number of slots (bits, for a plain Bloom filter) in the filter
+     *
+     * @return the number of slots in the filter
+     */
+    public int getNumSlots() {
+        return numSlots;
+    }
+
+    /**
+     * Returns the number of slots set by each element
+     *
+     * @return the number of hash functions
+     */
+    public int getNumHashes() {
+        return numHashes;
+    }
+
+    /**
+     * Removes one occurrence of an element that is in the filter by decrementing
+     * each of its slots. Slots that have reached their largest value are left
+     * alone, since they may have overflowed.
+     *
+     * @param element the element to remove
+     * @return true if the element was possibly in the filter and was removed, or
+     *         false if it was definitely not in the filter
+     */
+    protected boolean decrementSlots(E element) {
+        if (!contains(element)) {
+            return false;
+        }
+        long hash = hash(element);
+        for (int i = 1; i <= numHashes; i++) {
+            int slot = slot(hash, i);
+            long value = slotValue(slot);
+            if (value < slotMask) {
+                words[wordIndex(slot)] -= 1L << shift(slot);
+            }
+        }
+        size = Math.max(0, size - 1);
+        return true;
+    }
+
+    /**
+     * Returns the union or intersection of one word of this filter with the
+     * matching word of another filter of the same class and size. For one-bit
+     * slots, these are the bitwise or and and of the words.
+     *
+     * @param word  a word of this filter
+     * @param other the matching word of the other filter
+     * @param union true for the union, false for the intersection
+     * @return the combined word
+     */
+    protected long combineWords(long word, long other, boolean union) {
+        return union ? word | other : word & other;
+    }
+
+    /**
+     * Combines another filter of the same class and size into this one, a word
+     * at a time, and estimates the new size from the number of nonempty slots
+     *
+     * @param other the filter to combine into this one
+     * @param union true for the union, false for the intersection
+     * @throws IllegalArgumentException if the other filter has a different
+     *                                  class or size
+     */
+    private void combine(BloomFilterSet<E> other, boolean union) {
+        if (other.getClass() != getClass() || other.numSlots != numSlots || other.numHashes != numHashes) {
+            throw new IllegalArgumentException("Bloom filters must have the same type, size, and number of hashes.");
+        }
+        for (int i = 0; i < words.length; i++) {
+            words[i] = combineWords(words[i], other.words[i], union);
+        }
+        // n is about -(m / k) ln(1 - X / m) when X of the m slots are nonempty
+        int nonempty = 0;
+        for (int slot = 0; slot < numSlots; slot++) {
+            if (slotValue(slot) != 0) {
+                nonempty++;
+            }
+        }
+        double estimate = -(double) numSlots / numHashes * Math.log(1 - (double) nonempty / numSlots);
+        size = (int) Math.min(Math.round(estimate), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns a 64-bit hash of an element, mixing its hash code with the
+     * finalizer of MurmurHash3
+     *
+     * @param element the element to hash
+     * @return the 64-bit hash of the element
+     */
+    private static long hash(Object element) {
+        long h = element.hashCode();
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Returns the i-th slot of an element with double hashing: the low and high
+     * halves of the element's hash are h1 and h2, and the slot is h1 + i * h2,
+     * modulo the number of slots
+     *
+     * @param hash the 64-bit hash of the element
+     * @param i    which of the element's slots to return, from 1 to k
+     * @return the index of the slot
+     */
+    private int slot(long hash, int i) {
+        int combined = (int) hash + i * (int) (hash >>> 32);
+        if (combined < 0) {
+            combined = ~combined;
+        }
+        return combined % numSlots;
+    }
+
+    /**
+     * Returns the index of the word that holds a slot
+     *
+     * @param slot the index of the slot
+     * @return the index of the word
+     */
+    private int wordIndex(int slot) {
+        return (int) ((long) slot * bitsPerSlot >>> 6);
+    }
+
+    /**
+     * Returns the bit offset of a slot within its word
+     *
+     * @param slot the index of the slot
+     * @return the bit offset of the slot
+     */
+    private int shift(int slot) {
+        return (int) ((long) slot * bitsPerSlot & 63);
+    }
+
+    /**
+     * Returns the value held in a slot
+     *
+     * @param slot the index of the slot
+     * @return the value of the slot
+     */
+    private long slotValue(int slot) {
+        return (words[wordIndex(slot)] >>> shift(slot)) & slotMask;
+    }
+
+    /**
+     * Adds one to a slot, unless it already holds its largest value
+     *
+     * @param slot the index of the slot
+     * @return true if the slot was empty
+     */
+    private boolean incrementSlot(int slot) {
+        long value = slotValue(slot);
+        if (value < slotMask) {
+            words[wordIndex(slot)] += 1L << shift(slot);
+        }
+        return value == 0;
+    }
+}
@@ -0,0 +1,65 @@
+package edu.ncsu.csc316.dsa.set;
+
+/**
+ * A counting Bloom filter set is a {@link BloomFilterSet} whose slots are 4-bit
+ * counters instead of bits, sixteen to a long, so it can remove elements: add
+ * increments an element's k counters, and remove decrements them. It uses four
+ * times the memory of a plain filter with the same false positive rate.
+ *
+ * Every call to add increments the counters, even for an element that may
+ * already be in the set, so each add should be matched by one remove. Removing
+ * an element that was never added can remove other elements that share its
+ * counters, so remove should only be called for elements known to have been
+ * added. A counter that reaches 15 is never decremented again, since it may
+ * have overflowed.
+ *
+ * @author Ben Morris
+ *
+ * @param <E> the type of elements stored in the set
+ */
+public class CountingBloomFilterSet<E> extends BloomFilterSet<E> {
+
+    /**
+     * Constructs a new counting Bloom filter set sized to hold the given number
+     * of elements with at most the given rate of false positives
+     *
+     * @param expectedElements  the number of elements the filter is expected to
+     *                          hold
+     * @param falsePositiveRate the target rate of false positives once the
+     *                          filter holds the expected number of elements
+     * @throws IllegalArgumentException if expectedElements is not positive, or
+     *                                  the false positive rate is not between 0
+     *                                  and 1
+     */
+    public CountingBloomFilterSet(int expectedElements, double falsePositiveRate) {
+        super(expectedElements, falsePositiveRate, 4);
+    }
+
+    /**
+     * Removes the given element from the set by decrementing its counters
+     *
+     * @param element the element to remove from the set
+     * @return the element, or null if it was definitely not in the set
+     */
+    @Override
+    public E remove(E element) {
+        return decrementSlots(element) ? element : null;
+    }
+
+    /**
+     * {@inheritDoc} For counters, the union adds the counters of the two filters
+     * (stopping at 15), so elements in both filters must be removed twice; the
+     * intersection keeps the smaller of each pair of counters.
+     */
+    @Override
+    protected long combineWords(long word, long other, boolean union) {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 4) {
+            long a = (word >>> shift) & 0xfL;
+            long b = (other >>> shift) & 0xfL;
+            long counter = union ? Math.min(15, a + b) : Math.min(a, b);
+            result |= counter << shift;
+        }
+        return result;
+    }
+}
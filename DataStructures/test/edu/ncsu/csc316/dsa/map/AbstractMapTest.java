@@ -0,0 +1,217 @@
+package edu.ncsu.csc316.dsa.map;
+
+import static org.junit.Assert.*;
+import java.util.Iterator;
+import java.util.Random;
+
+import org.junit.Test;
+
+import edu.ncsu.csc316.dsa.list.ArrayBasedList;
+import edu.ncsu.csc316.dsa.list.List;
+
+/**
+ * Contract tests that every Map implementation must pass. The test class for a
+ * map extends this class and implements {@link #newMap()}; JUnit then runs the
+ * test cases below against that map along with the test class's own cases,
+ * which cover the behavior specific to the implementation.
+ *
+ * @author Ben Morris
+ *
+ */
+public abstract class AbstractMapTest {
+
+    /**
+     * Returns a new, empty instance of the map under test
+     *
+     * @return a new, empty map
+     */
+    protected abstract Map<Integer, String> newMap();
+
+    /**
+     * Returns the capacity of the given map's underlying table, so the contract
+     * tests can check that ensureCapacity sizes the table once. Maps without a
+     * table to size return -1, which skips those checks.
+     *
+     * @param map a map returned by {@link #newMap()}
+     * @return the capacity of the map's table, or -1
+     */
+    protected int capacityOf(Map<Integer, String> map) {
+        return -1;
+    }
+
+    /**
+     * Test the output of the compute, computeIfAbsent, merge, and putIfAbsent
+     * behaviors
+     */
+    @Test
+    public void testUpdateMethods() {
+        Map<Integer, String> m = newMap();
+        assertNull(m.putIfAbsent(1, "one"));
+        assertEquals("one", m.putIfAbsent(1, "uno"));
+        assertEquals("one", m.get(1));
+        assertEquals("two", m.computeIfAbsent(2, k -> "two"));
+        assertEquals("two", m.computeIfAbsent(2, k -> "deux"));
+        assertNull(m.computeIfAbsent(3, k -> null));
+        assertEquals(2, m.size());
+
+        assertEquals("one!", m.compute(1, (k, v) -> v + "!"));
+        assertEquals("3null", m.compute(3, (k, v) -> k + "" + v));
+        assertNull(m.compute(3, (k, v) -> null));
+        assertNull(m.get(3));
+        assertNull(m.compute(4, (k, v) -> null));
+        assertEquals(2, m.size());
+
+        assertEquals("four", m.merge(4, "four", (a, b) -> a + b));
+        assertEquals("fourfour", m.merge(4, "four", (a, b) -> a + b));
+        assertNull(m.merge(4, "x", (a, b) -> null));
+        assertNull(m.get(4));
+        assertEquals(2, m.size());
+
+        // Enough new keys to make hash maps resize and trees rebalance
+        for (int i = 0; i < 200; i++) {
+            m.merge(i % 50 + 10, "a", (a, b) -> a + b);
+        }
+        assertEquals(52, m.size());
+        assertEquals("aaaa", m.get(10));
+        for (int i = 10; i < 60; i += 2) {
+            assertNull(m.compute(i, (k, v) -> null));
+        }
+        assertEquals(27, m.size());
+        assertEquals("aaaa", m.get(11));
+        assertNull(m.get(12));
+        assertEquals("one!", m.get(1));
+    }
+
+    /**
+     * Test the output of the ensureCapacity and putAll behaviors
+     */
+    @Test
+    public void testPutAll() {
+        Map<Integer, String> source = new SearchTableMap<Integer, String>();
+        for (int i = 0; i < 1000; i++) {
+            source.put(i, "s" + i);
+        }
+        Map<Integer, String> m = newMap();
+        m.putAll(source.entrySet());
+        assertEquals(1000, m.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("s" + i, m.get(i));
+        }
+
+        // The table is already large enough for the batch
+        int capacity = capacityOf(m);
+        m.ensureCapacity(1000);
+        assertEquals(capacity, capacityOf(m));
+        m.ensureCapacity(4000);
+        capacity = capacityOf(m);
+        for (int i = 1000; i < 4000; i++) {
+            m.put(i, "s" + i);
+        }
+        // No put after ensureCapacity needed to grow the table
+        assertEquals(capacity, capacityOf(m));
+        assertEquals(4000, m.size());
+        for (int i = 0; i < 4000; i++) {
+            assertEquals("s" + i, m.get(i));
+        }
+
+        // Keys already in the map are replaced, and a key repeated within an
+        // unsorted batch keeps its last value, as with put
+        List<Map.Entry<Integer, String>> batch = new ArrayBasedList<Map.Entry<Integer, String>>();
+        batch.addLast(new AbstractMap.MapEntry<Integer, String>(4500, "s4500"));
+        batch.addLast(new AbstractMap.MapEntry<Integer, String>(5, "five"));
+        batch.addLast(new AbstractMap.MapEntry<Integer, String>(4500, "FOUR-FIVE"));
+        m.putAll(batch);
+        assertEquals(4001, m.size());
+        assertEquals("five", m.get(5));
+        assertEquals("FOUR-FIVE", m.get(4500));
+        m.putAll(new SearchTableMap<Integer, String>().entrySet());
+        assertEquals(4001, m.size());
+    }
+
+    /**
+     * Tests removing entries through the entrySet, key, and value iterators.
+     * Every entry must be returned exactly once even though removals change the
+     * map while it is being walked.
+     */
+    @Test
+    public void testIteratorRemove() {
+        Map<Integer, String> map = newMap();
+        Iterator<Map.Entry<Integer, String>> it = map.entrySet().iterator();
+        try {
+            it.remove();
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals("Successful next() not yet called.", e.getMessage());
+        }
+
+        Random rand = new Random(8);
+        for (int round = 0; round < 20; round++) {
+            map = newMap();
+            // Random keys (including 0) give the map clusters, collisions, and
+            // chains of every shape
+            boolean[] present = new boolean[2001];
+            for (int i = 0; i < 300 + 20 * round; i++) {
+                int key = rand.nextInt(2001) - 1000;
+                map.put(key, "s" + key);
+                present[key + 1000] = true;
+            }
+            boolean[] seen = new boolean[2001];
+            boolean[] removed = new boolean[2001];
+            it = map.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Integer, String> entry = it.next();
+                int key = entry.getKey();
+                assertTrue(present[key + 1000]);
+                assertFalse(seen[key + 1000]);
+                assertEquals("s" + key, entry.getValue());
+                seen[key + 1000] = true;
+                if (rand.nextBoolean()) {
+                    it.remove();
+                    removed[key + 1000] = true;
+                    try {
+                        it.remove();
+                        fail();
+                    } catch (IllegalStateException e) {
+                        assertEquals("Successful next() not yet called.", e.getMessage());
+                    }
+                }
+            }
+            int count = 0;
+            for (int key = -1000; key <= 1000; key++) {
+                assertEquals(present[key + 1000], seen[key + 1000]);
+                boolean kept = present[key + 1000] && !removed[key + 1000];
+                assertEquals(kept ? "s" + key : null, map.get(key));
+                if (kept) {
+                    count++;
+                }
+            }
+            assertEquals(count, map.size());
+        }
+
+        map = newMap();
+        for (int i = 0; i < 100; i++) {
+            map.put(i, "s" + i);
+        }
+        Iterator<Integer> keys = map.iterator();
+        while (keys.hasNext()) {
+            if (keys.next() % 3 == 0) {
+                keys.remove();
+            }
+        }
+        Iterator<String> values = map.values().iterator();
+        while (values.hasNext()) {
+            if (values.next().equals("s1")) {
+                values.remove();
+            }
+        }
+        int count = 0;
+        for (int i = 0; i < 100; i++) {
+            boolean kept = i % 3 != 0 && i != 1;
+            assertEquals(kept ? "s" + i : null, map.get(i));
+            if (kept) {
+                count++;
+            }
+        }
+        assertEquals(count, map.size());
+    }
+}
@@ -0,0 +1,121 @@
+package edu.ncsu.csc316.dsa.map;
+
+import static org.junit.Assert.*;
+import java.util.Iterator;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Contract tests for ordered maps built on AbstractOrderedMap, in addition to
+ * the tests every Map must pass. The navigation methods and range views are
+ * checked against a SearchTableMap holding the same entries.
+ *
+ * @author Ben Morris
+ *
+ */
+public abstract class AbstractOrderedMapTest extends AbstractMapTest {
+
+    @Override
+    protected abstract AbstractOrderedMap<Integer, String> newMap();
+
+    /**
+     * Test that the navigation methods and range views agree with a search
+     * table map holding the same entries
+     */
+    @Test
+    public void testNavigation() {
+        AbstractOrderedMap<Integer, String> t = newMap();
+        SearchTableMap<Integer, String> expected = new SearchTableMap<Integer, String>();
+        assertNull(t.firstEntry());
+        assertNull(t.lastEntry());
+        assertNull(t.floorEntry(5));
+        assertNull(t.higherEntry(5));
+        Random rand = new Random(316);
+        for (int i = 0; i < 300; i++) {
+            Integer key = rand.nextInt(1000);
+            t.put(key, "v" + key);
+            expected.put(key, "v" + key);
+        }
+        // Lookups may restructure the map (a splay tree moves the key to the
+        // root), so the answers must not depend on its shape
+        t.get(500);
+        assertSameKey(expected.firstEntry(), t.firstEntry());
+        assertSameKey(expected.lastEntry(), t.lastEntry());
+        for (int key = -1; key <= 1001; key++) {
+            assertSameKey(expected.floorEntry(key), t.floorEntry(key));
+            assertSameKey(expected.lowerEntry(key), t.lowerEntry(key));
+            assertSameKey(expected.ceilingEntry(key), t.ceilingEntry(key));
+            assertSameKey(expected.higherEntry(key), t.higherEntry(key));
+        }
+        for (int i = 0; i < 50; i++) {
+            int from = rand.nextInt(1000);
+            int to = from + rand.nextInt(200);
+            assertSameKeys(expected.subMap(from, to), t.subMap(from, to));
+            assertSameKeys(expected.headMap(to), t.headMap(to));
+            assertSameKeys(expected.tailMap(from), t.tailMap(from));
+        }
+    }
+
+    /**
+     * Test that the navigation methods return snapshots that keep their key and
+     * value after the map changes
+     */
+    @Test
+    public void testNavigationReturnsSnapshots() {
+        AbstractOrderedMap<Integer, String> m = newMap();
+        for (int i = 1; i <= 9; i++) {
+            m.put(i, "v" + i);
+        }
+        Map.Entry<Integer, String> ceiling = m.ceilingEntry(4);
+        Map.Entry<Integer, String> floor = m.floorEntry(5);
+        Map.Entry<Integer, String> first = m.firstEntry();
+        Map.Entry<Integer, String> last = m.lastEntry();
+        m.put(4, "four");
+        m.put(1, "one");
+        m.put(9, "nine");
+        m.remove(4);
+        m.remove(5);
+        assertEquals(Integer.valueOf(4), ceiling.getKey());
+        assertEquals("v4", ceiling.getValue());
+        assertEquals(Integer.valueOf(5), floor.getKey());
+        assertEquals("v5", floor.getValue());
+        assertEquals("v1", first.getValue());
+        assertEquals("v9", last.getValue());
+        assertEquals("one", m.firstEntry().getValue());
+        assertEquals("nine", m.lastEntry().getValue());
+        assertEquals(Integer.valueOf(6), m.ceilingEntry(4).getKey());
+    }
+
+    /**
+     * Checks that two entries are both null or have the same key and value
+     *
+     * @param expected the expected entry
+     * @param actual   the actual entry
+     */
+    protected void assertSameKey(Map.Entry<Integer, String> expected, Map.Entry<Integer, String> actual) {
+        if (expected == null) {
+            assertNull(actual);
+        } else {
+            assertEquals(expected.getKey(), actual.getKey());
+            assertEquals(expected.getValue(), actual.getValue());
+        }
+    }
+
+    /**
+     * Checks that two range views return entries with the same keys, in the
+     * same order
+     *
+     * @param expected the expected range view
+     * @param actual   the actual range view
+     */
+    protected void assertSameKeys(Iterable<Map.Entry<Integer, String>> expected,
+            Iterable<Map.Entry<Integer, String>> actual) {
+        Iterator<Map.Entry<Integer, String>> it = actual.iterator();
+        for (Map.Entry<Integer, String> e : expected) {
+            assertTrue(it.hasNext());
+            assertEquals(e.getKey(), it.next().getKey());
+        }
+        assertFalse(it.hasNext());
+    }
+}
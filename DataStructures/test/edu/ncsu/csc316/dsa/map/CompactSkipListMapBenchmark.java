@@ -0,0 +1,97 @@
+package edu.ncsu.csc316.dsa.map;
+
+import java.util.Random;
+
+/**
+ * Memory and lookup benchmark for CompactSkipListMap. Fills a SkipListMap and a
+ * CompactSkipListMap with the same random keys, then reports the heap used per
+ * entry and the throughput of random lookups.
+ *
+ * Run the main method directly; this class is not a JUnit test.
+ *
+ * @author Ben Morris
+ *
+ */
+public class CompactSkipListMapBenchmark {
+
+    /** The number of entries in each map */
+    private static final int KEYS = 500000;
+    /** The number of lookups to time */
+    private static final int LOOKUPS = 2000000;
+
+    /**
+     * Returns the heap in use after asking for garbage collection
+     *
+     * @return the number of bytes of heap in use
+     */
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Fills a map with every given key, then prints the heap used per entry and
+     * the lookup throughput
+     *
+     * @param label  the name of the map to print
+     * @param map    the empty map to fill
+     * @param keys   the keys to store
+     * @param lookup the keys to look up, in order
+     */
+    private static void run(String label, Map<Integer, Integer> map, Integer[] keys, Integer[] lookup) {
+        long before = usedMemory();
+        for (Integer key : keys) {
+            map.put(key, key);
+        }
+        long bytes = usedMemory() - before;
+
+        long start = System.nanoTime();
+        int found = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            if (map.get(lookup[i % lookup.length]) != null) {
+                found++;
+            }
+        }
+        long lookupTime = System.nanoTime() - start;
+        System.out.printf("%-10s  %15.1f  %16.2f%n", label, (double) bytes / KEYS,
+                (double) LOOKUPS / lookupTime * 1000.0);
+        if (found < 0 || map.size() != KEYS) {
+            // Keeps the lookups from being optimized away
+            System.out.println(found);
+        }
+    }
+
+    /**
+     * Runs the benchmark for each map
+     *
+     * @param args unused
+     */
+    public static void main(String[] args) {
+        Random rand = new Random(42);
+        Integer[] keys = new Integer[KEYS];
+        Integer[] lookup = new Integer[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            // Distinct keys in random order
+            keys[i] = i * 7;
+        }
+        for (int i = KEYS - 1; i > 0; i--) {
+            int j = rand.nextInt(i + 1);
+            Integer swap = keys[i];
+            keys[i] = keys[j];
+            keys[j] = swap;
+        }
+        for (int i = 0; i < KEYS; i++) {
+            lookup[i] = keys[rand.nextInt(KEYS)];
+        }
+        // Run everything twice so the second round is measured after JIT warm-up
+        for (int round = 0; round < 2; round++) {
+            System.out.println(round == 0 ? "warm-up" : "measured");
+            System.out.println("map         bytes per entry  lookups (Mops/s)");
+            run("skip list", new SkipListMap<Integer, Integer>(), keys, lookup);
+            run("compact", new CompactSkipListMap<Integer, Integer>(), keys, lookup);
+        }
+    }
+}
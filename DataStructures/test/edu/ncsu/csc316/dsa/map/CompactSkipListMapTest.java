@@ -0,0 +1,307 @@
+package edu.ncsu.csc316.dsa.map;
+
+import static org.junit.Assert.*;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for CompactSkipListMap
+ * Checks the expected outputs of the Map abstract data type behaviors, and of
+ * the rank and select queries, when using a skip list with one array-based
+ * node per entry
+ *
+ * @author Ben Morris
+ *
+ */
+public class CompactSkipListMapTest extends AbstractOrderedMapTest {
+
+    /** Field for map */
+    private CompactSkipListMap<Integer, String> map;
+
+    /**
+     * Create a new instance of a compact skip list map before each test case
+     * executes
+     */
+    @Before
+    public void setUp() {
+        map = new CompactSkipListMap<Integer, String>();
+    }
+
+    @Override
+    protected AbstractOrderedMap<Integer, String> newMap() {
+        return new CompactSkipListMap<Integer, String>();
+    }
+
+    /**
+     * Test the output of the put(k,v), get(k), and remove(k) behaviors
+     */
+    @Test
+    public void testPutGetRemove() {
+        assertTrue(map.isEmpty());
+        assertEquals("CompactSkipListMap[]", map.toString());
+        assertNull(map.get(1));
+        assertNull(map.remove(1));
+        assertNull(map.put(3, "string3"));
+        assertNull(map.put(1, "string1"));
+        assertNull(map.put(2, "string2"));
+        assertEquals(3, map.size());
+        assertEquals("CompactSkipListMap[1, 2, 3]", map.toString());
+        assertEquals("string3", map.put(3, "stringThree"));
+        assertEquals(3, map.size());
+        assertEquals("stringThree", map.get(3));
+        assertNull(map.get(4));
+        assertEquals("string2", map.remove(2));
+        assertNull(map.remove(2));
+        assertEquals(2, map.size());
+        assertEquals("CompactSkipListMap[1, 3]", map.toString());
+        assertEquals("string1", map.remove(1));
+        assertEquals("stringThree", map.remove(3));
+        assertTrue(map.isEmpty());
+        assertNull(map.put(7, "seven"));
+        assertEquals("seven", map.get(7));
+
+        CompactSkipListMap<Integer, String> reversed = new CompactSkipListMap<Integer, String>(
+                (a, b) -> b.compareTo(a));
+        for (int i = 1; i <= 5; i++) {
+            reversed.put(i, "v" + i);
+        }
+        assertEquals("CompactSkipListMap[5, 4, 3, 2, 1]", reversed.toString());
+        assertEquals(Integer.valueOf(5), reversed.select(0).getKey());
+    }
+
+    /**
+     * Test that random puts and removes agree with a search table map, and that
+     * the spans stay correct for rank and select
+     */
+    @Test
+    public void testRandomOperations() {
+        Map<Integer, String> expected = new SearchTableMap<Integer, String>();
+        Random rand = new Random(316);
+        for (int i = 0; i < 20000; i++) {
+            Integer key = rand.nextInt(1000);
+            if (rand.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, "v" + i), map.put(key, "v" + i));
+            }
+            assertEquals(expected.size(), map.size());
+            if (i % 1000 == 0) {
+                checkRanks();
+            }
+        }
+        Iterator<Map.Entry<Integer, String>> it = expected.entrySet().iterator();
+        for (Map.Entry<Integer, String> e : map.entrySet()) {
+            Map.Entry<Integer, String> other = it.next();
+            assertEquals(other.getKey(), e.getKey());
+            assertEquals(other.getValue(), e.getValue());
+        }
+        assertFalse(it.hasNext());
+        for (int key = 0; key < 1000; key++) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+        checkRanks();
+    }
+
+    /**
+     * Checks rank and select against the iteration order of the map
+     */
+    private void checkRanks() {
+        int index = 0;
+        for (Map.Entry<Integer, String> e : map.entrySet()) {
+            assertEquals(index, map.rank(e.getKey()));
+            assertEquals(e.getKey(), map.select(index).getKey());
+            // A missing key just above this one has the next rank
+            if (map.get(e.getKey() + 1) == null) {
+                assertEquals(index + 1, map.rank(e.getKey() + 1));
+            }
+            index++;
+        }
+        assertEquals(map.size(), index);
+    }
+
+    /**
+     * Test the rank, select, and countInRange order-statistic queries
+     */
+    @Test
+    public void testOrderStatistics() {
+        assertEquals(0, map.rank(5));
+        try {
+            map.select(0);
+            fail();
+        } catch (Exception e) {
+            assertTrue(e instanceof IndexOutOfBoundsException);
+        }
+        for (int i = 0; i < 1000; i++) {
+            map.put(i * 2, "v" + i);
+        }
+        assertEquals(0, map.rank(0));
+        assertEquals(50, map.rank(100));
+        assertEquals(50, map.rank(99));
+        assertEquals(1000, map.rank(5000));
+        assertEquals(Integer.valueOf(0), map.select(0).getKey());
+        assertEquals(Integer.valueOf(1998), map.select(999).getKey());
+        assertEquals(5, map.countInRange(10, 20));
+        assertEquals(0, map.countInRange(20, 20));
+        map.put(15, "fifteen");
+        assertEquals(6, map.countInRange(10, 20));
+        assertEquals(Integer.valueOf(15), map.select(8).getKey());
+        assertEquals(Integer.valueOf(16), map.select(9).getKey());
+        // Returned entries are snapshots, so later updates do not change them
+        Map.Entry<Integer, String> selected = map.select(8);
+        Map.Entry<Integer, String> ceiling = map.ceilingEntry(15);
+        map.put(15, "changed");
+        assertEquals("fifteen", selected.getValue());
+        assertEquals("fifteen", ceiling.getValue());
+        assertEquals("changed", map.floorEntry(15).getValue());
+        try {
+            map.countInRange(20, 10);
+            fail();
+        } catch (Exception e) {
+            assertTrue(e instanceof IllegalArgumentException);
+        }
+        try {
+            map.select(1001);
+            fail();
+        } catch (Exception e) {
+            assertTrue(e instanceof IndexOutOfBoundsException);
+        }
+        try {
+            map.select(-1);
+            fail();
+        } catch (Exception e) {
+            assertTrue(e instanceof IndexOutOfBoundsException);
+        }
+    }
+
+    /**
+     * Test the navigation methods, subMap, and countInRange with enough
+     * entries for several index levels
+     */
+    @Test
+    public void testNavigationManyLevels() {
+        assertNull(map.firstEntry());
+        assertNull(map.lastEntry());
+        assertNull(map.floorEntry(5));
+        assertNull(map.higherEntry(5));
+        SearchTableMap<Integer, String> expected = new SearchTableMap<Integer, String>();
+        Random rand = new Random(316);
+        for (int i = 0; i < 2000; i++) {
+            Integer key = rand.nextInt(5000);
+            map.put(key, "v" + key);
+            expected.put(key, "v" + key);
+        }
+        assertEquals(expected.firstEntry().getKey(), map.firstEntry().getKey());
+        assertEquals(expected.lastEntry().getKey(), map.lastEntry().getKey());
+        for (int key = -1; key <= 5001; key += 3) {
+            assertEquals(key(expected.floorEntry(key)), key(map.floorEntry(key)));
+            assertEquals(key(expected.lowerEntry(key)), key(map.lowerEntry(key)));
+            assertEquals(key(expected.ceilingEntry(key)), key(map.ceilingEntry(key)));
+            assertEquals(key(expected.higherEntry(key)), key(map.higherEntry(key)));
+        }
+        for (int i = 0; i < 50; i++) {
+            int from = rand.nextInt(5000);
+            int to = from + rand.nextInt(500);
+            Iterator<Map.Entry<Integer, String>> it = map.subMap(from, to).iterator();
+            int count = 0;
+            for (Map.Entry<Integer, String> e : expected.subMap(from, to)) {
+                assertEquals(e.getKey(), it.next().getKey());
+                count++;
+            }
+            assertFalse(it.hasNext());
+            assertEquals(count, map.countInRange(from, to));
+        }
+    }
+
+    /**
+     * Returns the key of the given entry, or null if the entry is null
+     *
+     * @param entry the entry
+     * @return the key of the entry, or null
+     */
+    private Integer key(Map.Entry<Integer, String> entry) {
+        return entry == null ? null : entry.getKey();
+    }
+
+    /**
+     * Test the output of the entrySet() behavior, including removal through the
+     * iterator
+     */
+    @Test
+    public void testEntrySet() {
+        Iterator<Map.Entry<Integer, String>> it = map.entrySet().iterator();
+        assertFalse(it.hasNext());
+        try {
+            it.next();
+            fail();
+        } catch (Exception e) {
+            assertTrue(e instanceof NoSuchElementException);
+        }
+        for (int i = 1; i <= 30; i++) {
+            map.put(i, "v" + i);
+        }
+        it = map.entrySet().iterator();
+        try {
+            it.remove();
+            fail();
+        } catch (Exception e) {
+            assertTrue(e instanceof IllegalStateException);
+        }
+        int expected = 1;
+        while (it.hasNext()) {
+            Map.Entry<Integer, String> e = it.next();
+            assertEquals(Integer.valueOf(expected), e.getKey());
+            assertEquals("v" + expected, e.getValue());
+            if (expected % 2 == 0) {
+                it.remove();
+            }
+            expected++;
+        }
+        assertEquals(31, expected);
+        assertEquals(15, map.size());
+        expected = 1;
+        for (Integer key : map) {
+            assertEquals(Integer.valueOf(expected), key);
+            expected += 2;
+        }
+        assertEquals(Integer.valueOf(29), map.select(14).getKey());
+    }
+
+    /**
+     * Test the output of the putAll behavior with a sorted batch
+     */
+    @Test
+    public void testPutAllSortedBatch() {
+        Map<Integer, String> source = new SearchTableMap<Integer, String>();
+        for (int i = 1; i <= 100; i++) {
+            source.put(i, "s" + i);
+        }
+        map.putAll(source.entrySet());
+        assertEquals(100, map.size());
+        checkRanks();
+        for (int i = 1; i <= 100; i++) {
+            assertEquals("s" + i, map.get(i));
+        }
+        // The built skip list can still be updated
+        assertNull(map.put(0, "zero"));
+        assertEquals("s50", map.remove(50));
+        assertEquals(100, map.size());
+        assertEquals(Integer.valueOf(51), map.select(50).getKey());
+        checkRanks();
+
+        // A batch that is not sorted is added one entry at a time
+        Map<Integer, String> reversed = new SearchTableMap<Integer, String>((a, b) -> b.compareTo(a));
+        for (int i = 20; i >= 10; i--) {
+            reversed.put(i, "r" + i);
+        }
+        CompactSkipListMap<Integer, String> m = new CompactSkipListMap<Integer, String>();
+        m.putAll(reversed.entrySet());
+        assertEquals(11, m.size());
+        assertEquals("CompactSkipListMap[10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20]", m.toString());
+        assertEquals(Integer.valueOf(15), m.select(5).getKey());
+    }
+}
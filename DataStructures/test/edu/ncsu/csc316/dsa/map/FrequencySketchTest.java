@@ -0,0 +1,78 @@
+package edu.ncsu.csc316.dsa.map;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Test class for FrequencySketch
+ * Checks the expected outputs of counting, saturating, and aging element
+ * frequencies
+ *
+ * @author Ben Morris
+ *
+ */
+public class FrequencySketchTest {
+
+    /**
+     * Test the output of the increment and frequency behaviors
+     */
+    @Test
+    public void testIncrement() {
+        FrequencySketch<String> sketch = new FrequencySketch<String>(64);
+        assertEquals(0, sketch.frequency("a"));
+        for (int i = 1; i <= 5; i++) {
+            sketch.increment("a");
+            assertEquals(i, sketch.frequency("a"));
+        }
+        sketch.increment("b");
+        assertEquals(5, sketch.frequency("a"));
+        assertEquals(1, sketch.frequency("b"));
+        assertEquals(0, sketch.frequency("c"));
+
+        // Counters saturate at 15
+        for (int i = 0; i < 20; i++) {
+            sketch.increment("b");
+        }
+        assertEquals(15, sketch.frequency("b"));
+
+        try {
+            new FrequencySketch<String>(0);
+            fail();
+        } catch (Exception e) {
+            assertTrue(e instanceof IllegalArgumentException);
+        }
+    }
+
+    /**
+     * Test that every counter is halved once ten increments per element have
+     * been recorded
+     */
+    @Test
+    public void testReset() {
+        FrequencySketch<String> sketch = new FrequencySketch<String>(1);
+        for (int i = 0; i < 9; i++) {
+            sketch.increment("a");
+        }
+        assertEquals(9, sketch.frequency("a"));
+        sketch.increment("a");
+        assertEquals(5, sketch.frequency("a"));
+    }
+
+    /**
+     * Test that estimates are never lower than the true counts, even when many
+     * elements share a small sketch
+     */
+    @Test
+    public void testNeverUnderestimates() {
+        FrequencySketch<Integer> sketch = new FrequencySketch<Integer>(1000);
+        for (int key = 0; key < 1000; key++) {
+            for (int i = 0; i < key % 4; i++) {
+                sketch.increment(key);
+            }
+        }
+        for (int key = 0; key < 1000; key++) {
+            assertTrue(sketch.frequency(key) >= key % 4);
+        }
+    }
+}
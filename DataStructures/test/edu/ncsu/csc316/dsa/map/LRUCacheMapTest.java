@@ -0,0 +1,205 @@
+package edu.ncsu.csc316.dsa.map;
+
+import static org.junit.Assert.*;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.ncsu.csc316.dsa.list.ArrayBasedList;
+import edu.ncsu.csc316.dsa.list.List;
+
+/**
+ * Test class for LRUCacheMap
+ * Checks the expected outputs of the Map abstract data type behaviors when using
+ * a bounded cache that evicts the least recently used entry
+ *
+ * @author Ben Morris
+ *
+ */
+public class LRUCacheMapTest {
+
+    /** Field for the cache under test */
+    private LRUCacheMap<Integer, String> map;
+
+    /** Keys of evicted entries, in the order they were evicted */
+    private List<Integer> evicted;
+
+    /**
+     * Create a new cache that holds three entries before each test case executes
+     */
+    @Before
+    public void setUp() {
+        evicted = new ArrayBasedList<Integer>();
+        map = new LRUCacheMap<Integer, String>(3, (k, v) -> evicted.addLast(k));
+    }
+
+    /**
+     * Test the output of the put(k,v) behavior
+     */
+    @Test
+    public void testPut() {
+        assertTrue(map.isEmpty());
+        assertEquals(3, map.maxSize());
+        assertNull(map.put(1, "one"));
+        assertNull(map.put(2, "two"));
+        assertNull(map.put(3, "three"));
+        assertEquals("LRUCacheMap[3, 2, 1]", map.toString());
+        assertEquals(3, map.size());
+
+        // Replacing a value moves the key to the front without evicting
+        assertEquals("one", map.put(1, "ONE"));
+        assertEquals("LRUCacheMap[1, 3, 2]", map.toString());
+        assertTrue(evicted.isEmpty());
+
+        // A new key evicts the least recently used entry
+        assertNull(map.put(4, "four"));
+        assertEquals("LRUCacheMap[4, 1, 3]", map.toString());
+        assertEquals(3, map.size());
+        assertEquals(1, evicted.size());
+        assertEquals(2, (int) evicted.get(0));
+        assertNull(map.get(2));
+
+        try {
+            new LRUCacheMap<Integer, String>(0);
+            fail();
+        } catch (Exception e) {
+            assertTrue(e instanceof IllegalArgumentException);
+        }
+    }
+
+    /**
+     * Test the output of the get(k) and peek(k) behaviors
+     */
+    @Test
+    public void testGet() {
+        map.put(1, "one");
+        map.put(2, "two");
+        map.put(3, "three");
+        assertEquals("one", map.get(1));
+        assertEquals("LRUCacheMap[1, 3, 2]", map.toString());
+        assertEquals("two", map.peek(2));
+        assertEquals("LRUCacheMap[1, 3, 2]", map.toString());
+        assertNull(map.get(5));
+        assertNull(map.peek(5));
+
+        // 2 was only peeked at, so it is still evicted first
+        map.put(4, "four");
+        assertEquals("LRUCacheMap[4, 1, 3]", map.toString());
+        assertEquals(2, (int) evicted.get(0));
+        map.get(3);
+        map.put(5, "five");
+        assertEquals("LRUCacheMap[5, 3, 4]", map.toString());
+        assertEquals(1, (int) evicted.get(1));
+    }
+
+    /**
+     * Test the output of the remove(k) behavior
+     */
+    @Test
+    public void testRemove() {
+        map.put(1, "one");
+        map.put(2, "two");
+        map.put(3, "three");
+        assertEquals("two", map.remove(2));
+        assertNull(map.remove(2));
+        assertEquals("LRUCacheMap[3, 1]", map.toString());
+        assertEquals(2, map.size());
+        // Removed entries are not evicted entries, and free up room
+        map.put(4, "four");
+        assertTrue(evicted.isEmpty());
+        assertEquals("LRUCacheMap[4, 3, 1]", map.toString());
+        assertEquals("one", map.remove(1));
+        assertEquals("four", map.remove(4));
+        assertEquals("three", map.remove(3));
+        assertTrue(map.isEmpty());
+        assertEquals("LRUCacheMap[]", map.toString());
+    }
+
+    /**
+     * Test the output of the compute, computeIfAbsent, merge, and putIfAbsent
+     * behaviors
+     */
+    @Test
+    public void testUpdateMethods() {
+        assertEquals("one", map.computeIfAbsent(1, k -> "one"));
+        assertEquals("one", map.computeIfAbsent(1, k -> "uno"));
+        assertNull(map.putIfAbsent(2, "two"));
+        assertEquals("two", map.putIfAbsent(2, "dos"));
+        assertEquals("three", map.merge(3, "three", String::concat));
+        assertEquals("LRUCacheMap[3, 2, 1]", map.toString());
+        assertEquals("oneone", map.merge(1, "one", String::concat));
+        assertEquals("LRUCacheMap[1, 3, 2]", map.toString());
+        assertNull(map.compute(3, (k, v) -> null));
+        assertEquals("LRUCacheMap[1, 2]", map.toString());
+        assertEquals("4", map.compute(4, (k, v) -> "" + k));
+        assertEquals("5", map.compute(5, (k, v) -> "" + k));
+        assertEquals("LRUCacheMap[5, 4, 1]", map.toString());
+        assertEquals(2, (int) evicted.get(0));
+    }
+
+    /**
+     * Test the output of the iterator behavior, including removing entries
+     * through the entrySet iterator
+     */
+    @Test
+    public void testIterators() {
+        map.put(1, "one");
+        map.put(2, "two");
+        map.put(3, "three");
+        Iterator<Integer> it = map.iterator();
+        assertEquals(3, (int) it.next());
+        assertEquals(2, (int) it.next());
+        assertEquals(1, (int) it.next());
+        assertFalse(it.hasNext());
+        try {
+            it.next();
+            fail();
+        } catch (Exception e) {
+            assertTrue(e instanceof NoSuchElementException);
+        }
+        // Iterating does not change the order of use
+        assertEquals("LRUCacheMap[3, 2, 1]", map.toString());
+
+        Iterator<String> values = map.values().iterator();
+        assertEquals("three", values.next());
+
+        Iterator<Map.Entry<Integer, String>> entries = map.entrySet().iterator();
+        try {
+            entries.remove();
+            fail();
+        } catch (Exception e) {
+            assertTrue(e instanceof IllegalStateException);
+        }
+        entries.next();
+        assertEquals(2, (int) entries.next().getKey());
+        entries.remove();
+        assertEquals(1, (int) entries.next().getKey());
+        assertEquals(2, map.size());
+        assertNull(map.get(2));
+        assertEquals("LRUCacheMap[3, 1]", map.toString());
+    }
+
+    /**
+     * Test that a large cache keeps exactly the most recently used keys
+     */
+    @Test
+    public void testEvictionOrder() {
+        LRUCacheMap<Integer, Integer> cache = new LRUCacheMap<Integer, Integer>(100);
+        for (int i = 0; i < 1000; i++) {
+            cache.put(i, i);
+            // Keep key 0 in use so it is never evicted
+            assertEquals(0, (int) cache.get(0));
+        }
+        assertEquals(100, cache.size());
+        assertEquals(0, (int) cache.get(0));
+        for (int i = 1; i < 901; i++) {
+            assertNull(cache.peek(i));
+        }
+        for (int i = 901; i < 1000; i++) {
+            assertEquals(i, (int) cache.peek(i));
+        }
+    }
+}
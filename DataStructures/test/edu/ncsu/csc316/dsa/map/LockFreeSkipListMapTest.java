@@ -0,0 +1,403 @@
+package edu.ncsu.csc316.dsa.map;
+
+import static org.junit.Assert.*;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for LockFreeSkipListMap
+ * Checks the expected outputs of the Map abstract data type behaviors when using
+ * a lock-free skip list map, both from a single thread and from many threads at
+ * once
+ *
+ * @author Ben Morris
+ *
+ */
+public class LockFreeSkipListMapTest extends AbstractOrderedMapTest {
+
+    /** Field for map */
+    private LockFreeSkipListMap<Integer, String> map;
+
+    /**
+     * Create a new instance of a lock-free skip list map before each test case
+     * executes
+     */
+    @Before
+    public void setUp() {
+        map = new LockFreeSkipListMap<Integer, String>();
+    }
+
+    @Override
+    protected AbstractOrderedMap<Integer, String> newMap() {
+        return new LockFreeSkipListMap<Integer, String>();
+    }
+
+    /**
+     * Test the output of the put(k,v), get(k), and remove(k) behaviors from a
+     * single thread
+     */
+    @Test
+    public void testPutGetRemove() {
+        assertTrue(map.isEmpty());
+        assertEquals("LockFreeSkipListMap[]", map.toString());
+        assertNull(map.put(3, "string3"));
+        assertNull(map.put(1, "string1"));
+        assertNull(map.put(2, "string2"));
+        assertEquals(3, map.size());
+        assertEquals("LockFreeSkipListMap[1, 2, 3]", map.toString());
+        assertEquals("string3", map.put(3, "stringThree"));
+        assertEquals("stringThree", map.get(3));
+        assertNull(map.get(5));
+        assertEquals("string2", map.remove(2));
+        assertNull(map.remove(2));
+        assertNull(map.get(2));
+        assertEquals(2, map.size());
+        assertEquals("LockFreeSkipListMap[1, 3]", map.toString());
+        try {
+            map.put(4, null);
+            fail();
+        } catch (Exception e) {
+            assertTrue(e instanceof IllegalArgumentException);
+        }
+
+        LockFreeSkipListMap<Integer, String> reversed = new LockFreeSkipListMap<Integer, String>(
+                (a, b) -> b.compareTo(a));
+        for (int i = 1; i <= 5; i++) {
+            reversed.put(i, "v" + i);
+        }
+        assertEquals("LockFreeSkipListMap[5, 4, 3, 2, 1]", reversed.toString());
+    }
+
+    /**
+     * Test that random puts and removes agree with a search table map
+     */
+    @Test
+    public void testRandomOperations() {
+        Map<Integer, String> expected = new SearchTableMap<Integer, String>();
+        Random rand = new Random(316);
+        for (int i = 0; i < 20000; i++) {
+            Integer key = rand.nextInt(1000);
+            if (rand.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, "v" + i), map.put(key, "v" + i));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        Iterator<Map.Entry<Integer, String>> it = expected.entrySet().iterator();
+        for (Map.Entry<Integer, String> e : map.entrySet()) {
+            Map.Entry<Integer, String> other = it.next();
+            assertEquals(other.getKey(), e.getKey());
+            assertEquals(other.getValue(), e.getValue());
+        }
+        assertFalse(it.hasNext());
+        for (int key = 0; key < 1000; key++) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+
+    /**
+     * Test the navigation methods and range views on a fixed set of keys, then
+     * after removals on enough entries for several index levels
+     */
+    @Test
+    public void testNavigationAfterRemovals() {
+        assertNull(map.firstEntry());
+        assertNull(map.lastEntry());
+        assertNull(map.floorEntry(5));
+        assertNull(map.ceilingEntry(5));
+        for (int i = 10; i <= 50; i += 10) {
+            map.put(i, "v" + i);
+        }
+        assertEquals(Integer.valueOf(10), map.firstEntry().getKey());
+        assertEquals("v50", map.lastEntry().getValue());
+        assertEquals(Integer.valueOf(30), map.floorEntry(30).getKey());
+        assertEquals(Integer.valueOf(30), map.floorEntry(35).getKey());
+        assertNull(map.floorEntry(5));
+        assertEquals(Integer.valueOf(20), map.lowerEntry(30).getKey());
+        assertNull(map.lowerEntry(10));
+        assertEquals(Integer.valueOf(30), map.ceilingEntry(30).getKey());
+        assertEquals(Integer.valueOf(40), map.ceilingEntry(35).getKey());
+        assertNull(map.ceilingEntry(55));
+        assertEquals(Integer.valueOf(40), map.higherEntry(30).getKey());
+        assertNull(map.higherEntry(50));
+        map.remove(50);
+        assertEquals("v40", map.lastEntry().getValue());
+
+        StringBuilder keys = new StringBuilder();
+        for (Map.Entry<Integer, String> e : map.subMap(20, 40)) {
+            keys.append(e.getKey()).append(" ");
+        }
+        assertEquals("20 30 ", keys.toString());
+        keys = new StringBuilder();
+        for (Map.Entry<Integer, String> e : map.tailMap(25)) {
+            keys.append(e.getKey()).append(" ");
+        }
+        assertEquals("30 40 ", keys.toString());
+
+        // Enough entries for several index levels
+        SearchTableMap<Integer, String> expected = new SearchTableMap<Integer, String>();
+        expected.putAll(map.entrySet());
+        Random rand = new Random(316);
+        for (int i = 0; i < 2000; i++) {
+            Integer key = rand.nextInt(5000);
+            map.put(key, "v" + key);
+            expected.put(key, "v" + key);
+        }
+        for (int i = 0; i < 500; i++) {
+            Integer key = rand.nextInt(5000);
+            map.remove(key);
+            expected.remove(key);
+        }
+        assertEquals(expected.lastEntry().getKey(), map.lastEntry().getKey());
+        for (int key = -1; key <= 5001; key += 7) {
+            assertEquals(key(expected.floorEntry(key)), key(map.floorEntry(key)));
+            assertEquals(key(expected.lowerEntry(key)), key(map.lowerEntry(key)));
+            assertEquals(key(expected.ceilingEntry(key)), key(map.ceilingEntry(key)));
+            assertEquals(key(expected.higherEntry(key)), key(map.higherEntry(key)));
+        }
+    }
+
+    /**
+     * Returns the key of the given entry, or null if the entry is null
+     *
+     * @param entry the entry
+     * @return the key of the entry, or null
+     */
+    private Integer key(Map.Entry<Integer, String> entry) {
+        return entry == null ? null : entry.getKey();
+    }
+
+    /**
+     * Test the output of the entrySet() behavior, including removal through the
+     * iterator
+     */
+    @Test
+    public void testEntrySet() {
+        Iterator<Map.Entry<Integer, String>> it = map.entrySet().iterator();
+        assertFalse(it.hasNext());
+        try {
+            it.next();
+            fail();
+        } catch (Exception e) {
+            assertTrue(e instanceof NoSuchElementException);
+        }
+        for (int i = 1; i <= 30; i++) {
+            map.put(i, "v" + i);
+        }
+        it = map.entrySet().iterator();
+        try {
+            it.remove();
+            fail();
+        } catch (Exception e) {
+            assertTrue(e instanceof IllegalStateException);
+        }
+        int expected = 1;
+        while (it.hasNext()) {
+            Map.Entry<Integer, String> e = it.next();
+            assertEquals(Integer.valueOf(expected), e.getKey());
+            if (expected % 2 == 0) {
+                it.remove();
+            }
+            expected++;
+        }
+        assertEquals(31, expected);
+        assertEquals(15, map.size());
+        expected = 1;
+        for (Integer key : map) {
+            assertEquals(Integer.valueOf(expected), key);
+            expected += 2;
+        }
+    }
+
+    /**
+     * Test many writer threads that insert and then remove disjoint ranges of
+     * keys while reader threads continuously look up and scan keys that are
+     * never removed
+     *
+     * @throws InterruptedException if the test thread is interrupted
+     */
+    @Test
+    public void testConcurrentStress() throws InterruptedException {
+        final int writers = 4;
+        final int perWriter = 20000;
+        final LockFreeSkipListMap<Integer, Integer> shared = new LockFreeSkipListMap<Integer, Integer>();
+        // Keys below 0 are stable and must always be visible to readers
+        for (int i = 1; i <= 1000; i++) {
+            shared.put(-i, i);
+        }
+        final AtomicInteger failures = new AtomicInteger(0);
+        final AtomicBoolean done = new AtomicBoolean(false);
+        Thread[] threads = new Thread[writers + 2];
+        for (int w = 0; w < writers; w++) {
+            final int offset = w;
+            threads[w] = new Thread(() -> {
+                // Interleave the writers' keys so they contend for the same links
+                for (int i = offset; i < writers * perWriter; i += writers) {
+                    if (shared.put(i, i) != null) {
+                        failures.incrementAndGet();
+                    }
+                }
+                for (int i = offset; i < writers * perWriter; i += writers) {
+                    if (i % 2 == 1 && shared.remove(i) == null) {
+                        failures.incrementAndGet();
+                    }
+                }
+            });
+        }
+        threads[writers] = new Thread(() -> {
+            while (!done.get()) {
+                for (int i = 1; i <= 1000; i++) {
+                    Integer value = shared.get(-i);
+                    if (value == null || value != i) {
+                        failures.incrementAndGet();
+                    }
+                }
+            }
+        });
+        threads[writers + 1] = new Thread(() -> {
+            while (!done.get()) {
+                // A scan must return keys in increasing order and see every stable key
+                Integer last = null;
+                int stable = 0;
+                for (Map.Entry<Integer, Integer> e : shared.entrySet()) {
+                    if (last != null && e.getKey() <= last) {
+                        failures.incrementAndGet();
+                    }
+                    if (e.getKey() < 0) {
+                        stable++;
+                    }
+                    last = e.getKey();
+                }
+                if (stable != 1000) {
+                    failures.incrementAndGet();
+                }
+            }
+        });
+        for (Thread t : threads) {
+            t.start();
+        }
+        for (int w = 0; w < writers; w++) {
+            threads[w].join();
+        }
+        done.set(true);
+        threads[writers].join();
+        threads[writers + 1].join();
+
+        assertEquals(0, failures.get());
+        assertEquals(1000 + writers * perWriter / 2, shared.size());
+        int count = 0;
+        Integer last = null;
+        for (Map.Entry<Integer, Integer> e : shared.entrySet()) {
+            assertTrue(last == null || e.getKey() > last);
+            assertTrue(e.getKey() < 0 || e.getKey() % 2 == 0);
+            last = e.getKey();
+            count++;
+        }
+        assertEquals(shared.size(), count);
+        for (int i = 0; i < writers * perWriter; i++) {
+            assertEquals(i % 2 == 0 ? Integer.valueOf(i) : null, shared.get(i));
+        }
+    }
+
+    /**
+     * Tests that compute retries when another thread changes the entry between
+     * reading the old value and installing the new one: the function is applied
+     * again to the newer value, and the stale result is never installed
+     *
+     * @throws InterruptedException if the test thread is interrupted
+     */
+    @Test
+    public void testComputeRetries() throws InterruptedException {
+        final Map<Integer, String> m = new LockFreeSkipListMap<Integer, String>();
+        m.put(1, "one");
+        final CountDownLatch applied = new CountDownLatch(1);
+        final CountDownLatch changed = new CountDownLatch(1);
+        final AtomicInteger calls = new AtomicInteger();
+        final String[] result = new String[1];
+        Thread writer = new Thread(() -> {
+            result[0] = m.compute(1, (k, v) -> {
+                if (calls.incrementAndGet() == 1) {
+                    // Let the main thread replace the value before this result
+                    // is installed
+                    applied.countDown();
+                    try {
+                        changed.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return v + "!";
+            });
+        });
+        writer.start();
+        applied.await();
+        assertEquals("one", m.put(1, "uno"));
+        changed.countDown();
+        writer.join();
+        assertEquals(2, calls.get());
+        assertEquals("uno!", result[0]);
+        assertEquals("uno!", m.get(1));
+        assertEquals(1, m.size());
+    }
+
+    /**
+     * Test that concurrent merges on shared keys never lose an update, and that
+     * concurrent removes of the same key succeed exactly once
+     *
+     * @throws InterruptedException if the test thread is interrupted
+     */
+    @Test
+    public void testConcurrentMergeAndRemove() throws InterruptedException {
+        final int threadCount = 4;
+        final int perThread = 20000;
+        final LockFreeSkipListMap<Integer, Integer> counts = new LockFreeSkipListMap<Integer, Integer>();
+        Thread[] threads = new Thread[threadCount];
+        for (int t = 0; t < threadCount; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    counts.merge(i % 100, 1, Integer::sum);
+                }
+            });
+        }
+        for (Thread t : threads) {
+            t.start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        assertEquals(100, counts.size());
+        for (int k = 0; k < 100; k++) {
+            assertEquals(Integer.valueOf(threadCount * perThread / 100), counts.get(k));
+        }
+
+        final AtomicInteger removed = new AtomicInteger(0);
+        for (int t = 0; t < threadCount; t++) {
+            threads[t] = new Thread(() -> {
+                for (int k = 0; k < 100; k++) {
+                    if (counts.remove(k) != null) {
+                        removed.incrementAndGet();
+                    }
+                }
+            });
+        }
+        for (Thread t : threads) {
+            t.start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        assertEquals(100, removed.get());
+        assertTrue(counts.isEmpty());
+        assertNull(counts.firstEntry());
+        assertNull(counts.lastEntry());
+    }
+}
@@ -0,0 +1,43 @@
+package edu.ncsu.csc316.dsa.map;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import edu.ncsu.csc316.dsa.list.ArrayBasedList;
+import edu.ncsu.csc316.dsa.list.List;
+import edu.ncsu.csc316.dsa.map.hashing.LinearProbingHashMap;
+import edu.ncsu.csc316.dsa.map.search_tree.AVLTreeMap;
+
+/**
+ * Test class for MapUtil
+ * Checks the expected outputs of building maps from batches of entries
+ *
+ * @author Ben Morris
+ *
+ */
+public class MapUtilTest {
+
+    /**
+     * Test the output of the build behavior
+     */
+    @Test
+    public void testBuild() {
+        List<Map.Entry<Integer, String>> batch = new ArrayBasedList<Map.Entry<Integer, String>>();
+        for (int i = 1; i <= 31; i++) {
+            batch.addLast(new AbstractMap.MapEntry<Integer, String>(i, "s" + i));
+        }
+        AVLTreeMap<Integer, String> avl = MapUtil.build(AVLTreeMap::new, batch);
+        assertEquals(31, avl.size());
+        // 31 sorted entries build a perfect tree with 5 levels
+        assertEquals(5, avl.height());
+        assertEquals("s16", avl.get(16));
+
+        LinearProbingHashMap<Integer, String> hash = MapUtil.build(LinearProbingHashMap::new, batch);
+        assertEquals(31, hash.size());
+        assertEquals("s31", hash.get(31));
+
+        Map<Integer, String> empty = MapUtil.build(SearchTableMap::new, new ArrayBasedList<Map.Entry<Integer, String>>());
+        assertTrue(empty.isEmpty());
+    }
+}
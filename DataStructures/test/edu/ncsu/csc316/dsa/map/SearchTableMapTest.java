@@ -3,11 +3,14 @@ package edu.ncsu.csc316.dsa.map;
 import static org.junit.Assert.*;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Random;
 
 import org.junit.Before;
 import org.junit.Test;
 
 import edu.ncsu.csc316.dsa.data.Student;
+import edu.ncsu.csc316.dsa.list.ArrayBasedList;
+import edu.ncsu.csc316.dsa.list.List;
 
 /**
  * Test class for SearchTableMap
@@ -199,12 +202,12 @@ public class SearchTableMapTest {
         assertNull(map.put(1, "string1"));
 
     	Iterator<Map.Entry<Integer, String>> it = map.entrySet().iterator();
-    	// Remove isn't implemented for this iterator
+    	// Nothing has been returned yet, so there is nothing to remove
     	try{
             it.remove();
-            fail("A NoSuchElementException should have been thrown");           
+            fail("An IllegalStateException should have been thrown");           
         } catch(Exception e) {
-            assertTrue(e instanceof UnsupportedOperationException);
+            assertTrue(e instanceof IllegalStateException);
         }
         assertTrue(it.hasNext());
         Map.Entry<Integer, String> entry = it.next();
@@ -238,12 +241,29 @@ public class SearchTableMapTest {
             assertTrue(e instanceof NoSuchElementException);
         }
         
+        // Removing through the iterator removes the last entry returned
+        it.remove();
+        assertEquals(4, map.size());
+        assertNull(map.get(5));
         try{
             it.remove();
-            fail("A NoSuchElementException should have been thrown");           
+            fail("An IllegalStateException should have been thrown");           
         } catch(Exception e) {
-            assertTrue(e instanceof UnsupportedOperationException);
+            assertTrue(e instanceof IllegalStateException);
+        }
+
+        // Remove every other entry while iterating
+        it = map.entrySet().iterator();
+        while (it.hasNext()) {
+            if (it.next().getKey() % 2 == 1) {
+                it.remove();
+            }
         }
+        assertEquals(2, map.size());
+        assertNull(map.get(1));
+        assertEquals("string2", map.get(2));
+        assertNull(map.get(3));
+        assertEquals("string4", map.get(4));
     }
 
     /**
@@ -352,19 +372,189 @@ public class SearchTableMapTest {
         assertTrue(it.hasNext());
         assertEquals((Integer)5, it.next());
 
-        // Remove isn't implemented for this iterator
+        // Removing through the key iterator removes the entry from the map
+        it.remove();
+        assertEquals(4, map.size());
+        assertNull(map.get(5));
+   
     	try{
-            it.remove();
+            it.next();
             fail("A NoSuchElementException should have been thrown");           
         } catch(Exception e) {
+            assertTrue(e instanceof NoSuchElementException);
+        }
+    }
+
+    /**
+     * Test the output of the ensureCapacity and putAll behaviors, which merge a
+     * sorted batch with the sorted entries
+     */
+    @Test
+    public void testPutAll() {
+        List<Map.Entry<Integer, String>> batch = new ArrayBasedList<Map.Entry<Integer, String>>();
+        for (int i = 0; i < 10; i += 2) {
+            batch.addLast(new AbstractMap.MapEntry<Integer, String>(i, "e" + i));
+        }
+        map.ensureCapacity(20);
+        map.putAll(batch);
+        assertEquals("SearchTableMap[0, 2, 4, 6, 8]", map.toString());
+
+        batch = new ArrayBasedList<Map.Entry<Integer, String>>();
+        batch.addLast(new AbstractMap.MapEntry<Integer, String>(-1, "neg"));
+        batch.addLast(new AbstractMap.MapEntry<Integer, String>(3, "three"));
+        batch.addLast(new AbstractMap.MapEntry<Integer, String>(4, "four"));
+        batch.addLast(new AbstractMap.MapEntry<Integer, String>(4, "FOUR"));
+        batch.addLast(new AbstractMap.MapEntry<Integer, String>(12, "twelve"));
+        map.putAll(batch);
+        assertEquals("SearchTableMap[-1, 0, 2, 3, 4, 6, 8, 12]", map.toString());
+        assertEquals(8, map.size());
+        assertEquals("FOUR", map.get(4));
+        assertEquals("e2", map.get(2));
+        assertEquals("twelve", map.get(12));
+
+        // A batch that is not sorted is added one entry at a time
+        batch = new ArrayBasedList<Map.Entry<Integer, String>>();
+        batch.addLast(new AbstractMap.MapEntry<Integer, String>(7, "seven"));
+        batch.addLast(new AbstractMap.MapEntry<Integer, String>(1, "one"));
+        batch.addLast(new AbstractMap.MapEntry<Integer, String>(7, "SEVEN"));
+        map.putAll(batch);
+        assertEquals("SearchTableMap[-1, 0, 1, 2, 3, 4, 6, 7, 8, 12]", map.toString());
+        assertEquals("SEVEN", map.get(7));
+    }
+
+    /**
+     * Test the navigation methods and the subMap, headMap, and tailMap range
+     * views
+     */
+    @Test
+    public void testNavigation() {
+        SearchTableMap<Integer, String> table = new SearchTableMap<Integer, String>();
+        assertNull(table.firstEntry());
+        assertNull(table.lastEntry());
+        assertNull(table.floorEntry(5));
+        assertNull(table.ceilingEntry(5));
+        assertFalse(table.subMap(0, 10).iterator().hasNext());
+        for (int i = 10; i <= 50; i += 10) {
+            table.put(i, "v" + i);
+        }
+        assertEquals(Integer.valueOf(10), table.firstEntry().getKey());
+        assertEquals("v50", table.lastEntry().getValue());
+        assertEquals(Integer.valueOf(30), table.floorEntry(30).getKey());
+        assertEquals(Integer.valueOf(30), table.floorEntry(35).getKey());
+        assertNull(table.floorEntry(5));
+        assertEquals(Integer.valueOf(20), table.lowerEntry(30).getKey());
+        assertNull(table.lowerEntry(10));
+        assertEquals(Integer.valueOf(30), table.ceilingEntry(30).getKey());
+        assertEquals(Integer.valueOf(40), table.ceilingEntry(35).getKey());
+        assertNull(table.ceilingEntry(55));
+        assertEquals(Integer.valueOf(40), table.higherEntry(30).getKey());
+        assertNull(table.higherEntry(50));
+
+        // subMap includes fromKey but not toKey
+        StringBuilder keys = new StringBuilder();
+        for (Map.Entry<Integer, String> e : table.subMap(20, 40)) {
+            keys.append(e.getKey()).append(" ");
+        }
+        assertEquals("20 30 ", keys.toString());
+        keys = new StringBuilder();
+        for (Map.Entry<Integer, String> e : table.headMap(30)) {
+            keys.append(e.getKey()).append(" ");
+        }
+        assertEquals("10 20 ", keys.toString());
+        keys = new StringBuilder();
+        for (Map.Entry<Integer, String> e : table.tailMap(25)) {
+            keys.append(e.getKey()).append(" ");
+        }
+        assertEquals("30 40 50 ", keys.toString());
+        assertFalse(table.subMap(31, 39).iterator().hasNext());
+        assertFalse(table.subMap(30, 30).iterator().hasNext());
+
+        // The views are lazy, so they see later changes to the map
+        Iterable<Map.Entry<Integer, String>> view = table.subMap(0, 100);
+        table.put(45, "v45");
+        int count = 0;
+        for (Map.Entry<Integer, String> e : view) {
+            assertEquals("v" + e.getKey(), e.getValue());
+            count++;
+        }
+        assertEquals(6, count);
+
+        try {
+            table.subMap(40, 20);
+            fail();
+        } catch (Exception e) {
+            assertTrue(e instanceof IllegalArgumentException);
+        }
+        Iterator<Map.Entry<Integer, String>> it = table.tailMap(10).iterator();
+        it.next();
+        try {
+            it.remove();
+            fail();
+        } catch (Exception e) {
             assertTrue(e instanceof UnsupportedOperationException);
         }
-   
-    	try{
+        it = table.headMap(10).iterator();
+        try {
             it.next();
-            fail("A NoSuchElementException should have been thrown");           
-        } catch(Exception e) {
+            fail();
+        } catch (Exception e) {
             assertTrue(e instanceof NoSuchElementException);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Test that entries held in the insertion buffer are found, replaced, and
+     * removed, and that ordered reads see them in sorted order
+     */
+    @Test
+    public void testBufferedInsertion() {
+        SearchTableMap<Integer, String> table = new SearchTableMap<Integer, String>();
+        SkipListMap<Integer, String> expected = new SkipListMap<Integer, String>();
+        Random rand = new Random(316);
+        for (int i = 0; i < 5000; i++) {
+            Integer key = rand.nextInt(2000);
+            int op = rand.nextInt(10);
+            if (op < 6) {
+                assertEquals(expected.put(key, "v" + i), table.put(key, "v" + i));
+            } else if (op < 9) {
+                assertEquals(expected.remove(key), table.remove(key));
+            } else {
+                assertEquals(key(expected.floorEntry(key)), key(table.floorEntry(key)));
+            }
+            assertEquals(expected.get(key), table.get(key));
+            assertEquals(expected.size(), table.size());
+        }
+        Iterator<Map.Entry<Integer, String>> it = expected.entrySet().iterator();
+        for (Map.Entry<Integer, String> e : table.entrySet()) {
+            Map.Entry<Integer, String> other = it.next();
+            assertEquals(other.getKey(), e.getKey());
+            assertEquals(other.getValue(), e.getValue());
+        }
+        assertFalse(it.hasNext());
+
+        // A few puts stay in the buffer, and are still seen by every read
+        table = new SearchTableMap<Integer, String>();
+        for (int i = 100; i >= 0; i -= 10) {
+            table.put(i, "v" + i);
+        }
+        assertEquals("v50", table.put(50, "fifty"));
+        assertEquals("fifty", table.get(50));
+        assertNull(table.get(55));
+        assertEquals("v70", table.remove(70));
+        assertNull(table.remove(70));
+        assertEquals(10, table.size());
+        assertEquals(Integer.valueOf(0), table.firstEntry().getKey());
+        assertEquals(Integer.valueOf(60), table.floorEntry(75).getKey());
+        assertEquals("SearchTableMap[0, 10, 20, 30, 40, 50, 60, 80, 90, 100]", table.toString());
+    }
+
+    /**
+     * Returns the key of the given entry, or null if the entry is null
+     *
+     * @param entry the entry
+     * @return the key of the entry, or null
+     */
+    private Integer key(Map.Entry<Integer, String> entry) {
+        return entry == null ? null : entry.getKey();
+    }
+}
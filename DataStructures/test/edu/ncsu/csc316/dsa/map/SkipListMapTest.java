@@ -8,6 +8,8 @@ import org.junit.Before;
 import org.junit.Test;
 
 import edu.ncsu.csc316.dsa.data.Student;
+import edu.ncsu.csc316.dsa.list.ArrayBasedList;
+import edu.ncsu.csc316.dsa.list.List;
 
 /**
  * Test class for SkipListMap
@@ -19,7 +21,7 @@ import edu.ncsu.csc316.dsa.data.Student;
  * @author Ben Morris
  *
  */
-public class SkipListMapTest {
+public class SkipListMapTest extends AbstractOrderedMapTest {
 
 	/** Field for Map */
     private SkipListMap<Integer, String> map;
@@ -35,6 +37,11 @@ public class SkipListMapTest {
         studentMap = new SkipListMap<Student, Integer>();
     }
 
+    @Override
+    protected AbstractOrderedMap<Integer, String> newMap() {
+        return new SkipListMap<Integer, String>();
+    }
+
     /**
      * Test the output of the put(k,v) behavior
      */     
@@ -203,12 +210,12 @@ public class SkipListMapTest {
         assertNull(map.put(1, "string1"));
 
     	Iterator<Map.Entry<Integer, String>> it = map.entrySet().iterator();
-    	// Remove isn't implemented for this iterator
+    	// Nothing has been returned yet, so there is nothing to remove
     	try{
             it.remove();
-            fail("A NoSuchElementException should have been thrown");           
+            fail("An IllegalStateException should have been thrown");           
         } catch(Exception e) {
-            assertTrue(e instanceof UnsupportedOperationException);
+            assertTrue(e instanceof IllegalStateException);
         }
         assertTrue(it.hasNext());
         Map.Entry<Integer, String> entry = it.next();
@@ -242,12 +249,29 @@ public class SkipListMapTest {
             assertTrue(e instanceof NoSuchElementException);
         }
         
+        // Removing through the iterator removes the last entry returned
+        it.remove();
+        assertEquals(4, map.size());
+        assertNull(map.get(5));
         try{
             it.remove();
-            fail("A NoSuchElementException should have been thrown");           
+            fail("An IllegalStateException should have been thrown");           
         } catch(Exception e) {
-            assertTrue(e instanceof UnsupportedOperationException);
+            assertTrue(e instanceof IllegalStateException);
         }
+
+        // Remove every other entry while iterating
+        it = map.entrySet().iterator();
+        while (it.hasNext()) {
+            if (it.next().getKey() % 2 == 1) {
+                it.remove();
+            }
+        }
+        assertEquals(2, map.size());
+        assertNull(map.get(1));
+        assertEquals("string2", map.get(2));
+        assertNull(map.get(3));
+        assertEquals("string4", map.get(4));
     }
 
     /**
@@ -327,4 +351,52 @@ public class SkipListMapTest {
             assertTrue(e instanceof NoSuchElementException);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Test the output of the putAll behavior, which builds the skip list level
+     * by level from a sorted batch
+     */
+    @Test
+    public void testPutAllSortedBatch() {
+        List<Map.Entry<Integer, String>> batch = new ArrayBasedList<Map.Entry<Integer, String>>();
+        for (int i = 1; i <= 100; i++) {
+            batch.addLast(new AbstractMap.MapEntry<Integer, String>(i, "s" + i));
+        }
+        // A repeated key keeps the last value, as with put
+        batch.addLast(new AbstractMap.MapEntry<Integer, String>(100, "hundred"));
+        SkipListMap<Integer, String> skip = new SkipListMap<Integer, String>();
+        skip.putAll(batch);
+        assertEquals(100, skip.size());
+        for (int i = 1; i < 100; i++) {
+            assertEquals("s" + i, skip.get(i));
+        }
+        assertEquals("hundred", skip.get(100));
+        assertNull(skip.get(0));
+        assertNull(skip.get(101));
+
+        // The built skip list supports every later operation
+        for (int i = 0; i <= 200; i += 2) {
+            skip.put(i, "e" + i);
+        }
+        for (int i = 1; i <= 100; i += 2) {
+            assertEquals("s" + i, skip.remove(i));
+        }
+        assertEquals(101, skip.size());
+        int expected = 0;
+        for (Map.Entry<Integer, String> e : skip.entrySet()) {
+            assertEquals(Integer.valueOf(expected), e.getKey());
+            assertEquals("e" + expected, e.getValue());
+            expected += 2;
+        }
+        assertEquals(202, expected);
+
+        // A batch added to a non-empty skip list is added one entry at a time
+        batch = new ArrayBasedList<Map.Entry<Integer, String>>();
+        batch.addLast(new AbstractMap.MapEntry<Integer, String>(1, "one"));
+        batch.addLast(new AbstractMap.MapEntry<Integer, String>(0, "zero"));
+        skip.putAll(batch);
+        assertEquals(102, skip.size());
+        assertEquals("one", skip.get(1));
+        assertEquals("zero", skip.get(0));
+    }
+}
@@ -18,7 +18,7 @@ import edu.ncsu.csc316.dsa.data.Student;
  * @author Dr. King
  *
  */
-public class UnorderedLinkedMapTest {
+public class UnorderedLinkedMapTest extends AbstractMapTest {
 
 	/** Field for Map */
     private Map<Integer, String> map;
@@ -33,6 +33,11 @@ public class UnorderedLinkedMapTest {
         map = new UnorderedLinkedMap<Integer, String>();
         studentMap = new UnorderedLinkedMap<Student, Integer>();
     }
+
+    @Override
+    protected Map<Integer, String> newMap() {
+        return new UnorderedLinkedMap<Integer, String>();
+    }
     
     /**
      * Test the output of the put(k,v) behavior
@@ -155,12 +160,12 @@ public class UnorderedLinkedMapTest {
     	assertNull(map.put(3, "string3"));
 
         Iterator<Map.Entry<Integer, String>> it = map.entrySet().iterator();
-    	// Remove isn't implemented for this iterator
+    	// Remove requires a call to next() first
     	try{
             it.remove();
-            fail("A NoSuchElementException should have been thrown");           
+            fail("An IllegalStateException should have been thrown");
         } catch(Exception e) {
-            assertTrue(e instanceof UnsupportedOperationException);
+            assertTrue(e instanceof IllegalStateException);
         }
         assertTrue(it.hasNext());
         Map.Entry<Integer, String> entry = it.next();
@@ -194,11 +199,15 @@ public class UnorderedLinkedMapTest {
             assertTrue(e instanceof NoSuchElementException);
         }
         
+        // Removing through the iterator removes the last entry returned
+        it.remove();
+        assertNull(map.get(1));
+        assertEquals(4, map.size());
         try{
             it.remove();
-            fail("A NoSuchElementException should have been thrown");           
+            fail("An IllegalStateException should have been thrown");
         } catch(Exception e) {
-            assertTrue(e instanceof UnsupportedOperationException);
+            assertTrue(e instanceof IllegalStateException);
         }
     }
 
@@ -341,4 +350,5 @@ public class UnorderedLinkedMapTest {
         
         assertNull(studentMap.get(s5));
     }
-}
\ No newline at end of file
+
+}
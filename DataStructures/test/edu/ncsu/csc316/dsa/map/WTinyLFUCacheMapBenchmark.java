@@ -0,0 +1,153 @@
+package edu.ncsu.csc316.dsa.map;
+
+import java.util.Random;
+
+/**
+ * Trace-replay benchmark comparing the hit ratio of WTinyLFUCacheMap with
+ * LRUCacheMap. Each trace is a sequence of integer keys; every key is looked up
+ * with get, and put into the cache on a miss. The traces are generated:
+ * <ul>
+ * <li>zipf: keys drawn from a skewed (Zipf, s = 0.9) distribution,</li>
+ * <li>zipf+scan: the same, interrupted by long scans of one-time keys,</li>
+ * <li>loop: a loop over slightly more keys than the cache holds.</li>
+ * </ul>
+ *
+ * Run the main method directly; this class is not a JUnit test.
+ *
+ * @author Ben Morris
+ *
+ */
+public class WTinyLFUCacheMapBenchmark {
+
+    /** The maximum size of each cache */
+    private static final int CACHE_SIZE = 1000;
+    /** The number of keys in each trace */
+    private static final int TRACE_LENGTH = 2000000;
+    /** The number of distinct keys in the Zipf distribution */
+    private static final int ZIPF_KEYS = 100000;
+
+    /**
+     * Replays a trace against a cache and returns the fraction of lookups that
+     * hit
+     *
+     * @param cache the cache to replay against
+     * @param trace the keys to look up, in order
+     * @return the hit ratio
+     */
+    private static double replay(Map<Integer, Integer> cache, int[] trace) {
+        int hits = 0;
+        for (int key : trace) {
+            if (cache.get(key) != null) {
+                hits++;
+            } else {
+                cache.put(key, key);
+            }
+        }
+        return (double) hits / trace.length;
+    }
+
+    /**
+     * Returns the cumulative distribution of a Zipf distribution over the given
+     * number of keys
+     *
+     * @param keys     the number of keys
+     * @param exponent the skew of the distribution
+     * @return an array whose element i is the probability of a key at most i
+     */
+    private static double[] zipf(int keys, double exponent) {
+        double[] cdf = new double[keys];
+        double sum = 0;
+        for (int i = 0; i < keys; i++) {
+            sum += 1.0 / Math.pow(i + 1, exponent);
+            cdf[i] = sum;
+        }
+        for (int i = 0; i < keys; i++) {
+            cdf[i] /= sum;
+        }
+        return cdf;
+    }
+
+    /**
+     * Draws a key from a cumulative distribution with a binary search
+     *
+     * @param cdf  the cumulative distribution
+     * @param rand the source of randomness
+     * @return the drawn key
+     */
+    private static int draw(double[] cdf, Random rand) {
+        double u = rand.nextDouble();
+        int low = 0;
+        int high = cdf.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cdf[mid] < u) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Builds a trace of keys drawn from a Zipf distribution. If scans are
+     * requested, every 50,000 keys are followed by a scan of 20,000 keys that
+     * are never seen again.
+     *
+     * @param scans true to interrupt the trace with scans
+     * @return the trace
+     */
+    private static int[] zipfTrace(boolean scans) {
+        Random rand = new Random(42);
+        double[] cdf = zipf(ZIPF_KEYS, 0.9);
+        int[] trace = new int[TRACE_LENGTH];
+        int scanKey = ZIPF_KEYS;
+        int i = 0;
+        while (i < TRACE_LENGTH) {
+            for (int j = 0; j < 50000 && i < TRACE_LENGTH; j++) {
+                trace[i++] = draw(cdf, rand);
+            }
+            for (int j = 0; scans && j < 20000 && i < TRACE_LENGTH; j++) {
+                trace[i++] = scanKey++;
+            }
+        }
+        return trace;
+    }
+
+    /**
+     * Builds a trace that loops over 25% more keys than the caches hold
+     *
+     * @return the trace
+     */
+    private static int[] loopTrace() {
+        int[] trace = new int[TRACE_LENGTH];
+        for (int i = 0; i < TRACE_LENGTH; i++) {
+            trace[i] = i % (CACHE_SIZE * 5 / 4);
+        }
+        return trace;
+    }
+
+    /**
+     * Replays a trace against both caches and prints their hit ratios
+     *
+     * @param label the name of the trace to print
+     * @param trace the trace to replay
+     */
+    private static void run(String label, int[] trace) {
+        double lru = replay(new LRUCacheMap<Integer, Integer>(CACHE_SIZE), trace);
+        double tinyLfu = replay(new WTinyLFUCacheMap<Integer, Integer>(CACHE_SIZE), trace);
+        System.out.printf("%-10s  %8.2f%%  %12.2f%%%n", label, lru * 100, tinyLfu * 100);
+    }
+
+    /**
+     * Runs the benchmark for each trace
+     *
+     * @param args unused
+     */
+    public static void main(String[] args) {
+        System.out.println("trace            LRU     W-TinyLFU");
+        run("zipf", zipfTrace(false));
+        run("zipf+scan", zipfTrace(true));
+        run("loop", loopTrace());
+    }
+}
@@ -0,0 +1,209 @@
+package edu.ncsu.csc316.dsa.map;
+
+import static org.junit.Assert.*;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.ncsu.csc316.dsa.list.ArrayBasedList;
+import edu.ncsu.csc316.dsa.list.List;
+
+/**
+ * Test class for WTinyLFUCacheMap
+ * Checks the expected outputs of the Map abstract data type behaviors when using
+ * a bounded cache with a window, segmented main regions, and frequency-based
+ * admission
+ *
+ * @author Ben Morris
+ *
+ */
+public class WTinyLFUCacheMapTest {
+
+    /** Field for the cache under test */
+    private WTinyLFUCacheMap<Integer, String> map;
+
+    /** Keys of evicted entries, in the order they were evicted */
+    private List<Integer> evicted;
+
+    /**
+     * Create a new cache that holds three entries before each test case
+     * executes: one in the window, and two in the main regions, of which one
+     * may be protected
+     */
+    @Before
+    public void setUp() {
+        evicted = new ArrayBasedList<Integer>();
+        map = new WTinyLFUCacheMap<Integer, String>(3, (k, v) -> evicted.addLast(k));
+    }
+
+    /**
+     * Test the output of the put(k,v) and get(k) behaviors, including which
+     * entries the admission policy evicts
+     */
+    @Test
+    public void testPutAndGet() {
+        assertTrue(map.isEmpty());
+        assertEquals(3, map.maxSize());
+        assertNull(map.put(1, "one"));
+        assertNull(map.put(2, "two"));
+        assertNull(map.put(3, "three"));
+        assertEquals(3, map.size());
+        assertEquals("WTinyLFUCacheMap[window=[3], probation=[2, 1], protected=[]]", map.toString());
+
+        // A hit on probation promotes the key
+        assertEquals("one", map.get(1));
+        assertEquals("one", map.get(1));
+        assertEquals("WTinyLFUCacheMap[window=[3], probation=[2], protected=[1]]", map.toString());
+
+        // 3 leaves the window and ties with 2, so the newcomer is evicted
+        assertNull(map.put(4, "four"));
+        assertEquals("WTinyLFUCacheMap[window=[4], probation=[2], protected=[1]]", map.toString());
+        assertEquals(3, (int) evicted.get(0));
+
+        // 4 is used more often than 2, so it is admitted in place of 2
+        assertEquals("four", map.get(4));
+        assertEquals("four", map.get(4));
+        assertNull(map.put(5, "five"));
+        assertEquals("WTinyLFUCacheMap[window=[5], probation=[4], protected=[1]]", map.toString());
+        assertEquals(2, (int) evicted.get(1));
+
+        // A short scan of one-time keys cannot displace the frequently used
+        // keys (a long scan would age and crowd a sketch this small)
+        for (int i = 6; i <= 10; i++) {
+            assertNull(map.get(i));
+            map.put(i, "s" + i);
+        }
+        assertEquals("WTinyLFUCacheMap[window=[10], probation=[4], protected=[1]]", map.toString());
+        assertEquals(3, map.size());
+
+        // Replacing a value counts as a use but is not a lookup
+        assertEquals("four", map.put(4, "FOUR"));
+        assertEquals("WTinyLFUCacheMap[window=[10], probation=[1], protected=[4]]", map.toString());
+
+        assertEquals(4, map.getHitCount());
+        assertEquals(5, map.getMissCount());
+        assertEquals(7, map.getEvictionCount());
+        assertEquals(7, evicted.size());
+        assertEquals(4.0 / 9, map.getHitRatio(), 1e-9);
+
+        try {
+            new WTinyLFUCacheMap<Integer, String>(0);
+            fail();
+        } catch (Exception e) {
+            assertTrue(e instanceof IllegalArgumentException);
+        }
+    }
+
+    /**
+     * Test the output of the remove(k) behavior
+     */
+    @Test
+    public void testRemove() {
+        map.put(1, "one");
+        map.put(2, "two");
+        map.put(3, "three");
+        map.get(1);
+        assertEquals("two", map.remove(2));
+        assertNull(map.remove(2));
+        assertEquals("one", map.remove(1));
+        assertEquals("WTinyLFUCacheMap[window=[3], probation=[], protected=[]]", map.toString());
+        // Removed entries free up room and are not evicted entries
+        map.put(4, "four");
+        map.put(5, "five");
+        assertEquals(3, map.size());
+        assertTrue(evicted.isEmpty());
+        assertEquals(0, map.getEvictionCount());
+        assertEquals("three", map.remove(3));
+        assertEquals("four", map.remove(4));
+        assertEquals("five", map.remove(5));
+        assertTrue(map.isEmpty());
+    }
+
+    /**
+     * Test the output of the compute, computeIfAbsent, merge, and putIfAbsent
+     * behaviors
+     */
+    @Test
+    public void testUpdateMethods() {
+        assertEquals("one", map.computeIfAbsent(1, k -> "one"));
+        assertEquals("one", map.computeIfAbsent(1, k -> "uno"));
+        assertEquals(1, map.getHitCount());
+        assertEquals(1, map.getMissCount());
+        assertNull(map.putIfAbsent(2, "two"));
+        assertEquals("two", map.putIfAbsent(2, "dos"));
+        assertEquals("three", map.merge(3, "three", String::concat));
+        assertEquals("oneone", map.merge(1, "one", String::concat));
+        assertNull(map.compute(3, (k, v) -> null));
+        assertNull(map.get(3));
+        assertEquals(2, map.size());
+        assertEquals("oneone", map.get(1));
+    }
+
+    /**
+     * Test the output of the iterator behavior, including removing entries
+     * through the entrySet iterator
+     */
+    @Test
+    public void testIterators() {
+        map.put(1, "one");
+        map.put(2, "two");
+        map.put(3, "three");
+        map.get(1);
+        // Window first, then protected, then probation
+        Iterator<Integer> it = map.iterator();
+        assertEquals(3, (int) it.next());
+        assertEquals(1, (int) it.next());
+        assertEquals(2, (int) it.next());
+        assertFalse(it.hasNext());
+        try {
+            it.next();
+            fail();
+        } catch (Exception e) {
+            assertTrue(e instanceof NoSuchElementException);
+        }
+
+        Iterator<Map.Entry<Integer, String>> entries = map.entrySet().iterator();
+        try {
+            entries.remove();
+            fail();
+        } catch (Exception e) {
+            assertTrue(e instanceof IllegalStateException);
+        }
+        assertEquals(3, (int) entries.next().getKey());
+        // hasNext moves on to the protected region before the removal
+        assertTrue(entries.hasNext());
+        entries.remove();
+        assertEquals(1, (int) entries.next().getKey());
+        assertEquals(2, (int) entries.next().getKey());
+        assertFalse(entries.hasNext());
+        assertEquals(2, map.size());
+        assertNull(map.get(3));
+        assertEquals("WTinyLFUCacheMap[window=[], probation=[2], protected=[1]]", map.toString());
+    }
+
+    /**
+     * Test that a large cache never holds more than its maximum size and keeps
+     * its index in step with its regions
+     */
+    @Test
+    public void testMaxSize() {
+        WTinyLFUCacheMap<Integer, Integer> cache = new WTinyLFUCacheMap<Integer, Integer>(100);
+        for (int i = 0; i < 5000; i++) {
+            int key = i % 7 == 0 ? i % 50 : i;
+            if (cache.get(key) == null) {
+                cache.put(key, key);
+            }
+            assertTrue(cache.size() <= 100);
+        }
+        assertEquals(100, cache.size());
+        int count = 0;
+        for (Map.Entry<Integer, Integer> entry : cache.entrySet()) {
+            assertEquals(entry.getKey(), cache.peek(entry.getKey()));
+            count++;
+        }
+        assertEquals(100, count);
+    }
+}
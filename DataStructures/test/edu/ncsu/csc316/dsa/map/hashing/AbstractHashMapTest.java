@@ -0,0 +1,112 @@
+package edu.ncsu.csc316.dsa.map.hashing;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import edu.ncsu.csc316.dsa.map.AbstractMapTest;
+import edu.ncsu.csc316.dsa.map.Map;
+import edu.ncsu.csc316.dsa.map.SearchTableMap;
+
+/**
+ * Contract tests for hash maps built on AbstractHashMap, in addition to the
+ * tests every Map must pass. These cover the incremental resizing that
+ * AbstractHashMap shares with each of its subclasses, whose bucket operations
+ * must work on both the old and the new hash table arrays.
+ *
+ * @author Ben Morris
+ *
+ */
+public abstract class AbstractHashMapTest extends AbstractMapTest {
+
+    @Override
+    protected abstract AbstractHashMap<Integer, String> newMap();
+
+    @Override
+    protected int capacityOf(Map<Integer, String> map) {
+        return ((AbstractHashMap<Integer, String>) map).capacity();
+    }
+
+    /**
+     * Tests that putAll and ensureCapacity each resize the hash table at most
+     * once, straight to a capacity that holds every entry
+     */
+    @Test
+    public void testPutAllResizesOnce() {
+        Map<Integer, String> source = new SearchTableMap<Integer, String>();
+        for (int i = 0; i < 1000; i++) {
+            source.put(i, "s" + i);
+        }
+        AbstractHashMap<Integer, String> m = newMap();
+        m.setStatsEnabled(true);
+        m.putAll(source.entrySet());
+        // The table was sized once for the whole batch
+        assertEquals(1, m.getStats().getResizeCount());
+        m.ensureCapacity(500);
+        assertEquals(1, m.getStats().getResizeCount());
+        m.ensureCapacity(4000);
+        assertEquals(2, m.getStats().getResizeCount());
+        for (int i = 1000; i < 4000; i++) {
+            m.put(i, "s" + i);
+        }
+        assertEquals(2, m.getStats().getResizeCount());
+    }
+
+    /**
+     * Tests that compute and the update methods built on it find each key in
+     * whichever table holds it while an incremental resize is in progress, and
+     * that finishing the resize never brings back or duplicates an entry
+     */
+    @Test
+    public void testComputeDuringIncrementalResize() {
+        AbstractHashMap<Integer, String> m = newMap();
+        m.setIncrementalResize(true);
+        int n = 0;
+        while (!m.isTransferring()) {
+            m.put(n, "s" + n);
+            n++;
+        }
+        // Keep adding until most of the keys were placed before the resize
+        int total = 2 * n;
+        for (int i = n; i < total; i++) {
+            m.put(i, "s" + i);
+        }
+        assertTrue(m.isTransferring());
+
+        int removed = 0;
+        for (int i = 0; i < total; i++) {
+            switch (i % 4) {
+            case 0:
+                assertEquals("s" + i + "!", m.compute(i, (k, v) -> v + "!"));
+                break;
+            case 1:
+                // An existing key is never computed again
+                assertEquals("s" + i, m.computeIfAbsent(i, k -> "new"));
+                break;
+            case 2:
+                assertNull(m.compute(i, (k, v) -> null));
+                removed++;
+                break;
+            default:
+                assertEquals("s" + i + "s" + i, m.merge(i, "s" + i, (a, b) -> a + b));
+                break;
+            }
+            assertEquals(total - removed, m.size());
+        }
+
+        // Finishing the resize moves whatever is left in the old table
+        m.setIncrementalResize(false);
+        assertFalse(m.isTransferring());
+        assertEquals(total - removed, m.size());
+        int count = 0;
+        for (Map.Entry<Integer, String> entry : m.entrySet()) {
+            assertEquals(entry.getValue(), m.get(entry.getKey()));
+            count++;
+        }
+        assertEquals(total - removed, count);
+        for (int i = 0; i < total; i++) {
+            String[] expected = {"s" + i + "!", "s" + i, null, "s" + i + "s" + i};
+            assertEquals(expected[i % 4], m.get(i));
+        }
+    }
+}
@@ -0,0 +1,480 @@
+package edu.ncsu.csc316.dsa.map.hashing;
+
+import static org.junit.Assert.*;
+import java.util.Iterator;
+import org.junit.Before;
+import org.junit.Test;
+import edu.ncsu.csc316.dsa.list.ArrayBasedList;
+import edu.ncsu.csc316.dsa.list.List;
+import edu.ncsu.csc316.dsa.map.Map;
+
+/**
+ * Test class for CompactLinearProbingHashMap
+ * Checks the expected outputs of the Map abstract data type behaviors when using
+ * a linear probing hash map that stores its keys and values in parallel
+ * arrays. The map probes exactly like LinearProbingHashMap, so the expected
+ * outputs match those of LinearProbingHashMapTest.
+ *
+ * @author Ben Morris
+ *
+ */
+public class CompactLinearProbingHashMapTest extends AbstractHashMapTest {
+	/** Field for map */
+    private Map<Integer, String> map;
+    /** Field for map2 */
+    private Map<Integer, String> map2;
+    /** Field for map3 */
+    private Map<Integer, String> map3;
+    /** Field for map4 */
+    private Map<Integer, String> map4;
+
+    /**
+     * Create a new instance of a compact linear probing hash map before each test case executes
+     */     
+    @Before
+    public void setUp() {
+        // Use the "true" flag to indicate we are testing.
+        // Remember that (when testing) alpha = 1, beta = 1, and prime = 7
+        // based on our AbstractHashMap constructor.
+        // That means you can draw the hash table by hand
+        // if you use integer keys, since Integer.hashCode() = the integer value, itself
+        // Finally, apply compression. For example:
+        // for key = 1: h(1) = ( (1 * 1 + 1) % 7) % 7 = 2
+        // for key = 2: h(2) = ( (1 * 2 + 1) % 7) % 7 = 3
+        // for key = 3: h(3) = ( (1 * 3 + 1) % 7) % 7 = 4
+        // for key = 4: h(4) = ( (1 * 4 + 1) % 7) % 7 = 5
+        // for key = 5: h(5) = ( (1 * 5 + 1) % 7) % 7 = 6
+        // for key = 6: h(6) = ( (1 * 6 + 1) % 7) % 7 = 0
+        // etc.
+        map = new CompactLinearProbingHashMap<Integer, String>(7, true);
+        map2 = new CompactLinearProbingHashMap<Integer, String>();
+        map3 = new CompactLinearProbingHashMap<Integer, String>(true);
+        map4 = new CompactLinearProbingHashMap<Integer, String>(7);
+    }
+
+    @Override
+    protected AbstractHashMap<Integer, String> newMap() {
+        return new CompactLinearProbingHashMap<Integer, String>();
+    }
+    
+    /**
+     * Creates a map to test
+     * Map should have the following keys at the following indices to begin.
+     * Index 3: 2 ("String2") 
+     * Index 4: 3 ("String3")
+     * Index 5: 4 ("String4")
+     * Index 6: 18 ("String 4c") 
+     * Index 7: 11 ("String 4b")
+     * Index 8: 30 ("String2b")
+     * Index 9: 703 ("String3b")
+     */
+    public void createMap() {
+    	map.put(3, "string3");
+    	map.put(4, "string4");
+        map.put(18, "string4c");
+        map.put(2, "string2");
+        map.put(11, "string4b");
+        map.put(30, "string2b");
+        map.put(703, "string3b");
+    }
+    
+    /**
+     * Test the output of the put(k,v) behavior
+     */     
+    @Test
+    public void testPut() {
+        assertEquals(0, map.size());
+        assertTrue(map.isEmpty());
+        assertNull(map.put(3, "string3")); // should be in a map in index 4
+
+        // Since our entrySet method returns the entries in the table
+        // from left to right, we can use the entrySet to check
+        // that our values are in the correct order in the hash table.
+        // Alternatively, you could implement a toString() method if you
+        // want to check that the exact index/map of each bucket is correct
+        Iterator<Map.Entry<Integer, String>> it = map.entrySet().iterator();
+        assertEquals(3, (int)it.next().getKey());
+        
+        
+        assertNull(map.put(4, "string4")); // should be in a map in index 5
+        assertEquals(2, map.size());
+        assertFalse(map.isEmpty());
+        it = map.entrySet().iterator();
+        assertEquals(3, (int)it.next().getKey()); 
+        assertEquals(4, (int)it.next().getKey()); 
+        
+        // Add some more keys in random order, including some collisions
+        assertNull(map.put(18, "string4c")); // should be in a map in index 6
+        assertEquals(3, map.size());
+        // Should resize because load factor > 0.5 and should be in a map in index 3
+        assertNull(map.put(2, "string2")); 
+        assertEquals(4, map.size());
+        assertNull(map.put(11, "string4b")); // should be in a map in index 7
+        assertEquals(5, map.size());        
+        assertNull(map.put(30, "string2b")); // should be in a map in index 8
+        assertEquals(6, map.size());
+        assertNull(map.put(703, "string3b")); // should be in a map in index 9
+        assertEquals(7, map.size());
+        
+        it = map.entrySet().iterator();
+        assertEquals(2, (int)it.next().getKey()); // should be in a map in index 4
+        assertEquals(3, (int)it.next().getKey()); // should be in a map in index 4
+        assertEquals(4, (int)it.next().getKey()); // should be in a map in index 4
+        assertEquals(18, (int)it.next().getKey()); // should be in a map in index 4
+        assertEquals(11, (int)it.next().getKey()); // should be in a map in index 5
+        assertEquals(30, (int)it.next().getKey()); // should be in a map in index 5
+        assertEquals(703, (int)it.next().getKey()); // should be in a map in index 5
+        
+        // replace existing key
+        assertEquals(map.put(3, "stringThree"), "string3");
+        it = map.entrySet().iterator();
+        assertEquals("string2", it.next().getValue()); // should be in a map in index 4
+        assertEquals("stringThree", it.next().getValue()); // should be in a map in index 4
+        assertEquals("string4", it.next().getValue()); // should be in a map in index 4
+    }
+    
+    /**
+     * Test the output of the get(k) behavior
+     * Map should have the following keys at the following indices to begin.
+     * Index 3: 2 ("String2") 
+     * Index 4: 3 ("String3")
+     * Index 5: 4 ("String4")
+     * Index 6: 18 ("String 4c") 
+     * Index 7: 11 ("String 4b")
+     * Index 8: 30 ("String2b")
+     * Index 9: 703 ("String3b")
+     */     
+    @Test
+    public void testGet() {
+    	assertTrue(map.isEmpty());
+        createMap();
+        assertEquals(7, map.size());
+        
+        // Get all map entries
+        assertEquals(map.get(703), "string3b");
+        assertEquals(map.get(2), "string2");
+        assertEquals(map.get(4), "string4");
+        assertEquals(map.get(18), "string4c");
+        assertEquals(map.get(11), "string4b");
+        assertEquals(map.get(3), "string3");
+        assertEquals(map.get(30), "string2b");
+        assertEquals(7, map.size());
+        
+     // get a nonexistent key
+        assertNull(map.get(500));
+    }
+    
+    /**
+     * Test the output of the remove(k) behavior
+     * Map should have the following keys at the following indices to begin.
+     * Index 3: 2 ("String2") 
+     * Index 4: 3 ("String3")
+     * Index 5: 4 ("String4")
+     * Index 6: 18 ("String 4c") 
+     * Index 7: 11 ("String 4b")
+     * Index 8: 30 ("String2b")
+     * Index 9: 703 ("String3b")
+     */     
+    @Test
+    public void testRemove() {
+        assertTrue(map.isEmpty());
+        createMap();
+        assertEquals(7, map.size());        
+
+        // Remove a nonexistent key
+        assertNull(map.remove(500));
+        
+        // Delete some entries
+        assertEquals(map.remove(703), "string3b");
+        assertEquals(6, map.size());
+        assertEquals(map.remove(2), "string2");
+        assertEquals(5, map.size());
+        assertEquals(map.remove(4), "string4");
+        assertEquals(4, map.size());
+        assertEquals(map.remove(18), "string4c");
+        assertEquals(3, map.size());
+        
+        // Remove some keys that have already been removed.
+        assertNull(map.remove(703));
+        assertEquals(3, map.size());
+        assertNull(map.remove(2));
+        assertEquals(3, map.size());
+        assertNull(map.remove(4));
+        assertEquals(3, map.size());
+        assertNull(map.remove(18));
+        assertEquals(3, map.size());
+        
+        // Add some keys that were removed
+        assertNull(map.put(2, "stringTwo")); 
+        assertEquals(4, map.size());
+        assertNull(map.put(4, "stringFour"));
+        assertEquals(5, map.size());
+        
+        Iterator<Map.Entry<Integer, String>> it = map.entrySet().iterator();        
+        assertTrue(it.hasNext());
+        assertEquals(it.next().getValue(), "stringTwo");
+        assertTrue(it.hasNext());
+        assertEquals(it.next().getValue(), "string3");
+        assertTrue(it.hasNext());
+        assertEquals(it.next().getValue(), "stringFour");
+        assertTrue(it.hasNext());
+        assertEquals(it.next().getValue(), "string4b");
+        assertTrue(it.hasNext());
+        assertEquals(it.next().getValue(), "string2b");
+        assertFalse(it.hasNext());
+        
+        // Delete last remaining entries
+        assertEquals(map.remove(11), "string4b");
+        assertEquals(4, map.size());
+        assertEquals(map.remove(3), "string3");
+        assertEquals(3, map.size());
+        assertEquals(map.remove(30), "string2b");
+        assertEquals(2, map.size());
+        assertEquals(map.remove(2), "stringTwo");
+        assertEquals(1, map.size());
+        assertEquals(map.remove(4), "stringFour");
+        assertEquals(0, map.size());
+        assertTrue(map.isEmpty());
+    }
+    
+    /**
+     * Test the output of the iterator() behavior, including expected exceptions
+     * Map should have the following keys at the following indices to begin.
+     * Index 3: 2 ("String2") 
+     * Index 4: 3 ("String3")
+     * Index 5: 4 ("String4")
+     * Index 6: 18 ("String 4c") 
+     * Index 7: 11 ("String 4b")
+     * Index 8: 30 ("String2b")
+     * Index 9: 703 ("String3b")
+     */   
+    @Test
+    public void testIterator() {
+    	assertTrue(map.isEmpty());
+        createMap();
+        assertEquals(7, map.size());
+        
+        Iterator<Integer> it = map.iterator();
+        assertTrue(it.hasNext());
+        assertEquals((int) it.next(), 2);
+        assertTrue(it.hasNext());
+        assertEquals((int) it.next(), 3);
+        assertTrue(it.hasNext());
+        assertEquals((int) it.next(), 4);
+        assertTrue(it.hasNext());
+        assertEquals((int) it.next(), 18);
+        assertTrue(it.hasNext());
+        assertEquals((int) it.next(), 11);
+        assertTrue(it.hasNext());
+        assertEquals((int) it.next(), 30);
+        assertTrue(it.hasNext());
+        assertEquals((int) it.next(), 703);
+        assertFalse(it.hasNext());
+    }
+    
+    /**
+     * Test the output of the entrySet() behavior
+     * Map should have the following keys at the following indices to begin.
+     * Index 3: 2 ("String2") 
+     * Index 4: 3 ("String3")
+     * Index 5: 4 ("String4")
+     * Index 6: 18 ("String 4c") 
+     * Index 7: 11 ("String 4b")
+     * Index 8: 30 ("String2b")
+     * Index 9: 703 ("String3b")
+     */   
+    @Test
+    public void testEntrySet() {
+    	assertTrue(map.isEmpty());
+        createMap();
+        assertEquals(7, map.size());
+        
+        Iterator<Map.Entry<Integer, String>> it = map.entrySet().iterator();        
+        assertTrue(it.hasNext());
+        assertEquals((int) it.next().getKey(), 2);
+        assertTrue(it.hasNext());
+        assertEquals((int) it.next().getKey(), 3);
+        assertTrue(it.hasNext());
+        assertEquals((int) it.next().getKey(), 4);
+        assertTrue(it.hasNext());
+        assertEquals((int) it.next().getKey(), 18);
+        assertTrue(it.hasNext());
+        assertEquals((int) it.next().getKey(), 11);
+        assertTrue(it.hasNext());
+        assertEquals((int) it.next().getKey(), 30);
+        assertTrue(it.hasNext());
+        assertEquals((int) it.next().getKey(), 703);
+        assertFalse(it.hasNext());
+    }
+    
+    /**
+     * Test the output of the values() behavior
+     * Map should have the following keys at the following indices to begin.
+     * Index 3: 2 ("String2") 
+     * Index 4: 3 ("String3")
+     * Index 5: 4 ("String4")
+     * Index 6: 18 ("String 4c") 
+     * Index 7: 11 ("String 4b")
+     * Index 8: 30 ("String2b")
+     * Index 9: 703 ("String3b")
+     */   
+    @Test
+    public void testValues() {
+    	assertTrue(map.isEmpty());
+        createMap();
+        assertEquals(7, map.size());
+        
+        Iterator<String> it = map.values().iterator();       
+        assertTrue(it.hasNext());
+        assertEquals((String) it.next(), "string2");
+        assertTrue(it.hasNext());
+        assertEquals(it.next(), "string3");
+        assertTrue(it.hasNext());
+        assertEquals(it.next(), "string4");
+        assertTrue(it.hasNext());
+        assertEquals(it.next(), "string4c");
+        assertTrue(it.hasNext());
+        assertEquals(it.next(), "string4b");
+        assertTrue(it.hasNext());
+        assertEquals(it.next(), "string2b");
+        assertTrue(it.hasNext());
+        assertEquals(it.next(), "string3b");
+        assertFalse(it.hasNext());
+    }
+    
+    /**
+     * Tests all of the constructors
+     */
+    @Test
+    public void testConstructors() {
+    	assertEquals(0, map2.size());
+        assertTrue(map2.isEmpty());
+        assertEquals(0, map3.size());
+        assertTrue(map3.isEmpty());
+        assertEquals(0, map4.size());
+        assertTrue(map4.isEmpty());
+    }
+
+    /**
+     * Tests that entries remain reachable while an incremental resize moves
+     * buckets from the old hash table array into the new one
+     */
+    @Test
+    public void testIncrementalResize() {
+        CompactLinearProbingHashMap<Integer, String> incremental = new CompactLinearProbingHashMap<Integer, String>(7, true);
+        assertFalse(incremental.isIncrementalResize());
+        incremental.setIncrementalResize(true);
+        assertTrue(incremental.isIncrementalResize());
+        for (int i = 0; i < 500; i++) {
+            assertNull(incremental.put(i, "s" + i));
+            assertEquals(i + 1, incremental.size());
+            // Keys added before the resize started are still reachable
+            assertEquals("s0", incremental.get(0));
+            assertEquals("s" + (i / 2), incremental.get(i / 2));
+        }
+        // Update and remove keys regardless of which table holds them
+        for (int i = 0; i < 500; i += 5) {
+            assertEquals("s" + i, incremental.put(i, "t" + i));
+        }
+        for (int i = 1; i < 500; i += 5) {
+            assertEquals("s" + i, incremental.remove(i));
+            assertNull(incremental.remove(i));
+        }
+        assertEquals(400, incremental.size());
+        int count = 0;
+        for (Map.Entry<Integer, String> entry : incremental.entrySet()) {
+            assertEquals(entry.getValue(), incremental.get(entry.getKey()));
+            count++;
+        }
+        assertEquals(400, count);
+
+        // Turning incremental resizing off finishes any resize in progress
+        incremental.setIncrementalResize(false);
+        for (int i = 0; i < 500; i++) {
+            if (i % 5 == 0) {
+                assertEquals("t" + i, incremental.get(i));
+            } else if (i % 5 == 1) {
+                assertNull(incremental.get(i));
+            } else {
+                assertEquals("s" + i, incremental.get(i));
+            }
+        }
+    }
+
+    /**
+     * Test that the map works with each built-in hash strategy, including across
+     * resizes of power-of-two tables
+     */
+    @Test
+    public void testHashStrategies() {
+        List<HashStrategy<Integer>> strategies = new ArrayBasedList<HashStrategy<Integer>>();
+        strategies.addLast(new MADHashStrategy<Integer>());
+        strategies.addLast(new MurmurHashStrategy<Integer>());
+        strategies.addLast(new IdentityHashStrategy<Integer>());
+        for (HashStrategy<Integer> strategy : strategies) {
+            CompactLinearProbingHashMap<Integer, String> hashed = new CompactLinearProbingHashMap<Integer, String>(10, strategy);
+            assertSame(strategy, hashed.getHashStrategy());
+            for (int i = 0; i < 500; i++) {
+                assertNull(hashed.put(i * 16, "s" + i));
+            }
+            assertEquals(500, hashed.size());
+            for (int i = 0; i < 500; i += 2) {
+                assertEquals("s" + i, hashed.remove(i * 16));
+            }
+            for (int i = 0; i < 500; i++) {
+                assertEquals(i % 2 == 0 ? null : "s" + i, hashed.get(i * 16));
+            }
+            assertEquals(250, hashed.size());
+        }
+    }
+
+    /**
+     * Test the collision statistics of the hash table
+     */
+    @Test
+    public void testStats() {
+        CompactLinearProbingHashMap<Integer, String> probing = new CompactLinearProbingHashMap<Integer, String>(11, true);
+        assertFalse(probing.isStatsEnabled());
+        try {
+            probing.getStats();
+            fail();
+        } catch (Exception e) {
+            assertTrue(e instanceof IllegalStateException);
+        }
+        probing.setStatsEnabled(true);
+        assertTrue(probing.isStatsEnabled());
+        // Keys 6, 13, and 20 all hash to bucket 0
+        probing.put(6, "string6");
+        probing.put(13, "string13");
+        probing.put(20, "string20");
+        assertEquals("string20", probing.get(20));
+        assertEquals("string13", probing.remove(13));
+
+        HashMapStats stats = probing.getStats();
+        long[] probes = stats.getProbeHistogram();
+        assertEquals(HashMapStats.HISTOGRAM_SIZE, probes.length);
+        assertEquals(1, probes[1]);
+        assertEquals(2, probes[2]);
+        assertEquals(2, probes[3]);
+        assertEquals(5, stats.getOperationCount());
+        assertEquals(1, stats.getTombstones());
+        assertEquals(3, stats.getMaxClusterLength());
+        assertEquals(0, stats.getBucketSizeHistogram().length);
+        assertEquals(0, stats.getResizeCount());
+
+        for (int i = 0; i < 20; i++) {
+            probing.put(100 + i, "s" + i);
+        }
+        stats = probing.getStats();
+        assertTrue(stats.getResizeCount() >= 1);
+        assertTrue(stats.getResizeNanos() > 0);
+        // Reinserting entries during a resize is not counted as map operations
+        assertEquals(25, stats.getOperationCount());
+
+        probing.setStatsEnabled(false);
+        assertFalse(probing.isStatsEnabled());
+        probing.setStatsEnabled(true);
+        assertEquals(0, probing.getStats().getOperationCount());
+    }
+
+}
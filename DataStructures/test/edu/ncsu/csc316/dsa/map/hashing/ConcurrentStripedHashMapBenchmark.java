@@ -0,0 +1,117 @@
+package edu.ncsu.csc316.dsa.map.hashing;
+
+import edu.ncsu.csc316.dsa.map.Map;
+
+/**
+ * Throughput benchmark for ConcurrentStripedHashMap. Runs a mixed workload of
+ * 90% get and 10% put operations with an increasing number of threads and
+ * compares the throughput against a LinearProbingHashMap guarded by a single
+ * global lock.
+ *
+ * Run the main method directly; this class is not a JUnit test.
+ *
+ * @author Ben Morris
+ *
+ */
+public class ConcurrentStripedHashMapBenchmark {
+
+    /** The number of distinct keys used by the workload */
+    private static final int KEYS = 1 << 16;
+    /** The number of operations each thread performs */
+    private static final int OPERATIONS = 2000000;
+
+    /**
+     * A map that serializes every operation on one lock, used as the baseline
+     */
+    private static class GlobalLockMap {
+        /** The wrapped map */
+        private final Map<Integer, Integer> map = new LinearProbingHashMap<Integer, Integer>();
+
+        /**
+         * Returns the value for the given key while holding the lock
+         * @param key the key to look up
+         * @return the value for the key
+         */
+        synchronized Integer get(Integer key) {
+            return map.get(key);
+        }
+
+        /**
+         * Stores the value for the given key while holding the lock
+         * @param key the key to store
+         * @param value the value to store
+         */
+        synchronized void put(Integer key, Integer value) {
+            map.put(key, value);
+        }
+    }
+
+    /**
+     * Runs the workload with the given number of threads and returns the
+     * throughput in millions of operations per second
+     *
+     * @param threads the number of threads
+     * @param striped the striped map, or null to use the global lock baseline
+     * @param locked  the global lock baseline, used if striped is null
+     * @return the throughput in millions of operations per second
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    private static double run(int threads, Map<Integer, Integer> striped, GlobalLockMap locked)
+            throws InterruptedException {
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final int seed = t * 7919 + 1;
+            workers[t] = new Thread(() -> {
+                int x = seed;
+                for (int i = 0; i < OPERATIONS; i++) {
+                    // xorshift random numbers avoid contention on a shared Random
+                    x ^= x << 13;
+                    x ^= x >>> 17;
+                    x ^= x << 5;
+                    Integer key = x & (KEYS - 1);
+                    if ((x & 0xF0000) < 0x18000) {
+                        if (striped != null) {
+                            striped.put(key, i);
+                        } else {
+                            locked.put(key, i);
+                        }
+                    } else if (striped != null) {
+                        striped.get(key);
+                    } else {
+                        locked.get(key);
+                    }
+                }
+            });
+        }
+        long start = System.nanoTime();
+        for (Thread w : workers) {
+            w.start();
+        }
+        for (Thread w : workers) {
+            w.join();
+        }
+        long elapsed = System.nanoTime() - start;
+        return (double) threads * OPERATIONS / elapsed * 1000.0;
+    }
+
+    /**
+     * Runs the benchmark for 1, 2, 4, 8, and 16 threads
+     *
+     * @param args unused
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("threads  striped(Mops/s)  globalLock(Mops/s)");
+        for (int threads = 1; threads <= 16; threads *= 2) {
+            Map<Integer, Integer> striped = new ConcurrentStripedHashMap<Integer, Integer>(threads * 4);
+            GlobalLockMap locked = new GlobalLockMap();
+            for (int i = 0; i < KEYS; i++) {
+                striped.put(i, i);
+                locked.put(i, i);
+            }
+            double s = run(threads, striped, null);
+            double g = run(threads, null, locked);
+            System.out.printf("%7d  %15.2f  %18.2f%n", threads, s, g);
+        }
+    }
+}
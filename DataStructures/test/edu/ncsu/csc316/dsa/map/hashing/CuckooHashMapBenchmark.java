@@ -0,0 +1,107 @@
+package edu.ncsu.csc316.dsa.map.hashing;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import edu.ncsu.csc316.dsa.map.Map;
+
+/**
+ * Lookup latency benchmark for CuckooHashMap. Fills each map with the same
+ * random keys, then times individual successful and unsuccessful lookups and
+ * reports the mean and the 99th and 99.9th percentile latencies alongside the
+ * time taken to build the map. The cuckoo map is compared against the
+ * LinearProbingHashMap, SeparateChainingHashMap, and RobinHoodHashMap. Every
+ * map is presized so that no resize happens while it is built, and each is
+ * filled to just under its maximum load factor.
+ *
+ * Run the main method directly; this class is not a JUnit test.
+ *
+ * @author Ben Morris
+ *
+ */
+public class CuckooHashMapBenchmark {
+
+    /** The number of keys stored in each map */
+    private static final int KEYS = 200000;
+    /** The number of timed lookups of each kind */
+    private static final int LOOKUPS = 1000000;
+
+    /**
+     * Returns a new, empty map of the named kind, presized to hold every key
+     *
+     * @param name the name of the map
+     * @return a new, empty map
+     */
+    private static Map<Integer, Integer> create(String name) {
+        switch (name) {
+        case "cuckoo":
+            // Two tables that together stay below the 0.45 load factor
+            return new CuckooHashMap<Integer, Integer>(KEYS * 9 / 8);
+        case "linear":
+            return new LinearProbingHashMap<Integer, Integer>(KEYS * 2 + 1);
+        case "chaining":
+            return new SeparateChainingHashMap<Integer, Integer>(KEYS * 2 + 1);
+        default:
+            return new RobinHoodHashMap<Integer, Integer>(KEYS * 2 + 1);
+        }
+    }
+
+    /**
+     * Times each lookup of the given keys and prints a summary of the latencies
+     *
+     * @param label the label for the printed row
+     * @param map   the map to query
+     * @param keys  the keys to look up
+     * @param build the time in milliseconds that it took to build the map
+     */
+    private static void time(String label, Map<Integer, Integer> map, Integer[] keys, double build) {
+        long[] latencies = new long[LOOKUPS];
+        long total = 0;
+        int found = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            Integer key = keys[i % keys.length];
+            long start = System.nanoTime();
+            Integer value = map.get(key);
+            latencies[i] = System.nanoTime() - start;
+            total += latencies[i];
+            if (value != null) {
+                found++;
+            }
+        }
+        Arrays.sort(latencies);
+        System.out.printf("%-22s %9.1f %8.1f %8d %9d %8d%n", label, build, (double) total / LOOKUPS,
+                latencies[LOOKUPS * 99 / 100], latencies[LOOKUPS * 999 / 1000], found);
+    }
+
+    /**
+     * Runs the benchmark for each kind of map
+     *
+     * @param args unused
+     */
+    public static void main(String[] args) {
+        Random rand = new Random(42);
+        Integer[] present = new Integer[KEYS];
+        Integer[] absent = new Integer[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            // Even keys are stored and odd keys are never stored
+            present[i] = rand.nextInt() & ~1;
+            absent[i] = rand.nextInt() | 1;
+        }
+        String[] names = { "cuckoo", "linear", "chaining", "robinhood" };
+        // Run everything twice so the second round is measured after JIT warm-up
+        for (int round = 0; round < 2; round++) {
+            System.out.println(round == 0 ? "warm-up" : "measured");
+            System.out.println("map                    build(ms) mean(ns) p99(ns) p99.9(ns)    found");
+            for (String name : names) {
+                Map<Integer, Integer> map = create(name);
+                long start = System.nanoTime();
+                for (Integer key : present) {
+                    map.put(key, key);
+                }
+                double build = (System.nanoTime() - start) / 1e6;
+                time(name + " hit", map, present, build);
+                time(name + " miss", map, absent, build);
+            }
+        }
+    }
+}
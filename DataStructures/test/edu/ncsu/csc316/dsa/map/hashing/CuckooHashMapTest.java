@@ -0,0 +1,216 @@
+package edu.ncsu.csc316.dsa.map.hashing;
+
+import static org.junit.Assert.*;
+import java.util.Iterator;
+
+import org.junit.Before;
+import org.junit.Test;
+import edu.ncsu.csc316.dsa.map.AbstractMapTest;
+import edu.ncsu.csc316.dsa.map.Map;
+
+/**
+ * Test class for CuckooHashMap
+ * Checks the expected outputs of the Map abstract data type behaviors when using
+ * a cuckoo hash map data structure
+ *
+ * @author Ben Morris
+ *
+ */
+public class CuckooHashMapTest extends AbstractMapTest {
+	/** Field for map */
+    private CuckooHashMap<Integer, String> map;
+    /** Field for map2 */
+    private Map<Integer, String> map2;
+
+    /**
+     * Create a new instance of a cuckoo hash map before each test case executes
+     */
+    @Before
+    public void setUp() {
+        // When testing, the first hash function is (k + 1) % 7 and the second
+        // is (3k + 1) % 7, so keys that are equal modulo 7 collide in both tables
+        map = new CuckooHashMap<Integer, String>(true);
+        map2 = new CuckooHashMap<Integer, String>();
+    }
+
+    @Override
+    protected Map<Integer, String> newMap() {
+        return new CuckooHashMap<Integer, String>();
+    }
+
+    @Override
+    protected int capacityOf(Map<Integer, String> m) {
+        return ((CuckooHashMap<Integer, String>) m).capacity();
+    }
+
+    /**
+     * Test the output of the put(k,v), get(k), and remove(k) behaviors
+     */
+    @Test
+    public void testPutGetRemove() {
+        assertTrue(map.isEmpty());
+        assertNull(map.put(3, "string3"));
+        assertNull(map.put(4, "string4"));
+        assertEquals(2, map.size());
+        assertEquals("string3", map.put(3, "stringThree"));
+        assertEquals("stringThree", map.get(3));
+        assertEquals(2, map.size());
+        assertNull(map.get(5));
+        assertEquals("string4", map.remove(4));
+        assertNull(map.remove(4));
+        assertNull(map.get(4));
+        assertEquals(1, map.size());
+        assertFalse(map.isEmpty());
+    }
+
+    /**
+     * Tests that keys that collide in both tables are kept in the stash, and that
+     * the map picks new hash functions once the stash is full
+     */
+    @Test
+    public void testCollisions() {
+        // Only two of these keys fit in the tables and four fit in the stash,
+        // so the seventh forces new hash functions
+        for (int i = 0; i < 7; i++) {
+            assertNull(map.put(1 + 7 * i, "string" + (1 + 7 * i)));
+        }
+        assertEquals(7, map.size());
+        assertEquals(17, map.capacity());
+        for (int i = 0; i < 7; i++) {
+            assertEquals("string" + (1 + 7 * i), map.get(1 + 7 * i));
+        }
+        assertNull(map.get(50));
+        for (int i = 0; i < 7; i++) {
+            assertEquals("string" + (1 + 7 * i), map.remove(1 + 7 * i));
+        }
+        assertTrue(map.isEmpty());
+
+        // Without a stash, the third colliding key forces new hash functions
+        CuckooHashMap<Integer, String> noStash = new CuckooHashMap<Integer, String>(17, 0, true);
+        noStash.put(1, "string1");
+        noStash.put(8, "string8");
+        noStash.put(15, "string15");
+        assertEquals("string1", noStash.get(1));
+        assertEquals("string8", noStash.get(8));
+        assertEquals("string15", noStash.get(15));
+        assertEquals(3, noStash.size());
+
+        try {
+            new CuckooHashMap<Integer, String>(17, -1, true);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("Stash size cannot be negative.", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests removing entries from both tables and the stash through the
+     * entrySet iterator
+     */
+    @Test
+    public void testIteratorRemoveStash() {
+        // Two of these keys sit in the tables and four in the stash
+        for (int i = 0; i < 6; i++) {
+            map.put(1 + 7 * i, "string" + (1 + 7 * i));
+        }
+        map.put(3, "string3");
+        Iterator<Map.Entry<Integer, String>> it = map.entrySet().iterator();
+        int count = 0;
+        while (it.hasNext()) {
+            int key = it.next().getKey();
+            count++;
+            // Removing a stash entry moves the last stash entry into its place
+            if (key != 3 && key != 36) {
+                it.remove();
+            }
+        }
+        assertEquals(7, count);
+        assertEquals(2, map.size());
+        assertEquals("string3", map.get(3));
+        assertEquals("string36", map.get(36));
+        for (int i = 0; i < 6; i++) {
+            assertEquals(i == 5 ? "string36" : null, map.get(1 + 7 * i));
+        }
+    }
+
+    /**
+     * Tests that the tables grow as entries are added and every entry stays
+     * reachable
+     */
+    @Test
+    public void testResize() {
+        for (int i = 0; i < 5000; i++) {
+            assertNull(map2.put(i, "s" + i));
+        }
+        assertEquals(5000, map2.size());
+        for (int i = 0; i < 5000; i += 2) {
+            assertEquals("s" + i, map2.remove(i));
+        }
+        for (int i = 0; i < 5000; i++) {
+            assertEquals(i % 2 == 0 ? null : "s" + i, map2.get(i));
+        }
+        int count = 0;
+        for (Map.Entry<Integer, String> entry : map2.entrySet()) {
+            assertEquals("s" + entry.getKey(), entry.getValue());
+            count++;
+        }
+        assertEquals(2500, count);
+    }
+
+    /**
+     * Tests that keys sharing one hashCode(), which land in the same two slots
+     * at every capacity, overflow into a larger stash instead of growing the
+     * tables without bound
+     */
+    @Test
+    public void testCollidingHashCodes() {
+        // "Aa" and "BB" have the same hash code, so all 16 strings built from
+        // four of them do as well
+        String[] keys = new String[16];
+        for (int i = 0; i < 16; i++) {
+            StringBuilder key = new StringBuilder();
+            for (int bit = 3; bit >= 0; bit--) {
+                key.append((i >> bit & 1) == 0 ? "Aa" : "BB");
+            }
+            keys[i] = key.toString();
+            assertEquals(keys[0].hashCode(), keys[i].hashCode());
+        }
+        CuckooHashMap<String, Integer> m = new CuckooHashMap<String, Integer>();
+        for (int i = 0; i < 16; i++) {
+            assertNull(m.put(keys[i], i));
+        }
+        for (int i = 0; i < 100; i++) {
+            assertNull(m.put("k" + i, i));
+        }
+        assertEquals(116, m.size());
+        assertTrue(m.capacity() <= 10 * m.size());
+        for (int i = 0; i < 16; i++) {
+            assertEquals(Integer.valueOf(i), m.get(keys[i]));
+        }
+        for (int i = 0; i < 16; i += 2) {
+            assertEquals(Integer.valueOf(i), m.remove(keys[i]));
+        }
+        assertEquals(108, m.size());
+        int count = 0;
+        for (Map.Entry<String, Integer> entry : m.entrySet()) {
+            assertTrue(entry.getKey().startsWith("k") || entry.getValue() % 2 == 1);
+            count++;
+        }
+        assertEquals(108, count);
+        for (int i = 0; i < 16; i++) {
+            assertEquals(i % 2 == 0 ? null : Integer.valueOf(i), m.get(keys[i]));
+        }
+
+        // A map created without a stash still holds every colliding key
+        m = new CuckooHashMap<String, Integer>(AbstractHashMap.DEFAULT_CAPACITY, 0, false);
+        for (int i = 0; i < 16; i++) {
+            assertNull(m.put(keys[i], i));
+        }
+        assertEquals(16, m.size());
+        assertTrue(m.capacity() <= 10 * m.size());
+        for (int i = 0; i < 16; i++) {
+            assertEquals(Integer.valueOf(i), m.get(keys[i]));
+        }
+    }
+
+}
@@ -0,0 +1,37 @@
+package edu.ncsu.csc316.dsa.map.hashing;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Test class for IdentityHashStrategy
+ * Checks the bucket indexes and table capacities of the identity hash strategy
+ *
+ * @author Ben Morris
+ *
+ */
+public class IdentityHashStrategyTest {
+
+    /**
+     * Test that the bucket of a key is the low bits of its hash code
+     */
+    @Test
+    public void testIndex() {
+        HashStrategy<Integer> strategy = new IdentityHashStrategy<Integer>();
+        assertEquals(5, strategy.index(5, 16));
+        assertEquals(5, strategy.index(21, 16));
+        assertEquals(15, strategy.index(-1, 16));
+        assertEquals(0, strategy.index(7, 1));
+    }
+
+    /**
+     * Test that capacities are rounded up to powers of two and doubled on resize
+     */
+    @Test
+    public void testCapacity() {
+        HashStrategy<Integer> strategy = new IdentityHashStrategy<Integer>();
+        assertEquals(32, strategy.tableCapacity(17));
+        assertEquals(16, strategy.tableCapacity(16));
+        assertEquals(32, strategy.nextCapacity(16));
+    }
+}
@@ -0,0 +1,188 @@
+package edu.ncsu.csc316.dsa.map.hashing;
+
+import static org.junit.Assert.*;
+import java.util.Iterator;
+import org.junit.Before;
+import org.junit.Test;
+import edu.ncsu.csc316.dsa.map.Map;
+import edu.ncsu.csc316.dsa.map.SearchTableMap;
+
+/**
+ * Test class for IntIntHashMap
+ * Checks the expected outputs of the Map abstract data type behaviors and the
+ * primitive int overloads when using an int-to-int open-addressing hash map
+ *
+ * @author Ben Morris
+ *
+ */
+public class IntIntHashMapTest {
+	/** Field for map */
+    private IntIntHashMap map;
+    /** Field for map with a custom "no entry" value */
+    private IntIntHashMap map2;
+
+    /**
+     * Create new instances of int-to-int hash maps before each test case executes
+     */
+    @Before
+    public void setUp() {
+        map = new IntIntHashMap();
+        map2 = new IntIntHashMap(4, -1);
+    }
+
+    /**
+     * Test the output of the put(k,v) and get(k) behaviors
+     */
+    @Test
+    public void testPutGet() {
+        assertEquals(0, map.getNoEntryValue());
+        assertEquals(-1, map2.getNoEntryValue());
+        assertEquals(0, map.put(3, 30));
+        assertEquals(-1, map2.put(3, 30));
+        assertEquals(30, map.put(3, 33));
+        assertEquals(33, map.get(3));
+        assertEquals(0, map.get(4));
+        assertEquals(-1, map2.get(4));
+
+        assertEquals(-1, map2.put(0, 7));
+        assertEquals(7, map2.get(0));
+        assertTrue(map2.containsKey(0));
+        assertEquals(2, map2.size());
+
+        for (int i = 1; i <= 1000; i++) {
+            map.put(-i, i);
+        }
+        assertEquals(1001, map.size());
+        for (int i = 1; i <= 1000; i++) {
+            assertEquals(i, map.get(-i));
+        }
+    }
+
+    /**
+     * Test the output of the remove(k) behavior
+     */
+    @Test
+    public void testRemove() {
+        assertEquals(-1, map2.remove(5));
+        assertEquals(-1, map2.remove(0));
+        for (int i = 0; i < 300; i++) {
+            map2.put(i, i * 2);
+        }
+        assertEquals(0, map2.remove(0));
+        for (int i = 1; i < 300; i += 3) {
+            assertEquals(i * 2, map2.remove(i));
+        }
+        assertEquals(199, map2.size());
+        for (int i = 1; i < 300; i++) {
+            if (i % 3 == 1) {
+                assertFalse(map2.containsKey(i));
+            } else {
+                assertEquals(i * 2, map2.get(i));
+            }
+        }
+    }
+
+    /**
+     * Test the Map behaviors using boxed Integer keys and values
+     */
+    @Test
+    public void testMapInterface() {
+        Map<Integer, Integer> m = map;
+        assertNull(m.put(Integer.valueOf(8), Integer.valueOf(0)));
+        assertEquals(Integer.valueOf(0), m.get(Integer.valueOf(8)));
+        assertNull(m.get(Integer.valueOf(9)));
+        assertEquals(Integer.valueOf(0), m.put(Integer.valueOf(8), Integer.valueOf(80)));
+        assertEquals(Integer.valueOf(80), m.remove(Integer.valueOf(8)));
+        assertNull(m.remove(Integer.valueOf(8)));
+        assertTrue(m.isEmpty());
+
+        m.put(1, 10);
+        m.put(2, 20);
+        int sum = 0;
+        for (Map.Entry<Integer, Integer> e : m.entrySet()) {
+            assertEquals(e.getKey() * 10, (int) e.getValue());
+            sum += e.getValue();
+        }
+        assertEquals(30, sum);
+
+        // The key 0 is kept outside the table
+        assertNull(m.get(0));
+        assertNull(m.remove(0));
+        assertNull(m.put(0, 0));
+        assertEquals(Integer.valueOf(0), m.put(0, 5));
+        assertEquals(Integer.valueOf(5), m.get(0));
+        assertEquals(Integer.valueOf(5), m.remove(0));
+        assertNull(m.get(0));
+
+        // Enough keys to resize, then removals that shift clusters back
+        for (int i = 1; i <= 1000; i++) {
+            assertNull(m.put(i * 16, i));
+        }
+        for (int i = 1; i <= 1000; i += 2) {
+            assertEquals(Integer.valueOf(i), m.remove(i * 16));
+        }
+        for (int i = 1; i <= 1000; i++) {
+            assertEquals(i % 2 == 0 ? Integer.valueOf(i) : null, m.get(i * 16));
+        }
+        assertEquals(502, m.size());
+    }
+
+    /**
+     * Tests removing mappings, including the one for the key 0, through the
+     * entrySet iterator
+     */
+    @Test
+    public void testIteratorRemove() {
+        IntIntHashMap m = new IntIntHashMap();
+        for (int i = -200; i <= 200; i++) {
+            m.put(i * 37, i);
+        }
+        Iterator<Map.Entry<Integer, Integer>> it = m.entrySet().iterator();
+        try {
+            it.remove();
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals("Successful next() not yet called.", e.getMessage());
+        }
+        boolean[] seen = new boolean[401];
+        while (it.hasNext()) {
+            Map.Entry<Integer, Integer> entry = it.next();
+            int i = entry.getValue();
+            assertEquals(i * 37, (int) entry.getKey());
+            assertFalse(seen[i + 200]);
+            seen[i + 200] = true;
+            if (i % 2 == 0) {
+                it.remove();
+            }
+        }
+        assertEquals(200, m.size());
+        for (int i = -200; i <= 200; i++) {
+            assertTrue(seen[i + 200]);
+            assertEquals(i % 2 == 0 ? m.getNoEntryValue() : i, m.get(i * 37));
+        }
+    }
+
+    /**
+     * Test the output of the ensureCapacity and putAll behaviors
+     */
+    @Test
+    public void testPutAll() {
+        Map<Integer, Integer> source = new SearchTableMap<Integer, Integer>();
+        for (int i = 0; i < 1000; i++) {
+            source.put(i, i * 2);
+        }
+        IntIntHashMap m = new IntIntHashMap();
+        m.putAll(source.entrySet());
+        assertEquals(1000, m.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i * 2, m.get(i));
+        }
+        m.ensureCapacity(4000);
+        for (int i = 1000; i < 4000; i++) {
+            m.put(i, i * 2);
+        }
+        assertEquals(4000, m.size());
+        assertEquals(7998, m.get(3999));
+        assertEquals(0, m.get(0));
+    }
+}
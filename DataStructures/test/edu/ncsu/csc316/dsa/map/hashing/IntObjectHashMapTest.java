@@ -0,0 +1,175 @@
+package edu.ncsu.csc316.dsa.map.hashing;
+
+import static org.junit.Assert.*;
+import java.util.Iterator;
+import org.junit.Before;
+import org.junit.Test;
+import edu.ncsu.csc316.dsa.map.AbstractMapTest;
+import edu.ncsu.csc316.dsa.map.Map;
+
+/**
+ * Test class for IntObjectHashMap
+ * Checks the expected outputs of the Map abstract data type behaviors and the
+ * primitive int overloads when using an int-keyed open-addressing hash map
+ *
+ * @author Ben Morris
+ *
+ */
+public class IntObjectHashMapTest extends AbstractMapTest {
+	/** Field for map */
+    private IntObjectHashMap<String> map;
+
+    /**
+     * Create a new instance of an int-keyed hash map before each test case executes
+     */
+    @Before
+    public void setUp() {
+        map = new IntObjectHashMap<String>();
+    }
+
+    @Override
+    protected Map<Integer, String> newMap() {
+        return new IntObjectHashMap<String>();
+    }
+
+    /**
+     * Test the output of the put(k,v) behavior
+     */
+    @Test
+    public void testPut() {
+        assertEquals(0, map.size());
+        assertTrue(map.isEmpty());
+        assertNull(map.put(3, "string3"));
+        assertEquals(1, map.size());
+        assertFalse(map.isEmpty());
+        assertNull(map.put(-7, "stringNeg7"));
+        assertNull(map.put(0, "string0"));
+        assertEquals(3, map.size());
+
+        // replace existing keys
+        assertEquals("string3", map.put(3, "stringThree"));
+        assertEquals("string0", map.put(0, "stringZero"));
+        assertEquals(3, map.size());
+        assertEquals("stringThree", map.get(3));
+        assertEquals("stringZero", map.get(0));
+
+        // Force several resizes
+        for (int i = 1; i <= 1000; i++) {
+            map.put(i * 16, "s" + i);
+        }
+        assertEquals(1003, map.size());
+        for (int i = 1; i <= 1000; i++) {
+            assertEquals("s" + i, map.get(i * 16));
+        }
+    }
+
+    /**
+     * Test the output of the get(k) and containsKey(k) behaviors
+     */
+    @Test
+    public void testGet() {
+        assertNull(map.get(5));
+        assertFalse(map.containsKey(0));
+        map.put(5, "string5");
+        map.put(0, "string0");
+        map.put(Integer.MIN_VALUE, "min");
+        assertEquals("string5", map.get(5));
+        assertEquals("string0", map.get(0));
+        assertEquals("min", map.get(Integer.MIN_VALUE));
+        assertTrue(map.containsKey(0));
+        assertTrue(map.containsKey(5));
+        assertFalse(map.containsKey(6));
+        assertNull(map.get(6));
+    }
+
+    /**
+     * Test the output of the remove(k) behavior, including removals from the
+     * middle of collision clusters
+     */
+    @Test
+    public void testRemove() {
+        assertNull(map.remove(1));
+        assertNull(map.remove(0));
+        for (int i = 1; i <= 500; i++) {
+            map.put(i, "s" + i);
+        }
+        map.put(0, "string0");
+        assertEquals("string0", map.remove(0));
+        assertNull(map.remove(0));
+        // Remove every other key
+        for (int i = 1; i <= 500; i += 2) {
+            assertEquals("s" + i, map.remove(i));
+        }
+        assertEquals(250, map.size());
+        for (int i = 1; i <= 500; i++) {
+            if (i % 2 == 0) {
+                assertEquals("s" + i, map.get(i));
+            } else {
+                assertNull(map.get(i));
+            }
+        }
+        for (int i = 2; i <= 500; i += 2) {
+            assertEquals("s" + i, map.remove(i));
+        }
+        assertTrue(map.isEmpty());
+    }
+
+    /**
+     * Test the Map behaviors using boxed Integer keys
+     */
+    @Test
+    public void testMapInterface() {
+        Map<Integer, String> m = map;
+        assertNull(m.put(Integer.valueOf(4), "string4"));
+        assertNull(m.put(Integer.valueOf(0), "string0"));
+        assertEquals("string4", m.get(Integer.valueOf(4)));
+        assertEquals("string4", m.remove(Integer.valueOf(4)));
+        assertNull(m.get(Integer.valueOf(4)));
+        assertEquals(1, m.size());
+    }
+
+    /**
+     * Test the output of the entrySet(), iterator(), and values() behaviors
+     */
+    @Test
+    public void testEntrySet() {
+        map.put(0, "string0");
+        map.put(1, "string1");
+        map.put(2, "string2");
+        int keySum = 0;
+        int count = 0;
+        for (Map.Entry<Integer, String> e : map.entrySet()) {
+            assertEquals("string" + e.getKey(), e.getValue());
+            keySum += e.getKey();
+            count++;
+        }
+        assertEquals(3, count);
+        assertEquals(3, keySum);
+
+        Iterator<Integer> it = map.iterator();
+        // The zero key is reported first
+        assertEquals(0, (int) it.next());
+        assertTrue(it.hasNext());
+        count = 0;
+        for (String value : map.values()) {
+            assertTrue(value.startsWith("string"));
+            count++;
+        }
+        assertEquals(3, count);
+
+        // Removing the zero key through the iterator clears the outside slot
+        Iterator<Map.Entry<Integer, String>> entries = map.entrySet().iterator();
+        assertEquals(0, (int) entries.next().getKey());
+        entries.remove();
+        assertTrue(entries.hasNext());
+        assertNull(map.get(0));
+        assertEquals(2, map.size());
+        count = 0;
+        while (entries.hasNext()) {
+            entries.next();
+            count++;
+        }
+        assertEquals(2, count);
+    }
+
+}
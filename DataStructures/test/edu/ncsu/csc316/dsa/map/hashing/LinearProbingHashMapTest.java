@@ -4,6 +4,8 @@ import static org.junit.Assert.*;
 import java.util.Iterator;
 import org.junit.Before;
 import org.junit.Test;
+import edu.ncsu.csc316.dsa.list.ArrayBasedList;
+import edu.ncsu.csc316.dsa.list.List;
 import edu.ncsu.csc316.dsa.map.Map;
 
 /**
@@ -15,7 +17,7 @@ import edu.ncsu.csc316.dsa.map.Map;
  * @author Ben Morris
  *
  */
-public class LinearProbingHashMapTest {
+public class LinearProbingHashMapTest extends AbstractHashMapTest {
 	/** Field for map */
     private Map<Integer, String> map;
     /** Field for map2 */
@@ -48,6 +50,11 @@ public class LinearProbingHashMapTest {
         map3 = new LinearProbingHashMap<Integer, String>(true);
         map4 = new LinearProbingHashMap<Integer, String>(7);
     }
+
+    @Override
+    protected AbstractHashMap<Integer, String> newMap() {
+        return new LinearProbingHashMap<Integer, String>();
+    }
     
     /**
      * Creates a map to test
@@ -346,4 +353,127 @@ public class LinearProbingHashMapTest {
         assertEquals(0, map4.size());
         assertTrue(map4.isEmpty());
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests that entries remain reachable while an incremental resize moves
+     * buckets from the old hash table array into the new one
+     */
+    @Test
+    public void testIncrementalResize() {
+        LinearProbingHashMap<Integer, String> incremental = new LinearProbingHashMap<Integer, String>(7, true);
+        assertFalse(incremental.isIncrementalResize());
+        incremental.setIncrementalResize(true);
+        assertTrue(incremental.isIncrementalResize());
+        for (int i = 0; i < 500; i++) {
+            assertNull(incremental.put(i, "s" + i));
+            assertEquals(i + 1, incremental.size());
+            // Keys added before the resize started are still reachable
+            assertEquals("s0", incremental.get(0));
+            assertEquals("s" + (i / 2), incremental.get(i / 2));
+        }
+        // Update and remove keys regardless of which table holds them
+        for (int i = 0; i < 500; i += 5) {
+            assertEquals("s" + i, incremental.put(i, "t" + i));
+        }
+        for (int i = 1; i < 500; i += 5) {
+            assertEquals("s" + i, incremental.remove(i));
+            assertNull(incremental.remove(i));
+        }
+        assertEquals(400, incremental.size());
+        int count = 0;
+        for (Map.Entry<Integer, String> entry : incremental.entrySet()) {
+            assertEquals(entry.getValue(), incremental.get(entry.getKey()));
+            count++;
+        }
+        assertEquals(400, count);
+
+        // Turning incremental resizing off finishes any resize in progress
+        incremental.setIncrementalResize(false);
+        for (int i = 0; i < 500; i++) {
+            if (i % 5 == 0) {
+                assertEquals("t" + i, incremental.get(i));
+            } else if (i % 5 == 1) {
+                assertNull(incremental.get(i));
+            } else {
+                assertEquals("s" + i, incremental.get(i));
+            }
+        }
+    }
+
+    /**
+     * Test that the map works with each built-in hash strategy, including across
+     * resizes of power-of-two tables
+     */
+    @Test
+    public void testHashStrategies() {
+        List<HashStrategy<Integer>> strategies = new ArrayBasedList<HashStrategy<Integer>>();
+        strategies.addLast(new MADHashStrategy<Integer>());
+        strategies.addLast(new MurmurHashStrategy<Integer>());
+        strategies.addLast(new IdentityHashStrategy<Integer>());
+        for (HashStrategy<Integer> strategy : strategies) {
+            LinearProbingHashMap<Integer, String> hashed = new LinearProbingHashMap<Integer, String>(10, strategy);
+            assertSame(strategy, hashed.getHashStrategy());
+            for (int i = 0; i < 500; i++) {
+                assertNull(hashed.put(i * 16, "s" + i));
+            }
+            assertEquals(500, hashed.size());
+            for (int i = 0; i < 500; i += 2) {
+                assertEquals("s" + i, hashed.remove(i * 16));
+            }
+            for (int i = 0; i < 500; i++) {
+                assertEquals(i % 2 == 0 ? null : "s" + i, hashed.get(i * 16));
+            }
+            assertEquals(250, hashed.size());
+        }
+    }
+
+    /**
+     * Test the collision statistics of the hash table
+     */
+    @Test
+    public void testStats() {
+        LinearProbingHashMap<Integer, String> probing = new LinearProbingHashMap<Integer, String>(11, true);
+        assertFalse(probing.isStatsEnabled());
+        try {
+            probing.getStats();
+            fail();
+        } catch (Exception e) {
+            assertTrue(e instanceof IllegalStateException);
+        }
+        probing.setStatsEnabled(true);
+        assertTrue(probing.isStatsEnabled());
+        // Keys 6, 13, and 20 all hash to bucket 0
+        probing.put(6, "string6");
+        probing.put(13, "string13");
+        probing.put(20, "string20");
+        assertEquals("string20", probing.get(20));
+        assertEquals("string13", probing.remove(13));
+
+        HashMapStats stats = probing.getStats();
+        long[] probes = stats.getProbeHistogram();
+        assertEquals(HashMapStats.HISTOGRAM_SIZE, probes.length);
+        assertEquals(1, probes[1]);
+        assertEquals(2, probes[2]);
+        assertEquals(2, probes[3]);
+        assertEquals(5, stats.getOperationCount());
+        assertEquals(1, stats.getTombstones());
+        assertEquals(3, stats.getMaxClusterLength());
+        assertEquals(0, stats.getBucketSizeHistogram().length);
+        assertEquals(0, stats.getResizeCount());
+
+        for (int i = 0; i < 20; i++) {
+            probing.put(100 + i, "s" + i);
+        }
+        stats = probing.getStats();
+        assertTrue(stats.getResizeCount() >= 1);
+        assertTrue(stats.getResizeNanos() > 0);
+        // Reinserting entries during a resize is not counted as map operations
+        assertEquals(25, stats.getOperationCount());
+
+        probing.setStatsEnabled(false);
+        assertFalse(probing.isStatsEnabled());
+        probing.setStatsEnabled(true);
+        assertEquals(0, probing.getStats().getOperationCount());
+    }
+
+}
@@ -0,0 +1,319 @@
+package edu.ncsu.csc316.dsa.map.hashing;
+
+import static org.junit.Assert.*;
+import java.util.Iterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import edu.ncsu.csc316.dsa.map.AbstractMapTest;
+import edu.ncsu.csc316.dsa.map.Map;
+
+/**
+ * Test class for LockFreeHashMap
+ * Checks the expected outputs of the Map abstract data type behaviors when using
+ * a lock-free hash map, both from a single thread and from many threads at once
+ *
+ * @author Ben Morris
+ *
+ */
+public class LockFreeHashMapTest extends AbstractMapTest {
+	/** Field for map */
+    private Map<Integer, String> map;
+
+    /**
+     * Create a new instance of a lock-free hash map before each test case executes
+     */
+    @Before
+    public void setUp() {
+        map = new LockFreeHashMap<Integer, String>();
+    }
+
+    @Override
+    protected Map<Integer, String> newMap() {
+        return new LockFreeHashMap<Integer, String>();
+    }
+
+    /**
+     * Test the output of the put(k,v), get(k), and remove(k) behaviors from a
+     * single thread
+     */
+    @Test
+    public void testPutGetRemove() {
+        assertTrue(map.isEmpty());
+        assertNull(map.put(3, "string3"));
+        assertNull(map.put(4, "string4"));
+        assertEquals(2, map.size());
+        assertEquals("string3", map.put(3, "stringThree"));
+        assertEquals("stringThree", map.get(3));
+        assertNull(map.get(5));
+        assertEquals("string4", map.remove(4));
+        assertNull(map.remove(4));
+        assertEquals(1, map.size());
+        assertNull(map.put(4, "string4"));
+        assertEquals("string4", map.get(4));
+        assertEquals(2, map.size());
+
+        // Force the table to resize several times
+        for (int i = 0; i < 5000; i++) {
+            map.put(i, "s" + i);
+        }
+        assertEquals(5000, map.size());
+        for (int i = 0; i < 5000; i += 3) {
+            assertEquals("s" + i, map.remove(i));
+        }
+        for (int i = 0; i < 5000; i++) {
+            assertEquals(i % 3 == 0 ? null : "s" + i, map.get(i));
+        }
+        int count = 0;
+        for (Map.Entry<Integer, String> entry : map.entrySet()) {
+            assertEquals("s" + entry.getKey(), entry.getValue());
+            count++;
+        }
+        assertEquals(map.size(), count);
+
+        try {
+            map.put(1, null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("Null values are not supported.", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that repeatedly removing and adding keys, which fills the table with
+     * removed keys, cleans the table up with resizes instead of losing entries
+     */
+    @Test
+    public void testChurn() {
+        Map<Integer, String> small = new LockFreeHashMap<Integer, String>(4);
+        for (int i = 0; i < 10000; i++) {
+            small.put(i, "s" + i);
+            if (i >= 3) {
+                assertEquals("s" + (i - 3), small.remove(i - 3));
+            }
+            assertEquals(Math.min(i + 1, 3), small.size());
+        }
+        assertEquals("s9997", small.get(9997));
+        assertEquals("s9999", small.get(9999));
+        assertNull(small.get(9996));
+    }
+
+    /**
+     * Stress test: several writer threads insert and remove disjoint ranges of
+     * keys, forcing many concurrent resizes of a small table, while reader
+     * threads continuously look up keys that are never removed
+     *
+     * @throws InterruptedException if the test thread is interrupted
+     */
+    @Test
+    public void testConcurrentStress() throws InterruptedException {
+        final int writers = 4;
+        final int perWriter = 20000;
+        final Map<Integer, Integer> shared = new LockFreeHashMap<Integer, Integer>(1);
+        // Keys below 0 are stable and must always be visible to readers
+        for (int i = 1; i <= 1000; i++) {
+            shared.put(-i, i);
+        }
+        final AtomicInteger failures = new AtomicInteger(0);
+        final AtomicBoolean done = new AtomicBoolean(false);
+        Thread[] threads = new Thread[writers + 2];
+        for (int w = 0; w < writers; w++) {
+            final int base = w * perWriter;
+            threads[w] = new Thread(() -> {
+                for (int i = base; i < base + perWriter; i++) {
+                    if (shared.put(i, i) != null) {
+                        failures.incrementAndGet();
+                    }
+                }
+                // Remove the odd keys of this writer's range
+                for (int i = base + 1; i < base + perWriter; i += 2) {
+                    if (shared.remove(i) == null) {
+                        failures.incrementAndGet();
+                    }
+                }
+            });
+        }
+        for (int r = writers; r < threads.length; r++) {
+            threads[r] = new Thread(() -> {
+                while (!done.get()) {
+                    for (int i = 1; i <= 1000; i++) {
+                        Integer value = shared.get(-i);
+                        if (value == null || value != i) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                }
+            });
+        }
+        for (Thread t : threads) {
+            t.start();
+        }
+        for (int w = 0; w < writers; w++) {
+            threads[w].join();
+        }
+        done.set(true);
+        for (int r = writers; r < threads.length; r++) {
+            threads[r].join();
+        }
+
+        assertEquals(0, failures.get());
+        assertEquals(1000 + writers * perWriter / 2, shared.size());
+        for (int i = 0; i < writers * perWriter; i++) {
+            assertEquals(i % 2 == 0 ? Integer.valueOf(i) : null, shared.get(i));
+        }
+        int count = 0;
+        for (Map.Entry<Integer, Integer> entry : shared.entrySet()) {
+            assertNotNull(entry.getValue());
+            count++;
+        }
+        assertEquals(shared.size(), count);
+    }
+
+    /**
+     * Tests that compute retries when another thread changes the entry between
+     * reading the old value and installing the new one: the function is applied
+     * again to the newer value, and the stale result is never installed
+     *
+     * @throws InterruptedException if the test thread is interrupted
+     */
+    @Test
+    public void testComputeRetries() throws InterruptedException {
+        final Map<Integer, String> m = new LockFreeHashMap<Integer, String>();
+        m.put(1, "one");
+        final CountDownLatch applied = new CountDownLatch(1);
+        final CountDownLatch changed = new CountDownLatch(1);
+        final AtomicInteger calls = new AtomicInteger();
+        final String[] result = new String[1];
+        Thread writer = new Thread(() -> {
+            result[0] = m.compute(1, (k, v) -> {
+                if (calls.incrementAndGet() == 1) {
+                    // Let the main thread replace the value before this result
+                    // is installed
+                    applied.countDown();
+                    try {
+                        changed.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return v + "!";
+            });
+        });
+        writer.start();
+        applied.await();
+        assertEquals("one", m.put(1, "uno"));
+        changed.countDown();
+        writer.join();
+        assertEquals(2, calls.get());
+        assertEquals("uno!", result[0]);
+        assertEquals("uno!", m.get(1));
+        assertEquals(1, m.size());
+    }
+
+    /**
+     * Test that concurrent merges on shared keys never lose an update
+     *
+     * @throws InterruptedException if the test thread is interrupted
+     */
+    @Test
+    public void testConcurrentMerge() throws InterruptedException {
+        final int threadCount = 4;
+        final int perThread = 20000;
+        final Map<Integer, Integer> counts = new LockFreeHashMap<Integer, Integer>(1);
+        Thread[] threads = new Thread[threadCount];
+        for (int t = 0; t < threadCount; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    counts.merge(i % 100, 1, Integer::sum);
+                }
+            });
+        }
+        for (Thread t : threads) {
+            t.start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        assertEquals(100, counts.size());
+        for (int k = 0; k < 100; k++) {
+            assertEquals(Integer.valueOf(threadCount * perThread / 100), counts.get(k));
+        }
+    }
+
+    /**
+     * Tests that the entrySet iterator is weakly consistent: updates made while
+     * walking the map, including ones that resize the table, never cause an
+     * exception or a repeated key, and every key that is neither added nor
+     * removed during the walk is returned exactly once
+     */
+    @Test
+    public void testIteratorWeaklyConsistent() {
+        for (int i = 0; i < 100; i++) {
+            map.put(i, "s" + i);
+        }
+        int[] seen = new int[300];
+        Iterator<Map.Entry<Integer, String>> it = map.entrySet().iterator();
+        int added = 100;
+        while (it.hasNext()) {
+            Map.Entry<Integer, String> entry = it.next();
+            int key = entry.getKey();
+            assertEquals("s" + key, entry.getValue());
+            seen[key]++;
+            assertEquals(1, seen[key]);
+            if (key < 100 && key % 2 == 0) {
+                it.remove();
+            }
+            // Adding keys while walking forces the table to grow
+            if (added < 300) {
+                map.put(added, "s" + added);
+                added++;
+            }
+        }
+        for (int i = 0; i < 100; i++) {
+            assertEquals(1, seen[i]);
+            assertEquals(i % 2 == 0 ? null : "s" + i, map.get(i));
+        }
+        assertEquals(50 + added - 100, map.size());
+    }
+
+    /**
+     * Test that calling entrySet() while a resize is in progress finishes the
+     * resize and promotes the new table, so later puts keep growing the table
+     */
+    @Test
+    public void testEntrySetDuringResize() {
+        // A table longer than one copy chunk takes several puts to copy
+        LockFreeHashMap<Integer, String> m = new LockFreeHashMap<Integer, String>(100);
+        int length = m.capacity();
+        int i = 0;
+        // Stop right after the put that starts the first resize
+        while (m.capacity() == length) {
+            m.put(i, "v" + i);
+            i++;
+            int count = 0;
+            for (Map.Entry<Integer, String> e : m.entrySet()) {
+                assertEquals("v" + e.getKey(), e.getValue());
+                count++;
+            }
+            assertEquals(i, count);
+            if (i > 4 * length) {
+                fail("The new table was never promoted");
+            }
+        }
+        for (; i < 50000; i++) {
+            m.put(i, "v" + i);
+            if (i % 1000 == 0) {
+                m.entrySet();
+            }
+        }
+        // The table grew with the map instead of staying at an old length
+        assertTrue(m.capacity() >= m.size());
+        assertEquals(50000, m.size());
+        for (int k = 0; k < 50000; k++) {
+            assertEquals("v" + k, m.get(k));
+        }
+    }
+}
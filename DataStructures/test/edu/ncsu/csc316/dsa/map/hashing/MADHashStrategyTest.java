@@ -0,0 +1,46 @@
+package edu.ncsu.csc316.dsa.map.hashing;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Test class for MADHashStrategy
+ * Checks the bucket indexes and table capacities of the multiply-add-and-divide
+ * hash strategy
+ *
+ * @author Ben Morris
+ *
+ */
+public class MADHashStrategyTest {
+
+    /**
+     * Test that, in testing mode, the bucket of key k is ((k + 1) % 7) % capacity
+     */
+    @Test
+    public void testIndex() {
+        HashStrategy<Integer> strategy = new MADHashStrategy<Integer>(true);
+        assertEquals(1, strategy.index(0, 11));
+        assertEquals(0, strategy.index(6, 11));
+        assertEquals(6, strategy.index(12, 11));
+        assertEquals(1, strategy.index(12, 5));
+        // Math.abs keeps negative hash codes in range
+        assertEquals(2, strategy.index(-3, 11));
+
+        strategy = new MADHashStrategy<Integer>();
+        for (int i = -1000; i < 1000; i++) {
+            int index = strategy.index(i, 17);
+            assertTrue(index >= 0 && index < 17);
+        }
+    }
+
+    /**
+     * Test that capacities are used as given and grow to 2 * capacity + 1
+     */
+    @Test
+    public void testCapacity() {
+        HashStrategy<Integer> strategy = new MADHashStrategy<Integer>(true);
+        assertEquals(17, strategy.tableCapacity(17));
+        assertEquals(10, strategy.tableCapacity(10));
+        assertEquals(35, strategy.nextCapacity(17));
+    }
+}
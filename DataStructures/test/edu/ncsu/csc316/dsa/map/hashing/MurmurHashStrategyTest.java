@@ -0,0 +1,62 @@
+package edu.ncsu.csc316.dsa.map.hashing;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Test class for MurmurHashStrategy
+ * Checks the bucket indexes and table capacities of the murmur hash strategy
+ *
+ * @author Ben Morris
+ *
+ */
+public class MurmurHashStrategyTest {
+
+    /**
+     * Test the fmix64 finalizer
+     */
+    @Test
+    public void testFmix64() {
+        assertEquals(0, MurmurHashStrategy.fmix64(0));
+        assertNotEquals(MurmurHashStrategy.fmix64(1), MurmurHashStrategy.fmix64(2));
+        // Flipping one input bit flips about half of the output bits
+        int flipped = Long.bitCount(MurmurHashStrategy.fmix64(1) ^ MurmurHashStrategy.fmix64(3));
+        assertTrue(flipped > 16 && flipped < 48);
+    }
+
+    /**
+     * Test that indexes stay within the table and that keys with regular hash
+     * codes spread across the buckets
+     */
+    @Test
+    public void testIndex() {
+        HashStrategy<Integer> strategy = new MurmurHashStrategy<Integer>(42);
+        assertEquals(strategy.index(1234, 64), new MurmurHashStrategy<Integer>(42).index(1234, 64));
+
+        // Multiples of the capacity would all share bucket 0 with a plain mask
+        int[] counts = new int[64];
+        for (int i = 0; i < 64 * 64; i++) {
+            int index = strategy.index(i * 64, 64);
+            assertTrue(index >= 0 && index < 64);
+            counts[index]++;
+        }
+        for (int count : counts) {
+            assertTrue(count > 32 && count < 128);
+        }
+        assertTrue(strategy.index(-1, 8) >= 0);
+    }
+
+    /**
+     * Test that capacities are rounded up to powers of two and doubled on resize
+     */
+    @Test
+    public void testCapacity() {
+        HashStrategy<Integer> strategy = new MurmurHashStrategy<Integer>();
+        assertEquals(1, strategy.tableCapacity(0));
+        assertEquals(1, strategy.tableCapacity(1));
+        assertEquals(2, strategy.tableCapacity(2));
+        assertEquals(32, strategy.tableCapacity(17));
+        assertEquals(64, strategy.tableCapacity(64));
+        assertEquals(128, strategy.nextCapacity(64));
+    }
+}
@@ -0,0 +1,255 @@
+package edu.ncsu.csc316.dsa.map.hashing;
+
+import static org.junit.Assert.*;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.Test;
+
+import edu.ncsu.csc316.dsa.map.Map;
+
+/**
+ * Test class for PersistentHashMap
+ * Checks the expected outputs of the Map abstract data type behaviors when using
+ * an immutable hash array mapped trie, and that older versions are unaffected
+ * by newer ones
+ *
+ * @author Ben Morris
+ *
+ */
+public class PersistentHashMapTest {
+
+    /**
+     * Test the output of the with behavior
+     */
+    @Test
+    public void testWith() {
+        PersistentHashMap<Integer, String> empty = new PersistentHashMap<Integer, String>();
+        assertTrue(empty.isEmpty());
+        PersistentHashMap<Integer, String> one = empty.with(3, "string3");
+        PersistentHashMap<Integer, String> two = one.with(5, "string5");
+        PersistentHashMap<Integer, String> replaced = two.with(3, "three");
+        assertEquals(0, empty.size());
+        assertEquals(1, one.size());
+        assertEquals(2, two.size());
+        assertEquals(2, replaced.size());
+        assertNull(empty.get(3));
+        assertEquals("string3", one.get(3));
+        assertNull(one.get(5));
+        assertEquals("string3", two.get(3));
+        assertEquals("string5", two.get(5));
+        assertEquals("three", replaced.get(3));
+        // Putting the same value again returns the same version
+        assertSame(replaced, replaced.with(3, "three"));
+
+        try {
+            two.put(1, "string1");
+            fail();
+        } catch (Exception e) {
+            assertTrue(e instanceof UnsupportedOperationException);
+        }
+        try {
+            two.computeIfAbsent(1, k -> "string1");
+            fail();
+        } catch (Exception e) {
+            assertTrue(e instanceof UnsupportedOperationException);
+        }
+        assertEquals(2, two.size());
+    }
+
+    /**
+     * Test the output of the without behavior
+     */
+    @Test
+    public void testWithout() {
+        PersistentHashMap<Integer, String> map = new PersistentHashMap<Integer, String>();
+        for (int i = 0; i < 100; i++) {
+            map = map.with(i, "s" + i);
+        }
+        PersistentHashMap<Integer, String> fewer = map.without(50).without(7);
+        assertSame(fewer, fewer.without(50));
+        assertEquals(100, map.size());
+        assertEquals(98, fewer.size());
+        assertEquals("s50", map.get(50));
+        assertNull(fewer.get(50));
+        assertNull(fewer.get(7));
+        assertEquals("s8", fewer.get(8));
+
+        for (int i = 0; i < 100; i++) {
+            fewer = fewer.without(i);
+        }
+        assertTrue(fewer.isEmpty());
+        assertNull(fewer.get(1));
+        assertEquals(100, map.size());
+        try {
+            map.remove(1);
+            fail();
+        } catch (Exception e) {
+            assertTrue(e instanceof UnsupportedOperationException);
+        }
+    }
+
+    /**
+     * Test keys whose hash codes are equal, which share a collision node
+     */
+    @Test
+    public void testCollisions() {
+        // All of these strings have the same hash code
+        String[] keys = { "AaAa", "AaBB", "BBAa", "BBBB" };
+        PersistentHashMap<String, Integer> map = new PersistentHashMap<String, Integer>();
+        for (int i = 0; i < keys.length; i++) {
+            map = map.with(keys[i], i);
+        }
+        map = map.with("other", 10);
+        assertEquals(5, map.size());
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(i, (int) map.get(keys[i]));
+        }
+        assertNull(map.get("AaAB"));
+        PersistentHashMap<String, Integer> less = map.without("AaBB").without("BBAa").without("AaAa");
+        assertEquals(2, less.size());
+        assertEquals(3, (int) less.get("BBBB"));
+        assertEquals(10, (int) less.get("other"));
+        assertNull(less.get("AaAa"));
+        assertEquals(0, (int) map.get("AaAa"));
+        less = less.with("AaAa", 20);
+        assertEquals(20, (int) less.get("AaAa"));
+        assertEquals(3, less.size());
+    }
+
+    /**
+     * Test the output of the iterator behaviors
+     */
+    @Test
+    public void testIterators() {
+        PersistentHashMap<Integer, String> map = new PersistentHashMap<Integer, String>();
+        map = map.with(3, "string3").with(5, "string5").with(2, "string2").with(4, "string4");
+        // Small integer keys are visited in order of their lowest hash bits
+        Iterator<Integer> it = map.iterator();
+        assertEquals(2, (int) it.next());
+        assertEquals(3, (int) it.next());
+        assertEquals(4, (int) it.next());
+        assertEquals(5, (int) it.next());
+        assertFalse(it.hasNext());
+        try {
+            it.next();
+            fail();
+        } catch (Exception e) {
+            assertTrue(e instanceof NoSuchElementException);
+        }
+
+        Iterator<Map.Entry<Integer, String>> entries = map.entrySet().iterator();
+        assertEquals("string2", entries.next().getValue());
+        try {
+            entries.remove();
+            fail();
+        } catch (Exception e) {
+            assertTrue(e instanceof UnsupportedOperationException);
+        }
+
+        Iterator<String> values = new PersistentHashMap<Integer, String>().values().iterator();
+        assertFalse(values.hasNext());
+
+        // Every entry of a large, deep trie is visited exactly once
+        PersistentHashMap<Integer, Integer> big = new PersistentHashMap<Integer, Integer>();
+        for (int i = 0; i < 5000; i++) {
+            big = big.with(i * 7919, i);
+        }
+        long sum = 0;
+        int count = 0;
+        for (Map.Entry<Integer, Integer> entry : big.entrySet()) {
+            assertEquals(entry.getKey(), (Integer) (entry.getValue() * 7919));
+            sum += entry.getValue();
+            count++;
+        }
+        assertEquals(5000, count);
+        assertEquals(4999L * 5000 / 2, sum);
+    }
+
+    /**
+     * Test the output of the builder behaviors, and that building does not let
+     * later changes reach a published version
+     */
+    @Test
+    public void testBuilder() {
+        PersistentHashMap.Builder<Integer, String> builder = new PersistentHashMap.Builder<Integer, String>();
+        for (int i = 0; i < 1000; i++) {
+            assertNull(builder.put(i, "s" + i));
+        }
+        assertEquals("s10", builder.put(10, "ten"));
+        assertEquals("s20", builder.remove(20));
+        assertNull(builder.remove(20));
+        assertEquals(999, builder.size());
+        assertEquals("s21!", builder.merge(21, "!", String::concat));
+
+        PersistentHashMap<Integer, String> first = builder.build();
+        assertEquals(999, first.size());
+        assertEquals("ten", first.get(10));
+
+        // The builder stays usable, and its changes do not reach the first version
+        builder.put(10, "TEN");
+        builder.remove(11);
+        builder.put(2000, "s2000");
+        assertEquals("ten", first.get(10));
+        assertEquals("s11", first.get(11));
+        assertNull(first.get(2000));
+        PersistentHashMap<Integer, String> second = builder.build();
+        assertEquals("TEN", second.get(10));
+        assertNull(second.get(11));
+        assertEquals(999, second.size());
+
+        // A builder made from a version does not change that version
+        PersistentHashMap.Builder<Integer, String> copy = second.toBuilder();
+        for (int i = 0; i < 1000; i++) {
+            copy.remove(i);
+        }
+        assertEquals(1, copy.size());
+        assertEquals(999, second.size());
+        assertEquals("s500", second.get(500));
+
+        PersistentHashMap<Integer, String> all = new PersistentHashMap<Integer, String>().withAll(second.entrySet());
+        assertEquals(999, all.size());
+        assertEquals("TEN", all.get(10));
+    }
+
+    /**
+     * Test a long random sequence of changes against a LinearProbingHashMap,
+     * checking an old version along the way
+     */
+    @Test
+    public void testAgainstHashMap() {
+        Random rand = new Random(316);
+        Map<Integer, Integer> expected = new LinearProbingHashMap<Integer, Integer>();
+        PersistentHashMap<Integer, Integer> map = new PersistentHashMap<Integer, Integer>();
+        PersistentHashMap<Integer, Integer> snapshot = null;
+        for (int i = 0; i < 20000; i++) {
+            // Mix in negative keys and keys that differ only in high bits
+            int key = rand.nextInt(2000) * (rand.nextBoolean() ? 1 : -65536);
+            if (rand.nextInt(3) == 0) {
+                expected.remove(key);
+                map = map.without(key);
+            } else {
+                expected.put(key, i);
+                map = map.with(key, i);
+            }
+            if (i == 10000) {
+                snapshot = map;
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+        int count = 0;
+        for (Map.Entry<Integer, Integer> entry : map.entrySet()) {
+            assertEquals(expected.get(entry.getKey()), entry.getValue());
+            count++;
+        }
+        assertEquals(expected.size(), count);
+        for (Map.Entry<Integer, Integer> entry : snapshot.entrySet()) {
+            assertTrue(entry.getValue() <= 10000);
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package edu.ncsu.csc316.dsa.map.hashing;
+
+import static org.junit.Assert.*;
+import java.util.Iterator;
+import org.junit.Before;
+import org.junit.Test;
+import edu.ncsu.csc316.dsa.list.ArrayBasedList;
+import edu.ncsu.csc316.dsa.list.List;
+import edu.ncsu.csc316.dsa.map.Map;
+
+/**
+ * Test class for RobinHoodHashMap
+ * Checks the expected outputs of the Map abstract data type behaviors when using
+ * a Robin Hood hash map data structure
+ *
+ * @author Ben Morris
+ *
+ */
+public class RobinHoodHashMapTest extends AbstractHashMapTest {
+	/** Field for map */
+    private Map<Integer, String> map;
+    /** Field for map2 */
+    private Map<Integer, String> map2;
+
+    /**
+     * Create a new instance of a Robin Hood hash map before each test case executes
+     */
+    @Before
+    public void setUp() {
+        // When testing, alpha = 1, beta = 1, and prime = 7, so with a capacity
+        // of 11 the home bucket of key k is (k + 1) % 7
+        map = new RobinHoodHashMap<Integer, String>(11, true);
+        map2 = new RobinHoodHashMap<Integer, String>();
+    }
+
+    @Override
+    protected AbstractHashMap<Integer, String> newMap() {
+        return new RobinHoodHashMap<Integer, String>();
+    }
+
+    /**
+     * Creates a map to test
+     * Map should have the following keys at the following indices to begin.
+     * Index 0: 6 (distance 0)
+     * Index 1: 13 (distance 1)
+     * Index 2: 20 (distance 2)
+     * Index 3: 27 (distance 3)
+     * Index 4: 1 (distance 2)
+     * Index 5: 2 (distance 2)
+     * Index 6: 3 (distance 2)
+     */
+    public void createMap() {
+        map.put(6, "string6");
+        map.put(13, "string13");
+        map.put(20, "string20");
+        map.put(1, "string1");
+        map.put(2, "string2");
+        map.put(3, "string3");
+        // 27 has probed farther than 1, 2, and 3, so it takes slot 3 and
+        // pushes each of them one slot to the right
+        map.put(27, "string27");
+    }
+
+    /**
+     * Test the output of the put(k,v) behavior
+     */
+    @Test
+    public void testPut() {
+        assertTrue(map.isEmpty());
+        createMap();
+        assertEquals(7, map.size());
+        Iterator<Integer> it = map.iterator();
+        assertEquals(6, (int) it.next());
+        assertEquals(13, (int) it.next());
+        assertEquals(20, (int) it.next());
+        assertEquals(27, (int) it.next());
+        assertEquals(1, (int) it.next());
+        assertEquals(2, (int) it.next());
+        assertEquals(3, (int) it.next());
+        assertFalse(it.hasNext());
+
+        // replace existing key
+        assertEquals("string27", map.put(27, "stringTwentySeven"));
+        assertEquals(7, map.size());
+        assertEquals("stringTwentySeven", map.get(27));
+    }
+
+    /**
+     * Test the output of the get(k) behavior
+     */
+    @Test
+    public void testGet() {
+        createMap();
+        assertEquals("string6", map.get(6));
+        assertEquals("string13", map.get(13));
+        assertEquals("string20", map.get(20));
+        assertEquals("string27", map.get(27));
+        assertEquals("string1", map.get(1));
+        assertEquals("string2", map.get(2));
+        assertEquals("string3", map.get(3));
+        // Unsuccessful searches stop early
+        assertNull(map.get(34));
+        assertNull(map.get(4));
+    }
+
+    /**
+     * Test the output of the remove(k) behavior
+     */
+    @Test
+    public void testRemove() {
+        createMap();
+        assertNull(map.remove(34));
+        assertEquals("string13", map.remove(13));
+        assertEquals(6, map.size());
+        // The rest of the cluster shifts back by one slot
+        Iterator<Map.Entry<Integer, String>> it = map.entrySet().iterator();
+        assertEquals(6, (int) it.next().getKey());
+        assertEquals(20, (int) it.next().getKey());
+        assertEquals(27, (int) it.next().getKey());
+        assertEquals(1, (int) it.next().getKey());
+        assertEquals(2, (int) it.next().getKey());
+        assertEquals(3, (int) it.next().getKey());
+        assertFalse(it.hasNext());
+        assertEquals("string27", map.get(27));
+        assertEquals("string3", map.remove(3));
+        assertNull(map.remove(3));
+        assertEquals(5, map.size());
+
+        // Churn through many puts and removes
+        for (int i = 0; i < 2000; i++) {
+            map2.put(i, "s" + i);
+        }
+        for (int i = 0; i < 2000; i += 2) {
+            assertEquals("s" + i, map2.remove(i));
+        }
+        assertEquals(1000, map2.size());
+        for (int i = 0; i < 2000; i++) {
+            assertEquals(i % 2 == 0 ? null : "s" + i, map2.get(i));
+        }
+    }
+
+    /**
+     * Test the output of the values() behavior and the constructors
+     */
+    @Test
+    public void testValuesAndConstructors() {
+        createMap();
+        Iterator<String> it = map.values().iterator();
+        assertEquals("string6", it.next());
+        assertEquals("string13", it.next());
+
+        assertTrue(new RobinHoodHashMap<Integer, String>(true).isEmpty());
+        assertTrue(new RobinHoodHashMap<Integer, String>(7).isEmpty());
+        Map<Integer, String> dense = new RobinHoodHashMap<Integer, String>(3, 0.95, false);
+        for (int i = 0; i < 100; i++) {
+            dense.put(i, "s" + i);
+        }
+        assertEquals(100, dense.size());
+        try {
+            new RobinHoodHashMap<Integer, String>(7, 1.0, false);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("Load factor must be between 0 and 1 (exclusive).", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that entries remain reachable while an incremental resize moves
+     * buckets from the old hash table array into the new one
+     */
+    @Test
+    public void testIncrementalResize() {
+        RobinHoodHashMap<Integer, String> incremental = new RobinHoodHashMap<Integer, String>(7, true);
+        assertFalse(incremental.isIncrementalResize());
+        incremental.setIncrementalResize(true);
+        assertTrue(incremental.isIncrementalResize());
+        for (int i = 0; i < 500; i++) {
+            assertNull(incremental.put(i, "s" + i));
+            assertEquals(i + 1, incremental.size());
+            // Keys added before the resize started are still reachable
+            assertEquals("s0", incremental.get(0));
+            assertEquals("s" + (i / 2), incremental.get(i / 2));
+        }
+        // Update and remove keys regardless of which table holds them
+        for (int i = 0; i < 500; i += 5) {
+            assertEquals("s" + i, incremental.put(i, "t" + i));
+        }
+        for (int i = 1; i < 500; i += 5) {
+            assertEquals("s" + i, incremental.remove(i));
+            assertNull(incremental.remove(i));
+        }
+        assertEquals(400, incremental.size());
+        int count = 0;
+        for (Map.Entry<Integer, String> entry : incremental.entrySet()) {
+            assertEquals(entry.getValue(), incremental.get(entry.getKey()));
+            count++;
+        }
+        assertEquals(400, count);
+
+        // Turning incremental resizing off finishes any resize in progress
+        incremental.setIncrementalResize(false);
+        for (int i = 0; i < 500; i++) {
+            if (i % 5 == 0) {
+                assertEquals("t" + i, incremental.get(i));
+            } else if (i % 5 == 1) {
+                assertNull(incremental.get(i));
+            } else {
+                assertEquals("s" + i, incremental.get(i));
+            }
+        }
+    }
+
+    /**
+     * Tests removing entries through the entrySet iterator while an incremental
+     * resize has entries in both the old and the new hash table arrays, and
+     * while clusters wrap around the end of a nearly full array
+     */
+    @Test
+    public void testIteratorRemoveDuringResize() {
+        RobinHoodHashMap<Integer, String> incremental = new RobinHoodHashMap<Integer, String>(7, true);
+        incremental.setIncrementalResize(true);
+        for (int i = 0; i < 300; i++) {
+            incremental.put(i, "s" + i);
+        }
+        boolean[] seen = new boolean[300];
+        Iterator<Map.Entry<Integer, String>> it = incremental.entrySet().iterator();
+        while (it.hasNext()) {
+            int key = it.next().getKey();
+            assertFalse(seen[key]);
+            seen[key] = true;
+            if (key % 3 != 0) {
+                it.remove();
+            }
+        }
+        assertEquals(100, incremental.size());
+        for (int i = 0; i < 300; i++) {
+            assertTrue(seen[i]);
+            assertEquals(i % 3 == 0 ? "s" + i : null, incremental.get(i));
+        }
+
+        // With identity hashing into 32 buckets, keys 28, 60, 92, ... all have
+        // home bucket 28, so their cluster wraps from the end of the array to
+        // its start and pushes the keys with home bucket 1 further along. Each
+        // removal shifts the rest of the wrapped cluster back by one slot.
+        RobinHoodHashMap<Integer, String> wrapped = new RobinHoodHashMap<Integer, String>(32,
+                new IdentityHashStrategy<Integer>());
+        for (int i = 0; i < 8; i++) {
+            wrapped.put(28 + 32 * i, "s" + i);
+            wrapped.put(1 + 32 * i, "t" + i);
+        }
+        seen = new boolean[8 * 32];
+        it = wrapped.entrySet().iterator();
+        while (it.hasNext()) {
+            int key = it.next().getKey();
+            assertFalse(seen[key]);
+            seen[key] = true;
+            if (key % 32 == 28) {
+                it.remove();
+            }
+        }
+        assertEquals(8, wrapped.size());
+        for (int i = 0; i < 8; i++) {
+            assertTrue(seen[28 + 32 * i]);
+            assertTrue(seen[1 + 32 * i]);
+            assertNull(wrapped.get(28 + 32 * i));
+            assertEquals("t" + i, wrapped.get(1 + 32 * i));
+        }
+    }
+
+    /**
+     * Test that the map works with each built-in hash strategy, including across
+     * resizes of power-of-two tables
+     */
+    @Test
+    public void testHashStrategies() {
+        List<HashStrategy<Integer>> strategies = new ArrayBasedList<HashStrategy<Integer>>();
+        strategies.addLast(new MADHashStrategy<Integer>());
+        strategies.addLast(new MurmurHashStrategy<Integer>());
+        strategies.addLast(new IdentityHashStrategy<Integer>());
+        for (HashStrategy<Integer> strategy : strategies) {
+            RobinHoodHashMap<Integer, String> hashed = new RobinHoodHashMap<Integer, String>(10, strategy);
+            assertSame(strategy, hashed.getHashStrategy());
+            for (int i = 0; i < 500; i++) {
+                assertNull(hashed.put(i * 16, "s" + i));
+            }
+            assertEquals(500, hashed.size());
+            for (int i = 0; i < 500; i += 2) {
+                assertEquals("s" + i, hashed.remove(i * 16));
+            }
+            for (int i = 0; i < 500; i++) {
+                assertEquals(i % 2 == 0 ? null : "s" + i, hashed.get(i * 16));
+            }
+            assertEquals(250, hashed.size());
+        }
+    }
+
+    /**
+     * Test the collision statistics of the hash table
+     */
+    @Test
+    public void testStats() {
+        RobinHoodHashMap<Integer, String> robin = new RobinHoodHashMap<Integer, String>(11, true);
+        robin.setStatsEnabled(true);
+        // Keys 6, 13, and 20 all hash to bucket 0
+        robin.put(6, "string6");
+        robin.put(13, "string13");
+        robin.put(20, "string20");
+        assertEquals("string20", robin.get(20));
+
+        HashMapStats stats = robin.getStats();
+        long[] probes = stats.getProbeHistogram();
+        assertEquals(1, probes[1]);
+        assertEquals(1, probes[2]);
+        assertEquals(2, probes[3]);
+        assertEquals(3, stats.getMaxClusterLength());
+        assertEquals(0, stats.getTombstones());
+        assertEquals(0, stats.getResizeCount());
+    }
+
+}
@@ -0,0 +1,91 @@
+package edu.ncsu.csc316.dsa.map.hashing;
+
+import java.util.Random;
+
+import edu.ncsu.csc316.dsa.map.Map;
+
+/**
+ * Memory and lookup benchmark for the bucket modes of SeparateChainingHashMap.
+ * Fills one map whose buckets are always AVL trees and one map whose buckets
+ * start as arrays, then reports the heap used per entry and the lookup
+ * throughput of each.
+ *
+ * Run the main method directly; this class is not a JUnit test.
+ *
+ * @author Ben Morris
+ *
+ */
+public class SeparateChainingHashMapBenchmark {
+
+    /** The number of entries in each map */
+    private static final int KEYS = 200000;
+    /** The number of lookups to time */
+    private static final int LOOKUPS = 5000000;
+
+    /**
+     * Returns the number of bytes of heap in use after a garbage collection
+     *
+     * @return the number of bytes of heap in use
+     */
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Builds a map with the given bucket mode, holding every given key, and
+     * prints the heap used per entry and the lookup throughput
+     *
+     * @param label        the name of the bucket mode to print
+     * @param arrayBuckets true if buckets start as arrays
+     * @param keys         the keys to store and look up
+     */
+    private static void run(String label, boolean arrayBuckets, Integer[] keys) {
+        long before = usedHeap();
+        // Presized so the map never resizes while it is filled
+        Map<Integer, Integer> map = new SeparateChainingHashMap<Integer, Integer>(KEYS * 2 + 1, false,
+                arrayBuckets);
+        for (Integer key : keys) {
+            map.put(key, key);
+        }
+        long bytes = usedHeap() - before;
+
+        long start = System.nanoTime();
+        int found = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            if (map.get(keys[i % keys.length]) != null) {
+                found++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%-7s  %12.1f  %12.2f%n", label, (double) bytes / map.size(),
+                (double) LOOKUPS / elapsed * 1000.0);
+        if (found < 0) {
+            // Keeps the lookups from being optimized away
+            System.out.println(found);
+        }
+    }
+
+    /**
+     * Runs the benchmark for each bucket mode
+     *
+     * @param args unused
+     */
+    public static void main(String[] args) {
+        Random rand = new Random(42);
+        Integer[] keys = new Integer[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = rand.nextInt();
+        }
+        // Run everything twice so the second round is measured after JIT warm-up
+        for (int round = 0; round < 2; round++) {
+            System.out.println(round == 0 ? "warm-up" : "measured");
+            System.out.println("buckets  bytes/entry   lookups (Mops/s)");
+            run("tree", false, keys);
+            run("array", true, keys);
+        }
+    }
+}
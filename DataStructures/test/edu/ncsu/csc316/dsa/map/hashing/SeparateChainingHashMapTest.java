@@ -4,6 +4,8 @@ import static org.junit.Assert.*;
 import java.util.Iterator;
 import org.junit.Before;
 import org.junit.Test;
+import edu.ncsu.csc316.dsa.list.ArrayBasedList;
+import edu.ncsu.csc316.dsa.list.List;
 import edu.ncsu.csc316.dsa.map.Map;
 
 /**
@@ -15,7 +17,7 @@ import edu.ncsu.csc316.dsa.map.Map;
  * @author Ben Morris
  *
  */
-public class SeparateChainingHashMapTest {
+public class SeparateChainingHashMapTest extends AbstractHashMapTest {
 	/** Field for map */
     private Map<Integer, String> map;
     /** Field for map2 */
@@ -51,6 +53,11 @@ public class SeparateChainingHashMapTest {
         map3 = new SeparateChainingHashMap<Integer, String>(7);
         map4 = new SeparateChainingHashMap<Integer, String>(true);
     }
+
+    @Override
+    protected AbstractHashMap<Integer, String> newMap() {
+        return new SeparateChainingHashMap<Integer, String>();
+    }
     
     /**
      * Creates a map to test
@@ -301,4 +308,298 @@ public class SeparateChainingHashMapTest {
         assertEquals(0, map4.size());
         assertTrue(map4.isEmpty());
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests that entries remain reachable while an incremental resize moves
+     * buckets from the old hash table array into the new one
+     */
+    @Test
+    public void testIncrementalResize() {
+        SeparateChainingHashMap<Integer, String> incremental = new SeparateChainingHashMap<Integer, String>(7, true);
+        assertFalse(incremental.isIncrementalResize());
+        incremental.setIncrementalResize(true);
+        assertTrue(incremental.isIncrementalResize());
+        for (int i = 0; i < 500; i++) {
+            assertNull(incremental.put(i, "s" + i));
+            assertEquals(i + 1, incremental.size());
+            // Keys added before the resize started are still reachable
+            assertEquals("s0", incremental.get(0));
+            assertEquals("s" + (i / 2), incremental.get(i / 2));
+        }
+        // Update and remove keys regardless of which table holds them
+        for (int i = 0; i < 500; i += 5) {
+            assertEquals("s" + i, incremental.put(i, "t" + i));
+        }
+        for (int i = 1; i < 500; i += 5) {
+            assertEquals("s" + i, incremental.remove(i));
+            assertNull(incremental.remove(i));
+        }
+        assertEquals(400, incremental.size());
+        int count = 0;
+        for (Map.Entry<Integer, String> entry : incremental.entrySet()) {
+            assertEquals(entry.getValue(), incremental.get(entry.getKey()));
+            count++;
+        }
+        assertEquals(400, count);
+
+        // Turning incremental resizing off finishes any resize in progress
+        incremental.setIncrementalResize(false);
+        for (int i = 0; i < 500; i++) {
+            if (i % 5 == 0) {
+                assertEquals("t" + i, incremental.get(i));
+            } else if (i % 5 == 1) {
+                assertNull(incremental.get(i));
+            } else {
+                assertEquals("s" + i, incremental.get(i));
+            }
+        }
+    }
+
+    /**
+     * Test that the map works with each built-in hash strategy, including across
+     * resizes of power-of-two tables
+     */
+    @Test
+    public void testHashStrategies() {
+        List<HashStrategy<Integer>> strategies = new ArrayBasedList<HashStrategy<Integer>>();
+        strategies.addLast(new MADHashStrategy<Integer>());
+        strategies.addLast(new MurmurHashStrategy<Integer>());
+        strategies.addLast(new IdentityHashStrategy<Integer>());
+        for (HashStrategy<Integer> strategy : strategies) {
+            SeparateChainingHashMap<Integer, String> hashed = new SeparateChainingHashMap<Integer, String>(10, strategy);
+            assertSame(strategy, hashed.getHashStrategy());
+            for (int i = 0; i < 500; i++) {
+                assertNull(hashed.put(i * 16, "s" + i));
+            }
+            assertEquals(500, hashed.size());
+            for (int i = 0; i < 500; i += 2) {
+                assertEquals("s" + i, hashed.remove(i * 16));
+            }
+            for (int i = 0; i < 500; i++) {
+                assertEquals(i % 2 == 0 ? null : "s" + i, hashed.get(i * 16));
+            }
+            assertEquals(250, hashed.size());
+        }
+    }
+
+    /**
+     * Test the collision statistics of the hash table
+     */
+    @Test
+    public void testStats() {
+        SeparateChainingHashMap<Integer, String> chaining = new SeparateChainingHashMap<Integer, String>(7, true);
+        chaining.setStatsEnabled(true);
+        // Keys 6, 13, and 20 all hash to bucket 0
+        chaining.put(6, "string6");
+        chaining.put(13, "string13");
+        chaining.put(20, "string20");
+        assertEquals("string20", chaining.get(20));
+        assertNull(chaining.get(1));
+
+        // A probe is one key comparison. Adding 13 compares it with 6 to search
+        // and again to link it; adding 20 compares it with 6 and 13, then 13
+        // again; the tree is then rebalanced, so finding 20 compares it with 13
+        // and 20
+        HashMapStats stats = chaining.getStats();
+        long[] probes = stats.getProbeHistogram();
+        assertEquals(2, probes[0]);
+        assertEquals(0, probes[1]);
+        assertEquals(2, probes[2]);
+        assertEquals(1, probes[3]);
+        long[] sizes = stats.getBucketSizeHistogram();
+        assertEquals(6, sizes[0]);
+        assertEquals(1, sizes[3]);
+        assertEquals(2, stats.getMaxBucketHeight());
+        assertEquals(0, stats.getTombstones());
+        assertEquals(0, stats.getMaxClusterLength());
+
+        chaining.put(27, "string27");
+        stats = chaining.getStats();
+        assertEquals(1, stats.getResizeCount());
+        assertEquals(15, chaining.capacity());
+    }
+
+    /**
+     * Test that array buckets keep entries in sorted order, become trees once
+     * they pass the threshold, and become arrays again once they shrink
+     */
+    @Test
+    public void testArrayBuckets() {
+        SeparateChainingHashMap<Integer, String> arrays = new SeparateChainingHashMap<Integer, String>(7, true, true);
+        assertTrue(arrays.isArrayBuckets());
+        assertFalse(new SeparateChainingHashMap<Integer, String>(7, true).isArrayBuckets());
+        arrays.setStatsEnabled(true);
+        arrays.put(3, "string3");
+        arrays.put(4, "string4");
+        arrays.put(18, "string4c");
+        arrays.put(2, "string2");
+        arrays.put(11, "string4b");
+        arrays.put(30, "string2b");
+        arrays.put(703, "string3b");
+        assertEquals("string4b", arrays.get(11));
+        assertNull(arrays.get(25));
+        assertEquals("string4", arrays.put(4, "stringFour"));
+        // Entries within each bucket are sorted, just as with tree buckets
+        int[] expected = {2, 30, 3, 703, 4, 11, 18};
+        Iterator<Map.Entry<Integer, String>> it = arrays.entrySet().iterator();
+        for (int key : expected) {
+            assertEquals(key, (int) it.next().getKey());
+        }
+        assertFalse(it.hasNext());
+        assertEquals(0, arrays.getStats().getMaxBucketHeight());
+
+        // Keys 6 + 7i all hash to bucket 0 in testing mode, whatever the capacity
+        SeparateChainingHashMap<Integer, String> colliding = new SeparateChainingHashMap<Integer, String>(7, true, true);
+        colliding.setStatsEnabled(true);
+        for (int i = 0; i <= SeparateChainingHashMap.TREEIFY_THRESHOLD; i++) {
+            assertEquals(0, colliding.getStats().getMaxBucketHeight());
+            assertNull(colliding.put(6 + 7 * i, "s" + i));
+        }
+        assertTrue(colliding.getStats().getMaxBucketHeight() > 0);
+        for (int i = 0; i <= SeparateChainingHashMap.TREEIFY_THRESHOLD; i++) {
+            assertEquals("s" + i, colliding.get(6 + 7 * i));
+        }
+        assertEquals("s0", colliding.remove(6));
+        assertEquals("s1", colliding.remove(13));
+        assertTrue(colliding.getStats().getMaxBucketHeight() > 0);
+        assertEquals("s2", colliding.remove(20));
+        assertEquals(SeparateChainingHashMap.UNTREEIFY_THRESHOLD, colliding.size());
+        assertEquals(0, colliding.getStats().getMaxBucketHeight());
+        for (int i = 3; i <= SeparateChainingHashMap.TREEIFY_THRESHOLD; i++) {
+            assertEquals("s" + i, colliding.get(6 + 7 * i));
+        }
+
+        // Removing through the iterator removes from the array bucket
+        it = colliding.entrySet().iterator();
+        while (it.hasNext()) {
+            if (it.next().getKey() % 2 == 0) {
+                it.remove();
+            }
+        }
+        assertEquals(3, colliding.size());
+        assertEquals("s3", colliding.get(27));
+        assertNull(colliding.get(34));
+        try {
+            it.remove();
+            fail();
+        } catch (Exception e) {
+            assertTrue(e instanceof IllegalStateException);
+        }
+        for (int key : new int[] {27, 41, 55}) {
+            colliding.remove(key);
+        }
+        assertTrue(colliding.isEmpty());
+        assertEquals(colliding.capacity(), colliding.getStats().getBucketSizeHistogram()[0]);
+    }
+
+    /**
+     * Test that compute turns an array bucket into a tree once it passes the
+     * threshold, turns the tree back into an array once it shrinks, and frees a
+     * bucket that it empties
+     */
+    @Test
+    public void testComputeThresholds() {
+        // Keys 6 + 7i all hash to bucket 0 in testing mode, whatever the capacity
+        SeparateChainingHashMap<Integer, String> colliding = new SeparateChainingHashMap<Integer, String>(7, true, true);
+        colliding.setStatsEnabled(true);
+        for (int i = 0; i < SeparateChainingHashMap.TREEIFY_THRESHOLD; i++) {
+            assertEquals("s" + i, colliding.computeIfAbsent(6 + 7 * i, k -> "s" + (k / 7)));
+        }
+        assertEquals(0, colliding.getStats().getMaxBucketHeight());
+        // One more entry than the threshold makes the bucket a tree
+        int last = SeparateChainingHashMap.TREEIFY_THRESHOLD;
+        assertEquals("s" + last, colliding.merge(6 + 7 * last, "s" + last, (a, b) -> a + b));
+        assertTrue(colliding.getStats().getMaxBucketHeight() > 0);
+        for (int i = 0; i <= last; i++) {
+            assertEquals("s" + i + "!", colliding.compute(6 + 7 * i, (k, v) -> v + "!"));
+        }
+
+        // Shrinking to the lower threshold makes the bucket an array again
+        int i = 0;
+        while (colliding.size() > SeparateChainingHashMap.UNTREEIFY_THRESHOLD) {
+            assertTrue(colliding.getStats().getMaxBucketHeight() > 0);
+            assertNull(colliding.compute(6 + 7 * i, (k, v) -> null));
+            i++;
+        }
+        assertEquals(0, colliding.getStats().getMaxBucketHeight());
+        for (int j = i; j <= last; j++) {
+            assertEquals("s" + j + "!", colliding.get(6 + 7 * j));
+        }
+
+        // Emptying the bucket frees it
+        for (int j = i; j <= last; j++) {
+            assertNull(colliding.compute(6 + 7 * j, (k, v) -> null));
+        }
+        assertTrue(colliding.isEmpty());
+        assertEquals(colliding.capacity(), colliding.getStats().getBucketSizeHistogram()[0]);
+    }
+
+    /**
+     * Test that the probe statistics count the keys actually compared, both in
+     * array buckets and in tree buckets
+     */
+    @Test
+    public void testProbeComparisons() {
+        // Keys 6 + 7i all hash to bucket 0 in testing mode
+        SeparateChainingHashMap<Integer, String> arrays = new SeparateChainingHashMap<Integer, String>(7, true, true);
+        for (int i = 0; i < 5; i++) {
+            arrays.put(6 + 7 * i, "s" + i);
+        }
+        arrays.setStatsEnabled(true);
+        // The smallest key of a sorted array bucket is found with one comparison
+        assertEquals("s0", arrays.get(6));
+        assertEquals(1, arrays.getStats().getProbeHistogram()[1]);
+        assertEquals("s4", arrays.get(34));
+        assertEquals(1, arrays.getStats().getProbeHistogram()[5]);
+
+        // A tree bucket compares only the keys on one path
+        SeparateChainingHashMap<Integer, String> trees = new SeparateChainingHashMap<Integer, String>(7, true);
+        for (int i = 0; i < 15; i++) {
+            trees.put(6 + 7 * i, "s" + i);
+        }
+        trees.setStatsEnabled(true);
+        for (int i = 0; i < 15; i++) {
+            assertEquals("s" + i, trees.get(6 + 7 * i));
+        }
+        long[] probes = trees.getStats().getProbeHistogram();
+        for (int length = 5; length < probes.length; length++) {
+            assertEquals(0, probes[length]);
+        }
+        assertEquals(15, trees.getStats().getOperationCount());
+    }
+
+    /**
+     * Test that array bucket entries read through to the bucket, and that
+     * removing through the iterator drops buckets that are left empty
+     */
+    @Test
+    public void testArrayBucketIterator() {
+        SeparateChainingHashMap<Integer, String> arrays = new SeparateChainingHashMap<Integer, String>(7, true, true);
+        arrays.put(6, "six");
+        arrays.put(13, "thirteen");
+        arrays.put(1, "one");
+        Iterator<Map.Entry<Integer, String>> it = arrays.entrySet().iterator();
+        Map.Entry<Integer, String> six = it.next();
+        assertEquals(Integer.valueOf(6), six.getKey());
+        // The entry is backed by the bucket's arrays, so it sees a new value
+        arrays.put(6, "SIX");
+        assertEquals("SIX", six.getValue());
+        while (it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+        assertEquals(1, arrays.size());
+        assertNull(arrays.get(1));
+        it = arrays.entrySet().iterator();
+        it.next();
+        it.remove();
+        assertTrue(arrays.isEmpty());
+        assertFalse(arrays.entrySet().iterator().hasNext());
+        // The dropped buckets are created again as keys are added
+        assertNull(arrays.put(13, "thirteen"));
+        assertNull(arrays.put(1, "one"));
+        assertEquals("thirteen", arrays.get(13));
+        assertEquals(2, arrays.size());
+    }
+
+}
@@ -0,0 +1,97 @@
+package edu.ncsu.csc316.dsa.map.hashing;
+
+import java.util.Random;
+
+import edu.ncsu.csc316.dsa.map.Map;
+
+/**
+ * Lookup throughput benchmark for SwissTableHashMap. Fills a SwissTableHashMap
+ * and a LinearProbingHashMap with the same table length to load factors of
+ * 0.5, 0.75, and 0.875, then measures successful and unsuccessful lookups.
+ *
+ * Run the main method directly; this class is not a JUnit test.
+ *
+ * @author Ben Morris
+ *
+ */
+public class SwissTableHashMapBenchmark {
+
+    /** The number of slots in each hash table */
+    private static final int SLOTS = 1 << 18;
+    /** The number of lookups of each kind */
+    private static final int LOOKUPS = 5000000;
+
+    /**
+     * Returns a linear probing hash map that only resizes above the given load
+     * factor, so it can be measured at that load
+     *
+     * @param capacity   the capacity of the hash table
+     * @param loadFactor the load factor the map will be filled to
+     * @return a new, empty linear probing hash map
+     */
+    private static Map<Integer, Integer> linearProbing(int capacity, double loadFactor) {
+        return new LinearProbingHashMap<Integer, Integer>(capacity) {
+            @Override
+            protected double maxLoadFactor() {
+                return loadFactor + 0.01;
+            }
+        };
+    }
+
+    /**
+     * Looks up each of the given keys in turn and returns the throughput in
+     * millions of lookups per second
+     *
+     * @param map  the map to query
+     * @param keys the keys to look up
+     * @return the throughput in millions of lookups per second
+     */
+    private static double time(Map<Integer, Integer> map, Integer[] keys) {
+        long start = System.nanoTime();
+        int found = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            if (map.get(keys[i % keys.length]) != null) {
+                found++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        if (found < 0) {
+            // Keeps the lookups from being optimized away
+            System.out.println(found);
+        }
+        return (double) LOOKUPS / elapsed * 1000.0;
+    }
+
+    /**
+     * Runs the benchmark at each load factor
+     *
+     * @param args unused
+     */
+    public static void main(String[] args) {
+        double[] loads = { 0.5, 0.75, 0.875 };
+        Random rand = new Random(42);
+        // Run everything twice so the second round is measured after JIT warm-up
+        for (int round = 0; round < 2; round++) {
+            System.out.println(round == 0 ? "warm-up" : "measured");
+            System.out.println("load   swiss hit  linear hit  swiss miss  linear miss   (Mops/s)");
+            for (double load : loads) {
+                int n = (int) (SLOTS * load);
+                Integer[] present = new Integer[n];
+                Integer[] absent = new Integer[n];
+                for (int i = 0; i < n; i++) {
+                    // Even keys are stored and odd keys are never stored
+                    present[i] = rand.nextInt() & ~1;
+                    absent[i] = rand.nextInt() | 1;
+                }
+                Map<Integer, Integer> swiss = new SwissTableHashMap<Integer, Integer>(n, load + 0.01);
+                Map<Integer, Integer> linear = linearProbing(SLOTS, load);
+                for (Integer key : present) {
+                    swiss.put(key, key);
+                    linear.put(key, key);
+                }
+                System.out.printf("%5.3f  %9.2f  %10.2f  %10.2f  %11.2f%n", load, time(swiss, present),
+                        time(linear, present), time(swiss, absent), time(linear, absent));
+            }
+        }
+    }
+}
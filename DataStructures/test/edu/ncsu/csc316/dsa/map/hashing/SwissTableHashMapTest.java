@@ -0,0 +1,157 @@
+package edu.ncsu.csc316.dsa.map.hashing;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+import edu.ncsu.csc316.dsa.map.AbstractMapTest;
+import edu.ncsu.csc316.dsa.map.Map;
+
+/**
+ * Test class for SwissTableHashMap
+ * Checks the expected outputs of the Map abstract data type behaviors when using
+ * a Swiss table hash map data structure
+ *
+ * @author Ben Morris
+ *
+ */
+public class SwissTableHashMapTest extends AbstractMapTest {
+	/** Field for map */
+    private SwissTableHashMap<Integer, String> map;
+
+    /**
+     * A key whose hash code is always the same, so every key shares one
+     * fingerprint and one probe sequence
+     */
+    private static class CollidingKey {
+        /** Distinguishes keys that have the same hash code */
+        private final int id;
+
+        /**
+         * Constructs a new colliding key
+         * @param id the id of the key
+         */
+        CollidingKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CollidingKey && ((CollidingKey) o).id == id;
+        }
+    }
+
+    /**
+     * Create a new instance of a Swiss table hash map before each test case executes
+     */
+    @Before
+    public void setUp() {
+        map = new SwissTableHashMap<Integer, String>();
+    }
+
+    @Override
+    protected Map<Integer, String> newMap() {
+        return new SwissTableHashMap<Integer, String>();
+    }
+
+    @Override
+    protected int capacityOf(Map<Integer, String> m) {
+        return ((SwissTableHashMap<Integer, String>) m).capacity();
+    }
+
+    /**
+     * Test the output of the put(k,v), get(k), and remove(k) behaviors
+     */
+    @Test
+    public void testPutGetRemove() {
+        assertTrue(map.isEmpty());
+        assertNull(map.put(3, "string3"));
+        assertNull(map.put(4, "string4"));
+        assertEquals(2, map.size());
+        assertEquals("string3", map.put(3, "stringThree"));
+        assertEquals("stringThree", map.get(3));
+        assertEquals(2, map.size());
+        assertNull(map.get(5));
+        assertEquals("string4", map.remove(4));
+        assertNull(map.remove(4));
+        assertNull(map.get(4));
+        assertEquals(1, map.size());
+
+        for (int i = 0; i < 5000; i++) {
+            map.put(i, "s" + i);
+        }
+        assertEquals(5000, map.size());
+        for (int i = 0; i < 5000; i += 3) {
+            assertEquals("s" + i, map.remove(i));
+        }
+        for (int i = 0; i < 5000; i++) {
+            assertEquals(i % 3 == 0 ? null : "s" + i, map.get(i));
+        }
+        int count = 0;
+        for (Map.Entry<Integer, String> entry : map.entrySet()) {
+            assertEquals("s" + entry.getKey(), entry.getValue());
+            count++;
+        }
+        assertEquals(map.size(), count);
+    }
+
+    /**
+     * Tests keys that share a fingerprint and probe sequence, which fill whole
+     * groups and leave DELETED markers when removed
+     */
+    @Test
+    public void testCollisions() {
+        Map<CollidingKey, Integer> colliding = new SwissTableHashMap<CollidingKey, Integer>(64);
+        for (int i = 0; i < 30; i++) {
+            assertNull(colliding.put(new CollidingKey(i), i));
+        }
+        for (int i = 0; i < 30; i += 2) {
+            assertEquals(Integer.valueOf(i), colliding.remove(new CollidingKey(i)));
+        }
+        // Searches must probe past the DELETED markers of the full groups
+        for (int i = 0; i < 30; i++) {
+            assertEquals(i % 2 == 0 ? null : Integer.valueOf(i), colliding.get(new CollidingKey(i)));
+        }
+        for (int i = 0; i < 30; i += 2) {
+            assertNull(colliding.put(new CollidingKey(i), -i));
+        }
+        assertEquals(30, colliding.size());
+        assertEquals(Integer.valueOf(-4), colliding.get(new CollidingKey(4)));
+        assertEquals(Integer.valueOf(5), colliding.get(new CollidingKey(5)));
+    }
+
+    /**
+     * Tests that repeatedly removing and adding keys reuses slots instead of
+     * growing the table
+     */
+    @Test
+    public void testChurn() {
+        SwissTableHashMap<Integer, String> small = new SwissTableHashMap<Integer, String>(7);
+        assertEquals(8, small.capacity());
+        for (int i = 0; i < 1000; i++) {
+            small.put(i, "s" + i);
+            if (i >= 4) {
+                assertEquals("s" + (i - 4), small.remove(i - 4));
+            }
+        }
+        assertEquals(4, small.size());
+        assertEquals(8, small.capacity());
+        assertEquals("s999", small.get(999));
+        assertNull(small.get(995));
+
+        SwissTableHashMap<Integer, String> half = new SwissTableHashMap<Integer, String>(64, 0.5);
+        assertEquals(128, half.capacity());
+        try {
+            new SwissTableHashMap<Integer, String>(16, 1.0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("Load factor must be between 0 and 1 (exclusive).", e.getMessage());
+        }
+    }
+
+}
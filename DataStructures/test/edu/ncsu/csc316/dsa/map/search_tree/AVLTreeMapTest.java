@@ -1,8 +1,14 @@
 package edu.ncsu.csc316.dsa.map.search_tree;
 
 import static org.junit.Assert.*;
+import java.util.Random;
 import org.junit.Before;
 import org.junit.Test;
+import edu.ncsu.csc316.dsa.map.AbstractOrderedMap;
+import edu.ncsu.csc316.dsa.map.AbstractOrderedMapTest;
+import edu.ncsu.csc316.dsa.map.Map;
+import edu.ncsu.csc316.dsa.Position;
+import edu.ncsu.csc316.dsa.map.SearchTableMap;
 
 /**
  * Test class for AVLTreeMap
@@ -13,7 +19,7 @@ import org.junit.Test;
  * @author Ben Morris
  *
  */
-public class AVLTreeMapTest {
+public class AVLTreeMapTest extends AbstractOrderedMapTest {
 
 	/** Tree field */
     private BinarySearchTreeMap<Integer, String> tree;
@@ -25,6 +31,11 @@ public class AVLTreeMapTest {
     public void setUp() {
         tree = new AVLTreeMap<Integer, String>();
     }
+
+    @Override
+    protected AbstractOrderedMap<Integer, String> newMap() {
+        return new AVLTreeMap<Integer, String>();
+    }
     
     /**
      * Test the output of the put(k,v) behavior
@@ -147,4 +158,218 @@ public class AVLTreeMapTest {
         assertEquals(0, tree.size());
         assertTrue(tree.isEmpty());
     }
-}
\ No newline at end of file
+
+    /**
+     * Test the output of the height() behavior
+     */
+    @Test
+    public void testHeight() {
+        AVLTreeMap<Integer, String> avl = new AVLTreeMap<Integer, String>();
+        assertEquals(0, avl.height());
+        avl.put(1, "one");
+        assertEquals(1, avl.height());
+        avl.put(2, "two");
+        avl.put(3, "three");
+        assertEquals(2, avl.height());
+        for (int i = 4; i <= 100; i++) {
+            avl.put(i, "s" + i);
+        }
+        // An AVL tree with 100 entries is at most 1.44 * log2(100) tall
+        assertTrue(avl.height() >= 7 && avl.height() <= 9);
+        for (int i = 1; i <= 100; i++) {
+            avl.remove(i);
+        }
+        assertEquals(0, avl.height());
+    }
+
+    /**
+     * Test the output of the putAll behavior, which builds a perfectly balanced
+     * tree from a sorted batch
+     */
+    @Test
+    public void testPutAllSortedBatch() {
+        Map<Integer, String> source = new SearchTableMap<Integer, String>();
+        for (int i = 1; i <= 100; i++) {
+            source.put(i, "s" + i);
+        }
+        AVLTreeMap<Integer, String> avl = new AVLTreeMap<Integer, String>();
+        avl.putAll(source.entrySet());
+        assertEquals(100, avl.size());
+        // 100 entries fill 7 levels of a perfectly balanced tree
+        assertEquals(7, avl.height());
+        assertEquals(7, checkHeights(avl, avl.root()));
+        for (int i = 1; i <= 100; i++) {
+            assertEquals("s" + i, avl.get(i));
+        }
+
+        // The heights set by the build keep later rebalancing correct
+        for (int i = 101; i <= 1000; i++) {
+            avl.put(i, "s" + i);
+        }
+        for (int i = 1; i <= 1000; i += 2) {
+            avl.remove(i);
+        }
+        assertEquals(500, avl.size());
+        assertEquals(avl.height(), checkHeights(avl, avl.root()));
+
+        // A batch added to a non-empty tree is added one entry at a time
+        Map<Integer, String> update = new SearchTableMap<Integer, String>();
+        update.put(1, "one");
+        update.put(2, "two");
+        avl.putAll(update.entrySet());
+        assertEquals(501, avl.size());
+        assertEquals("one", avl.get(1));
+        assertEquals("two", avl.get(2));
+        assertEquals(avl.height(), checkHeights(avl, avl.root()));
+    }
+
+    /**
+     * Test that compute rebalances the tree when it adds or removes an entry, so
+     * the heights and balance stay correct after every update
+     */
+    @Test
+    public void testComputeRebalances() {
+        AVLTreeMap<Integer, String> avl = new AVLTreeMap<Integer, String>();
+        Random rand = new Random(12);
+        for (int i = 0; i < 400; i++) {
+            int key = rand.nextInt(100);
+            // Each call adds an absent key and removes a present one
+            avl.compute(key, (k, v) -> v == null ? "s" + k : null);
+            checkHeights(avl, avl.root());
+        }
+        for (Map.Entry<Integer, String> entry : avl.entrySet()) {
+            assertEquals("s" + entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Checks that every position in the subtree stores its correct height and is
+     * height-balanced
+     *
+     * @param avl the tree to check
+     * @param p   the root of the subtree to check
+     * @return the height of the subtree
+     */
+    private int checkHeights(AVLTreeMap<Integer, String> avl, Position<Map.Entry<Integer, String>> p) {
+        if (avl.isLeaf(p)) {
+            return 0;
+        }
+        int left = checkHeights(avl, avl.left(p));
+        int right = checkHeights(avl, avl.right(p));
+        assertTrue(Math.abs(left - right) <= 1);
+        assertEquals(1 + Math.max(left, right), avl.getProperty(p));
+        return 1 + Math.max(left, right);
+    }
+
+    /**
+     * Test the rank, select, and countInRange order-statistic queries, which
+     * must stay correct as restructuring rotates subtrees
+     */
+    @Test
+    public void testOrderStatistics() {
+        AVLTreeMap<Integer, String> t = new AVLTreeMap<Integer, String>();
+        assertEquals(0, t.rank(5));
+        try {
+            t.select(0);
+            fail();
+        } catch (Exception e) {
+            assertTrue(e instanceof IndexOutOfBoundsException);
+        }
+        Random rand = new Random(316);
+        for (int i = 0; i < 400; i++) {
+            Integer key = rand.nextInt(1000);
+            t.put(key, "v" + key);
+        }
+        for (int i = 0; i < 150; i++) {
+            t.remove(rand.nextInt(1000));
+        }
+        checkOrderStatistics(t);
+
+        // A tree built in bulk counts its subtrees as well
+        SearchTableMap<Integer, String> source = new SearchTableMap<Integer, String>();
+        for (int i = 0; i < 100; i++) {
+            source.put(i * 2, "s" + i);
+        }
+        t = new AVLTreeMap<Integer, String>();
+        t.putAll(source.entrySet());
+        checkOrderStatistics(t);
+        assertEquals(50, t.rank(100));
+        assertEquals(50, t.rank(99));
+        assertEquals(Integer.valueOf(198), t.select(99).getKey());
+        // The selected entry is a snapshot, so later updates do not change it
+        Map.Entry<Integer, String> selected = t.select(99);
+        t.put(198, "changed");
+        assertEquals("s99", selected.getValue());
+        assertEquals("changed", t.select(99).getValue());
+        assertEquals(5, t.countInRange(10, 20));
+        assertEquals(0, t.countInRange(20, 20));
+        t.put(15, "fifteen");
+        assertEquals(6, t.countInRange(10, 20));
+        try {
+            t.countInRange(20, 10);
+            fail();
+        } catch (Exception e) {
+            assertTrue(e instanceof IllegalArgumentException);
+        }
+        try {
+            t.select(101);
+            fail();
+        } catch (Exception e) {
+            assertTrue(e instanceof IndexOutOfBoundsException);
+        }
+    }
+
+    /**
+     * Checks rank, select, and countInRange against an inorder traversal of the
+     * given tree
+     *
+     * @param t the tree to check
+     */
+    private void checkOrderStatistics(AVLTreeMap<Integer, String> t) {
+        Integer[] keys = new Integer[t.size()];
+        int index = 0;
+        for (Integer key : t) {
+            keys[index++] = key;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(keys[i], t.select(i).getKey());
+            assertEquals(i, t.rank(keys[i]));
+            // A missing key just above this one has the next rank
+            if (i + 1 == keys.length || keys[i + 1] > keys[i] + 1) {
+                assertEquals(i + 1, t.rank(keys[i] + 1));
+            }
+        }
+        if (keys.length > 0) {
+            assertEquals(keys.length, t.countInRange(keys[0], keys[keys.length - 1] + 1));
+            assertEquals(keys.length - 1, t.countInRange(keys[0], keys[keys.length - 1]));
+        }
+    }
+
+    /**
+     * Test that removing keys, including keys whose positions have two
+     * children, never changes the key or value of an entry held by a caller
+     */
+    @Test
+    public void testRemoveKeepsEntries() {
+        AVLTreeMap<Integer, String> avl = new AVLTreeMap<Integer, String>();
+        Random rand = new Random(316);
+        for (int i = 0; i < 300; i++) {
+            Integer key = rand.nextInt(1000);
+            avl.put(key, "v" + key);
+        }
+        @SuppressWarnings("unchecked")
+        Map.Entry<Integer, String>[] held = new Map.Entry[avl.size()];
+        int index = 0;
+        for (Map.Entry<Integer, String> e : avl.entrySet()) {
+            held[index++] = e;
+        }
+        for (int i = 0; i < held.length; i += 2) {
+            assertEquals("v" + held[i].getKey(), avl.remove(held[i].getKey()));
+            checkHeights(avl, avl.root());
+        }
+        for (int i = 0; i < held.length; i++) {
+            assertEquals("v" + held[i].getKey(), held[i].getValue());
+            assertEquals(i % 2 == 0 ? null : held[i].getValue(), avl.get(held[i].getKey()));
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package edu.ncsu.csc316.dsa.map.search_tree;
+
+import java.util.Random;
+
+import edu.ncsu.csc316.dsa.map.Map;
+
+/**
+ * Lookup and scan benchmark for BPlusTreeMap. Fills an AVLTreeMap, a
+ * RedBlackTreeMap, and B+ tree maps of order 32 and 64 with the same random
+ * keys, then reports the depth of each tree (except the red-black tree, which
+ * does not track it), the throughput of random lookups, and the time of a full
+ * in-order scan.
+ *
+ * Run the main method directly; this class is not a JUnit test.
+ *
+ * @author Ben Morris
+ *
+ */
+public class BPlusTreeMapBenchmark {
+
+    /** The number of entries in each map */
+    private static final int KEYS = 1000000;
+    /** The number of lookups to time */
+    private static final int LOOKUPS = 2000000;
+
+    /**
+     * Fills a map with every given key, then prints its depth, the lookup
+     * throughput, and the time of a full scan
+     *
+     * @param label  the name of the map to print
+     * @param map    the empty map to fill
+     * @param keys   the keys to store and look up
+     * @param lookup the keys to look up, in order
+     */
+    private static void run(String label, Map<Integer, Integer> map, Integer[] keys, Integer[] lookup) {
+        for (Integer key : keys) {
+            map.put(key, key);
+        }
+        // The red-black tree does not track its height
+        String depth = "-";
+        if (map instanceof BPlusTreeMap) {
+            depth = String.valueOf(((BPlusTreeMap<Integer, Integer>) map).height());
+        } else if (map instanceof AVLTreeMap) {
+            depth = String.valueOf(((AVLTreeMap<Integer, Integer>) map).height());
+        }
+
+        long start = System.nanoTime();
+        int found = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            if (map.get(lookup[i % lookup.length]) != null) {
+                found++;
+            }
+        }
+        long lookupTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        long sum = 0;
+        for (Map.Entry<Integer, Integer> entry : map.entrySet()) {
+            sum += entry.getValue();
+        }
+        long scanTime = System.nanoTime() - start;
+        System.out.printf("%-10s  %5s  %16.2f  %9.1f%n", label, depth, (double) LOOKUPS / lookupTime * 1000.0,
+                scanTime / 1e6);
+        if (found < 0 || sum == 0) {
+            // Keeps the lookups and the scan from being optimized away
+            System.out.println(found + sum);
+        }
+    }
+
+    /**
+     * Runs the benchmark for each map
+     *
+     * @param args unused
+     */
+    public static void main(String[] args) {
+        Random rand = new Random(42);
+        Integer[] keys = new Integer[KEYS];
+        Integer[] lookup = new Integer[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = rand.nextInt();
+        }
+        for (int i = 0; i < KEYS; i++) {
+            lookup[i] = keys[rand.nextInt(KEYS)];
+        }
+        // Run everything twice so the second round is measured after JIT warm-up
+        for (int round = 0; round < 2; round++) {
+            System.out.println(round == 0 ? "warm-up" : "measured");
+            System.out.println("map         depth  lookups (Mops/s)  scan (ms)");
+            run("AVL", new AVLTreeMap<Integer, Integer>(), keys, lookup);
+            run("red-black", new RedBlackTreeMap<Integer, Integer>(), keys, lookup);
+            run("B+ 32", new BPlusTreeMap<Integer, Integer>(32), keys, lookup);
+            run("B+ 64", new BPlusTreeMap<Integer, Integer>(64), keys, lookup);
+        }
+    }
+}
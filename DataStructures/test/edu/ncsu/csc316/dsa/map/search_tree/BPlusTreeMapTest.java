@@ -0,0 +1,264 @@
+package edu.ncsu.csc316.dsa.map.search_tree;
+
+import static org.junit.Assert.*;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.ncsu.csc316.dsa.map.AbstractOrderedMap;
+import edu.ncsu.csc316.dsa.map.AbstractOrderedMapTest;
+import edu.ncsu.csc316.dsa.map.Map;
+import edu.ncsu.csc316.dsa.map.SearchTableMap;
+
+/**
+ * Test class for BPlusTreeMap
+ * Checks the expected outputs of the Map abstract data type behaviors when using
+ * a B+ tree, with a small order so that nodes split and merge often
+ *
+ * @author Ben Morris
+ *
+ */
+public class BPlusTreeMapTest extends AbstractOrderedMapTest {
+
+    /** B+ tree of order 4 used for testing */
+    private BPlusTreeMap<Integer, String> tree;
+
+    /**
+     * Create a new instance of a B+ tree map before each test case executes
+     */
+    @Before
+    public void setUp() {
+        tree = new BPlusTreeMap<Integer, String>(4);
+    }
+
+    @Override
+    protected AbstractOrderedMap<Integer, String> newMap() {
+        return new BPlusTreeMap<Integer, String>(4);
+    }
+
+    /**
+     * Test the output of the put(k,v) behavior
+     */
+    @Test
+    public void testPut() {
+        assertEquals(0, tree.size());
+        assertTrue(tree.isEmpty());
+        assertEquals(0, tree.height());
+        assertNull(tree.put(5, "five"));
+        assertEquals(1, tree.size());
+        assertEquals(1, tree.height());
+        assertEquals("BPlusTreeMap[5]", tree.toString());
+        assertNull(tree.put(3, "three"));
+        assertNull(tree.put(8, "eight"));
+        assertNull(tree.put(1, "one"));
+        assertEquals(1, tree.height());
+        // The fifth key splits the full root leaf
+        assertNull(tree.put(9, "nine"));
+        assertEquals(2, tree.height());
+        assertEquals("five", tree.put(5, "FIVE"));
+        assertEquals(5, tree.size());
+        assertEquals("BPlusTreeMap[1, 3, 5, 8, 9]", tree.toString());
+        for (int i = 10; i <= 30; i++) {
+            assertNull(tree.put(i, "v" + i));
+        }
+        assertEquals(26, tree.size());
+        assertTrue(tree.height() >= 3);
+    }
+
+    /**
+     * Test the output of the get(k) behavior
+     */
+    @Test
+    public void testGet() {
+        assertNull(tree.get(1));
+        for (int i = 1; i <= 50; i += 2) {
+            tree.put(i, "v" + i);
+        }
+        for (int i = 1; i <= 50; i++) {
+            if (i % 2 == 1) {
+                assertEquals("v" + i, tree.get(i));
+            } else {
+                assertNull(tree.get(i));
+            }
+        }
+        assertNull(tree.get(0));
+        assertNull(tree.get(51));
+    }
+
+    /**
+     * Test the output of the remove(k) behavior
+     */
+    @Test
+    public void testRemove() {
+        assertNull(tree.remove(1));
+        for (int i = 1; i <= 40; i++) {
+            tree.put(i, "v" + i);
+        }
+        int height = tree.height();
+        assertNull(tree.remove(0));
+        assertEquals(40, tree.size());
+        // Removing from the front borrows from and merges with right siblings
+        for (int i = 1; i <= 20; i++) {
+            assertEquals("v" + i, tree.remove(i));
+            assertNull(tree.get(i));
+        }
+        assertEquals(20, tree.size());
+        // Removing from the back borrows from and merges with left siblings
+        for (int i = 40; i > 25; i--) {
+            assertEquals("v" + i, tree.remove(i));
+        }
+        assertEquals(5, tree.size());
+        assertTrue(tree.height() < height);
+        assertEquals("BPlusTreeMap[21, 22, 23, 24, 25]", tree.toString());
+        for (int i = 21; i <= 25; i++) {
+            assertEquals("v" + i, tree.remove(i));
+        }
+        assertTrue(tree.isEmpty());
+        assertEquals(0, tree.height());
+        assertEquals("BPlusTreeMap[]", tree.toString());
+        assertNull(tree.put(7, "seven"));
+        assertEquals("seven", tree.get(7));
+    }
+
+    /**
+     * Test that random puts and removes agree with a search table map
+     */
+    @Test
+    public void testRandomOperations() {
+        for (int order : new int[] { 4, 5, 32 }) {
+            BPlusTreeMap<Integer, String> t = new BPlusTreeMap<Integer, String>(order);
+            Map<Integer, String> expected = new SearchTableMap<Integer, String>();
+            Random rand = new Random(316);
+            for (int i = 0; i < 5000; i++) {
+                Integer key = rand.nextInt(500);
+                if (rand.nextInt(3) == 0) {
+                    assertEquals(expected.remove(key), t.remove(key));
+                } else {
+                    assertEquals(expected.put(key, "v" + i), t.put(key, "v" + i));
+                }
+                assertEquals(expected.size(), t.size());
+            }
+            Iterator<Map.Entry<Integer, String>> it = expected.entrySet().iterator();
+            for (Map.Entry<Integer, String> e : t.entrySet()) {
+                Map.Entry<Integer, String> other = it.next();
+                assertEquals(other.getKey(), e.getKey());
+                assertEquals(other.getValue(), e.getValue());
+            }
+            assertFalse(it.hasNext());
+        }
+    }
+
+    /**
+     * Test the output of the entrySet() behavior, including removal through
+     * the iterator
+     */
+    @Test
+    public void testEntrySet() {
+        Iterator<Map.Entry<Integer, String>> it = tree.entrySet().iterator();
+        assertFalse(it.hasNext());
+        try {
+            it.next();
+            fail();
+        } catch (Exception e) {
+            assertTrue(e instanceof NoSuchElementException);
+        }
+        for (int i = 1; i <= 30; i++) {
+            tree.put(i, "v" + i);
+        }
+        it = tree.entrySet().iterator();
+        try {
+            it.remove();
+            fail();
+        } catch (Exception e) {
+            assertTrue(e instanceof IllegalStateException);
+        }
+        // Remove every even key while iterating, which merges leaves
+        int expected = 1;
+        while (it.hasNext()) {
+            Map.Entry<Integer, String> e = it.next();
+            assertEquals(Integer.valueOf(expected), e.getKey());
+            assertEquals("v" + expected, e.getValue());
+            if (expected % 2 == 0) {
+                it.remove();
+            }
+            expected++;
+        }
+        assertEquals(31, expected);
+        assertEquals(15, tree.size());
+        expected = 1;
+        for (Integer key : tree) {
+            assertEquals(Integer.valueOf(expected), key);
+            expected += 2;
+        }
+    }
+
+    /**
+     * Test the output of the putAll behavior with a sorted batch
+     */
+    @Test
+    public void testPutAllSortedBatch() {
+        Map<Integer, String> source = new SearchTableMap<Integer, String>();
+        for (int i = 1; i <= 100; i++) {
+            source.put(i, "s" + i);
+        }
+        tree.putAll(source.entrySet());
+        assertEquals(100, tree.size());
+        // 25 full leaves of 4 under 7 nodes, under 2 nodes, under the root
+        assertEquals(4, tree.height());
+        int expected = 1;
+        for (Map.Entry<Integer, String> e : tree.entrySet()) {
+            assertEquals(Integer.valueOf(expected), e.getKey());
+            assertEquals("s" + expected, e.getValue());
+            expected++;
+        }
+        assertEquals(101, expected);
+        // The built tree can still be updated
+        assertNull(tree.put(0, "zero"));
+        assertEquals("s50", tree.remove(50));
+        assertEquals(100, tree.size());
+        assertEquals("zero", tree.get(0));
+        assertEquals("s51", tree.get(51));
+
+        // A batch that is not sorted is added one entry at a time
+        Map<Integer, String> reversed = new SearchTableMap<Integer, String>((a, b) -> b.compareTo(a));
+        for (int i = 20; i >= 10; i--) {
+            reversed.put(i, "r" + i);
+        }
+        BPlusTreeMap<Integer, String> t = new BPlusTreeMap<Integer, String>(4);
+        t.putAll(reversed.entrySet());
+        assertEquals(11, t.size());
+        assertEquals("r20", t.get(20));
+        assertEquals("r10", t.get(10));
+        assertNull(t.get(9));
+    }
+
+    /**
+     * Test the order of the tree and the use of a comparator
+     */
+    @Test
+    public void testOrderAndComparator() {
+        try {
+            new BPlusTreeMap<Integer, String>(3);
+            fail();
+        } catch (Exception e) {
+            assertTrue(e instanceof IllegalArgumentException);
+        }
+        BPlusTreeMap<Integer, String> wide = new BPlusTreeMap<Integer, String>();
+        for (int i = 0; i < 100000; i++) {
+            wide.put(i, "v" + i);
+        }
+        // A balanced binary search tree of 100000 entries is at least 17 levels deep
+        assertTrue(wide.height() <= 5);
+
+        BPlusTreeMap<Integer, String> reversed = new BPlusTreeMap<Integer, String>((a, b) -> b.compareTo(a), 4);
+        for (int i = 1; i <= 10; i++) {
+            reversed.put(i, "v" + i);
+        }
+        assertEquals("BPlusTreeMap[10, 9, 8, 7, 6, 5, 4, 3, 2, 1]", reversed.toString());
+        assertEquals("v3", reversed.get(3));
+    }
+}
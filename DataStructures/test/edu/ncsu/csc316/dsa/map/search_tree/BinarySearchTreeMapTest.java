@@ -3,11 +3,16 @@ package edu.ncsu.csc316.dsa.map.search_tree;
 import static org.junit.Assert.*;
 
 import java.util.Iterator;
+import java.util.Random;
 
 import org.junit.Before;
 import org.junit.Test;
 
+import edu.ncsu.csc316.dsa.Position;
+import edu.ncsu.csc316.dsa.map.AbstractOrderedMap;
+import edu.ncsu.csc316.dsa.map.AbstractOrderedMapTest;
 import edu.ncsu.csc316.dsa.map.Map;
+import edu.ncsu.csc316.dsa.map.SearchTableMap;
 
 /**
  * Test class for BinarySearchTreeMap
@@ -18,7 +23,7 @@ import edu.ncsu.csc316.dsa.map.Map;
  * @author Ben Morris
  *
  */
-public class BinarySearchTreeMapTest {
+public class BinarySearchTreeMapTest extends AbstractOrderedMapTest {
 	/** Field for tree */
     private BinarySearchTreeMap<Integer, String> tree;
     
@@ -29,6 +34,11 @@ public class BinarySearchTreeMapTest {
     public void setUp() {
         tree = new BinarySearchTreeMap<Integer, String>();
     }
+
+    @Override
+    protected AbstractOrderedMap<Integer, String> newMap() {
+        return new BinarySearchTreeMap<Integer, String>();
+    }
       
     /**
      * Sample tree to help with testing
@@ -153,4 +163,150 @@ public class BinarySearchTreeMapTest {
     	Iterator<Map.Entry<Integer, String>> it = tree.entrySet().iterator();
     	assertTrue(it.hasNext());    	
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests removing entries through the entrySet iterator, including entries
+     * with two children whose inorder successor takes their place
+     */
+    @Test
+    public void testIteratorRemoveTwoChildren() {
+        int[] keys = {50, 25, 75, 10, 35, 60, 90, 30, 40, 55, 65};
+        for (int key : keys) {
+            tree.put(key, "s" + key);
+        }
+        Iterator<Map.Entry<Integer, String>> it = tree.entrySet().iterator();
+        try {
+            it.remove();
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals("Successful next() not yet called.", e.getMessage());
+        }
+        int previous = Integer.MIN_VALUE;
+        int visited = 0;
+        while (it.hasNext()) {
+            int key = it.next().getKey();
+            assertTrue(key > previous);
+            previous = key;
+            visited++;
+            // 25, 50, and 75 each have two children when removed
+            if (key == 25 || key == 50 || key == 75 || key == 10) {
+                it.remove();
+            }
+        }
+        assertEquals(keys.length, visited);
+        assertEquals(keys.length - 4, tree.size());
+        assertNull(tree.get(25));
+        assertNull(tree.get(50));
+        assertEquals("s30", tree.get(30));
+        assertEquals("s90", tree.get(90));
+
+        StringBuilder sb = new StringBuilder();
+        for (Integer key : tree) {
+            sb.append(key).append(" ");
+        }
+        assertEquals("30 35 40 55 60 65 90 ", sb.toString());
+    }
+
+    /**
+     * Test the output of the putAll behavior with a sorted batch
+     */
+    @Test
+    public void testPutAllSortedBatch() {
+        Map<Integer, String> source = new SearchTableMap<Integer, String>();
+        for (int i = 1; i <= 15; i++) {
+            source.put(i, "s" + i);
+        }
+        BinarySearchTreeMap<Integer, String> t = new BinarySearchTreeMap<Integer, String>();
+        t.putAll(source.entrySet());
+        assertEquals(15, t.size());
+        // The middle entry of each range is the root of its subtree
+        assertEquals(Integer.valueOf(8), t.root().getElement().getKey());
+        assertEquals(Integer.valueOf(4), t.left(t.root()).getElement().getKey());
+        assertEquals(Integer.valueOf(12), t.right(t.root()).getElement().getKey());
+        int expected = 1;
+        for (Map.Entry<Integer, String> e : t.entrySet()) {
+            assertEquals(Integer.valueOf(expected), e.getKey());
+            assertEquals("s" + expected, e.getValue());
+            expected++;
+        }
+        assertEquals(16, expected);
+
+        // A batch that is not sorted is added one entry at a time
+        Map<Integer, String> reversed = new SearchTableMap<Integer, String>((a, b) -> b.compareTo(a));
+        for (int i = 20; i >= 10; i--) {
+            reversed.put(i, "r" + i);
+        }
+        t = new BinarySearchTreeMap<Integer, String>();
+        t.putAll(reversed.entrySet());
+        assertEquals(11, t.size());
+        assertEquals("r20", t.get(20));
+        assertEquals("r10", t.get(10));
+        assertNull(t.get(9));
+        t.putAll(source.entrySet());
+        assertEquals(20, t.size());
+        assertEquals("s10", t.get(10));
+        assertEquals("r16", t.get(16));
+    }
+
+    /**
+     * Test that every leaf shares one sentinel and that each position is its
+     * own entry
+     */
+    @Test
+    public void testSharedSentinel() {
+        assertTrue(tree.isLeaf(tree.root()));
+        assertNull(tree.root().getElement());
+        createTree();
+        // one and seven are on different sides of the root, yet share a sentinel
+        Position<Map.Entry<Integer, String>> one = tree.left(tree.left(tree.root()));
+        Position<Map.Entry<Integer, String>> seven = tree.left(tree.left(tree.right(tree.root())));
+        assertEquals(Integer.valueOf(1), one.getElement().getKey());
+        assertEquals(Integer.valueOf(7), seven.getElement().getKey());
+        assertSame(tree.left(one), tree.right(seven));
+        assertNull(tree.left(one).getElement());
+        assertTrue(tree.isLeaf(tree.left(one)));
+        // The entry at a position is the position itself, and updates in place
+        assertSame(one, one.getElement());
+        assertEquals("one", tree.put(1, "ONE"));
+        assertEquals("ONE", one.getElement().getValue());
+        // A removed leaf is replaced by the sentinel, which points to its parent
+        Position<Map.Entry<Integer, String>> eight = tree.parent(seven);
+        assertEquals("seven", tree.remove(7));
+        assertTrue(tree.isLeaf(tree.left(eight)));
+        assertSame(eight, tree.parent(tree.left(eight)));
+        assertEquals(9, tree.size());
+        for (int i = 1; i <= 10; i++) {
+            tree.remove(i);
+        }
+        assertEquals(0, tree.size());
+        assertTrue(tree.isEmpty());
+        assertTrue(tree.isLeaf(tree.root()));
+    }
+
+    /**
+     * Test that removing keys, including keys whose positions have two
+     * children, never changes the key or value of an entry held by a caller
+     */
+    @Test
+    public void testRemoveKeepsEntries() {
+        BinarySearchTreeMap<Integer, String> bst = new BinarySearchTreeMap<Integer, String>();
+        Random rand = new Random(316);
+        for (int i = 0; i < 300; i++) {
+            Integer key = rand.nextInt(1000);
+            bst.put(key, "v" + key);
+        }
+        @SuppressWarnings("unchecked")
+        Map.Entry<Integer, String>[] held = new Map.Entry[bst.size()];
+        int index = 0;
+        for (Map.Entry<Integer, String> e : bst.entrySet()) {
+            held[index++] = e;
+        }
+        for (int i = 0; i < held.length; i += 2) {
+            assertEquals("v" + held[i].getKey(), bst.remove(held[i].getKey()));
+        }
+        for (int i = 0; i < held.length; i++) {
+            assertEquals("v" + held[i].getKey(), held[i].getValue());
+            assertEquals(i % 2 == 0 ? null : held[i].getValue(), bst.get(held[i].getKey()));
+        }
+    }
+}
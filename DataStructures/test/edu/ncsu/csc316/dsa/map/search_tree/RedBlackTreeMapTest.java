@@ -1,8 +1,14 @@
 package edu.ncsu.csc316.dsa.map.search_tree;
 
 import static org.junit.Assert.*;
+import java.util.Random;
 import org.junit.Before;
 import org.junit.Test;
+import edu.ncsu.csc316.dsa.map.AbstractOrderedMap;
+import edu.ncsu.csc316.dsa.map.AbstractOrderedMapTest;
+import edu.ncsu.csc316.dsa.map.Map;
+import edu.ncsu.csc316.dsa.Position;
+import edu.ncsu.csc316.dsa.map.SearchTableMap;
 
 /**
  * Test class for RedBlackTreeMap
@@ -12,7 +18,7 @@ import org.junit.Test;
  * @author Dr. King
  * @author Ben Morris
  */
-public class RedBlackTreeMapTest {
+public class RedBlackTreeMapTest extends AbstractOrderedMapTest {
 	/** Tree field */
     private BinarySearchTreeMap<Integer, String> tree;
     
@@ -23,6 +29,11 @@ public class RedBlackTreeMapTest {
     public void setUp() {
         tree = new RedBlackTreeMap<Integer, String>();
     }
+
+    @Override
+    protected AbstractOrderedMap<Integer, String> newMap() {
+        return new RedBlackTreeMap<Integer, String>();
+    }
     
     /**
      * Test the output of the put(k,v) behavior
@@ -188,4 +199,193 @@ public class RedBlackTreeMapTest {
         assertEquals(0, tree.size());
         assertTrue(tree.isEmpty());        
     }
-}
\ No newline at end of file
+
+    /**
+     * Test the output of the putAll behavior, which builds a perfectly balanced
+     * tree from a sorted batch
+     */
+    @Test
+    public void testPutAllSortedBatch() {
+        for (int n = 1; n <= 40; n++) {
+            Map<Integer, String> source = new SearchTableMap<Integer, String>();
+            for (int i = 1; i <= n; i++) {
+                source.put(i, "s" + i);
+            }
+            RedBlackTreeMap<Integer, String> rb = new RedBlackTreeMap<Integer, String>();
+            rb.putAll(source.entrySet());
+            assertEquals(n, rb.size());
+            checkColors(rb, rb.root());
+            for (int i = 1; i <= n; i++) {
+                assertEquals("s" + i, rb.get(i));
+            }
+        }
+
+        // The colors set by the build keep later rebalancing correct
+        Map<Integer, String> source = new SearchTableMap<Integer, String>();
+        for (int i = 0; i < 300; i += 3) {
+            source.put(i, "s" + i);
+        }
+        RedBlackTreeMap<Integer, String> rb = new RedBlackTreeMap<Integer, String>();
+        rb.putAll(source.entrySet());
+        for (int i = 1; i < 300; i += 3) {
+            rb.put(i, "s" + i);
+            checkColors(rb, rb.root());
+        }
+        for (int i = 0; i < 300; i += 2) {
+            rb.remove(i);
+            checkColors(rb, rb.root());
+        }
+        assertEquals(100, rb.size());
+    }
+
+    /**
+     * Test that compute rebalances the tree when it adds or removes an entry, so
+     * the colors stay correct after every update
+     */
+    @Test
+    public void testComputeRebalances() {
+        RedBlackTreeMap<Integer, String> rb = new RedBlackTreeMap<Integer, String>();
+        Random rand = new Random(12);
+        for (int i = 0; i < 400; i++) {
+            int key = rand.nextInt(100);
+            // Each call adds an absent key and removes a present one
+            rb.compute(key, (k, v) -> v == null ? "s" + k : null);
+            checkColors(rb, rb.root());
+        }
+        for (Map.Entry<Integer, String> entry : rb.entrySet()) {
+            assertEquals("s" + entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Checks that the root is black, no red position has a red child, and every
+     * path from the given position down to a leaf has the same number of black
+     * positions
+     *
+     * @param rb the tree to check
+     * @param p  the root of the subtree to check
+     * @return the black-depth of the leaves below the given position
+     */
+    private int checkColors(RedBlackTreeMap<Integer, String> rb, Position<Map.Entry<Integer, String>> p) {
+        if (rb.isRoot(p)) {
+            assertEquals(0, rb.getProperty(p));
+        }
+        if (rb.isLeaf(p)) {
+            return 1;
+        }
+        if (rb.getProperty(p) == 1) {
+            assertEquals(0, rb.getProperty(rb.left(p)));
+            assertEquals(0, rb.getProperty(rb.right(p)));
+        }
+        int left = checkColors(rb, rb.left(p));
+        assertEquals(left, checkColors(rb, rb.right(p)));
+        return left + (rb.getProperty(p) == 0 ? 1 : 0);
+    }
+
+    /**
+     * Test the rank, select, and countInRange order-statistic queries, which
+     * must stay correct as recoloring and restructuring rotate subtrees
+     */
+    @Test
+    public void testOrderStatistics() {
+        RedBlackTreeMap<Integer, String> t = new RedBlackTreeMap<Integer, String>();
+        assertEquals(0, t.rank(5));
+        try {
+            t.select(0);
+            fail();
+        } catch (Exception e) {
+            assertTrue(e instanceof IndexOutOfBoundsException);
+        }
+        Random rand = new Random(316);
+        for (int i = 0; i < 400; i++) {
+            Integer key = rand.nextInt(1000);
+            t.put(key, "v" + key);
+        }
+        for (int i = 0; i < 150; i++) {
+            t.remove(rand.nextInt(1000));
+        }
+        checkOrderStatistics(t);
+
+        // A tree built in bulk counts its subtrees as well
+        SearchTableMap<Integer, String> source = new SearchTableMap<Integer, String>();
+        for (int i = 0; i < 100; i++) {
+            source.put(i * 2, "s" + i);
+        }
+        t = new RedBlackTreeMap<Integer, String>();
+        t.putAll(source.entrySet());
+        checkOrderStatistics(t);
+        assertEquals(50, t.rank(100));
+        assertEquals(50, t.rank(99));
+        assertEquals(Integer.valueOf(198), t.select(99).getKey());
+        assertEquals(5, t.countInRange(10, 20));
+        assertEquals(0, t.countInRange(20, 20));
+        t.put(15, "fifteen");
+        assertEquals(6, t.countInRange(10, 20));
+        try {
+            t.countInRange(20, 10);
+            fail();
+        } catch (Exception e) {
+            assertTrue(e instanceof IllegalArgumentException);
+        }
+        try {
+            t.select(101);
+            fail();
+        } catch (Exception e) {
+            assertTrue(e instanceof IndexOutOfBoundsException);
+        }
+    }
+
+    /**
+     * Checks rank, select, and countInRange against an inorder traversal of the
+     * given tree
+     *
+     * @param t the tree to check
+     */
+    private void checkOrderStatistics(RedBlackTreeMap<Integer, String> t) {
+        Integer[] keys = new Integer[t.size()];
+        int index = 0;
+        for (Integer key : t) {
+            keys[index++] = key;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(keys[i], t.select(i).getKey());
+            assertEquals(i, t.rank(keys[i]));
+            // A missing key just above this one has the next rank
+            if (i + 1 == keys.length || keys[i + 1] > keys[i] + 1) {
+                assertEquals(i + 1, t.rank(keys[i] + 1));
+            }
+        }
+        if (keys.length > 0) {
+            assertEquals(keys.length, t.countInRange(keys[0], keys[keys.length - 1] + 1));
+            assertEquals(keys.length - 1, t.countInRange(keys[0], keys[keys.length - 1]));
+        }
+    }
+
+    /**
+     * Test that removing keys, including keys whose positions have two
+     * children, never changes the key or value of an entry held by a caller
+     */
+    @Test
+    public void testRemoveKeepsEntries() {
+        RedBlackTreeMap<Integer, String> rb = new RedBlackTreeMap<Integer, String>();
+        Random rand = new Random(316);
+        for (int i = 0; i < 300; i++) {
+            Integer key = rand.nextInt(1000);
+            rb.put(key, "v" + key);
+        }
+        @SuppressWarnings("unchecked")
+        Map.Entry<Integer, String>[] held = new Map.Entry[rb.size()];
+        int index = 0;
+        for (Map.Entry<Integer, String> e : rb.entrySet()) {
+            held[index++] = e;
+        }
+        for (int i = 0; i < held.length; i += 2) {
+            assertEquals("v" + held[i].getKey(), rb.remove(held[i].getKey()));
+            checkColors(rb, rb.root());
+        }
+        for (int i = 0; i < held.length; i++) {
+            assertEquals("v" + held[i].getKey(), held[i].getValue());
+            assertEquals(i % 2 == 0 ? null : held[i].getValue(), rb.get(held[i].getKey()));
+        }
+    }
+}
@@ -1,8 +1,13 @@
 package edu.ncsu.csc316.dsa.map.search_tree;
 
 import static org.junit.Assert.*;
+import java.util.Iterator;
 import org.junit.Before;
 import org.junit.Test;
+import edu.ncsu.csc316.dsa.map.AbstractOrderedMap;
+import edu.ncsu.csc316.dsa.map.AbstractOrderedMapTest;
+import edu.ncsu.csc316.dsa.map.Map;
+import edu.ncsu.csc316.dsa.map.SearchTableMap;
 
 /**
  * Test class for SplayTreeMap
@@ -13,7 +18,7 @@ import org.junit.Test;
  * @author Ben Morris
  *
  */
-public class SplayTreeMapTest {
+public class SplayTreeMapTest extends AbstractOrderedMapTest {
 	/** Tree field */
     private BinarySearchTreeMap<Integer, String> tree;
     
@@ -24,6 +29,11 @@ public class SplayTreeMapTest {
     public void setUp() {
         tree = new SplayTreeMap<Integer, String>();
     }
+
+    @Override
+    protected AbstractOrderedMap<Integer, String> newMap() {
+        return new SplayTreeMap<Integer, String>();
+    }
     
     /**
      * Test the output of the put(k,v) behavior
@@ -94,6 +104,37 @@ public class SplayTreeMapTest {
         assertNotEquals("one", tree.get(0));
     }
     
+    /**
+     * Test that compute and the update methods built on it splay the entry they
+     * touch, just as get and put do
+     */
+    @Test
+    public void testComputeSplays() {
+        for (int key : new int[] {5, 10, 2, 12, 20, 15, 1}) {
+            tree.put(key, "s" + key);
+        }
+        // Updating an existing entry splays it
+        assertEquals("s2!", tree.compute(2, (k, v) -> v + "!"));
+        assertEquals(Integer.valueOf(2), tree.root().getElement().getKey());
+        assertEquals("s15", tree.computeIfAbsent(15, k -> "new"));
+        assertEquals(Integer.valueOf(15), tree.root().getElement().getKey());
+
+        // A new entry is splayed once it is added
+        assertEquals("s11", tree.merge(11, "s11", (a, b) -> a + b));
+        assertEquals(Integer.valueOf(11), tree.root().getElement().getKey());
+
+        // A search that adds nothing splays the last entry it visited
+        assertNull(tree.compute(13, (k, v) -> null));
+        int root = tree.root().getElement().getKey();
+        assertTrue(root == 12 || root == 15);
+
+        // Removing an entry splays the parent of the removed position
+        assertNull(tree.compute(20, (k, v) -> null));
+        assertEquals(Integer.valueOf(15), tree.root().getElement().getKey());
+        assertEquals(7, tree.size());
+        assertNull(tree.get(20));
+    }
+
     /**
      * Test the output of the remove(k) behavior
      */     
@@ -146,4 +187,33 @@ public class SplayTreeMapTest {
         assertEquals(0, tree.size());
         assertTrue(tree.isEmpty());  
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests that splaying the tree with get(k) and removing entries through the
+     * iterator do not disturb an inorder iteration in progress
+     */
+    @Test
+    public void testIteratorWhileSplaying() {
+        for (int i = 1; i <= 20; i++) {
+            tree.put(i, "s" + i);
+        }
+        Iterator<Map.Entry<Integer, String>> it = tree.entrySet().iterator();
+        int expected = 1;
+        while (it.hasNext()) {
+            Map.Entry<Integer, String> entry = it.next();
+            assertEquals(expected, (int) entry.getKey());
+            // Splay a far-away key to the root while iterating
+            int far = 21 - expected;
+            boolean removed = far < expected && far % 4 == 0;
+            assertEquals(removed ? null : "s" + far, tree.get(far));
+            if (expected % 4 == 0) {
+                it.remove();
+            }
+            expected++;
+        }
+        assertEquals(21, expected);
+        assertEquals(15, tree.size());
+        assertNull(tree.get(8));
+        assertEquals("s9", tree.get(9));
+    }
+}
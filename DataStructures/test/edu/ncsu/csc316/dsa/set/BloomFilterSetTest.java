@@ -0,0 +1,189 @@
+package edu.ncsu.csc316.dsa.set;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.ncsu.csc316.dsa.list.ArrayBasedList;
+import edu.ncsu.csc316.dsa.list.List;
+
+/**
+ * Test class for BloomFilterSet
+ * Checks the expected outputs of the Set abstract data type behaviors that a
+ * Bloom filter supports
+ *
+ * @author Ben Morris
+ *
+ */
+public class BloomFilterSetTest {
+
+    /** Filter sized for 1000 elements with a 1% false positive rate */
+    private BloomFilterSet<Integer> set;
+
+    /**
+     * Create a new filter before each test case executes
+     */
+    @Before
+    public void setUp() {
+        set = new BloomFilterSet<Integer>(1000, 0.01);
+    }
+
+    /**
+     * Test the sizing of the filter from the expected elements and target rate
+     */
+    @Test
+    public void testSizing() {
+        // m = -1000 ln(0.01) / (ln 2)^2 = 9586 bits, k = 9586 / 1000 * ln 2 = 7
+        assertEquals(9586, set.getNumSlots());
+        assertEquals(7, set.getNumHashes());
+        assertEquals(0.0, set.getFalsePositiveRate(), 1e-12);
+
+        try {
+            new BloomFilterSet<Integer>(0, 0.01);
+            fail();
+        } catch (Exception e) {
+            assertTrue(e instanceof IllegalArgumentException);
+        }
+        try {
+            new BloomFilterSet<Integer>(10, 1.0);
+            fail();
+        } catch (Exception e) {
+            assertTrue(e instanceof IllegalArgumentException);
+        }
+    }
+
+    /**
+     * Test the output of the add and contains behaviors, including the rate of
+     * false positives
+     */
+    @Test
+    public void testAddAndContains() {
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(5));
+        set.add(5);
+        assertTrue(set.contains(5));
+        assertEquals(1, set.size());
+        // Adding an element again does not change the size
+        set.add(5);
+        assertEquals(1, set.size());
+
+        for (int i = 0; i < 1000; i++) {
+            set.add(i);
+        }
+        assertTrue(set.size() >= 990 && set.size() <= 1000);
+        // No false negatives
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(set.contains(i));
+        }
+        int falsePositives = 0;
+        for (int i = 1000; i < 101000; i++) {
+            if (set.contains(i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 1500);
+        assertEquals(0.01, set.getFalsePositiveRate(), 0.002);
+    }
+
+    /**
+     * Test the output of the addAll behaviors
+     */
+    @Test
+    public void testAddAll() {
+        List<Integer> list = new ArrayBasedList<Integer>();
+        for (int i = 0; i < 300; i++) {
+            list.addLast(i);
+        }
+        set.addAll(list);
+        for (int i = 0; i < 300; i++) {
+            assertTrue(set.contains(i));
+        }
+
+        // Union with another filter of the same size
+        BloomFilterSet<Integer> other = new BloomFilterSet<Integer>(1000, 0.01);
+        for (int i = 300; i < 600; i++) {
+            other.add(i);
+        }
+        set.addAll(other);
+        for (int i = 0; i < 600; i++) {
+            assertTrue(set.contains(i));
+        }
+        assertTrue(Math.abs(set.size() - 600) < 20);
+
+        // Union with an ordinary set adds each element
+        Set<Integer> tree = new TreeSet<Integer>();
+        tree.add(1000);
+        tree.add(2000);
+        set.addAll(tree);
+        assertTrue(set.contains(1000));
+        assertTrue(set.contains(2000));
+
+        try {
+            set.addAll(new BloomFilterSet<Integer>(10, 0.01));
+            fail();
+        } catch (Exception e) {
+            assertTrue(e instanceof IllegalArgumentException);
+        }
+        try {
+            set.addAll(new CountingBloomFilterSet<Integer>(1000, 0.01));
+            fail();
+        } catch (Exception e) {
+            assertTrue(e instanceof IllegalArgumentException);
+        }
+    }
+
+    /**
+     * Test the output of the retainAll behavior
+     */
+    @Test
+    public void testRetainAll() {
+        BloomFilterSet<Integer> other = new BloomFilterSet<Integer>(1000, 0.01);
+        for (int i = 0; i < 500; i++) {
+            set.add(i);
+            other.add(i + 250);
+        }
+        set.retainAll(other);
+        for (int i = 250; i < 500; i++) {
+            assertTrue(set.contains(i));
+        }
+        int remaining = 0;
+        for (int i = 0; i < 250; i++) {
+            if (set.contains(i)) {
+                remaining++;
+            }
+        }
+        assertTrue(remaining < 25);
+        // Bits shared by different elements of the two filters survive, so the
+        // estimated size of an intersection runs high
+        assertTrue(set.size() >= 250 && set.size() < 320);
+
+        try {
+            set.retainAll(new TreeSet<Integer>());
+            fail();
+        } catch (Exception e) {
+            assertTrue(e instanceof UnsupportedOperationException);
+        }
+    }
+
+    /**
+     * Test that the operations a Bloom filter cannot support are rejected
+     */
+    @Test
+    public void testUnsupported() {
+        set.add(1);
+        try {
+            set.remove(1);
+            fail();
+        } catch (Exception e) {
+            assertTrue(e instanceof UnsupportedOperationException);
+        }
+        try {
+            set.iterator();
+            fail();
+        } catch (Exception e) {
+            assertTrue(e instanceof UnsupportedOperationException);
+        }
+        assertTrue(set.contains(1));
+    }
+}
@@ -0,0 +1,120 @@
+package edu.ncsu.csc316.dsa.set;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for CountingBloomFilterSet
+ * Checks the expected outputs of the Set abstract data type behaviors when using
+ * a Bloom filter of 4-bit counters that supports removal
+ *
+ * @author Ben Morris
+ *
+ */
+public class CountingBloomFilterSetTest {
+
+    /** Filter sized for 1000 elements with a 1% false positive rate */
+    private CountingBloomFilterSet<Integer> set;
+
+    /**
+     * Create a new filter before each test case executes
+     */
+    @Before
+    public void setUp() {
+        set = new CountingBloomFilterSet<Integer>(1000, 0.01);
+    }
+
+    /**
+     * Test the output of the remove behavior
+     */
+    @Test
+    public void testRemove() {
+        for (int i = 0; i < 1000; i++) {
+            set.add(i);
+        }
+        for (int i = 0; i < 1000; i += 2) {
+            assertEquals(i, (int) set.remove(i));
+        }
+        // Removing never causes a false negative for the elements that remain
+        for (int i = 1; i < 1000; i += 2) {
+            assertTrue(set.contains(i));
+        }
+        int stillPresent = 0;
+        for (int i = 0; i < 1000; i += 2) {
+            if (set.contains(i)) {
+                stillPresent++;
+            }
+        }
+        assertTrue(stillPresent < 20);
+        assertTrue(set.size() >= 490 && set.size() <= 500);
+
+        for (int i = 1; i < 1000; i += 2) {
+            set.remove(i);
+        }
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(1));
+        assertNull(set.remove(1));
+    }
+
+    /**
+     * Test the output of the removeAll behavior
+     */
+    @Test
+    public void testRemoveAll() {
+        Set<Integer> tree = new TreeSet<Integer>();
+        for (int i = 0; i < 100; i++) {
+            set.add(i);
+            if (i < 50) {
+                tree.add(i);
+            }
+        }
+        set.removeAll(tree);
+        for (int i = 50; i < 100; i++) {
+            assertTrue(set.contains(i));
+        }
+        assertEquals(50, set.size());
+    }
+
+    /**
+     * Test the output of the addAll and retainAll behaviors with another
+     * counting filter
+     */
+    @Test
+    public void testCombine() {
+        CountingBloomFilterSet<Integer> other = new CountingBloomFilterSet<Integer>(1000, 0.01);
+        for (int i = 0; i < 200; i++) {
+            set.add(i);
+            other.add(i + 100);
+        }
+        set.addAll(other);
+        for (int i = 0; i < 300; i++) {
+            assertTrue(set.contains(i));
+        }
+        // Elements in both filters have been counted twice
+        set.remove(150);
+        assertTrue(set.contains(150));
+        set.remove(150);
+        set.remove(50);
+        set.remove(250);
+        assertFalse(set.contains(50) && set.contains(150) && set.contains(250));
+
+        CountingBloomFilterSet<Integer> left = new CountingBloomFilterSet<Integer>(1000, 0.01);
+        CountingBloomFilterSet<Integer> right = new CountingBloomFilterSet<Integer>(1000, 0.01);
+        for (int i = 0; i < 200; i++) {
+            left.add(i);
+            right.add(i + 100);
+        }
+        left.retainAll(right);
+        for (int i = 100; i < 200; i++) {
+            assertTrue(left.contains(i));
+        }
+        try {
+            left.retainAll(new BloomFilterSet<Integer>(1000, 0.01));
+            fail();
+        } catch (Exception e) {
+            assertTrue(e instanceof IllegalArgumentException);
+        }
+    }
+}